@@ -18,6 +18,8 @@
  */
 package org.apache.accumulo.core.client;
 
+import java.util.concurrent.CompletableFuture;
+
 import org.apache.accumulo.core.data.Mutation;
 
 /**
@@ -58,7 +60,34 @@ public interface BatchWriter extends AutoCloseable {
   void addMutations(Iterable<Mutation> iterable) throws MutationsRejectedException;
 
   /**
-   * Send any buffered mutations to Accumulo immediately.
+   * Queues one mutation to write without blocking when the writer's memory is full. Mutations added
+   * while memory is full are held until memory is available, so callers should limit the number of
+   * incomplete futures they have outstanding.
+   * <p>
+   * The default implementation calls {@link #addMutation(Mutation)}, which may block, and returns a
+   * future that is already complete once the mutation is queued.
+   *
+   * @param m
+   *          the mutation to add
+   * @return a future that completes when a tablet server has accepted the mutation, or completes
+   *         exceptionally with a {@link MutationsRejectedException} if this or any other mutation
+   *         added to this writer fails
+   * @since 2.1.0
+   */
+  default CompletableFuture<Void> addMutationAsync(Mutation m) {
+    try {
+      addMutation(m);
+      return CompletableFuture.completedFuture(null);
+    } catch (MutationsRejectedException e) {
+      return CompletableFuture.failedFuture(e);
+    }
+  }
+
+  /**
+   * Send any buffered mutations to Accumulo immediately. When this returns normally, the futures
+   * returned by {@link #addMutationAsync(Mutation)} for the flushed mutations have completed. When
+   * called from a callback of one of those futures, this does not wait for the other futures
+   * completed by the same thread.
    *
    * @throws MutationsRejectedException
    *           this could be thrown because current or previous mutations failed
@@ -20,6 +20,8 @@ package org.apache.accumulo.core.clientImpl;
 
 import static com.google.common.base.Preconditions.checkArgument;
 
+import java.util.concurrent.CompletableFuture;
+
 import org.apache.accumulo.core.client.BatchWriter;
 import org.apache.accumulo.core.client.BatchWriterConfig;
 import org.apache.accumulo.core.client.MutationsRejectedException;
@@ -52,6 +54,12 @@ public class BatchWriterImpl implements BatchWriter {
     bw.addMutation(tableId, iterable.iterator());
   }
 
+  @Override
+  public CompletableFuture<Void> addMutationAsync(Mutation m) {
+    checkArgument(m != null, "m is null");
+    return bw.addMutationAsync(tableId, m);
+  }
+
   @Override
   public void close() throws MutationsRejectedException {
     bw.close();
@@ -141,6 +141,7 @@ public class ClientContext implements AccumuloClient {
   private final ThreadPools clientThreadPools;
   private ThreadPoolExecutor cleanupThreadPool;
   private ThreadPoolExecutor scannerReadaheadPool;
+  private ThreadPoolExecutor locationChangesLoaderPool;
 
   private void ensureOpen() {
     if (closed) {
@@ -213,6 +214,19 @@ public class ClientContext implements AccumuloClient {
     this.cleanupThreadPool.execute(r);
   }
 
+  /**
+   * Runs a task that loads tablet location changes from ZooKeeper, so that the threads checking
+   * for changes never wait on ZooKeeper themselves.
+   */
+  public synchronized void executeLocationChangesLoadTask(Runnable r) {
+    ensureOpen();
+    if (locationChangesLoaderPool == null) {
+      locationChangesLoaderPool = clientThreadPools.createFixedThreadPool(1, 3, SECONDS,
+          "Tablet location changes loader", true);
+    }
+    this.locationChangesLoaderPool.execute(r);
+  }
+
   /**
    * @return ThreadPools instance optionally configured with client UncaughtExceptionHandler
    */
@@ -792,6 +806,9 @@ public class ClientContext implements AccumuloClient {
     if (cleanupThreadPool != null) {
       cleanupThreadPool.shutdown(); // wait for shutdown tasks to execute
     }
+    if (locationChangesLoaderPool != null) {
+      locationChangesLoaderPool.shutdownNow(); // loads are only useful to an open client
+    }
     singletonReservation.close();
   }
 
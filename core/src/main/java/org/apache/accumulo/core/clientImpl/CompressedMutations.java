@@ -0,0 +1,224 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.core.clientImpl;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import org.apache.accumulo.core.data.ArrayByteSequence;
+import org.apache.accumulo.core.data.ColumnUpdate;
+import org.apache.accumulo.core.data.Mutation;
+import org.apache.accumulo.core.file.rfile.bcfile.Compression;
+import org.apache.accumulo.core.file.rfile.bcfile.CompressionAlgorithm;
+import org.apache.accumulo.core.util.ByteBufferUtil;
+import org.apache.accumulo.core.util.UnsynchronizedBuffer;
+import org.apache.hadoop.io.WritableUtils;
+import org.apache.hadoop.io.compress.Compressor;
+import org.apache.hadoop.io.compress.Decompressor;
+
+/**
+ * Encodes a batch of mutations for a single tablet into one compressed buffer. Column families,
+ * qualifiers, visibilities and replication sources are replaced with indexes into a symbol table
+ * that is shared by the whole batch, then the encoded batch is compressed with one of the
+ * algorithms supported by {@link Compression}.
+ *
+ * <p>
+ * The serialized form is the name of the compression algorithm and the uncompressed length,
+ * followed by the compressed symbol table and mutations.
+ */
+public class CompressedMutations {
+
+  private static final int HAS_TIMESTAMP = 0x01;
+  private static final int DELETED = 0x02;
+
+  private final Map<ArrayByteSequence,Integer> symbolMap = new HashMap<>();
+  private final List<byte[]> symbolTable = new ArrayList<>();
+  private final UnsynchronizedBuffer.Writer body = new UnsynchronizedBuffer.Writer(1024);
+  private int numMutations = 0;
+
+  private int getSymbolID(byte[] symbol) {
+    ArrayByteSequence key = new ArrayByteSequence(symbol);
+    Integer id = symbolMap.get(key);
+    if (id == null) {
+      id = symbolTable.size();
+      symbolTable.add(symbol);
+      symbolMap.put(key, id);
+    }
+    return id;
+  }
+
+  private void writeBytes(UnsynchronizedBuffer.Writer out, byte[] bytes) {
+    out.writeVInt(bytes.length);
+    out.add(bytes, 0, bytes.length);
+  }
+
+  /**
+   * Adds a mutation to the batch being encoded.
+   */
+  public void add(Mutation m) {
+    writeBytes(body, m.getRow());
+
+    List<ColumnUpdate> updates = m.getUpdates();
+    body.writeVInt(updates.size());
+    for (ColumnUpdate cu : updates) {
+      body.writeVInt(getSymbolID(cu.getColumnFamily()));
+      body.writeVInt(getSymbolID(cu.getColumnQualifier()));
+      body.writeVInt(getSymbolID(cu.getColumnVisibility()));
+
+      int flags = (cu.hasTimestamp() ? HAS_TIMESTAMP : 0) | (cu.isDeleted() ? DELETED : 0);
+      body.writeVInt(flags);
+      if (cu.hasTimestamp()) {
+        body.writeVLong(cu.getTimestamp());
+      }
+      writeBytes(body, cu.getValue());
+    }
+
+    Set<String> sources = m.getReplicationSources();
+    body.writeVInt(sources.size());
+    for (String source : sources) {
+      body.writeVInt(getSymbolID(source.getBytes(UTF_8)));
+    }
+
+    numMutations++;
+  }
+
+  public int size() {
+    return numMutations;
+  }
+
+  /**
+   * @return the number of bytes the batch occupies before compression
+   */
+  public int getEncodedSize() {
+    return body.size();
+  }
+
+  /**
+   * Compresses everything added so far using the named compression algorithm.
+   */
+  public ByteBuffer compress(String algorithm) throws IOException {
+    UnsynchronizedBuffer.Writer uncompressed = new UnsynchronizedBuffer.Writer(body.size() + 64);
+    uncompressed.writeVInt(symbolTable.size());
+    for (byte[] symbol : symbolTable) {
+      writeBytes(uncompressed, symbol);
+    }
+    uncompressed.writeVInt(numMutations);
+    byte[] encodedBody = body.toArray();
+    uncompressed.add(encodedBody, 0, encodedBody.length);
+
+    byte[] data = uncompressed.toArray();
+
+    CompressionAlgorithm algo = Compression.getCompressionAlgorithmByName(algorithm);
+    ByteArrayOutputStream baos = new ByteArrayOutputStream(data.length / 2 + 16);
+    DataOutputStream header = new DataOutputStream(baos);
+    header.writeUTF(algorithm);
+    WritableUtils.writeVInt(header, data.length);
+    header.flush();
+
+    Compressor compressor = algo.getCompressor();
+    try (OutputStream out = algo.createCompressionStream(baos, compressor, 0)) {
+      out.write(data);
+      out.flush();
+    } finally {
+      algo.returnCompressor(compressor);
+    }
+
+    return ByteBuffer.wrap(baos.toByteArray());
+  }
+
+  private static byte[] readBytes(UnsynchronizedBuffer.Reader in) {
+    byte[] bytes = new byte[in.readVInt()];
+    in.readBytes(bytes);
+    return bytes;
+  }
+
+  /**
+   * Decodes a buffer created by {@link #compress(String)}.
+   *
+   * @param mutationFactory
+   *          creates an empty mutation given a row, allowing callers to choose the mutation type
+   */
+  public static <M extends Mutation> List<M> decompress(ByteBuffer compressed,
+      Function<byte[],M> mutationFactory) throws IOException {
+    DataInputStream header =
+        new DataInputStream(ByteBufferUtil.toByteArrayInputStream(compressed));
+    CompressionAlgorithm algo = Compression.getCompressionAlgorithmByName(header.readUTF());
+    byte[] data = new byte[WritableUtils.readVInt(header)];
+
+    Decompressor decompressor = algo.getDecompressor();
+    try (InputStream in = algo.createDecompressionStream(header, decompressor, 0)) {
+      new DataInputStream(in).readFully(data);
+    } finally {
+      algo.returnDecompressor(decompressor);
+    }
+
+    UnsynchronizedBuffer.Reader in = new UnsynchronizedBuffer.Reader(data);
+
+    byte[][] symbols = new byte[in.readVInt()][];
+    for (int i = 0; i < symbols.length; i++) {
+      symbols[i] = readBytes(in);
+    }
+
+    int numMutations = in.readVInt();
+    List<M> mutations = new ArrayList<>(numMutations);
+    for (int i = 0; i < numMutations; i++) {
+      M m = mutationFactory.apply(readBytes(in));
+
+      int numUpdates = in.readVInt();
+      for (int j = 0; j < numUpdates; j++) {
+        byte[] cf = symbols[in.readVInt()];
+        byte[] cq = symbols[in.readVInt()];
+        byte[] cv = symbols[in.readVInt()];
+        int flags = in.readVInt();
+
+        Mutation.TimestampOptions options = m.at().family(cf).qualifier(cq).visibility(cv);
+        Mutation.MutationOptions mopts =
+            (flags & HAS_TIMESTAMP) != 0 ? options.timestamp(in.readVLong()) : options;
+        byte[] value = readBytes(in);
+        if ((flags & DELETED) != 0) {
+          mopts.delete();
+        } else {
+          mopts.put(value);
+        }
+      }
+
+      int numSources = in.readVInt();
+      for (int j = 0; j < numSources; j++) {
+        m.addReplicationSource(new String(symbols[in.readVInt()], UTF_8));
+      }
+
+      mutations.add(m);
+    }
+
+    return mutations;
+  }
+}
@@ -21,6 +21,7 @@ package org.apache.accumulo.core.clientImpl;
 import static com.google.common.base.Preconditions.checkArgument;
 
 import java.lang.ref.Cleaner.Cleanable;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
 
@@ -58,6 +59,12 @@ public class MultiTableBatchWriterImpl implements MultiTableBatchWriter {
       bw.addMutation(tableId, iterable.iterator());
     }
 
+    @Override
+    public CompletableFuture<Void> addMutationAsync(Mutation m) {
+      checkArgument(m != null, "m is null");
+      return bw.addMutationAsync(tableId, m);
+    }
+
     @Override
     public void close() {
       throw new UnsupportedOperationException(
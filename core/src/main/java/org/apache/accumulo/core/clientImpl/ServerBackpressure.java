@@ -0,0 +1,105 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.core.clientImpl;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.accumulo.core.dataImpl.thrift.TBackpressure;
+
+/**
+ * Turns the backpressure hints tablet servers return when an update session is closed into a delay
+ * before more mutations are sent to each server. While a server is delayed its send thread is free
+ * to write to other servers, and mutations for the delayed server accumulate into larger batches.
+ */
+class ServerBackpressure {
+
+  static final long MAX_DELAY_MS = 2000;
+
+  // memory usage above which a tablet server is considered under pressure
+  static final double MEMORY_USAGE_THRESHOLD = 0.80;
+
+  // delay for each minor compaction waiting for a thread on the tablet server
+  static final long MINC_QUEUED_DELAY_MS = 100;
+
+  // write ahead log syncs slower than this delay writes by the sync time
+  static final long SLOW_WAL_SYNC_MS = 500;
+
+  // System.nanoTime() at which each delayed server may be sent mutations again
+  private final Map<String,Long> resumeTimes = new ConcurrentHashMap<>();
+
+  /**
+   * @return the number of milliseconds to wait before sending more mutations to a tablet server
+   *         that returned the given hints
+   */
+  static long computeDelay(Collection<TBackpressure> hints) {
+    long delay = 0;
+    for (TBackpressure hint : hints) {
+      if (hint.getHoldTime() > 0) {
+        // commits are held, so anything sent now will wait on the server
+        delay = Math.max(delay, hint.getHoldTime());
+      }
+      if (hint.getMemoryUsage() > MEMORY_USAGE_THRESHOLD) {
+        double fraction = Math.min(1.0,
+            (hint.getMemoryUsage() - MEMORY_USAGE_THRESHOLD) / (1.0 - MEMORY_USAGE_THRESHOLD));
+        delay = Math.max(delay, Math.round(fraction * MAX_DELAY_MS));
+      }
+      if (hint.getPendingMinorCompactions() > 0) {
+        // memory can not be freed until the queued minor compactions run
+        delay = Math.max(delay, hint.getPendingMinorCompactions() * MINC_QUEUED_DELAY_MS);
+      }
+      if (hint.getWalSyncLatency() > SLOW_WAL_SYNC_MS) {
+        delay = Math.max(delay, hint.getWalSyncLatency());
+      }
+    }
+    return Math.min(delay, MAX_DELAY_MS);
+  }
+
+  /**
+   * Records the hints returned by a tablet server, replacing any previous delay for the server.
+   */
+  void update(String server, Collection<TBackpressure> hints) {
+    long delay = hints == null ? 0 : computeDelay(hints);
+    if (delay > 0) {
+      resumeTimes.put(server, System.nanoTime() + MILLISECONDS.toNanos(delay));
+    } else {
+      resumeTimes.remove(server);
+    }
+  }
+
+  /**
+   * @return the number of milliseconds remaining before mutations should be sent to the server
+   */
+  long getDelay(String server) {
+    Long resumeTime = resumeTimes.get(server);
+    if (resumeTime == null) {
+      return 0;
+    }
+    long remaining = resumeTime - System.nanoTime();
+    if (remaining <= 0) {
+      resumeTimes.remove(server, resumeTime);
+      return 0;
+    }
+    return Math.max(1, NANOSECONDS.toMillis(remaining));
+  }
+}
@@ -0,0 +1,245 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.core.clientImpl;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+import org.apache.accumulo.core.Constants;
+import org.apache.accumulo.core.data.TableId;
+import org.apache.accumulo.core.dataImpl.KeyExtent;
+import org.apache.accumulo.fate.zookeeper.ZooCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The tablet location changes published in ZooKeeper for a table, so that clients can refresh
+ * their cached locations when tablets move or split instead of waiting for an RPC to fail. Each
+ * publication increments a sequence number and lists the extents whose location changed. The node
+ * keeps the most recent publications, so a client that missed a few of them can still refresh only
+ * the extents that changed. A client that missed more publications than are kept, or one published
+ * without extents, can not know which extents changed and has to refresh all of its cached
+ * locations for the table.
+ */
+public class TabletLocationChanges {
+
+  private static final Logger log = LoggerFactory.getLogger(TabletLocationChanges.class);
+
+  // keep the node small, it is read by every client of the table each time it changes
+  private static final int MAX_SERIALIZED_SIZE = 64 * 1024;
+
+  // publications are frequent when many tablets move, this covers clients that check a little late
+  static final int MAX_PUBLICATIONS = 16;
+
+  private final long sequence;
+  private final NavigableMap<Long,List<KeyExtent>> publications;
+
+  private TabletLocationChanges(long sequence, NavigableMap<Long,List<KeyExtent>> publications) {
+    this.sequence = sequence;
+    this.publications = publications;
+  }
+
+  public long getSequence() {
+    return sequence;
+  }
+
+  /**
+   * @return the extents whose location changed in the latest publication, empty when they are
+   *         unknown
+   */
+  public List<KeyExtent> getExtents() {
+    return publications.getOrDefault(sequence, List.of());
+  }
+
+  /**
+   * @return the extents whose location changed in the publications after the given sequence
+   *         number, or null when they are unknown because some of those publications are no longer
+   *         kept or were published without extents
+   */
+  public List<KeyExtent> getExtentsSince(long since) {
+    if (since > sequence) {
+      // the changes were published again from the start
+      return null;
+    }
+    List<KeyExtent> changed = new ArrayList<>();
+    for (long s = since + 1; s <= sequence; s++) {
+      List<KeyExtent> extents = publications.get(s);
+      if (extents == null || extents.isEmpty()) {
+        return null;
+      }
+      changed.addAll(extents);
+    }
+    return changed;
+  }
+
+  public static String getPath(ClientContext context, TableId tableId) {
+    return context.getZooKeeperRoot() + Constants.ZTABLES + "/" + tableId.canonical()
+        + Constants.ZTABLE_LOCATION_CHANGES;
+  }
+
+  /**
+   * Supplies the changes published for a table from the {@link ZooCache}, without ever waiting on
+   * ZooKeeper, so that checking for changes does not hold up reads and writes when ZooKeeper is
+   * slow or unreachable. Changes that are not cached yet are loaded in the background, and nothing
+   * is supplied until they are. Once loaded, the cache watches the node. Tables that do not enable
+   * {@link org.apache.accumulo.core.conf.Property#TABLE_LOCATION_CHANGES_PUBLISH} never create
+   * it, so for them this only ever supplies the cached absence of the node.
+   */
+  static class CachedSupplier implements Supplier<byte[]> {
+
+    private final ZooCache zc;
+    private final String path;
+    private final Executor loader;
+    private final AtomicBoolean loading = new AtomicBoolean(false);
+
+    CachedSupplier(ClientContext context, TableId tableId) {
+      this(context.getZooCache(), getPath(context, tableId),
+          context::executeLocationChangesLoadTask);
+    }
+
+    CachedSupplier(ZooCache zc, String path, Executor loader) {
+      this.zc = zc;
+      this.path = path;
+      this.loader = loader;
+    }
+
+    @Override
+    public byte[] get() {
+      byte[] serialized = zc.getIfCached(path);
+      if (serialized != null || zc.dataCached(path)) {
+        return serialized;
+      }
+      if (loading.compareAndSet(false, true)) {
+        try {
+          loader.execute(this::load);
+        } catch (RuntimeException e) {
+          loading.set(false);
+          throw e;
+        }
+      }
+      return null;
+    }
+
+    private void load() {
+      try {
+        zc.get(path);
+      } catch (RuntimeException e) {
+        // tried again the next time changes are checked
+        log.debug("Failed to load tablet location changes from {}", path, e);
+      } finally {
+        loading.set(false);
+      }
+    }
+  }
+
+  /**
+   * Serializes a single publication, for a table that has not published changes before.
+   */
+  public static byte[] serialize(long sequence, Collection<KeyExtent> extents) {
+    NavigableMap<Long,List<KeyExtent>> publications = new TreeMap<>();
+    publications.put(sequence, List.copyOf(extents));
+    return serialize(sequence, publications);
+  }
+
+  /**
+   * Serializes the next publication after the given serialized changes, keeping the most recent
+   * publications they contain.
+   */
+  public static byte[] append(byte[] current, Collection<KeyExtent> extents) {
+    TabletLocationChanges changes = deserialize(current);
+    long sequence = changes.sequence + 1;
+    NavigableMap<Long,List<KeyExtent>> publications = changes.publications;
+    publications.put(sequence, List.copyOf(extents));
+    while (publications.size() > MAX_PUBLICATIONS) {
+      publications.pollFirstEntry();
+    }
+    return serialize(sequence, publications);
+  }
+
+  private static byte[] serialize(long sequence, NavigableMap<Long,List<KeyExtent>> publications) {
+    try {
+      ByteArrayOutputStream baos = new ByteArrayOutputStream();
+      DataOutputStream dos = new DataOutputStream(baos);
+      dos.writeLong(sequence);
+      dos.writeInt(publications.size());
+      for (Entry<Long,List<KeyExtent>> publication : publications.descendingMap().entrySet()) {
+        dos.writeLong(publication.getKey());
+        dos.writeInt(publication.getValue().size());
+        for (KeyExtent extent : publication.getValue()) {
+          extent.writeTo(dos);
+        }
+      }
+      dos.close();
+      if (baos.size() > MAX_SERIALIZED_SIZE) {
+        // drop the oldest publications first, and the extents of the latest one last
+        if (publications.size() > 1) {
+          publications.pollFirstEntry();
+        } else {
+          publications.put(sequence, List.of());
+        }
+        return serialize(sequence, publications);
+      }
+      return baos.toByteArray();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Reads only the sequence number of serialized changes, which is cheaper than deserializing them
+   * when checking if anything changed.
+   */
+  public static long getSequence(byte[] serialized) {
+    return ByteBuffer.wrap(serialized).getLong();
+  }
+
+  public static TabletLocationChanges deserialize(byte[] serialized) {
+    try (DataInputStream dis = new DataInputStream(new ByteArrayInputStream(serialized))) {
+      long sequence = dis.readLong();
+      int count = dis.readInt();
+      NavigableMap<Long,List<KeyExtent>> publications = new TreeMap<>();
+      for (int i = 0; i < count; i++) {
+        long publicationSequence = dis.readLong();
+        int extentCount = dis.readInt();
+        List<KeyExtent> extents = new ArrayList<>(extentCount);
+        for (int j = 0; j < extentCount; j++) {
+          extents.add(KeyExtent.readFrom(dis));
+        }
+        publications.put(publicationSequence, extents);
+      }
+      return new TabletLocationChanges(sequence, publications);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
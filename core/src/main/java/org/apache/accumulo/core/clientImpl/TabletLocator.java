@@ -146,7 +146,8 @@ public abstract class TabletLocator {
             new ZookeeperLockChecker(context));
       } else {
         tl = new TabletLocatorImpl(tableId, getLocator(context, MetadataTable.ID), mlo,
-            new ZookeeperLockChecker(context));
+            new ZookeeperLockChecker(context),
+            new TabletLocationChanges.CachedSupplier(context, tableId));
       }
       locators.put(key, tl);
     }
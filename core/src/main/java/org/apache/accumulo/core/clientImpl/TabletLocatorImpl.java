@@ -32,11 +32,14 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.NavigableMap;
 import java.util.SortedMap;
-import java.util.TreeMap;
-import java.util.TreeSet;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.SortedSet;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
 
 import org.apache.accumulo.core.client.AccumuloException;
 import org.apache.accumulo.core.client.AccumuloSecurityException;
@@ -47,6 +50,7 @@ import org.apache.accumulo.core.data.PartialKey;
 import org.apache.accumulo.core.data.Range;
 import org.apache.accumulo.core.data.TableId;
 import org.apache.accumulo.core.dataImpl.KeyExtent;
+import org.apache.accumulo.core.metadata.schema.MetadataSchema.TabletsSection;
 import org.apache.accumulo.core.util.OpTimer;
 import org.apache.accumulo.core.util.Pair;
 import org.apache.accumulo.core.util.TextUtil;
@@ -55,8 +59,6 @@ import org.apache.hadoop.io.WritableComparator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
-
 public class TabletLocatorImpl extends TabletLocator {
 
   private static final Logger log = LoggerFactory.getLogger(TabletLocatorImpl.class);
@@ -78,15 +80,22 @@ public class TabletLocatorImpl extends TabletLocator {
 
   protected TableId tableId;
   protected TabletLocator parent;
-  protected TreeMap<Text,TabletLocation> metaCache = new TreeMap<>(END_ROW_COMPARATOR);
+  // concurrent so that threads binning against the cache do not need to take a lock
+  protected NavigableMap<Text,TabletLocation> metaCache =
+      new ConcurrentSkipListMap<>(END_ROW_COMPARATOR);
   protected TabletLocationObtainer locationObtainer;
   private TabletServerLockChecker lockChecker;
   protected Text lastTabletRow;
 
-  private TreeSet<KeyExtent> badExtents = new TreeSet<>();
-  private ReentrantReadWriteLock rwLock = new ReentrantReadWriteLock();
-  private final Lock rLock = rwLock.readLock();
-  private final Lock wLock = rwLock.writeLock();
+  private final SortedSet<KeyExtent> badExtents = new ConcurrentSkipListSet<>();
+  // serializes looking up locations and updating the cache, reading the cache needs no lock
+  private final ReentrantLock wLock = new ReentrantLock();
+
+  private static final long NO_LOCATION_CHANGES_SEEN = -1;
+  // supplies the serialized TabletLocationChanges published for the table, may be null
+  private final Supplier<byte[]> locationChanges;
+  // only updated holding wLock, read without it to skip the lock when nothing changed
+  private final AtomicLong lastLocationChange = new AtomicLong(NO_LOCATION_CHANGES_SEEN);
 
   public interface TabletLocationObtainer {
     /**
@@ -146,10 +155,22 @@ public class TabletLocatorImpl extends TabletLocator {
 
   public TabletLocatorImpl(TableId tableId, TabletLocator parent, TabletLocationObtainer tlo,
       TabletServerLockChecker tslc) {
+    this(tableId, parent, tlo, tslc, null);
+  }
+
+  /**
+   * @param locationChanges
+   *          supplies the latest {@link TabletLocationChanges} published for the table, or null
+   *          when there are none. It is called each time invalidated locations are processed,
+   *          so it must not block, see {@link TabletLocationChanges.CachedSupplier}.
+   */
+  public TabletLocatorImpl(TableId tableId, TabletLocator parent, TabletLocationObtainer tlo,
+      TabletServerLockChecker tslc, Supplier<byte[]> locationChanges) {
     this.tableId = tableId;
     this.parent = parent;
     this.locationObtainer = tlo;
     this.lockChecker = tslc;
+    this.locationChanges = locationChanges;
 
     this.lastTabletRow = new Text(tableId.canonical());
     lastTabletRow.append(new byte[] {'<'}, 0, 1);
@@ -173,26 +194,21 @@ public class TabletLocatorImpl extends TabletLocator {
 
     LockCheckerSession lcSession = new LockCheckerSession();
 
-    rLock.lock();
-    try {
-      processInvalidated(context, lcSession);
+    processInvalidated(context, lcSession);
 
-      // for this to be efficient rows need to be in sorted order, but always sorting is slow...
-      // therefore only sort the
-      // stuff not in the cache.... it is most efficient to pass _locateTablet rows in sorted order
+    // for this to be efficient rows need to be in sorted order, but always sorting is slow...
+    // therefore only sort the
+    // stuff not in the cache.... it is most efficient to pass _locateTablet rows in sorted order
 
-      // For this to be efficient, need to avoid fine grained synchronization and fine grained
-      // logging.
-      // Therefore methods called by this are not synchronized and should not log.
+    // For this to be efficient, need to avoid fine grained synchronization and fine grained
+    // logging.
+    // Therefore methods called by this are not synchronized and should not log.
 
-      for (T mutation : mutations) {
-        row.set(mutation.getRow());
-        TabletLocation tl = locateTabletInCache(row);
-        if (tl == null || !addMutation(binnedMutations, mutation, tl, lcSession))
-          notInCache.add(mutation);
-      }
-    } finally {
-      rLock.unlock();
+    for (T mutation : mutations) {
+      row.set(mutation.getRow());
+      TabletLocation tl = locateTabletInCache(row);
+      if (tl == null || !addMutation(binnedMutations, mutation, tl, lcSession))
+        notInCache.add(mutation);
     }
 
     if (!notInCache.isEmpty()) {
@@ -201,6 +217,12 @@ public class TabletLocatorImpl extends TabletLocator {
 
       wLock.lock();
       try {
+        List<Text> rows = new ArrayList<>(notInCache.size());
+        for (T mutation : notInCache) {
+          rows.add(new Text(mutation.getRow()));
+        }
+        lookupMissing(context, rows, lcSession);
+
         boolean failed = false;
         for (T mutation : notInCache) {
           if (failed) {
@@ -342,20 +364,14 @@ public class TabletLocatorImpl extends TabletLocator {
 
     LockCheckerSession lcSession = new LockCheckerSession();
 
-    List<Range> failures;
-    rLock.lock();
-    try {
-      processInvalidated(context, lcSession);
+    processInvalidated(context, lcSession);
 
-      // for this to be optimal, need to look ranges up in sorted order when
-      // ranges are not present in cache... however do not want to always
-      // sort ranges... therefore try binning ranges using only the cache
-      // and sort whatever fails and retry
+    // for this to be optimal, need to look ranges up in sorted order when
+    // ranges are not present in cache... however do not want to always
+    // sort ranges... therefore try binning ranges using only the cache
+    // and sort whatever fails and retry
 
-      failures = binRanges(context, ranges, binnedRanges, true, lcSession);
-    } finally {
-      rLock.unlock();
-    }
+    List<Range> failures = binRanges(context, ranges, binnedRanges, true, lcSession);
 
     if (!failures.isEmpty()) {
       // sort failures by range start key
@@ -364,6 +380,12 @@ public class TabletLocatorImpl extends TabletLocator {
       // try lookups again
       wLock.lock();
       try {
+        List<Text> rows = new ArrayList<>(failures.size());
+        for (Range range : failures) {
+          rows.add(range.getStartKey() == null ? new Text() : range.getStartKey().getRow());
+        }
+        lookupMissing(context, rows, lcSession);
+
         failures = binRanges(context, failures, binnedRanges, false, lcSession);
       } finally {
         wLock.unlock();
@@ -382,24 +404,14 @@ public class TabletLocatorImpl extends TabletLocator {
 
   @Override
   public void invalidateCache(KeyExtent failedExtent) {
-    wLock.lock();
-    try {
-      badExtents.add(failedExtent);
-    } finally {
-      wLock.unlock();
-    }
+    badExtents.add(failedExtent);
     if (log.isTraceEnabled())
       log.trace("Invalidated extent={}", failedExtent);
   }
 
   @Override
   public void invalidateCache(Collection<KeyExtent> keySet) {
-    wLock.lock();
-    try {
-      badExtents.addAll(keySet);
-    } finally {
-      wLock.unlock();
-    }
+    badExtents.addAll(keySet);
     if (log.isTraceEnabled())
       log.trace("Invalidated {} cache entries for table {}", keySet.size(), tableId);
   }
@@ -408,16 +420,11 @@ public class TabletLocatorImpl extends TabletLocator {
   public void invalidateCache(ClientContext context, String server) {
     int invalidatedCount = 0;
 
-    wLock.lock();
-    try {
-      for (TabletLocation cacheEntry : metaCache.values())
-        if (cacheEntry.tablet_location.equals(server)) {
-          badExtents.add(cacheEntry.tablet_extent);
-          invalidatedCount++;
-        }
-    } finally {
-      wLock.unlock();
-    }
+    for (TabletLocation cacheEntry : metaCache.values())
+      if (cacheEntry.tablet_location.equals(server)) {
+        badExtents.add(cacheEntry.tablet_extent);
+        invalidatedCount++;
+      }
 
     lockChecker.invalidateCache(server);
 
@@ -429,14 +436,8 @@ public class TabletLocatorImpl extends TabletLocator {
 
   @Override
   public void invalidateCache() {
-    int invalidatedCount;
-    wLock.lock();
-    try {
-      invalidatedCount = metaCache.size();
-      metaCache.clear();
-    } finally {
-      wLock.unlock();
-    }
+    int invalidatedCount = metaCache.size();
+    metaCache.clear();
     if (log.isTraceEnabled())
       log.trace("invalidated all {} cache entries for table={}", invalidatedCount, tableId);
   }
@@ -565,7 +566,7 @@ public class TabletLocatorImpl extends TabletLocator {
       removeOverlapping(badExtents, tabletLocation.tablet_extent);
   }
 
-  static void removeOverlapping(TreeMap<Text,TabletLocation> metaCache, KeyExtent nke) {
+  static void removeOverlapping(NavigableMap<Text,TabletLocation> metaCache, KeyExtent nke) {
     Iterator<Entry<Text,TabletLocation>> iter = null;
 
     if (nke.prevEndRow() == null) {
@@ -600,7 +601,7 @@ public class TabletLocatorImpl extends TabletLocator {
     return row;
   }
 
-  static void removeOverlapping(TreeSet<KeyExtent> extents, KeyExtent nke) {
+  static void removeOverlapping(SortedSet<KeyExtent> extents, KeyExtent nke) {
     for (KeyExtent overlapping : KeyExtent.findOverlapping(nke, extents)) {
       extents.remove(overlapping);
     }
@@ -630,16 +631,7 @@ public class TabletLocatorImpl extends TabletLocator {
 
     TabletLocation tl;
 
-    if (lock) {
-      rLock.lock();
-      try {
-        tl = processInvalidatedAndCheckLock(context, lcSession, row);
-      } finally {
-        rLock.unlock();
-      }
-    } else {
-      tl = processInvalidatedAndCheckLock(context, lcSession, row);
-    }
+    tl = processInvalidatedAndCheckLock(context, lcSession, row);
 
     if (tl == null) {
       // not in cache, so obtain info
@@ -672,22 +664,19 @@ public class TabletLocatorImpl extends TabletLocator {
     return lcSession.checkLock(locateTabletInCache(row));
   }
 
-  @SuppressFBWarnings(value = {"UL_UNRELEASED_LOCK", "UL_UNRELEASED_LOCK_EXCEPTION_PATH"},
-      justification = "locking is confusing, but probably correct")
   private void processInvalidated(ClientContext context, LockCheckerSession lcSession)
       throws AccumuloSecurityException, AccumuloException, TableNotFoundException {
 
-    if (badExtents.isEmpty())
+    if (badExtents.isEmpty() && !locationsChanged())
       return;
 
-    final boolean writeLockHeld = rwLock.isWriteLockedByCurrentThread();
+    wLock.lock();
     try {
-      if (!writeLockHeld) {
-        rLock.unlock();
-        wLock.lock();
-        if (badExtents.isEmpty())
-          return;
-      }
+      // under the lock, so a lookup in progress can not cache a location invalidated here again
+      checkLocationChanges();
+
+      if (badExtents.isEmpty())
+        return;
 
       List<Range> lookups = new ArrayList<>(badExtents.size());
 
@@ -696,28 +685,133 @@ public class TabletLocatorImpl extends TabletLocator {
         removeOverlapping(metaCache, be);
       }
 
-      lookups = Range.mergeOverlapping(lookups);
-
-      Map<String,Map<KeyExtent,List<Range>>> binnedRanges = new HashMap<>();
+      lookupTablets(context, lookups, lcSession);
+    } finally {
+      wLock.unlock();
+    }
+  }
 
-      parent.binRanges(context, lookups, binnedRanges);
+  /**
+   * Checks if location changes were published since they were last seen, without deserializing
+   * them.
+   */
+  private boolean locationsChanged() {
+    if (locationChanges == null)
+      return false;
+
+    byte[] serialized = locationChanges.get();
+    return serialized != null
+        && TabletLocationChanges.getSequence(serialized) != lastLocationChange.get();
+  }
 
-      // randomize server order
-      ArrayList<String> tabletServers = new ArrayList<>(binnedRanges.keySet());
-      Collections.shuffle(tabletServers);
+  /**
+   * Invalidates the cached tablets whose location changed since the last published location changes
+   * were seen. When the changes since then are no longer published, all cached tablets are
+   * invalidated. Must be called holding wLock.
+   */
+  private void checkLocationChanges() {
+    if (locationChanges == null)
+      return;
 
-      for (String tserver : tabletServers) {
-        List<TabletLocation> locations =
-            locationObtainer.lookupTablets(context, tserver, binnedRanges.get(tserver), parent);
+    byte[] serialized = locationChanges.get();
+    if (serialized == null)
+      return;
 
-        for (TabletLocation tabletLocation : locations) {
-          updateCache(tabletLocation, lcSession);
+    long last = lastLocationChange.get();
+    long sequence = TabletLocationChanges.getSequence(serialized);
+    if (sequence == last)
+      return;
+    lastLocationChange.set(sequence);
+
+    List<KeyExtent> changed = last == NO_LOCATION_CHANGES_SEEN ? null
+        : TabletLocationChanges.deserialize(serialized).getExtentsSince(last);
+    List<KeyExtent> invalidated = new ArrayList<>();
+    if (changed != null) {
+      for (KeyExtent extent : changed) {
+        Iterator<TabletLocation> iter = extent.prevEndRow() == null ? metaCache.values().iterator()
+            : metaCache.tailMap(rowAfterPrevRow(extent)).values().iterator();
+        while (iter.hasNext()) {
+          KeyExtent cached = iter.next().tablet_extent;
+          if (stopRemoving(extent, cached)) {
+            break;
+          }
+          invalidated.add(cached);
         }
       }
-    } finally {
-      if (!writeLockHeld) {
-        rLock.lock();
-        wLock.unlock();
+    } else {
+      for (TabletLocation cacheEntry : metaCache.values()) {
+        invalidated.add(cacheEntry.tablet_extent);
+      }
+    }
+
+    badExtents.addAll(invalidated);
+    if (log.isTraceEnabled())
+      log.trace("Invalidated {} cache entries for table {} after location changes {}",
+          invalidated.size(), tableId, sequence);
+  }
+
+  /**
+   * Looks up the tablets in gaps of the cache that contain the given rows with a single batch
+   * lookup, instead of one lookup per row. This is how the cache recovers from tablets that were
+   * dropped because they split or moved. Only gaps with cached tablets on both sides are looked up
+   * this way, since a gap open at the end of the table could span every tablet in it. Rows that are
+   * still not in the cache are looked up individually by the caller.
+   */
+  private void lookupMissing(ClientContext context, List<Text> rows, LockCheckerSession lcSession)
+      throws AccumuloSecurityException, AccumuloException, TableNotFoundException {
+
+    List<Range> lookups = new ArrayList<>();
+    Text lastGapEnd = null;
+    for (Text row : rows) {
+      Entry<Text,TabletLocation> next = metaCache.ceilingEntry(row);
+      if (next == null) {
+        continue;
+      }
+      Text gapEnd = next.getValue().tablet_extent.prevEndRow();
+      if (gapEnd == null || gapEnd.compareTo(row) < 0 || gapEnd.equals(lastGapEnd)) {
+        // the row is in the cache or its gap was already seen
+        continue;
+      }
+      lastGapEnd = gapEnd;
+      Text gapStart = metaCache.lowerKey(row);
+
+      Text startRow = new Text(tableId.canonical());
+      startRow.append(new byte[] {';'}, 0, 1);
+      if (gapStart != null) {
+        startRow.append(gapStart.getBytes(), 0, gapStart.getLength());
+      }
+      lookups.add(new Range(startRow, gapStart == null, TabletsSection.encodeRow(tableId, gapEnd),
+          true));
+    }
+
+    if (!lookups.isEmpty()) {
+      lookupTablets(context, lookups, lcSession);
+    }
+  }
+
+  /**
+   * Looks up the tablets in the given metadata ranges, using one batch lookup per tablet server
+   * serving them, and adds them to the cache.
+   */
+  private void lookupTablets(ClientContext context, List<Range> lookups,
+      LockCheckerSession lcSession)
+      throws AccumuloSecurityException, AccumuloException, TableNotFoundException {
+    lookups = Range.mergeOverlapping(lookups);
+
+    Map<String,Map<KeyExtent,List<Range>>> binnedRanges = new HashMap<>();
+
+    parent.binRanges(context, lookups, binnedRanges);
+
+    // randomize server order
+    ArrayList<String> tabletServers = new ArrayList<>(binnedRanges.keySet());
+    Collections.shuffle(tabletServers);
+
+    for (String tserver : tabletServers) {
+      List<TabletLocation> locations =
+          locationObtainer.lookupTablets(context, tserver, binnedRanges.get(tserver), parent);
+
+      for (TabletLocation tabletLocation : locations) {
+        updateCache(tabletLocation, lcSession);
       }
     }
   }
@@ -27,16 +27,21 @@ import java.io.IOException;
 import java.lang.management.CompilationMXBean;
 import java.lang.management.GarbageCollectorMXBean;
 import java.lang.management.ManagementFactory;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.SynchronousQueue;
@@ -56,6 +61,7 @@ import org.apache.accumulo.core.client.TimedOutException;
 import org.apache.accumulo.core.clientImpl.TabletLocator.TabletServerMutations;
 import org.apache.accumulo.core.clientImpl.thrift.SecurityErrorCode;
 import org.apache.accumulo.core.clientImpl.thrift.ThriftSecurityException;
+import org.apache.accumulo.core.conf.ClientProperty;
 import org.apache.accumulo.core.constraints.Violations;
 import org.apache.accumulo.core.data.ConstraintViolationSummary;
 import org.apache.accumulo.core.data.Mutation;
@@ -65,6 +71,7 @@ import org.apache.accumulo.core.dataImpl.KeyExtent;
 import org.apache.accumulo.core.dataImpl.TabletIdImpl;
 import org.apache.accumulo.core.dataImpl.thrift.TMutation;
 import org.apache.accumulo.core.dataImpl.thrift.UpdateErrors;
+import org.apache.accumulo.core.file.rfile.bcfile.Compression;
 import org.apache.accumulo.core.rpc.ThriftUtil;
 import org.apache.accumulo.core.tabletserver.thrift.ConstraintViolationException;
 import org.apache.accumulo.core.tabletserver.thrift.NotServingTabletException;
@@ -105,6 +112,20 @@ import io.opentelemetry.context.Scope;
  * Memory accounting
  *   + when a mutation enters the system memory is incremented
  *   + when a mutation successfully leaves the system memory is decremented
+ *
+ * Backpressure
+ *   + tablet servers return hints about memory pressure, minor compactions and
+ *     write ahead log latency when an update session is closed
+ *   + a server under pressure is not sent more mutations until its delay passes,
+ *     its send thread is released to write to other servers instead
+ *
+ * Asynchronous mutations
+ *   + mutations added when memory is full are held in a pending queue instead of
+ *     blocking, and enter the system as memory is decremented
+ *   + a mutation's future completes when the tablet server accepts it, or
+ *     exceptionally with every other outstanding future once something fails
+ *   + flush waits for the send threads to complete the futures of accepted
+ *     mutations, except when called from a callback on one of those threads
  */
 public class TabletServerBatchWriter implements AutoCloseable {
 
@@ -116,12 +137,20 @@ public class TabletServerBatchWriter implements AutoCloseable {
   private final long maxLatency;
   private final long timeout;
   private final Durability durability;
+  private final String compression;
 
   // state
   private boolean flushing;
   private boolean closed;
   private MutationSet mutations;
 
+  // async mutations that are waiting for memory, and futures for all outstanding async mutations
+  private final ArrayDeque<PendingMutation> pendingAsyncMutations = new ArrayDeque<>();
+  private final Map<Mutation,CompletableFuture<Void>> asyncFutures =
+      Collections.synchronizedMap(new IdentityHashMap<>());
+  // send threads that released the memory of accepted mutations and are completing their futures
+  private final Set<Thread> completingThreads = new HashSet<>();
+
   // background writer
   private final MutationWriter writer;
 
@@ -131,6 +160,12 @@ public class TabletServerBatchWriter implements AutoCloseable {
   private final Map<String,TimeoutTracker> timeoutTrackers =
       Collections.synchronizedMap(new HashMap<>());
 
+  // tablet servers that rejected compressed updates, these are sent uncompressed mutations
+  private final Set<String> compressionUnsupported = ConcurrentHashMap.newKeySet();
+
+  // delays for tablet servers that reported backpressure
+  private final ServerBackpressure backpressure = new ServerBackpressure();
+
   // stats
   private long totalMemUsed = 0;
   private long lastProcessingStartTime;
@@ -162,6 +197,16 @@ public class TabletServerBatchWriter implements AutoCloseable {
   private boolean somethingFailed = false;
   private Exception lastUnknownError = null;
 
+  private static class PendingMutation {
+    final TableId table;
+    final Mutation mutation;
+
+    PendingMutation(TableId table, Mutation mutation) {
+      this.table = table;
+      this.mutation = mutation;
+    }
+  }
+
   private static class TimeoutTracker {
 
     final String server;
@@ -212,6 +257,9 @@ public class TabletServerBatchWriter implements AutoCloseable {
     this.mutations = new MutationSet();
     this.lastProcessingStartTime = System.currentTimeMillis();
     this.durability = config.getDurability();
+    this.compression = ClientProperty.BATCH_WRITER_COMPRESSION.getValue(context.getProperties());
+    if (!compression.equals("none") && !Compression.getSupportedAlgorithms().contains(compression))
+      throw new IllegalArgumentException("Unsupported batch writer compression " + compression);
 
     this.writer = new MutationWriter(config.getMaxWriteThreads());
 
@@ -241,9 +289,21 @@ public class TabletServerBatchWriter implements AutoCloseable {
 
   private synchronized void decrementMemUsed(long amount) {
     totalMemUsed -= amount;
+    queuePendingAsyncMutations();
     this.notifyAll();
   }
 
+  private synchronized void queuePendingAsyncMutations() {
+    if (pendingAsyncMutations.isEmpty())
+      return;
+    while (!pendingAsyncMutations.isEmpty() && totalMemUsed <= maxMem) {
+      PendingMutation pending = pendingAsyncMutations.remove();
+      queueMutation(pending.table, pending.mutation);
+    }
+    if (flushing || closed)
+      startProcessing();
+  }
+
   public synchronized void addMutation(TableId table, Mutation m)
       throws MutationsRejectedException {
 
@@ -265,6 +325,46 @@ public class TabletServerBatchWriter implements AutoCloseable {
       throw new IllegalStateException("Closed");
     checkForFailures();
 
+    // create a copy of mutation so that after this method returns the user
+    // is free to reuse the mutation object, like calling readFields... this
+    // is important for the case where a mutation is passed from map to reduce
+    // to batch writer... the map reduce code will keep passing the same mutation
+    // object into the reduce method
+    queueMutation(table, new Mutation(m));
+    checkForFailures();
+  }
+
+  /**
+   * Adds a mutation without blocking when memory is full. The returned future completes when a
+   * tablet server accepts the mutation, or exceptionally with a {@link MutationsRejectedException}
+   * if this or any other mutation fails.
+   */
+  public synchronized CompletableFuture<Void> addMutationAsync(TableId table, Mutation m) {
+
+    if (closed)
+      throw new IllegalStateException("Closed");
+    if (m.size() == 0)
+      throw new IllegalArgumentException("Can not add empty mutations");
+
+    CompletableFuture<Void> future = new CompletableFuture<>();
+    if (somethingFailed) {
+      future.completeExceptionally(createMutationsRejectedException());
+      return future;
+    }
+
+    m = new Mutation(m);
+    asyncFutures.put(m, future);
+
+    if (totalMemUsed > maxMem || !pendingAsyncMutations.isEmpty()) {
+      pendingAsyncMutations.add(new PendingMutation(table, m));
+    } else {
+      queueMutation(table, m);
+    }
+
+    return future;
+  }
+
+  private synchronized void queueMutation(TableId table, Mutation m) {
     if (startTime == 0) {
       startTime = System.currentTimeMillis();
 
@@ -281,20 +381,12 @@ public class TabletServerBatchWriter implements AutoCloseable {
       initialSystemLoad = ManagementFactory.getOperatingSystemMXBean().getSystemLoadAverage();
     }
 
-    // create a copy of mutation so that after this method returns the user
-    // is free to reuse the mutation object, like calling readFields... this
-    // is important for the case where a mutation is passed from map to reduce
-    // to batch writer... the map reduce code will keep passing the same mutation
-    // object into the reduce method
-    m = new Mutation(m);
-
     totalMemUsed += m.estimatedMemoryUsed();
     mutations.addMutation(table, m);
     totalAdded++;
 
     if (mutations.getMemoryUsed() >= maxMem / 2) {
       startProcessing();
-      checkForFailures();
     }
   }
 
@@ -315,8 +407,11 @@ public class TabletServerBatchWriter implements AutoCloseable {
       checkForFailures();
 
       if (flushing) {
-        // some other thread is currently flushing, so wait
-        waitRTE(() -> flushing && !somethingFailed);
+        // some other thread is currently flushing, so wait unless that flush is waiting on this
+        // thread to complete futures
+        if (!completingThreads.contains(Thread.currentThread())) {
+          waitRTE(() -> flushing && !somethingFailed);
+        }
 
         checkForFailures();
 
@@ -328,7 +423,8 @@ public class TabletServerBatchWriter implements AutoCloseable {
       startProcessing();
       checkForFailures();
 
-      waitRTE(() -> totalMemUsed > 0 && !somethingFailed);
+      waitRTE(() -> (totalMemUsed > 0 || !pendingAsyncMutations.isEmpty() || isCompleting())
+          && !somethingFailed);
 
       flushing = false;
       this.notifyAll();
@@ -354,7 +450,8 @@ public class TabletServerBatchWriter implements AutoCloseable {
 
       startProcessing();
 
-      waitRTE(() -> totalMemUsed > 0 && !somethingFailed);
+      waitRTE(() -> (totalMemUsed > 0 || !pendingAsyncMutations.isEmpty() || isCompleting())
+          && !somethingFailed);
 
       logStats();
 
@@ -481,6 +578,23 @@ public class TabletServerBatchWriter implements AutoCloseable {
     numBatches.incrementAndGet();
   }
 
+  /**
+   * @return true if a thread other than this one is completing futures of async mutations. A thread
+   *         completing futures can not wait for the others, as they may be waiting for it.
+   */
+  private synchronized boolean isCompleting() {
+    return !completingThreads.isEmpty() && !completingThreads.contains(Thread.currentThread());
+  }
+
+  private synchronized void startCompleting() {
+    completingThreads.add(Thread.currentThread());
+  }
+
+  private synchronized void finishCompleting() {
+    completingThreads.remove(Thread.currentThread());
+    this.notifyAll();
+  }
+
   private interface WaitCondition {
     boolean shouldWait();
   }
@@ -504,6 +618,7 @@ public class TabletServerBatchWriter implements AutoCloseable {
         violations.add(cvsList);
         this.notifyAll();
       }
+      failAsyncMutations();
     }
   }
 
@@ -522,45 +637,94 @@ public class TabletServerBatchWriter implements AutoCloseable {
             .computeIfAbsent(ke, k -> new HashSet<>()).add(code));
         this.notifyAll();
       }
+      failAsyncMutations();
     }
   }
 
-  private synchronized void updateServerErrors(String server, Exception e) {
-    somethingFailed = true;
-    this.serverSideErrors.add(server);
-    this.notifyAll();
+  private void updateServerErrors(String server, Exception e) {
+    synchronized (this) {
+      somethingFailed = true;
+      this.serverSideErrors.add(server);
+      this.notifyAll();
+    }
     log.error("Server side error on {}", server, e);
+    failAsyncMutations();
   }
 
-  private synchronized void updateUnknownErrors(String msg, Exception t) {
-    somethingFailed = true;
-    unknownErrors++;
-    this.lastUnknownError = t;
-    this.notifyAll();
+  private void updateUnknownErrors(String msg, Exception t) {
+    synchronized (this) {
+      somethingFailed = true;
+      unknownErrors++;
+      this.lastUnknownError = t;
+      this.notifyAll();
+    }
     if (t instanceof TableDeletedException || t instanceof TableOfflineException
         || t instanceof TimedOutException)
       log.debug("{}", msg, t); // this is not unknown
     else
       log.error("{}", msg, t);
+    failAsyncMutations();
   }
 
-  private void checkForFailures() throws MutationsRejectedException {
-    if (somethingFailed) {
-      List<ConstraintViolationSummary> cvsList = violations.asList();
-      HashMap<TabletId,Set<org.apache.accumulo.core.client.security.SecurityErrorCode>> af =
-          new HashMap<>();
-      for (Entry<KeyExtent,Set<SecurityErrorCode>> entry : authorizationFailures.entrySet()) {
-        HashSet<org.apache.accumulo.core.client.security.SecurityErrorCode> codes = new HashSet<>();
-
-        for (SecurityErrorCode sce : entry.getValue()) {
-          codes.add(org.apache.accumulo.core.client.security.SecurityErrorCode.valueOf(sce.name()));
+  /**
+   * Completes the futures of all outstanding async mutations exceptionally. The futures are
+   * completed without holding this object's lock, so that their callbacks can use the writer.
+   */
+  private void failAsyncMutations() {
+    List<CompletableFuture<Void>> failed;
+    MutationsRejectedException mre;
+    synchronized (this) {
+      pendingAsyncMutations.clear();
+      synchronized (asyncFutures) {
+        if (asyncFutures.isEmpty())
+          return;
+        failed = new ArrayList<>(asyncFutures.values());
+        asyncFutures.clear();
+      }
+      mre = createMutationsRejectedException();
+    }
+    failed.forEach(future -> future.completeExceptionally(mre));
+  }
+
+  private void completeAsyncMutations(Map<KeyExtent,List<Mutation>> sent, MutationSet failures) {
+    if (asyncFutures.isEmpty())
+      return;
+
+    Set<Mutation> failed = Collections.newSetFromMap(new IdentityHashMap<>());
+    failures.getMutations().values().forEach(failed::addAll);
+
+    for (List<Mutation> tabletMutations : sent.values()) {
+      for (Mutation m : tabletMutations) {
+        if (!failed.contains(m)) {
+          CompletableFuture<Void> future = asyncFutures.remove(m);
+          if (future != null)
+            future.complete(null);
         }
+      }
+    }
+  }
+
+  private synchronized MutationsRejectedException createMutationsRejectedException() {
+    List<ConstraintViolationSummary> cvsList = violations.asList();
+    HashMap<TabletId,Set<org.apache.accumulo.core.client.security.SecurityErrorCode>> af =
+        new HashMap<>();
+    for (Entry<KeyExtent,Set<SecurityErrorCode>> entry : authorizationFailures.entrySet()) {
+      HashSet<org.apache.accumulo.core.client.security.SecurityErrorCode> codes = new HashSet<>();
 
-        af.put(new TabletIdImpl(entry.getKey()), codes);
+      for (SecurityErrorCode sce : entry.getValue()) {
+        codes.add(org.apache.accumulo.core.client.security.SecurityErrorCode.valueOf(sce.name()));
       }
 
-      throw new MutationsRejectedException(context, cvsList, af, serverSideErrors, unknownErrors,
-          lastUnknownError);
+      af.put(new TabletIdImpl(entry.getKey()), codes);
+    }
+
+    return new MutationsRejectedException(context, cvsList, af, serverSideErrors, unknownErrors,
+        lastUnknownError);
+  }
+
+  private void checkForFailures() throws MutationsRejectedException {
+    if (somethingFailed) {
+      throw createMutationsRejectedException();
     }
   }
 
@@ -809,14 +973,29 @@ public class TabletServerBatchWriter implements AutoCloseable {
       @Override
       public void run() {
         try {
-          TabletServerMutations<Mutation> tsmuts = getMutationsToSend(location);
+          while (true) {
+            long delay = backpressure.getDelay(location);
+            if (delay > 0) {
+              // The server stays queued, so mutations for it accumulate while this thread is
+              // released to send to other servers.
+              executor.schedule(() -> {
+                // exceptions thrown here would only be seen by the unused scheduled future
+                try {
+                  sendThreadPool.execute(new SendTask(location));
+                } catch (RejectedExecutionException e) {
+                  updateUnknownErrors("Failed to resume sending to tablet server " + location
+                      + " after its backpressure delay : " + e.getMessage(), e);
+                }
+              }, delay, MILLISECONDS);
+              return;
+            }
 
-          while (tsmuts != null) {
+            TabletServerMutations<Mutation> tsmuts = getMutationsToSend(location);
+            if (tsmuts == null) {
+              return;
+            }
             send(tsmuts);
-            tsmuts = getMutationsToSend(location);
           }
-
-          return;
         } catch (Exception t) {
           updateUnknownErrors(
               "Failed to send tablet server " + location + " its batch : " + t.getMessage(), t);
@@ -876,7 +1055,16 @@ public class TabletServerBatchWriter implements AutoCloseable {
             }
 
             updateSendStats(count, st2 - st1);
-            decrementMemUsed(successBytes);
+            // registered before memory is released, so flush can not return in between
+            startCompleting();
+            try {
+              decrementMemUsed(successBytes);
+              // release memory before completing futures, their callbacks may flush or add more
+              // mutations to this writer and wait on that memory
+              completeAsyncMutations(mutationBatch, failures);
+            } finally {
+              finishCompleting();
+            }
 
           } catch (Exception e) {
             TraceUtil.setException(span, e, true);
@@ -902,6 +1090,10 @@ public class TabletServerBatchWriter implements AutoCloseable {
       }
     }
 
+    private boolean useCompression(String location) {
+      return !compression.equals("none") && !compressionUnsupported.contains(location);
+    }
+
     private MutationSet sendMutationsToTabletServer(String location,
         Map<KeyExtent,List<Mutation>> tabMuts, TimeoutTracker timeoutTracker)
         throws IOException, AccumuloSecurityException, AccumuloServerException {
@@ -921,6 +1113,8 @@ public class TabletServerBatchWriter implements AutoCloseable {
         else
           client = ThriftUtil.getTServerClient(parsedServer, context);
 
+        final boolean compress = useCompression(location);
+
         try {
           MutationSet allFailures = new MutationSet();
 
@@ -943,20 +1137,35 @@ public class TabletServerBatchWriter implements AutoCloseable {
             long usid =
                 client.startUpdate(tinfo, context.rpcCreds(), DurabilityImpl.toThrift(durability));
 
-            List<TMutation> updates = new ArrayList<>();
-            for (Entry<KeyExtent,List<Mutation>> entry : tabMuts.entrySet()) {
-              long size = 0;
-              Iterator<Mutation> iter = entry.getValue().iterator();
-              while (iter.hasNext()) {
-                while (size < MUTATION_BATCH_SIZE && iter.hasNext()) {
-                  Mutation mutation = iter.next();
-                  updates.add(mutation.toThrift());
-                  size += mutation.numBytes();
+            if (compress) {
+              for (Entry<KeyExtent,List<Mutation>> entry : tabMuts.entrySet()) {
+                Iterator<Mutation> iter = entry.getValue().iterator();
+                while (iter.hasNext()) {
+                  CompressedMutations updates = new CompressedMutations();
+                  while (updates.getEncodedSize() < MUTATION_BATCH_SIZE && iter.hasNext()) {
+                    updates.add(iter.next());
+                  }
+
+                  client.applyCompressedUpdates(tinfo, usid, entry.getKey().toThrift(),
+                      updates.compress(compression));
+                }
+              }
+            } else {
+              List<TMutation> updates = new ArrayList<>();
+              for (Entry<KeyExtent,List<Mutation>> entry : tabMuts.entrySet()) {
+                long size = 0;
+                Iterator<Mutation> iter = entry.getValue().iterator();
+                while (iter.hasNext()) {
+                  while (size < MUTATION_BATCH_SIZE && iter.hasNext()) {
+                    Mutation mutation = iter.next();
+                    updates.add(mutation.toThrift());
+                    size += mutation.numBytes();
+                  }
+
+                  client.applyUpdates(tinfo, usid, entry.getKey().toThrift(), updates);
+                  updates.clear();
+                  size = 0;
                 }
-
-                client.applyUpdates(tinfo, usid, entry.getKey().toThrift(), updates);
-                updates.clear();
-                size = 0;
               }
             }
 
@@ -976,6 +1185,8 @@ public class TabletServerBatchWriter implements AutoCloseable {
                             Entry::getValue
             )));
             // @formatter:on
+            backpressure.update(location, updateErrors.isSetBackpressure()
+                ? updateErrors.getBackpressure().values() : null);
             long totalCommitted = 0;
 
             for (Entry<KeyExtent,Long> entry : failures.entrySet()) {
@@ -1000,6 +1211,18 @@ public class TabletServerBatchWriter implements AutoCloseable {
             }
           }
           return allFailures;
+        } catch (TApplicationException tae) {
+          if (tae.getType() == TApplicationException.UNKNOWN_METHOD && compress) {
+            // The tablet server predates compressed updates and did not apply any of the
+            // mutations in this session, so resend them uncompressed. Responses to the rejected
+            // calls may still be unread, so the connection can not be reused.
+            log.warn("Tablet server {} does not support compressed updates, sending uncompressed",
+                location);
+            compressionUnsupported.add(location);
+            ((TServiceClient) client).getInputProtocol().getTransport().close();
+            throw new IOException(tae);
+          }
+          throw tae;
         } finally {
           ThriftUtil.returnClient((TServiceClient) client, context);
         }
@@ -73,6 +73,12 @@ public enum ClientProperty {
           + "change the durability for the BatchWriter session. A value of \"default\" will"
           + " use the table's durability setting. ",
       "2.0.0", false),
+  BATCH_WRITER_COMPRESSION("batch.writer.compression", "none", PropertyType.STRING,
+      "Compression algorithm (i.e none, gz, lz4, snappy, zstd) used to encode batches of"
+          + " mutations sent to tablet servers. Column families, qualifiers and visibilities are"
+          + " dictionary encoded per batch before compressing. Tablet servers that do not support"
+          + " compressed updates are sent uncompressed mutations.",
+      "2.1.0", false),
 
   // ConditionalWriter
   CONDITIONAL_WRITER_TIMEOUT_MAX("conditional.writer.timeout.max", "0", PropertyType.TIMEDURATION,
@@ -351,6 +351,14 @@ public enum Property {
       "The number of threads used to run fault-tolerant executions (FATE)."
           + " These are primarily table operations like merge.",
       "1.4.3"),
+  @Experimental
+  MANAGER_FATE_TABLE("manager.fate.table", "", PropertyType.STRING,
+      "The name of a table to store fault-tolerant executions (FATE) in instead of ZooKeeper. The"
+          + " table must exist, use logical time and be online when the manager starts, and must"
+          + " not be taken offline or deleted while it is in use. Transactions already stored in"
+          + " ZooKeeper are not moved to the table. When empty, transactions are stored in"
+          + " ZooKeeper.",
+      "2.1.0"),
   @Deprecated(since = "2.1.0")
   MANAGER_REPLICATION_SCAN_INTERVAL("manager.replication.status.scan.interval", "30s",
       PropertyType.TIMEDURATION,
@@ -376,6 +384,20 @@ public enum Property {
       "Allow tablets for the " + MetadataTable.NAME
           + " table to be suspended via table.suspend.duration.",
       "1.8.0"),
+  MANAGER_TABLET_WATCHER_FULL_SCAN_INTERVAL("manager.tablet.watcher.full.scan.interval", "0s",
+      PropertyType.TIMEDURATION,
+      "When greater than zero, the manager only rescans the tablets that needed attention in its"
+          + " previous pass, migrating tablets, and tablets of tables whose state changed, instead"
+          + " of scanning all tablets every pass. All tablets are still scanned at this interval,"
+          + " and whenever the set of tablet servers, merges, servers being shut down or the"
+          + " manager state changes. Zero scans all tablets every pass.",
+      "2.1.0"),
+  MANAGER_TABLET_WATCHER_THREADS("manager.tablet.watcher.threads", "1", PropertyType.COUNT,
+      "The number of threads each tablet group watcher uses to scan and work tablets towards"
+          + " their goal. When greater than one, the tablets are partitioned using the tablet"
+          + " boundaries of the table storing their metadata, and the partitions are processed"
+          + " concurrently.",
+      "2.1.0"),
   MANAGER_STARTUP_TSERVER_AVAIL_MIN_COUNT("manager.startup.tserver.avail.min.count", "0",
       PropertyType.COUNT,
       "Minimum number of tservers that need to be registered before manager will "
@@ -545,6 +567,19 @@ public enum Property {
       "The maximum number of concurrent tablet migrations for a tablet server", "1.3.5"),
   TSERV_MAJC_DELAY("tserver.compaction.major.delay", "30s", PropertyType.TIMEDURATION,
       "Time a tablet server will sleep between checking which tablets need compaction.", "1.3.5"),
+  TSERV_MAJC_RATE_SCAN_LATENCY_TARGET("tserver.compaction.major.rate.scan.latency.target", "0s",
+      PropertyType.TIMEDURATION,
+      "When set, the rate limits of compaction services are lowered while scans on a tablet server"
+          + " wait longer than this in scan executor queues on average, and raised back to the"
+          + " configured rate limit when they do not. Only applies to compaction services that"
+          + " have a rate limit. Set to 0 to always use the configured rate limits.",
+      "2.1.0"),
+  TSERV_MAJC_RATE_MIN_RATIO("tserver.compaction.major.rate.min.ratio", "0.05",
+      PropertyType.FRACTION,
+      "The lowest fraction of its configured rate limit that a compaction service will be"
+          + " lowered to when scans wait longer than "
+          + "tserver.compaction.major.rate.scan.latency.target.",
+      "2.1.0"),
   TSERV_COMPACTION_SERVICE_PREFIX("tserver.compaction.major.service.", null, PropertyType.PREFIX,
       "Prefix for compaction services.", "2.1.0"),
   TSERV_COMPACTION_SERVICE_ROOT_PLANNER("tserver.compaction.major.service.root.planner",
@@ -624,6 +659,12 @@ public enum Property {
   @Deprecated(since = "2.1.0", forRemoval = true)
   TSERV_MINC_TRACE_PERCENT("tserver.compaction.minor.trace.percent", "0.1", PropertyType.FRACTION,
       "The percent of minor compactions to trace", "1.7.0"),
+  TSERV_COMPACTION_PARTITION_THREADS("tserver.compaction.partition.threads", "8",
+      PropertyType.COUNT,
+      "The number of threads a tablet server uses to compact the row ranges of partitioned"
+          + " compactions. The threads are shared by all of its compactions, so the ranges of"
+          + " concurrent compactions wait for each other. See table.compaction.partitions.",
+      "2.1.0"),
   TSERV_COMPACTION_WARN_TIME("tserver.compaction.warn.time", "10m", PropertyType.TIMEDURATION,
       "When a compaction has not made progress for this time period, a warning will be logged",
       "1.6.0"),
@@ -705,6 +746,12 @@ public enum Property {
   @ReplacedBy(property = Property.TSERV_WAL_SORT_BUFFER_SIZE)
   TSERV_SORT_BUFFER_SIZE("tserver.sort.buffer.size", "10%", PropertyType.MEMORY,
       "The amount of memory to use when sorting logs during recovery.", "1.5.0"),
+  TSERV_WAL_SORT_WRITE_THREADS("tserver.wal.sort.write.threads", "4", PropertyType.COUNT,
+      "The number of threads used to sort and write parts of a write-ahead log in parallel"
+          + " during recovery. The sort buffer is divided among the parts of a log that are"
+          + " sorted at the same time, so this does not increase the memory used by a sort. When"
+          + " 0, each part is sorted and written by the thread reading the log.",
+      "2.1.0"),
   TSERV_WAL_SORT_FILE_PREFIX("tserver.wal.sort.file.", null, PropertyType.PREFIX,
       "The rfile properties to use when sorting logs during recovery. Most of the properties"
           + " that begin with 'table.file' can be used here. For example, to set the compression"
@@ -942,6 +989,28 @@ public enum Property {
       "2.1.0"),
   TABLE_COMPACTION_CONFIGURER_OPTS("table.compaction.configurer.opts.", null, PropertyType.PREFIX,
       "Options for the table compaction configuror", "2.1.0"),
+  TABLE_COMPACTION_PIPELINE_ENABLED("table.compaction.pipeline.enabled", "false",
+      PropertyType.BOOLEAN,
+      "When true, compactions read, merge and iterate over their input files on one thread"
+          + " while another thread encodes, compresses and writes the output file.",
+      "2.1.0"),
+  TABLE_COMPACTION_PIPELINE_BUFFER_SIZE("table.compaction.pipeline.buffer.size", "1M",
+      PropertyType.BYTES,
+      "The maximum amount of key and value data a compaction with"
+          + " table.compaction.pipeline.enabled set queues for the thread writing its output. This"
+          + " is held in memory for each running compaction, and should be several times"
+          + " table.file.compress.blocksize so the writing thread has a full block to work on.",
+      "2.1.0"),
+  TABLE_COMPACTION_PARTITIONS("table.compaction.partitions", "1", PropertyType.COUNT,
+      "The maximum number of row ranges a compaction running in a tablet server is split into."
+          + " The ranges are compacted in parallel and then appended to the single output file."
+          + " Split points are chosen from the indexes of the input files.",
+      "2.1.0"),
+  TABLE_COMPACTION_PARTITION_MIN_SIZE("table.compaction.partition.min.size", "1G",
+      PropertyType.BYTES,
+      "The minimum amount of input data, from the sizes of the input files, for each range of"
+          + " a partitioned compaction. See table.compaction.partitions.",
+      "2.1.0"),
   @Deprecated(since = "2.1.0", forRemoval = true)
   @ReplacedBy(property = TABLE_COMPACTION_SELECTOR)
   TABLE_COMPACTION_STRATEGY("table.majc.compaction.strategy",
@@ -1149,6 +1218,12 @@ public enum Property {
           + " the tablet server this duration to revive before reassigning its tablets"
           + " to other tablet servers.",
       "1.8.0"),
+  @Experimental
+  TABLE_LOCATION_CHANGES_PUBLISH("table.location.changes.publish", "false", PropertyType.BOOLEAN,
+      "When true, tablet servers publish the tablets of this table they load, unload or split in"
+          + " ZooKeeper. Clients watch this to refresh their cached tablet locations right away,"
+          + " instead of when a write or scan fails because a tablet moved.",
+      "2.1.0"),
   TABLE_SUMMARIZER_PREFIX("table.summarizer.", null, PropertyType.PREFIX,
       "Prefix for configuring summarizers for a table. Using this prefix"
           + " multiple summarizers can be configured with options for each one. Each"
@@ -1309,6 +1384,13 @@ public enum Property {
   @Experimental
   COMPACTOR_MAX_MESSAGE_SIZE("compactor.message.size.max", "10M", PropertyType.BYTES,
       "The maximum size of a message that can be sent to a tablet server.", "2.1.0"),
+  @Experimental
+  COMPACTOR_READ_SHORTCIRCUIT("compactor.read.shortcircuit", "false", PropertyType.BOOLEAN,
+      "When true, the compactor reads compaction input files with HDFS short-circuit reads"
+          + " enabled, so that blocks with a replica on the local DataNode are read directly from"
+          + " disk. Requires dfs.domain.socket.path to be configured in the hdfs-site.xml used by"
+          + " the compactor and the DataNode.",
+      "2.1.0"),
   // CompactionCoordinator properties
   @Experimental
   COMPACTION_COORDINATOR_PREFIX("compaction.coordinator.", null, PropertyType.PREFIX,
@@ -1358,6 +1440,35 @@ public enum Property {
   COMPACTION_COORDINATOR_TSERVER_COMPACTION_CHECK_INTERVAL(
       "compaction.coordinator.tserver.check.interval", "1m", PropertyType.TIMEDURATION,
       "The interval at which to check the tservers for external compactions.", "2.1.0"),
+  @Experimental
+  COMPACTION_COORDINATOR_JOB_WAIT_TIME("compaction.coordinator.job.wait.time", "10s",
+      PropertyType.TIMEDURATION,
+      "The maximum amount of time a request from a compactor for a job will wait in the"
+          + " coordinator for a tablet server to report queued jobs. Tablet servers report new"
+          + " jobs as they are queued, so waiting compactors are handed work immediately. A value"
+          + " of 0 disables waiting and compactors fall back to polling.",
+      "2.1.0"),
+  @Experimental
+  COMPACTION_COORDINATOR_JOB_WAIT_MAX("compaction.coordinator.job.wait.max", "16",
+      PropertyType.COUNT,
+      "The maximum number of requests from compactors that may wait in the coordinator for jobs"
+          + " at the same time. Each waiting request holds a thread of the coordinator's client"
+          + " service, so this bounds how many of those threads are unavailable to tablet servers."
+          + " Requests over the limit are answered immediately and those compactors poll instead.",
+      "2.1.0"),
+  @Experimental
+  COMPACTION_COORDINATOR_LOCALITY_PRIORITY_RANGE("compaction.coordinator.locality.priority.range",
+      "2", PropertyType.COUNT,
+      "When a compactor asks for a job, the coordinator prefers a tablet server running on the"
+          + " same host as the compactor, as long as the priority of its queued jobs is no more"
+          + " than this much lower than the highest priority queued. Input files the tablet server"
+          + " wrote itself have a replica on the local DataNode, files written by compactors or"
+          + " other tablet servers usually do not. System compactions get two priority steps each"
+          + " time the scan work they save doubles, so the default of 2 prefers a local job that"
+          + " saves at least half as much as the best queued job, and 4 one that saves a quarter."
+          + " A value of 0 only prefers local tablet servers among those with the highest"
+          + " priority.",
+      "2.1.0"),
   // deprecated properties grouped at the end to reference property that replaces them
   @Deprecated(since = "1.6.0")
   @ReplacedBy(property = INSTANCE_VOLUMES)
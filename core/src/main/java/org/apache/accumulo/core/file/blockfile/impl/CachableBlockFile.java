@@ -208,6 +208,13 @@ public class CachableBlockFile {
       return getBCFile(null);
     }
 
+    /**
+     * Returns the reader of the underlying BCFile, for copying its data blocks to another file.
+     */
+    public BCFile.Reader getBCFileReader() throws IOException {
+      return getBCFile();
+    }
+
     private class BCFileLoader implements Loader {
 
       @Override
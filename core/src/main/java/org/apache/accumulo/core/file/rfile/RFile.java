@@ -243,6 +243,48 @@ public class RFile {
 
     }
 
+    /**
+     * Adds the column family counts of a locality group whose data blocks were copied into this
+     * one.
+     */
+    private void addColumnCounts(LocalityGroupMetadata other) {
+      if (isDefaultLG && other.columnFamilies != null && !previousColumnFamilies.isEmpty()) {
+        for (ByteSequence cf : other.columnFamilies.keySet()) {
+          if (previousColumnFamilies.contains(cf)) {
+            throw new IllegalArgumentException("Added column family \"" + cf
+                + "\" to default locality group that was in previous locality group");
+          }
+        }
+      }
+
+      if (isDefaultLG && other.columnFamilies == null) {
+        // the other group stopped keeping track, so stop keeping track
+        columnFamilies = null;
+      }
+
+      if (columnFamilies == null) {
+        return;
+      }
+
+      for (Entry<ByteSequence,MutableLong> entry : other.columnFamilies.entrySet()) {
+        MutableLong count = columnFamilies.get(entry.getKey());
+        if (count == null) {
+          if (!isDefaultLG) {
+            throw new IllegalArgumentException("invalid column family : " + entry.getKey());
+          }
+
+          if (columnFamilies.size() > Writer.MAX_CF_IN_DLG) {
+            // stop keeping track, there are too many
+            columnFamilies = null;
+            return;
+          }
+          count = new MutableLong(0);
+          columnFamilies.put(entry.getKey(), count);
+        }
+        count.add(entry.getValue().longValue());
+      }
+    }
+
     @Override
     public void readFields(DataInput in) throws IOException {
 
@@ -436,6 +478,10 @@ public class RFile {
 
     private Key lastKeyInBlock = null;
 
+    // the last block copied from another file, added to the index once it is known whether it is
+    // the last block of the locality group
+    private IndexEntry copiedBlock = null;
+
     private Key prevKey = new Key();
 
     private SampleLocalityGroupWriter sample;
@@ -477,6 +523,7 @@ public class RFile {
       }
 
       if (blockWriter == null) {
+        addCopiedBlock();
         blockWriter = fileWriter.prepareDataBlock();
       } else if (blockWriter.getRawSize() > blockSize) {
 
@@ -539,9 +586,64 @@ public class RFile {
       entries = 0;
     }
 
+    /**
+     * Copies the data blocks of a locality group of another file without decompressing them.
+     */
+    void appendBlocks(BCFile.Reader source, LocalityGroupMetadata sourceGroup)
+        throws IOException {
+      if (sample != null) {
+        throw new IllegalStateException("Can not copy blocks when sampling");
+      }
+
+      if (sourceGroup.indexReader.size() == 0) {
+        return;
+      }
+
+      Key firstKey = sourceGroup.getFirstKey();
+      if (firstKey.compareTo(prevKey) < 0) {
+        throw new IllegalArgumentException("Keys appended out-of-order.  New key " + firstKey
+            + ", previous key " + prevKey);
+      }
+
+      currentLocalityGroup.addColumnCounts(sourceGroup);
+
+      if (currentLocalityGroup.getFirstKey() == null) {
+        currentLocalityGroup.setFirstKey(firstKey);
+      }
+
+      if (blockWriter != null) {
+        closeBlock(lastKeyInBlock, false);
+      }
+
+      Iterator<IndexEntry> blocks = sourceGroup.indexReader.lookup(new Key());
+      while (blocks.hasNext()) {
+        IndexEntry block = blocks.next();
+        addCopiedBlock();
+        long offset =
+            fileWriter.copyDataBlock(source, block.getOffset(), block.getCompressedSize());
+        copiedBlock = new IndexEntry(new Key(block.getKey()), block.getNumEntries(), offset,
+            block.getCompressedSize(), block.getRawSize());
+      }
+
+      // the key of the last block in the index is the last key of the locality group
+      prevKey = copiedBlock.getKey();
+    }
+
+    private void addCopiedBlock() throws IOException {
+      if (copiedBlock != null) {
+        currentLocalityGroup.indexWriter.add(copiedBlock.getKey(), copiedBlock.getNumEntries(),
+            copiedBlock.getOffset(), copiedBlock.getCompressedSize(), copiedBlock.getRawSize());
+        copiedBlock = null;
+      }
+    }
+
     public void close() throws IOException {
       if (blockWriter != null) {
         closeBlock(lastKeyInBlock, true);
+      } else if (copiedBlock != null) {
+        currentLocalityGroup.indexWriter.addLast(copiedBlock.getKey(), copiedBlock.getNumEntries(),
+            copiedBlock.getOffset(), copiedBlock.getCompressedSize(), copiedBlock.getRawSize());
+        copiedBlock = null;
       }
 
       if (sample != null) {
@@ -737,6 +839,43 @@ public class RFile {
       return true;
     }
 
+    /**
+     * Returns true when {@link #appendBlocks(Reader)} can copy the data blocks of the given file.
+     * This requires a file of the current version that uses the same compression as this file, and
+     * neither file can be encrypted. This file can not be sampling its data.
+     */
+    public boolean canAppendBlocks(Reader reader) throws IOException {
+      return sampler == null && reader.rfileVersion == RINDEX_VER_8
+          && fileWriter.canCopyDataBlocks(reader.reader.getBCFileReader());
+    }
+
+    /**
+     * Appends the data of the locality group of the given file with the same name as the current
+     * locality group, copying its compressed data blocks without decoding them. Only the index and
+     * the metadata of the locality group are rebuilt. The keys of the locality group must sort
+     * after the keys already appended.
+     */
+    public void appendBlocks(Reader reader) throws IOException {
+      if (dataClosed) {
+        throw new IllegalStateException("Cannot append, data closed");
+      }
+
+      LocalityGroupMetadata source = null;
+      for (LocalityGroupMetadata lgm : reader.localityGroups) {
+        if (lgm.isDefaultLG == currentLocalityGroup.isDefaultLG
+            && (lgm.isDefaultLG || lgm.name.equals(currentLocalityGroup.name))) {
+          source = lgm;
+        }
+      }
+
+      if (source == null) {
+        throw new IllegalArgumentException("File does not have locality group "
+            + (currentLocalityGroup.isDefaultLG ? "<DEFAULT>" : currentLocalityGroup.name));
+      }
+
+      lgWriter.appendBlocks(reader.reader.getBCFileReader(), source);
+    }
+
     @Override
     public long getLength() {
       if (!closed) {
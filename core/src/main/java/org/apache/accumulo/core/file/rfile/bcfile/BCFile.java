@@ -433,6 +433,43 @@ public final class BCFile {
       return ba;
     }
 
+    /**
+     * Returns true when the compressed data blocks of the given file can be copied into this file
+     * as is, which requires both files to use the same compression algorithm and no encryption.
+     */
+    public boolean canCopyDataBlocks(Reader source) {
+      return encrypter instanceof NoFileEncrypter && source.decrypter instanceof NoFileDecrypter
+          && getDefaultCompressionAlgorithm().getName()
+              .equals(source.dataIndex.getDefaultCompressionAlgorithm().getName());
+    }
+
+    /**
+     * Copy a compressed Data Block from another file without decompressing it. The same rules
+     * apply as for {@link #prepareDataBlock()}, and {@link #canCopyDataBlocks(Reader)} must be true
+     * for the other file.
+     *
+     * @return The offset of the copied block in this file
+     */
+    public long copyDataBlock(Reader source, long offset, long compressedSize) throws IOException {
+      if (blkInProgress) {
+        throw new IllegalStateException("Cannot copy Data Block until previous block is closed.");
+      }
+
+      if (metaBlkSeen) {
+        throw new IllegalStateException("Cannot copy Data Block after Meta Blocks.");
+      }
+
+      long startPos = out.position();
+      try (InputStream in = new BoundedRangeFileInputStream(source.in, offset, compressedSize)) {
+        long copied = in.transferTo(out);
+        if (copied != compressedSize) {
+          throw new IOException("Copied " + copied + " bytes of block at offset " + offset
+              + ", expected " + compressedSize);
+        }
+      }
+      return startPos;
+    }
+
     /**
      * Callback to make sure a meta block is added to the internal list when its stream is closed.
      */
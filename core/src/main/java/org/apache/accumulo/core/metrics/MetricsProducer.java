@@ -414,6 +414,70 @@ import io.micrometer.core.instrument.MeterRegistry;
  * <td>The compaction service information is in a tag:
  * id={i|e}_{compactionServiceName}_{executor_name}</td>
  * </tr>
+ * <tr>
+ * <td>N/A</td>
+ * <td>N/A</td>
+ * <td>{@link #METRICS_MAJC_FILES_READ}</td>
+ * <td>Counter</td>
+ * <td>The table and compaction kind are in tags: table={tableId},
+ * kind={user|system|selector|chop}</td>
+ * </tr>
+ * <tr>
+ * <td>N/A</td>
+ * <td>N/A</td>
+ * <td>{@link #METRICS_MAJC_FILES_WRITTEN}</td>
+ * <td>Counter</td>
+ * <td>The table and compaction kind are in tags: table={tableId},
+ * kind={user|system|selector|chop}</td>
+ * </tr>
+ * <tr>
+ * <td>N/A</td>
+ * <td>N/A</td>
+ * <td>{@link #METRICS_MAJC_BYTES_READ}</td>
+ * <td>Counter</td>
+ * <td>The table and compaction kind are in tags: table={tableId},
+ * kind={user|system|selector|chop}</td>
+ * </tr>
+ * <tr>
+ * <td>N/A</td>
+ * <td>N/A</td>
+ * <td>{@link #METRICS_MAJC_BYTES_WRITTEN}</td>
+ * <td>Counter</td>
+ * <td>The table and compaction kind are in tags: table={tableId},
+ * kind={user|system|selector|chop}</td>
+ * </tr>
+ * <tr>
+ * <td>N/A</td>
+ * <td>N/A</td>
+ * <td>{@link #METRICS_MAJC_ENTRIES_READ}</td>
+ * <td>Counter</td>
+ * <td>The table and compaction kind are in tags: table={tableId},
+ * kind={user|system|selector|chop}</td>
+ * </tr>
+ * <tr>
+ * <td>N/A</td>
+ * <td>N/A</td>
+ * <td>{@link #METRICS_MAJC_ENTRIES_WRITTEN}</td>
+ * <td>Counter</td>
+ * <td>The table and compaction kind are in tags: table={tableId},
+ * kind={user|system|selector|chop}</td>
+ * </tr>
+ * <tr>
+ * <td>N/A</td>
+ * <td>N/A</td>
+ * <td>{@link #METRICS_MAJC_TIME}</td>
+ * <td>Timer</td>
+ * <td>The table and compaction kind are in tags: table={tableId},
+ * kind={user|system|selector|chop}</td>
+ * </tr>
+ * <tr>
+ * <td>N/A</td>
+ * <td>N/A</td>
+ * <td>{@link #METRICS_MAJC_SIZE_RATIO}</td>
+ * <td>DistributionSummary</td>
+ * <td>Ratio of bytes written to bytes read for each compaction. The table and compaction kind are
+ * in tags: table={tableId}, kind={user|system|selector|chop}</td>
+ * </tr>
  * <!-- minor compactions -->
  * <tr>
  * <td>Queue</td>
@@ -567,6 +631,14 @@ public interface MetricsProducer {
   String METRICS_MAJC_PREFIX = "accumulo.tserver.compactions.majc.";
   String METRICS_MAJC_QUEUED = METRICS_MAJC_PREFIX + "queued";
   String METRICS_MAJC_RUNNING = METRICS_MAJC_PREFIX + "running";
+  String METRICS_MAJC_FILES_READ = METRICS_MAJC_PREFIX + "files.read";
+  String METRICS_MAJC_FILES_WRITTEN = METRICS_MAJC_PREFIX + "files.written";
+  String METRICS_MAJC_BYTES_READ = METRICS_MAJC_PREFIX + "bytes.read";
+  String METRICS_MAJC_BYTES_WRITTEN = METRICS_MAJC_PREFIX + "bytes.written";
+  String METRICS_MAJC_ENTRIES_READ = METRICS_MAJC_PREFIX + "entries.read";
+  String METRICS_MAJC_ENTRIES_WRITTEN = METRICS_MAJC_PREFIX + "entries.written";
+  String METRICS_MAJC_TIME = METRICS_MAJC_PREFIX + "time";
+  String METRICS_MAJC_SIZE_RATIO = METRICS_MAJC_PREFIX + "size.ratio";
 
   String METRICS_MINC_PREFIX = "accumulo.tserver.compactions.minc.";
   String METRICS_MINC_QUEUED = METRICS_MINC_PREFIX + "queued";
@@ -0,0 +1,412 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.core.spi.balancer;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.PriorityQueue;
+import java.util.SortedMap;
+
+import org.apache.accumulo.core.client.AccumuloException;
+import org.apache.accumulo.core.client.AccumuloSecurityException;
+import org.apache.accumulo.core.conf.Property;
+import org.apache.accumulo.core.data.TableId;
+import org.apache.accumulo.core.data.TabletId;
+import org.apache.accumulo.core.manager.balancer.TabletServerIdImpl;
+import org.apache.accumulo.core.spi.balancer.data.TServerStatus;
+import org.apache.accumulo.core.spi.balancer.data.TableStatistics;
+import org.apache.accumulo.core.spi.balancer.data.TabletMigration;
+import org.apache.accumulo.core.spi.balancer.data.TabletServerId;
+import org.apache.accumulo.core.spi.balancer.data.TabletStatistics;
+import org.apache.accumulo.core.spi.balancer.util.ThrottledBalancerProblemReporter;
+import org.apache.accumulo.core.spi.balancer.util.ThrottledBalancerProblemReporter.OutstandingMigrationsProblem;
+import org.apache.accumulo.core.spi.balancer.util.ThrottledBalancerProblemReporter.Problem;
+import org.apache.accumulo.core.spi.common.ServiceEnvironment;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A tablet balancer that places tablets to even out the load on tablet servers rather than only
+ * their tablet counts, so that a few hot tablets do not leave some servers persistently overloaded.
+ *
+ * <p>
+ * The cost of a tablet server is a weighted sum of its ingest rate, query rate, entries in memory,
+ * entries and tablet count, each divided by the average across all tablet servers. When
+ * balancing, the balancer repeatedly moves a tablet to the least costly tablet server from the most
+ * costly tablet server that has a move that lowers the larger of the two servers' costs, choosing
+ * the tablet that lowers it the most. A move must lower that cost by more than the move cost times
+ * the cost the moved tablet adds to a server, which keeps tablets from moving back and forth
+ * between servers whose costs differ by less than a tablet. The move cost also stands in for the
+ * data locality a tablet loses when it moves away from the tablet server that wrote its files.
+ * Balancing stops when no server has such a move or when the maximum number of migrations for a
+ * round have been proposed.
+ *
+ * <p>
+ * Initial assignments go to a tablet's previous location when possible, to keep data locality, and
+ * otherwise to the least costly tablet server.
+ *
+ * <p>
+ * This balancer weighs the load of all tables together, so it is meant to be set as the
+ * {@code manager.tablet.balancer} rather than as the balancer of a single table.
+ *
+ * <p>
+ * The following properties can be set in the system configuration:
+ * <ul>
+ * <li>{@code table.custom.balancer.cost.weight.<load>} The weight of each load in the cost, where
+ * load is one of ingest, query, memory, entries or tablets. Defaults to 1.0 for ingest, query and
+ * tablets and 0.5 for memory and entries.
+ * <li>{@code table.custom.balancer.cost.move} The amount a move must lower the cost by, as a
+ * fraction of the cost the moved tablet adds to a server, defaults to 0.05.
+ * <li>{@code table.custom.balancer.cost.max.migrations} The maximum number of migrations proposed
+ * in a round, defaults to 100.
+ * </ul>
+ *
+ * @since 2.1.0
+ */
+public class CostBasedBalancer implements TabletBalancer {
+
+  private static final Logger log = LoggerFactory.getLogger(CostBasedBalancer.class);
+
+  private static final String PROP_PREFIX =
+      Property.TABLE_ARBITRARY_PROP_PREFIX.getKey() + "balancer.cost.";
+  public static final String WEIGHT_PREFIX = PROP_PREFIX + "weight.";
+  public static final String MOVE_COST_PROPERTY = PROP_PREFIX + "move";
+  public static final String MAX_MIGRATIONS_PROPERTY = PROP_PREFIX + "max.migrations";
+
+  /**
+   * The loads that make up the cost of a tablet server.
+   */
+  enum Load {
+    INGEST(1.0), QUERY(1.0), MEMORY(0.5), ENTRIES(0.5), TABLETS(1.0);
+
+    private final double defaultWeight;
+
+    Load(double defaultWeight) {
+      this.defaultWeight = defaultWeight;
+    }
+  }
+
+  private static final int LOADS = Load.values().length;
+  private static final double[] NO_LOAD = new double[LOADS];
+
+  protected BalancerEnvironment environment;
+
+  private final double[] weights = new double[LOADS];
+  private double moveCost = 0.05;
+  private int maxMigrations = 100;
+
+  public CostBasedBalancer() {
+    for (Load load : Load.values()) {
+      weights[load.ordinal()] = load.defaultWeight;
+    }
+  }
+
+  @Override
+  public void init(BalancerEnvironment balancerEnvironment) {
+    this.environment = balancerEnvironment;
+    ServiceEnvironment.Configuration conf = balancerEnvironment.getConfiguration();
+    for (Load load : Load.values()) {
+      String key = WEIGHT_PREFIX + load.name().toLowerCase();
+      if (conf.isSet(key)) {
+        weights[load.ordinal()] = Double.parseDouble(conf.get(key));
+      }
+    }
+    if (conf.isSet(MOVE_COST_PROPERTY)) {
+      moveCost = Double.parseDouble(conf.get(MOVE_COST_PROPERTY));
+    }
+    if (conf.isSet(MAX_MIGRATIONS_PROPERTY)) {
+      maxMigrations = Integer.parseInt(conf.get(MAX_MIGRATIONS_PROPERTY));
+    }
+  }
+
+  static class TabletLoad {
+    final TabletId tabletId;
+    final double[] load = new double[LOADS];
+
+    TabletLoad(TabletId tabletId) {
+      this.tabletId = tabletId;
+    }
+  }
+
+  class ServerLoad {
+    final TabletServerId server;
+    final TServerStatus status;
+    final double[] load = new double[LOADS];
+    // fetched when the server is first considered for a migration
+    List<TabletLoad> tablets = null;
+
+    ServerLoad(TabletServerId server, TServerStatus status) {
+      this.server = server;
+      this.status = status;
+      if (status != null && status.getTableMap() != null) {
+        for (TableStatistics stats : status.getTableMap().values()) {
+          load[Load.INGEST.ordinal()] += stats.getIngestRate();
+          load[Load.QUERY.ordinal()] += stats.getQueryRate();
+          load[Load.MEMORY.ordinal()] += stats.getRecordsInMemory();
+          load[Load.ENTRIES.ordinal()] += stats.getRecords();
+          load[Load.TABLETS.ordinal()] += stats.getOnlineTabletCount();
+        }
+      }
+    }
+
+    double cost(double[] averages) {
+      return CostBasedBalancer.this.cost(load, null, 0, averages);
+    }
+  }
+
+  /**
+   * Computes the cost of a load after adding {@code sign} times the load of a tablet to it.
+   */
+  double cost(double[] load, TabletLoad tablet, int sign, double[] averages) {
+    double cost = 0;
+    for (int i = 0; i < LOADS; i++) {
+      if (averages[i] > 0) {
+        double value = load[i] + (tablet == null ? 0 : sign * tablet.load[i]);
+        cost += weights[i] * value / averages[i];
+      }
+    }
+    return cost;
+  }
+
+  private static double[] averages(List<ServerLoad> servers) {
+    double[] averages = new double[LOADS];
+    for (ServerLoad server : servers) {
+      for (int i = 0; i < LOADS; i++) {
+        averages[i] += server.load[i];
+      }
+    }
+    for (int i = 0; i < LOADS; i++) {
+      averages[i] /= servers.size();
+    }
+    return averages;
+  }
+
+  protected List<TabletStatistics> getOnlineTabletsForTable(TabletServerId tabletServerId,
+      TableId tableId) throws AccumuloSecurityException, AccumuloException {
+    return environment.listOnlineTabletsForTable(tabletServerId, tableId);
+  }
+
+  /**
+   * Fetches the load of each tablet on a server. Entries in memory are only reported per table, so
+   * they are split across a table's tablets in proportion to their entries.
+   */
+  private List<TabletLoad> getTablets(ServerLoad server)
+      throws AccumuloSecurityException, AccumuloException {
+    List<TabletLoad> tablets = new ArrayList<>();
+    if (server.status == null || server.status.getTableMap() == null) {
+      return tablets;
+    }
+    for (Entry<String,TableStatistics> entry : server.status.getTableMap().entrySet()) {
+      TableStatistics tableStats = entry.getValue();
+      List<TabletStatistics> stats =
+          getOnlineTabletsForTable(server.server, TableId.of(entry.getKey()));
+      if (stats == null) {
+        continue;
+      }
+      for (TabletStatistics stat : stats) {
+        TabletLoad tablet = new TabletLoad(stat.getTabletId());
+        tablet.load[Load.INGEST.ordinal()] = stat.getIngestRate();
+        tablet.load[Load.QUERY.ordinal()] = stat.getQueryRate();
+        tablet.load[Load.ENTRIES.ordinal()] = stat.getNumEntries();
+        if (tableStats.getRecords() > 0) {
+          tablet.load[Load.MEMORY.ordinal()] = (double) tableStats.getRecordsInMemory()
+              * stat.getNumEntries() / tableStats.getRecords();
+        } else if (!stats.isEmpty()) {
+          tablet.load[Load.MEMORY.ordinal()] =
+              (double) tableStats.getRecordsInMemory() / stats.size();
+        }
+        tablet.load[Load.TABLETS.ordinal()] = 1;
+        tablets.add(tablet);
+      }
+    }
+    return tablets;
+  }
+
+  /**
+   * Proposes up to the maximum number of migrations that lower the cost of the most costly tablet
+   * servers.
+   *
+   * @return true if the maximum number of migrations was reached and more balancing may be needed
+   */
+  boolean getMigrations(Map<TabletServerId,TServerStatus> current, List<TabletMigration> result) {
+    if (current.size() < 2) {
+      return false;
+    }
+
+    List<ServerLoad> servers = new ArrayList<>(current.size());
+    current.forEach((server, status) -> servers.add(new ServerLoad(server, status)));
+    final double[] averages = averages(servers);
+    Comparator<ServerLoad> byCost = Comparator.comparingDouble(s -> s.cost(averages));
+
+    int migrations = 0;
+    while (migrations < maxMigrations) {
+      servers.sort(byCost);
+      ServerLoad least = servers.get(0);
+
+      ServerLoad source = null;
+      TabletLoad best = null;
+      // try the most costly servers first, a server without a move that lowers its cost enough
+      // should not keep the others from balancing
+      for (int i = servers.size() - 1; i > 0 && best == null; i--) {
+        source = servers.get(i);
+        if (source.cost(averages) <= least.cost(averages)) {
+          break;
+        }
+        try {
+          best = findMove(source, least, averages);
+        } catch (AccumuloException | AccumuloSecurityException e) {
+          log.error("Unable to get tablets for {} or {}", source.server, least.server, e);
+          return false;
+        }
+      }
+
+      if (best == null) {
+        log.debug("No migration to {} lowers the cost of any tablet server", least.server);
+        break;
+      }
+
+      for (int i = 0; i < LOADS; i++) {
+        source.load[i] -= best.load[i];
+        least.load[i] += best.load[i];
+      }
+      source.tablets.remove(best);
+      least.tablets.add(best);
+      result.add(new TabletMigration(best.tabletId, source.server, least.server));
+      migrations++;
+    }
+
+    log.trace("balance ended with {} migrations", result.size());
+    return migrations >= maxMigrations;
+  }
+
+  /**
+   * Finds the tablet whose move from the source to the destination most lowers the larger of the
+   * two servers' costs, by more than the move cost times the cost of the tablet.
+   *
+   * @return null if no tablet lowers the cost enough
+   */
+  private TabletLoad findMove(ServerLoad source, ServerLoad destination, double[] averages)
+      throws AccumuloException, AccumuloSecurityException {
+    if (source.tablets == null) {
+      source.tablets = getTablets(source);
+    }
+    // fetched before any tablet is moved to it, so later rounds see the moved tablets
+    if (destination.tablets == null) {
+      destination.tablets = getTablets(destination);
+    }
+
+    double currentCost = source.cost(averages);
+    TabletLoad best = null;
+    double bestCost = currentCost;
+    for (TabletLoad tablet : source.tablets) {
+      double cost = Math.max(cost(source.load, tablet, -1, averages),
+          cost(destination.load, tablet, 1, averages));
+      double required = currentCost - moveCost * cost(NO_LOAD, tablet, 1, averages);
+      if (cost < required && cost < bestCost) {
+        bestCost = cost;
+        best = tablet;
+      }
+    }
+    return best;
+  }
+
+  @Override
+  public void getAssignments(AssignmentParameters params) {
+    SortedMap<TabletServerId,TServerStatus> current = params.currentStatus();
+    if (current.isEmpty()) {
+      return;
+    }
+
+    List<ServerLoad> servers = new ArrayList<>(current.size());
+    current.forEach((server, status) -> servers.add(new ServerLoad(server, status)));
+    final double[] averages = averages(servers);
+    // nothing is known about the load of an unassigned tablet, so only its count is added
+    final double[] tabletsOnly = new double[LOADS];
+    tabletsOnly[Load.TABLETS.ordinal()] = 1;
+    if (averages[Load.TABLETS.ordinal()] == 0) {
+      averages[Load.TABLETS.ordinal()] = 1;
+    }
+
+    PriorityQueue<ServerLoad> leastCostly =
+        new PriorityQueue<>(Comparator.comparingDouble(s -> s.cost(averages)));
+    leastCostly.addAll(servers);
+
+    params.unassignedTablets().forEach((tabletId, last) -> {
+      TabletServerId previous = getPreviousLocation(current, last);
+      if (previous != null) {
+        params.addAssignment(tabletId, previous);
+      } else {
+        ServerLoad server = leastCostly.poll();
+        params.addAssignment(tabletId, server.server);
+        for (int i = 0; i < LOADS; i++) {
+          server.load[i] += tabletsOnly[i];
+        }
+        leastCostly.add(server);
+      }
+    });
+  }
+
+  /**
+   * Finds a current tablet server on the same host as the tablet's previous location.
+   */
+  private static TabletServerId getPreviousLocation(
+      SortedMap<TabletServerId,TServerStatus> current, TabletServerId last) {
+    if (last == null) {
+      return null;
+    }
+    String fakeSessionID = " ";
+    TabletServerId simple = new TabletServerIdImpl(last.getHost(), last.getPort(), fakeSessionID);
+    Iterator<TabletServerId> find = current.tailMap(simple).keySet().iterator();
+    if (find.hasNext()) {
+      TabletServerId server = find.next();
+      if (server.getHost().equals(last.getHost())) {
+        return server;
+      }
+    }
+    return null;
+  }
+
+  private final ThrottledBalancerProblemReporter problemReporter =
+      new ThrottledBalancerProblemReporter(getClass());
+  private final Problem noTserversProblem = problemReporter.createNoTabletServersProblem();
+  private final OutstandingMigrationsProblem outstandingMigrationsProblem =
+      problemReporter.createOutstandingMigrationsProblem();
+
+  @Override
+  public long balance(BalanceParameters params) {
+    if (params.currentStatus().isEmpty()) {
+      problemReporter.reportProblem(noTserversProblem);
+    } else if (params.currentMigrations().isEmpty()) {
+      problemReporter.clearProblemReportTimes();
+      if (getMigrations(params.currentStatus(), params.migrationsOut())) {
+        return SECONDS.toMillis(1);
+      }
+    } else {
+      outstandingMigrationsProblem.setMigrations(params.currentMigrations());
+      problemReporter.reportProblem(outstandingMigrationsProblem);
+    }
+    return 5_000;
+  }
+}
@@ -110,6 +110,19 @@ public interface CompactionPlanner {
      */
     Collection<CompactionJob> getRunningCompactions();
 
+    /**
+     * @return the rate at which scans currently read key values from the tablet, averaged over a
+     *         recent time period. Can be used to prioritize compactions of tablets that are read
+     *         often.
+     */
+    double getScanRate();
+
+    /**
+     * @return the maximum number of files the tablet should have as determined by the table
+     *         property {@code table.file.max}
+     */
+    int getMaxFiles();
+
     /**
      * @return For a user compaction (when {@link #getKind()} returns {@link CompactionKind#USER})
      *         where the user set execution hints via
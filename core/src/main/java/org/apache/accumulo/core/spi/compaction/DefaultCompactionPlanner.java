@@ -144,7 +144,7 @@ public class DefaultCompactionPlanner implements CompactionPlanner {
   }
 
   private List<Executor> executors;
-  private int maxFilesToCompact;
+  int maxFilesToCompact;
 
   @SuppressFBWarnings(value = {"UWF_UNWRITTEN_FIELD", "NP_UNWRITTEN_FIELD"},
       justification = "Field is written by Gson")
@@ -313,10 +313,10 @@ public class DefaultCompactionPlanner implements CompactionPlanner {
   private static short createPriority(PlanningParameters params,
       Collection<CompactableFile> group) {
     return CompactionJobPrioritizer.createPriority(params.getKind(), params.getAll().size(),
-        group.size());
+        group.size(), params.getMaxFiles(), params.getScanRate());
   }
 
-  private long getMaxSizeToCompact(CompactionKind kind) {
+  long getMaxSizeToCompact(CompactionKind kind) {
     if (kind == CompactionKind.SYSTEM) {
       Long max = executors.get(executors.size() - 1).maxSize;
       if (max != null)
@@ -339,7 +339,7 @@ public class DefaultCompactionPlanner implements CompactionPlanner {
   /**
    * @return the expected files sizes for sets of compacting files.
    */
-  private Set<CompactableFile> getExpected(Collection<CompactionJob> compacting) {
+  Set<CompactableFile> getExpected(Collection<CompactionJob> compacting) {
 
     Set<CompactableFile> expected = new HashSet<>();
 
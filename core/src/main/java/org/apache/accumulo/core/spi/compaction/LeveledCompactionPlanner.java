@@ -0,0 +1,199 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.core.spi.compaction;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.apache.accumulo.core.client.admin.compaction.CompactableFile;
+import org.apache.accumulo.core.conf.ConfigurationTypeHelper;
+import org.apache.accumulo.core.util.compaction.CompactionJobPrioritizer;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * A compaction planner that keeps a tablet's files in levels of exponentially increasing size,
+ * trading more rewriting of data for fewer files per tablet than {@link DefaultCompactionPlanner}.
+ *
+ * <p>
+ * Level 0 holds small files, like those produced by minor compactions, and may contain a few files.
+ * Every other level holds at most one file. The maximum file size for level {@code L >= 1} is
+ * {@code level1.size * fanout^(L-1)} and level 0 holds files no larger than
+ * {@code level1.size / fanout}. Files are placed in a level based on their size. Once level 0 has
+ * accumulated {@code level0.files} files they are compacted together with the level 1 file. When a
+ * compaction produces a file that is too large for its level, it will be in the next level and is
+ * then compacted with the file already there. The result is that a tablet has roughly
+ * {@code level0.files} plus one file per level, while each entry is rewritten about
+ * {@code fanout / 2} times per level. {@link DefaultCompactionPlanner} usually rewrites data less
+ * often, but allows many more files per tablet.
+ *
+ * <p>
+ * Every file in a tablet spans the entire tablet, so each compaction merges all of the files in the
+ * levels involved. Tablets split based on size, which takes the place of splitting levels into key
+ * ranges.
+ *
+ * <p>
+ * This planner supports all of the options of {@link DefaultCompactionPlanner}. It supports the
+ * following additional options. Replace {@code <service>} with the name of the compaction service
+ * you are configuring.
+ *
+ * <ul>
+ * <li>{@code tserver.compaction.major.service.<service>.opts.level0.files} The number of files in
+ * level 0 that will cause them to be compacted into level 1. Defaults to 4.
+ * <li>{@code tserver.compaction.major.service.<service>.opts.level1.size} The maximum size of the
+ * file in level 1. Can have a suffix of K,M,G. Defaults to 256M.
+ * <li>{@code tserver.compaction.major.service.<service>.opts.fanout} The ratio between the maximum
+ * file sizes of adjacent levels. Defaults to 10.
+ * </ul>
+ *
+ * <p>
+ * User, selector, and chop compactions compact all of their candidate files, following the
+ * {@code maxOpen} option in the same way as {@link DefaultCompactionPlanner}.
+ *
+ * @since 2.1.0
+ * @see org.apache.accumulo.core.spi.compaction
+ */
+public class LeveledCompactionPlanner extends DefaultCompactionPlanner {
+
+  private int level0Files;
+  private long level1Size;
+  private int fanout;
+
+  @Override
+  public void init(InitParameters params) {
+    super.init(params);
+
+    var options = params.getOptions();
+    level0Files = Integer.parseInt(options.getOrDefault("level0.files", "4"));
+    level1Size =
+        ConfigurationTypeHelper.getFixedMemoryAsBytes(options.getOrDefault("level1.size", "256M"));
+    fanout = Integer.parseInt(options.getOrDefault("fanout", "10"));
+
+    Preconditions.checkArgument(level0Files >= 1, "level0.files must be at least 1");
+    Preconditions.checkArgument(level1Size > 0, "level1.size must be greater than 0");
+    Preconditions.checkArgument(fanout >= 2, "fanout must be at least 2");
+  }
+
+  @Override
+  public CompactionPlan makePlan(PlanningParameters params) {
+    if (params.getCandidates().isEmpty()) {
+      return params.createPlanBuilder().build();
+    }
+
+    Collection<CompactableFile> group = Set.of();
+
+    if (params.getKind() == CompactionKind.SYSTEM) {
+      Set<CompactableFile> files = new HashSet<>(params.getCandidates());
+
+      // Files produced by running compactions will land in some level. If a compaction would
+      // include one of those files, then wait for the running compaction to complete.
+      var expectedFiles = getExpected(params.getRunningCompactions());
+      files.addAll(expectedFiles);
+
+      group = findFilesToCompact(files, getMaxSizeToCompact(params.getKind()));
+
+      if (!Collections.disjoint(group, expectedFiles)) {
+        group = Set.of();
+      }
+    } else if (params.getRunningCompactions().stream()
+        .noneMatch(job -> job.getKind() == params.getKind())) {
+      group = findMaximalRequiredSetToCompact(params.getCandidates(), maxFilesToCompact);
+    }
+
+    if (group.isEmpty()) {
+      return params.createPlanBuilder().build();
+    }
+
+    short priority = CompactionJobPrioritizer.createPriority(params.getKind(),
+        params.getAll().size(), group.size(), params.getMaxFiles(), params.getScanRate());
+    return params.createPlanBuilder().addJob(priority, getExecutor(group), group).build();
+  }
+
+  /**
+   * @return the level a file of the given size belongs in
+   */
+  int getLevel(long size) {
+    if (size <= level1Size / fanout) {
+      return 0;
+    }
+
+    int level = 1;
+    double levelMax = level1Size;
+    while (size > levelMax) {
+      level++;
+      levelMax *= fanout;
+    }
+
+    return level;
+  }
+
+  /**
+   * Finds the files to compact for the lowest level that needs it. Level 0 needs compaction when it
+   * has too many files and any other level needs compaction when it has more than one file.
+   */
+  Collection<CompactableFile> findFilesToCompact(Set<CompactableFile> files,
+      long maxSizeToCompact) {
+    TreeMap<Integer,List<CompactableFile>> levels = new TreeMap<>();
+    for (CompactableFile file : files) {
+      levels.computeIfAbsent(getLevel(file.getEstimatedSize()), k -> new ArrayList<>()).add(file);
+    }
+
+    List<Collection<CompactableFile>> groups = new ArrayList<>();
+
+    var level0 = levels.getOrDefault(0, List.of());
+    if (level0.size() >= level0Files) {
+      List<CompactableFile> group = new ArrayList<>(level0);
+      group.addAll(levels.getOrDefault(1, List.of()));
+      groups.add(group);
+    }
+
+    levels.forEach((level, levelFiles) -> {
+      if (level > 0 && levelFiles.size() > 1) {
+        groups.add(levelFiles);
+      }
+    });
+
+    for (Collection<CompactableFile> group : groups) {
+      // When there are too many files or they are too large, compact the smallest files that fit
+      // and leave the rest for a later compaction. Level 0 files are smaller than the level 1 file,
+      // so level 0 is still compacted on its own when the level 1 file is too large to include.
+      List<CompactableFile> toCompact = new ArrayList<>();
+      long size = 0;
+      for (CompactableFile file : sortByFileSize(group)) {
+        if (toCompact.size() >= maxFilesToCompact
+            || size + file.getEstimatedSize() > maxSizeToCompact) {
+          break;
+        }
+        toCompact.add(file);
+        size += file.getEstimatedSize();
+      }
+
+      if (toCompact.size() > 1) {
+        return toCompact;
+      }
+    }
+
+    return Set.of();
+  }
+}
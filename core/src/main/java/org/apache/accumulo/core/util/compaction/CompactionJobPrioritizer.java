@@ -30,6 +30,8 @@ public class CompactionJobPrioritizer {
       Comparator.comparingInt(CompactionJob::getPriority)
           .thenComparingInt(job -> job.getFiles().size()).reversed();
 
+  private static final int BENEFIT_STEPS_PER_DOUBLING = 2;
+
   public static short createPriority(CompactionKind kind, int totalFiles, int compactingFiles) {
 
     int prio = totalFiles + compactingFiles;
@@ -58,4 +60,57 @@ public class CompactionJobPrioritizer {
     }
   }
 
+  /**
+   * Creates a priority that orders system initiated compactions by how much scan work they save.
+   * Every scan of a tablet has to merge all of its files, so a job that removes {@code n} files
+   * saves roughly {@code scanRate * n} file reads per second. Tablets that are at or close to their
+   * maximum number of files get a boost, because once the limit is exceeded scans may fail to open
+   * all files. User initiated compactions are prioritized the same way as
+   * {@link #createPriority(CompactionKind, int, int)}.
+   *
+   * @param maxFiles
+   *          the maximum number of files the tablet should have, ignored if not positive
+   * @param scanRate
+   *          the rate at which scans read entries from the tablet
+   */
+  public static short createPriority(CompactionKind kind, int totalFiles, int compactingFiles,
+      int maxFiles, double scanRate) {
+    if (kind == CompactionKind.USER || kind == CompactionKind.CHOP) {
+      return createPriority(kind, totalFiles, compactingFiles);
+    }
+
+    // one is added to the scan rate so that tablets that are not scanned are still ordered by the
+    // number of files their compactions remove
+    double benefit = (Math.max(0, scanRate) + 1) * Math.max(1, compactingFiles - 1);
+    if (maxFiles > 0) {
+      if (totalFiles >= maxFiles) {
+        benefit *= 4;
+      } else if (totalFiles * 4L >= maxFiles * 3L) {
+        benefit *= 2;
+      }
+    }
+
+    // Use a coarse log scale, so that small changes in scan rate rarely change the priority of
+    // queued jobs. Changes that cross a step are absorbed by isEquivalent().
+    double prio = 1 + Math.log(benefit) / Math.log(2) * BENEFIT_STEPS_PER_DOUBLING;
+    if (prio >= Short.MAX_VALUE) {
+      return -1;
+    }
+    // like createPriority, system compactions have a negative priority
+    return (short) (Short.MIN_VALUE + (int) prio);
+  }
+
+  /**
+   * Checks if a queued job can be kept in place of a newly planned one. Scan rates go up and down
+   * all the time, so a queued job that compacts the same files is kept as long as its priority is
+   * within one step of the planned job's. Otherwise a scan rate close to the edge of a step would
+   * keep canceling and resubmitting the job, moving it to the back of the queue each time.
+   */
+  public static boolean isEquivalent(CompactionJob queued, CompactionJob planned) {
+    return queued.getKind() == planned.getKind()
+        && queued.getExecutor().equals(planned.getExecutor())
+        && queued.getFiles().equals(planned.getFiles())
+        && Math.abs(queued.getPriority() - planned.getPriority()) <= 1;
+  }
+
 }
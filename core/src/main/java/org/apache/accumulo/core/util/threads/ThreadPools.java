@@ -303,6 +303,9 @@ public class ThreadPools {
       case TSERV_SUMMARY_PARTITION_THREADS:
         return createThreadPool(conf.getCount(p), conf.getCount(p), 60, SECONDS,
             "summary partition", emitThreadPoolMetrics);
+      case TSERV_COMPACTION_PARTITION_THREADS:
+        return createThreadPool(conf.getCount(p), conf.getCount(p), 60, SECONDS,
+            "compaction partition", emitThreadPoolMetrics);
       case GC_DELETE_THREADS:
         return createFixedThreadPool(conf.getCount(p), "deleting", emitThreadPoolMetrics);
       case REPLICATION_WORKER_THREADS:
@@ -0,0 +1,712 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.fate;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.Serializable;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.UUID;
+
+import org.apache.accumulo.core.client.AccumuloClient;
+import org.apache.accumulo.core.client.AccumuloException;
+import org.apache.accumulo.core.client.AccumuloSecurityException;
+import org.apache.accumulo.core.client.BatchWriter;
+import org.apache.accumulo.core.client.ConditionalWriter;
+import org.apache.accumulo.core.client.ConditionalWriter.Status;
+import org.apache.accumulo.core.client.ConditionalWriterConfig;
+import org.apache.accumulo.core.client.MutationsRejectedException;
+import org.apache.accumulo.core.client.Scanner;
+import org.apache.accumulo.core.client.TableNotFoundException;
+import org.apache.accumulo.core.client.admin.TimeType;
+import org.apache.accumulo.core.data.Condition;
+import org.apache.accumulo.core.data.ConditionalMutation;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Mutation;
+import org.apache.accumulo.core.data.Range;
+import org.apache.accumulo.core.data.TableId;
+import org.apache.accumulo.core.data.Value;
+import org.apache.accumulo.core.metadata.MetadataTable;
+import org.apache.accumulo.core.metadata.schema.MetadataSchema.TabletsSection;
+import org.apache.accumulo.core.metadata.schema.MetadataSchema.TabletsSection.ServerColumnFamily;
+import org.apache.accumulo.core.metadata.schema.MetadataTime;
+import org.apache.accumulo.core.security.Authorizations;
+import org.apache.hadoop.io.Text;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A transaction store that keeps transactions in an Accumulo table instead of ZooKeeper, so that
+ * the number of concurrent transactions is bounded by the table rather than by ZooKeeper.
+ *
+ * <p>
+ * Each transaction is a row {@code tx_<tid>} with the following columns:
+ * <ul>
+ * <li>{@code tx:status} the status of the transaction
+ * <li>{@code tx:created} the time the transaction was created
+ * <li>{@code tx:reservation} the id of the store instance that has reserved the transaction
+ * <li>{@code repo:<n>} the n-th operation pushed onto the transaction's stack
+ * <li>{@code prop:<name>} transaction properties
+ * </ul>
+ * Every change to a transaction is a conditional mutation that requires the reservation column to
+ * hold this store's id, so a transaction can only be changed by the store that reserved it.
+ *
+ * <p>
+ * Transactions that are runnable (submitted or in progress) also have a row {@code q_<tid>}, which
+ * {@link #reserve()} scans instead of reading the status of every transaction. The queue entry is
+ * added before a transaction becomes runnable and removed after it stops being runnable, and stale
+ * entries are removed when they are found by {@link #reserve()}.
+ *
+ * <p>
+ * The table must use {@link TimeType#LOGICAL} time. A reservation is released by deleting its
+ * column, and with millisecond time a reservation written in the same millisecond would get the
+ * same timestamp and be hidden by the delete.
+ *
+ * <p>
+ * Only one store instance is expected to be active per table, the one in the manager that holds the
+ * manager lock. When constructed, the store releases reservations left behind by earlier instances.
+ */
+public class AccumuloStore<T> implements TStore<T> {
+
+  private static final Logger log = LoggerFactory.getLogger(AccumuloStore.class);
+
+  private static final String TX_PREFIX = "tx_";
+  private static final String QUEUE_PREFIX = "q_";
+
+  private static final Text TX_COLF = new Text("tx");
+  private static final Text STATUS_COLQ = new Text("status");
+  private static final Text CREATED_COLQ = new Text("created");
+  private static final Text RESERVATION_COLQ = new Text("reservation");
+  private static final Text REPO_COLF = new Text("repo");
+  private static final Text PROP_COLF = new Text("prop");
+  private static final Text QUEUE_COLF = new Text("q");
+
+  private static final int MAX_REPOS = 100;
+
+  private static final EnumSet<TStatus> RUNNABLE =
+      EnumSet.of(TStatus.SUBMITTED, TStatus.IN_PROGRESS, TStatus.FAILED_IN_PROGRESS);
+
+  private static final SecureRandom random = new SecureRandom();
+
+  private final AccumuloClient client;
+  private final String tableName;
+  private final ConditionalWriter conditionalWriter;
+  private final BatchWriter queueWriter;
+  private final byte[] storeId = UUID.randomUUID().toString().getBytes(UTF_8);
+  private final boolean exclusive;
+
+  private String lastReserved = "";
+  private final Set<Long> reserved = new HashSet<>();
+  private final Map<Long,Long> defered = new HashMap<>();
+  private long statusChangeEvents = 0;
+  private int reservationsWaiting = 0;
+
+  public AccumuloStore(String tableName, AccumuloClient client)
+      throws TableNotFoundException, AccumuloException, AccumuloSecurityException {
+    this(tableName, client, true);
+  }
+
+  /**
+   * @param exclusive
+   *          true for the store that runs transactions, which releases stale reservations when
+   *          created and reserves transactions in the table. False for a store that only inspects
+   *          transactions while another store may be running them, which reserves transactions
+   *          only in memory and so can not change them.
+   */
+  public AccumuloStore(String tableName, AccumuloClient client, boolean exclusive)
+      throws TableNotFoundException, AccumuloException, AccumuloSecurityException {
+    this.tableName = tableName;
+    this.client = client;
+    this.exclusive = exclusive;
+    checkTimeType();
+    this.conditionalWriter =
+        client.createConditionalWriter(tableName, new ConditionalWriterConfig());
+    this.queueWriter = client.createBatchWriter(tableName);
+    if (exclusive) {
+      releaseStaleReservations();
+    }
+  }
+
+  private void checkTimeType() throws TableNotFoundException {
+    String tableId = client.tableOperations().tableIdMap().get(tableName);
+    if (tableId == null) {
+      throw new TableNotFoundException(null, tableName, "FATE table does not exist");
+    }
+    try (Scanner scanner = client.createScanner(MetadataTable.NAME, Authorizations.EMPTY)) {
+      scanner.setRange(TabletsSection.getRange(TableId.of(tableId)));
+      ServerColumnFamily.TIME_COLUMN.fetch(scanner);
+      for (Entry<Key,Value> entry : scanner) {
+        if (MetadataTime.parse(entry.getValue().toString()).getType() != TimeType.LOGICAL) {
+          throw new IllegalArgumentException(
+              "FATE table " + tableName + " must be created with " + TimeType.LOGICAL + " time");
+        }
+        return;
+      }
+    }
+  }
+
+  private static String getTxRow(long tid) {
+    return String.format("%s%016x", TX_PREFIX, tid);
+  }
+
+  private static String getQueueRow(long tid) {
+    return String.format("%s%016x", QUEUE_PREFIX, tid);
+  }
+
+  private static long parseTid(String row) {
+    return Long.parseLong(row.substring(row.indexOf('_') + 1), 16);
+  }
+
+  private Scanner createScanner() {
+    try {
+      return client.createScanner(tableName, Authorizations.EMPTY);
+    } catch (TableNotFoundException e) {
+      throw new IllegalStateException("FATE table " + tableName + " does not exist", e);
+    }
+  }
+
+  private Condition isReservedByThisStore() {
+    return new Condition(TX_COLF, RESERVATION_COLQ).setValue(storeId);
+  }
+
+  private Status write(ConditionalMutation cm) {
+    try {
+      return conditionalWriter.write(cm).getStatus();
+    } catch (AccumuloException | AccumuloSecurityException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  /**
+   * Writes a change to a transaction reserved by this store.
+   */
+  private void writeReserved(long tid, ConditionalMutation cm) {
+    while (true) {
+      Status status = write(cm);
+      switch (status) {
+        case ACCEPTED:
+          return;
+        case UNKNOWN:
+          // the mutation may or may not have been applied, the changes made by this store are
+          // idempotent so write it again
+          log.debug("Unknown status writing to {}, retrying", FateTxId.formatTid(tid));
+          break;
+        default:
+          throw new IllegalStateException("Failed to update " + FateTxId.formatTid(tid) + " "
+              + status + ", transaction is not reserved by this store");
+      }
+    }
+  }
+
+  private void writeQueue(Mutation m) {
+    try {
+      queueWriter.addMutation(m);
+      queueWriter.flush();
+    } catch (MutationsRejectedException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  private void releaseStaleReservations() {
+    try (Scanner scanner = createScanner()) {
+      scanner.setRange(Range.prefix(TX_PREFIX));
+      scanner.fetchColumn(TX_COLF, RESERVATION_COLQ);
+      for (Entry<Key,Value> entry : scanner) {
+        Text row = entry.getKey().getRow();
+        ConditionalMutation cm = new ConditionalMutation(row,
+            new Condition(TX_COLF, RESERVATION_COLQ).setValue(entry.getValue().get()));
+        cm.putDelete(TX_COLF, RESERVATION_COLQ);
+        log.info("Releasing stale reservation of {}",
+            FateTxId.formatTid(parseTid(row.toString())));
+        write(cm);
+      }
+    }
+  }
+
+  /**
+   * Attempts to reserve the transaction in the table.
+   */
+  private boolean reserveInTable(long tid) {
+    if (!exclusive) {
+      return true;
+    }
+    // if the transaction was deleted this leaves a reservation behind, which is removed when the
+    // caller sees the unknown status and unreserves
+    ConditionalMutation cm =
+        new ConditionalMutation(getTxRow(tid), new Condition(TX_COLF, RESERVATION_COLQ));
+    cm.put(TX_COLF, RESERVATION_COLQ, new Value(storeId));
+    while (true) {
+      Status status = write(cm);
+      if (status == Status.ACCEPTED) {
+        return true;
+      } else if (status == Status.REJECTED) {
+        return false;
+      }
+      // find out if the write happened
+      byte[] holder = readColumn(tid, TX_COLF, RESERVATION_COLQ);
+      if (holder != null) {
+        return Arrays.equals(holder, storeId);
+      }
+    }
+  }
+
+  private void unreserveInTable(long tid) {
+    if (!exclusive) {
+      return;
+    }
+    ConditionalMutation cm = new ConditionalMutation(getTxRow(tid), isReservedByThisStore());
+    cm.putDelete(TX_COLF, RESERVATION_COLQ);
+    Status status;
+    do {
+      status = write(cm);
+    } while (status == Status.UNKNOWN);
+    // REJECTED is expected when the transaction was deleted while reserved
+  }
+
+  private byte[] readColumn(long tid, Text colf, Text colq) {
+    try (Scanner scanner = createScanner()) {
+      scanner.setRange(new Range(getTxRow(tid)));
+      scanner.fetchColumn(colf, colq);
+      for (Entry<Key,Value> entry : scanner) {
+        return entry.getValue().get();
+      }
+      return null;
+    }
+  }
+
+  @Override
+  public long create() {
+    while (true) {
+      long tid = random.nextLong() & 0x7fffffffffffffffL;
+      ConditionalMutation cm =
+          new ConditionalMutation(getTxRow(tid), new Condition(TX_COLF, STATUS_COLQ));
+      cm.put(TX_COLF, STATUS_COLQ, new Value(TStatus.NEW.name()));
+      cm.put(TX_COLF, CREATED_COLQ, new Value(Long.toString(System.currentTimeMillis())));
+      Status status = write(cm);
+      if (status == Status.ACCEPTED) {
+        return tid;
+      } else if (status == Status.UNKNOWN) {
+        // can not tell if this id was written by this call, so leave it for age off and try again
+        log.debug("Unknown status creating {}, trying another id", FateTxId.formatTid(tid));
+      }
+      // otherwise the id exists, so just try another random #
+    }
+  }
+
+  @Override
+  public long reserve() {
+    try {
+      while (true) {
+
+        long events;
+        synchronized (this) {
+          events = statusChangeEvents;
+        }
+
+        List<String> queued = new ArrayList<>();
+        try (Scanner scanner = createScanner()) {
+          scanner.setRange(Range.prefix(QUEUE_PREFIX));
+          scanner.fetchColumnFamily(QUEUE_COLF);
+          for (Entry<Key,Value> entry : scanner) {
+            queued.add(entry.getKey().getRow().toString());
+          }
+        }
+
+        synchronized (this) {
+          if (!queued.isEmpty() && queued.get(queued.size() - 1).compareTo(lastReserved) <= 0)
+            lastReserved = "";
+        }
+
+        for (String queueRow : queued) {
+          long tid = parseTid(queueRow);
+
+          synchronized (this) {
+            // pick up where the last call left off, so that all runnable transactions are cycled
+            // through as reserve is called repeatedly
+            if (queueRow.compareTo(lastReserved) <= 0)
+              continue;
+
+            if (defered.containsKey(tid)) {
+              if (defered.get(tid) < System.currentTimeMillis())
+                defered.remove(tid);
+              else
+                continue;
+            }
+            if (reserved.contains(tid))
+              continue;
+            else {
+              reserved.add(tid);
+              lastReserved = queueRow;
+            }
+          }
+
+          if (!reserveInTable(tid)) {
+            unreserveInMemory(tid);
+            continue;
+          }
+
+          // have reserved id, status should not change
+
+          try {
+            TStatus status = _getStatus(tid);
+            if (RUNNABLE.contains(status)) {
+              return tid;
+            } else {
+              // the queue entry is stale, a later status change will add it back if needed
+              Mutation m = new Mutation(queueRow);
+              m.putDelete(QUEUE_COLF, new Text());
+              writeQueue(m);
+              unreserveInTable(tid);
+              unreserveInMemory(tid);
+            }
+          } catch (Exception e) {
+            unreserveInTable(tid);
+            unreserveInMemory(tid);
+            throw e;
+          }
+        }
+
+        synchronized (this) {
+          // suppress lgtm alert - synchronized variable is not always true
+          if (events == statusChangeEvents) { // lgtm [java/constant-comparison]
+            if (defered.isEmpty())
+              this.wait(5000);
+            else {
+              Long minTime = Collections.min(defered.values());
+              long waitTime = minTime - System.currentTimeMillis();
+              if (waitTime > 0)
+                this.wait(Math.min(waitTime, 5000));
+            }
+          }
+        }
+      }
+    } catch (Exception e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  @Override
+  public void reserve(long tid) {
+    synchronized (this) {
+      reservationsWaiting++;
+      try {
+        while (reserved.contains(tid))
+          try {
+            this.wait(1000);
+          } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+          }
+
+        reserved.add(tid);
+      } finally {
+        reservationsWaiting--;
+      }
+    }
+
+    while (!reserveInTable(tid)) {
+      // reserved by another store, wait for it to be released
+      synchronized (this) {
+        try {
+          this.wait(1000);
+        } catch (InterruptedException e) {
+          unreserveInMemory(tid);
+          throw new RuntimeException(e);
+        }
+      }
+    }
+  }
+
+  @Override
+  public boolean tryReserve(long tid) {
+    synchronized (this) {
+      if (reserved.contains(tid)) {
+        return false;
+      }
+      reserved.add(tid);
+    }
+    if (!reserveInTable(tid)) {
+      unreserveInMemory(tid);
+      return false;
+    }
+    return true;
+  }
+
+  private void unreserveInMemory(long tid) {
+    synchronized (this) {
+      if (!reserved.remove(tid))
+        throw new IllegalStateException(
+            "Tried to unreserve id that was not reserved " + FateTxId.formatTid(tid));
+
+      // only wake up threads waiting in reserve(tid), waking up threads in reserve() here can lead
+      // to an infinite loop when a transaction is stuck in NEW
+      if (reservationsWaiting > 0)
+        this.notifyAll();
+    }
+  }
+
+  @Override
+  public void unreserve(long tid, long deferTime) {
+
+    if (deferTime < 0)
+      throw new IllegalArgumentException("deferTime < 0 : " + deferTime);
+
+    verifyReserved(tid);
+    unreserveInTable(tid);
+
+    synchronized (this) {
+      if (!reserved.remove(tid))
+        throw new IllegalStateException(
+            "Tried to unreserve id that was not reserved " + FateTxId.formatTid(tid));
+
+      if (deferTime > 0)
+        defered.put(tid, System.currentTimeMillis() + deferTime);
+
+      this.notifyAll();
+    }
+  }
+
+  private void verifyReserved(long tid) {
+    synchronized (this) {
+      if (!reserved.contains(tid))
+        throw new IllegalStateException(
+            "Tried to operate on unreserved transaction " + FateTxId.formatTid(tid));
+    }
+  }
+
+  private List<Entry<Key,Value>> readRepos(long tid) {
+    List<Entry<Key,Value>> repos = new ArrayList<>();
+    try (Scanner scanner = createScanner()) {
+      scanner.setRange(new Range(getTxRow(tid)));
+      scanner.fetchColumnFamily(REPO_COLF);
+      for (Entry<Key,Value> entry : scanner) {
+        repos.add(Map.entry(entry.getKey(), entry.getValue()));
+      }
+    }
+    return repos;
+  }
+
+  @SuppressWarnings("unchecked")
+  @Override
+  public Repo<T> top(long tid) {
+    verifyReserved(tid);
+
+    List<Entry<Key,Value>> repos = readRepos(tid);
+    if (repos.isEmpty()) {
+      return null;
+    }
+    return (Repo<T>) ZooStore.deserialize(repos.get(repos.size() - 1).getValue().get());
+  }
+
+  @Override
+  public void push(long tid, Repo<T> repo) throws StackOverflowException {
+    verifyReserved(tid);
+
+    int size = readRepos(tid).size();
+    if (size > MAX_REPOS) {
+      throw new StackOverflowException("Repo stack size too large");
+    }
+
+    ConditionalMutation cm = new ConditionalMutation(getTxRow(tid), isReservedByThisStore());
+    cm.put(REPO_COLF, new Text(String.format("%05d", size)), new Value(ZooStore.serialize(repo)));
+    writeReserved(tid, cm);
+  }
+
+  @Override
+  public void pop(long tid) {
+    verifyReserved(tid);
+
+    List<Entry<Key,Value>> repos = readRepos(tid);
+    if (repos.isEmpty())
+      throw new IllegalStateException("Tried to pop when empty " + FateTxId.formatTid(tid));
+
+    Key top = repos.get(repos.size() - 1).getKey();
+    ConditionalMutation cm = new ConditionalMutation(getTxRow(tid), isReservedByThisStore());
+    cm.putDelete(top.getColumnFamily(), top.getColumnQualifier());
+    writeReserved(tid, cm);
+  }
+
+  private TStatus _getStatus(long tid) {
+    byte[] status = readColumn(tid, TX_COLF, STATUS_COLQ);
+    if (status == null) {
+      return TStatus.UNKNOWN;
+    }
+    return TStatus.valueOf(new String(status, UTF_8));
+  }
+
+  @Override
+  public TStatus getStatus(long tid) {
+    verifyReserved(tid);
+    return _getStatus(tid);
+  }
+
+  @Override
+  public TStatus waitForStatusChange(long tid, EnumSet<TStatus> expected) {
+    while (true) {
+      long events;
+      synchronized (this) {
+        events = statusChangeEvents;
+      }
+
+      TStatus status = _getStatus(tid);
+      if (expected.contains(status))
+        return status;
+
+      synchronized (this) {
+        // suppress lgtm alert - synchronized variable is not always true
+        if (events == statusChangeEvents) { // lgtm [java/constant-comparison]
+          try {
+            this.wait(5000);
+          } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+          }
+        }
+      }
+    }
+  }
+
+  @Override
+  public void setStatus(long tid, TStatus status) {
+    verifyReserved(tid);
+
+    Mutation queueMutation = new Mutation(getQueueRow(tid));
+    if (RUNNABLE.contains(status)) {
+      // queue before the status changes so a runnable transaction is never missing from the queue
+      queueMutation.put(QUEUE_COLF, new Text(), new Value());
+      writeQueue(queueMutation);
+    }
+
+    ConditionalMutation cm = new ConditionalMutation(getTxRow(tid), isReservedByThisStore());
+    cm.put(TX_COLF, STATUS_COLQ, new Value(status.name()));
+    writeReserved(tid, cm);
+
+    if (!RUNNABLE.contains(status)) {
+      queueMutation.putDelete(QUEUE_COLF, new Text());
+      writeQueue(queueMutation);
+    }
+
+    synchronized (this) {
+      statusChangeEvents++;
+    }
+  }
+
+  @Override
+  public void delete(long tid) {
+    verifyReserved(tid);
+
+    ConditionalMutation cm = new ConditionalMutation(getTxRow(tid), isReservedByThisStore());
+    try (Scanner scanner = createScanner()) {
+      scanner.setRange(new Range(getTxRow(tid)));
+      for (Entry<Key,Value> entry : scanner) {
+        Key key = entry.getKey();
+        cm.putDelete(key.getColumnFamily(), key.getColumnQualifier());
+      }
+    }
+    if (cm.size() > 0) {
+      writeReserved(tid, cm);
+    }
+
+    Mutation queueMutation = new Mutation(getQueueRow(tid));
+    queueMutation.putDelete(QUEUE_COLF, new Text());
+    writeQueue(queueMutation);
+  }
+
+  @Override
+  public void setProperty(long tid, String prop, Serializable so) {
+    verifyReserved(tid);
+
+    byte[] data;
+    if (so instanceof String) {
+      data = ("S " + so).getBytes(UTF_8);
+    } else {
+      byte[] sera = ZooStore.serialize(so);
+      data = new byte[sera.length + 2];
+      System.arraycopy(sera, 0, data, 2, sera.length);
+      data[0] = 'O';
+      data[1] = ' ';
+    }
+
+    ConditionalMutation cm = new ConditionalMutation(getTxRow(tid), isReservedByThisStore());
+    cm.put(PROP_COLF, new Text(prop), new Value(data));
+    writeReserved(tid, cm);
+  }
+
+  @Override
+  public Serializable getProperty(long tid, String prop) {
+    verifyReserved(tid);
+
+    byte[] data = readColumn(tid, PROP_COLF, new Text(prop));
+    if (data == null) {
+      return null;
+    } else if (data[0] == 'O') {
+      byte[] sera = new byte[data.length - 2];
+      System.arraycopy(data, 2, sera, 0, sera.length);
+      return (Serializable) ZooStore.deserialize(sera);
+    } else if (data[0] == 'S') {
+      return new String(data, 2, data.length - 2, UTF_8);
+    } else {
+      throw new IllegalStateException("Bad property data " + prop);
+    }
+  }
+
+  @Override
+  public List<Long> list() {
+    List<Long> l = new ArrayList<>();
+    try (Scanner scanner = createScanner()) {
+      scanner.setRange(Range.prefix(TX_PREFIX));
+      scanner.fetchColumn(TX_COLF, STATUS_COLQ);
+      for (Entry<Key,Value> entry : scanner) {
+        l.add(parseTid(entry.getKey().getRow().toString()));
+      }
+    }
+    return l;
+  }
+
+  @Override
+  public long timeCreated(long tid) {
+    verifyReserved(tid);
+
+    byte[] created = readColumn(tid, TX_COLF, CREATED_COLQ);
+    if (created == null) {
+      return 0;
+    }
+    return Long.parseLong(new String(created, UTF_8));
+  }
+
+  @Override
+  public List<ReadOnlyRepo<T>> getStack(long tid) {
+    List<ReadOnlyRepo<T>> dops = new ArrayList<>();
+    for (Entry<Key,Value> entry : readRepos(tid)) {
+      @SuppressWarnings("unchecked")
+      ReadOnlyRepo<T> repo = (ReadOnlyRepo<T>) ZooStore.deserialize(entry.getValue().get());
+      dops.add(repo);
+    }
+    Collections.reverse(dops);
+    return dops;
+  }
+}
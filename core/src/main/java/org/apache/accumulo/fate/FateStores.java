@@ -0,0 +1,75 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.fate;
+
+import org.apache.accumulo.core.Constants;
+import org.apache.accumulo.core.client.AccumuloClient;
+import org.apache.accumulo.core.client.AccumuloException;
+import org.apache.accumulo.core.client.AccumuloSecurityException;
+import org.apache.accumulo.core.client.TableNotFoundException;
+import org.apache.accumulo.fate.zookeeper.ZooReaderWriter;
+import org.apache.zookeeper.KeeperException;
+
+/**
+ * Creates the stores that hold FATE transactions, so that the manager and the tools that inspect
+ * its transactions agree on where they are kept. Transactions are kept in the table named by the
+ * {@code manager.fate.table} property when it is set, and in ZooKeeper otherwise.
+ */
+public class FateStores {
+
+  private FateStores() {}
+
+  /**
+   * Creates the store transactions are run from. When transactions are kept in a table, creating
+   * this store releases all reservations in the table, so this must only be used by the manager
+   * holding the manager lock or while no manager is running.
+   *
+   * @param fateTable
+   *          the value of the {@code manager.fate.table} property
+   */
+  public static <T> TStore<T> create(String fateTable, String zkRoot, ZooReaderWriter zk,
+      AccumuloClient client) throws KeeperException, InterruptedException {
+    return create(fateTable, zkRoot, zk, client, true);
+  }
+
+  /**
+   * Creates a store for inspecting transactions while the manager may be running them. Reserving
+   * a transaction in this store does not stop the manager from running it.
+   *
+   * @param fateTable
+   *          the value of the {@code manager.fate.table} property
+   */
+  public static <T> ReadOnlyTStore<T> createReadOnly(String fateTable, String zkRoot,
+      ZooReaderWriter zk, AccumuloClient client) throws KeeperException, InterruptedException {
+    return new ReadOnlyStore<>(create(fateTable, zkRoot, zk, client, false));
+  }
+
+  private static <T> TStore<T> create(String fateTable, String zkRoot, ZooReaderWriter zk,
+      AccumuloClient client, boolean exclusive) throws KeeperException, InterruptedException {
+    if (fateTable.isEmpty()) {
+      // reservations in a ZooStore are only held in memory
+      return new ZooStore<>(zkRoot + Constants.ZFATE, zk);
+    }
+    try {
+      return new AccumuloStore<>(fateTable, client, exclusive);
+    } catch (TableNotFoundException | AccumuloException | AccumuloSecurityException e) {
+      throw new IllegalStateException("Unable to use table " + fateTable + " for FATE", e);
+    }
+  }
+}
@@ -32,13 +32,13 @@ import java.util.List;
  */
 public class ReadOnlyStore<T> implements ReadOnlyTStore<T> {
 
-  private final ZooStore<T> store;
+  private final TStore<T> store;
 
   /**
    * @param store
    *          may not be null
    */
-  public ReadOnlyStore(ZooStore<T> store) {
+  public ReadOnlyStore(TStore<T> store) {
     requireNonNull(store);
     this.store = store;
   }
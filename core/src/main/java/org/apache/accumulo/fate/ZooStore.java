@@ -34,8 +34,12 @@ import java.util.Collections;
 import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
+import java.util.PriorityQueue;
 import java.util.Set;
 
 import org.apache.accumulo.fate.zookeeper.ZooReaderWriter;
@@ -44,6 +48,7 @@ import org.apache.accumulo.fate.zookeeper.ZooUtil.NodeMissingPolicy;
 import org.apache.zookeeper.KeeperException;
 import org.apache.zookeeper.KeeperException.NoNodeException;
 import org.apache.zookeeper.KeeperException.NodeExistsException;
+import org.apache.zookeeper.Watcher;
 import org.apache.zookeeper.data.Stat;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -59,14 +64,21 @@ public class ZooStore<T> implements TStore<T> {
   private static final Logger log = LoggerFactory.getLogger(ZooStore.class);
   private String path;
   private ZooReaderWriter zk;
-  private String lastReserved = "";
   private Set<Long> reserved;
   private Map<Long,Long> defered;
+  // deferred transactions ordered by the time they may be reserved again
+  private PriorityQueue<Entry<Long,Long>> deferedQueue;
+  // transactions that may be runnable, in the order they should be tried by reserve()
+  private Set<Long> runnable;
+  // every transaction seen in the last listing of the FATE path
+  private Set<Long> known;
+  private boolean childrenChanged = true;
+  private boolean rescanAll = false;
   private static final SecureRandom random = new SecureRandom();
   private long statusChangeEvents = 0;
   private int reservationsWaiting = 0;
 
-  private byte[] serialize(Object o) {
+  static byte[] serialize(Object o) {
 
     try {
       ByteArrayOutputStream baos = new ByteArrayOutputStream();
@@ -83,7 +95,7 @@ public class ZooStore<T> implements TStore<T> {
   @SuppressFBWarnings(value = "OBJECT_DESERIALIZATION",
       justification = "unsafe to store arbitrary serialized objects like this, but needed for now"
           + " for backwards compatibility")
-  private Object deserialize(byte[] ser) {
+  static Object deserialize(byte[] ser) {
     try {
       ByteArrayInputStream bais = new ByteArrayInputStream(ser);
       ObjectInputStream ois = new ObjectInputStream(bais);
@@ -107,10 +119,78 @@ public class ZooStore<T> implements TStore<T> {
     this.zk = zk;
     this.reserved = new HashSet<>();
     this.defered = new HashMap<>();
+    this.deferedQueue = new PriorityQueue<>(Entry.comparingByValue());
+    this.runnable = new LinkedHashSet<>();
+    this.known = new HashSet<>();
 
     zk.putPersistentData(path, new byte[0], NodeExistsPolicy.SKIP);
   }
 
+  private final Watcher childWatcher = event -> {
+    synchronized (ZooStore.this) {
+      childrenChanged = true;
+      ZooStore.this.notifyAll();
+    }
+  };
+
+  /**
+   * Lists the transactions in ZooKeeper and queues the ones that have not been seen before, or all
+   * of them when a full rescan was requested. Reading the children also sets a watch, so this is
+   * only needed again after transactions are created or deleted.
+   */
+  private void refreshRunnable() throws KeeperException, InterruptedException {
+    boolean all;
+    synchronized (this) {
+      all = rescanAll;
+      childrenChanged = false;
+      rescanAll = false;
+    }
+
+    List<String> txdirs = zk.getChildren(path, childWatcher);
+
+    synchronized (this) {
+      Set<Long> current = new HashSet<>();
+      for (String txdir : txdirs) {
+        long tid = parseTid(txdir);
+        current.add(tid);
+        if ((all || !known.contains(tid)) && !reserved.contains(tid)
+            && !defered.containsKey(tid)) {
+          runnable.add(tid);
+        }
+      }
+      known = current;
+    }
+  }
+
+  /**
+   * Takes the next transaction from the queue that is not reserved or deferred, after moving
+   * transactions whose deferral has expired back onto the queue.
+   *
+   * @return the next transaction, or null if there is none
+   */
+  private Long pollRunnable() {
+    long now = System.currentTimeMillis();
+    while (!deferedQueue.isEmpty() && deferedQueue.peek().getValue() <= now) {
+      Entry<Long,Long> entry = deferedQueue.poll();
+      // only requeue if this is the latest deferral of the transaction
+      if (entry.getValue().equals(defered.get(entry.getKey()))) {
+        defered.remove(entry.getKey());
+        runnable.add(entry.getKey());
+      }
+    }
+
+    Iterator<Long> iter = runnable.iterator();
+    while (iter.hasNext()) {
+      Long tid = iter.next();
+      iter.remove();
+      // reserved transactions are queued again when they are unreserved
+      if (!reserved.contains(tid) && !defered.containsKey(tid)) {
+        return tid;
+      }
+    }
+    return null;
+  }
+
   /**
    * For testing only
    */
@@ -138,74 +218,54 @@ public class ZooStore<T> implements TStore<T> {
     try {
       while (true) {
 
-        long events;
+        boolean refresh;
         synchronized (this) {
-          events = statusChangeEvents;
+          refresh = childrenChanged || rescanAll;
         }
-
-        List<String> txdirs = new ArrayList<>(zk.getChildren(path));
-        Collections.sort(txdirs);
-
-        synchronized (this) {
-          if (!txdirs.isEmpty() && txdirs.get(txdirs.size() - 1).compareTo(lastReserved) <= 0)
-            lastReserved = "";
+        if (refresh) {
+          refreshRunnable();
         }
 
-        for (String txdir : txdirs) {
-          long tid = parseTid(txdir);
-
-          synchronized (this) {
-            // this check makes reserve pick up where it left off, so that it cycles through all as
-            // it is repeatedly called.... failing to do so can lead to
-            // starvation where fate ops that sort higher and hold a lock are never reserved.
-            if (txdir.compareTo(lastReserved) <= 0)
-              continue;
-
-            if (defered.containsKey(tid)) {
-              if (defered.get(tid) < System.currentTimeMillis())
-                defered.remove(tid);
-              else
-                continue;
+        Long tid;
+        synchronized (this) {
+          tid = pollRunnable();
+          if (tid == null) {
+            long waitTime = 5000;
+            if (!deferedQueue.isEmpty()) {
+              waitTime = Math.min(waitTime,
+                  deferedQueue.peek().getValue() - System.currentTimeMillis());
             }
-            if (reserved.contains(tid))
-              continue;
-            else {
-              reserved.add(tid);
-              lastReserved = txdir;
+            if (waitTime > 0) {
+              long start = System.currentTimeMillis();
+              this.wait(waitTime);
+              // nothing was queued for a while, so look at every transaction again in case their
+              // status was changed by another process
+              if (runnable.isEmpty() && !childrenChanged
+                  && System.currentTimeMillis() - start >= 5000) {
+                rescanAll = true;
+              }
             }
+            continue;
           }
+          reserved.add(tid);
+        }
 
-          // have reserved id, status should not change
+        // have reserved id, status should not change
 
-          try {
-            TStatus status = TStatus.valueOf(new String(zk.getData(path + "/" + txdir), UTF_8));
-            if (status == TStatus.SUBMITTED || status == TStatus.IN_PROGRESS
-                || status == TStatus.FAILED_IN_PROGRESS) {
-              return tid;
-            } else {
-              unreserve(tid);
-            }
-          } catch (NoNodeException nne) {
-            // node deleted after we got the list of children, its ok
-            unreserve(tid);
-          } catch (Exception e) {
+        try {
+          TStatus status = TStatus.valueOf(new String(zk.getData(getTXPath(tid)), UTF_8));
+          if (status == TStatus.SUBMITTED || status == TStatus.IN_PROGRESS
+              || status == TStatus.FAILED_IN_PROGRESS) {
+            return tid;
+          } else {
             unreserve(tid);
-            throw e;
-          }
-        }
-
-        synchronized (this) {
-          // suppress lgtm alert - synchronized variable is not always true
-          if (events == statusChangeEvents) { // lgtm [java/constant-comparison]
-            if (defered.isEmpty())
-              this.wait(5000);
-            else {
-              Long minTime = Collections.min(defered.values());
-              long waitTime = minTime - System.currentTimeMillis();
-              if (waitTime > 0)
-                this.wait(Math.min(waitTime, 5000));
-            }
           }
+        } catch (NoNodeException nne) {
+          // node deleted after it was queued, its ok
+          unreserve(tid);
+        } catch (Exception e) {
+          unreserve(tid);
+          throw e;
         }
       }
     } catch (Exception e) {
@@ -275,8 +335,13 @@ public class ZooStore<T> implements TStore<T> {
         throw new IllegalStateException(
             "Tried to unreserve id that was not reserved " + FateTxId.formatTid(tid));
 
-      if (deferTime > 0)
-        defered.put(tid, System.currentTimeMillis() + deferTime);
+      if (deferTime > 0) {
+        long time = System.currentTimeMillis() + deferTime;
+        defered.put(tid, time);
+        deferedQueue.add(Map.entry(tid, time));
+      } else {
+        runnable.add(tid);
+      }
 
       this.notifyAll();
     }
@@ -19,19 +19,28 @@
 package org.apache.accumulo.fate.zookeeper;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 
 import java.security.SecureRandom;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.ConcurrentModificationException;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.LockSupport;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 import org.apache.accumulo.fate.zookeeper.ServiceLock.ServiceLockPath;
+import org.apache.zookeeper.AddWatchMode;
 import org.apache.zookeeper.KeeperException;
 import org.apache.zookeeper.KeeperException.Code;
 import org.apache.zookeeper.WatchedEvent;
@@ -66,6 +75,19 @@ public class ZooCache {
 
   private volatile boolean closed = false;
 
+  // subtrees loaded by prefetch, which are loaded again after the cache is cleared because the
+  // connection to ZooKeeper was lost
+  private final Set<String> prefetchRoots = ConcurrentHashMap.newKeySet();
+  private volatile boolean prefetchStale = false;
+  // loading the subtrees again is rate limited, and backs off while it fails
+  private static final long MIN_PREFETCH_REFRESH_DELAY_MS = 100;
+  private static final long MAX_PREFETCH_REFRESH_DELAY_MS = 10_000;
+  private final AtomicBoolean refreshingPrefetches = new AtomicBoolean(false);
+  private volatile long prefetchRefreshDelay = MIN_PREFETCH_REFRESH_DELAY_MS;
+  private volatile long nextPrefetchRefresh = System.nanoTime();
+  // subtrees with a persistent recursive watch, nodes in them do not need their own watches
+  private final Set<String> watchedRoots = ConcurrentHashMap.newKeySet();
+
   public static class ZcStat {
     private long ephemeralOwner;
     private long mzxid;
@@ -157,12 +179,29 @@ public class ZooCache {
         log.trace("{}", event);
       }
 
+      WatchedEvent parentEvent = null;
+
       switch (event.getType()) {
-        case NodeDataChanged:
-        case NodeChildrenChanged:
         case NodeCreated:
         case NodeDeleted:
           remove(event.getPath());
+          if (isWatchedRecursively(event.getPath())) {
+            // a recursive watch does not send child events, so derive one for the parent
+            String parent = getParent(event.getPath());
+            if (parent != null) {
+              removeChildren(parent);
+              parentEvent =
+                  new WatchedEvent(Event.EventType.NodeChildrenChanged, event.getState(), parent);
+            }
+          }
+          break;
+        case NodeDataChanged:
+        case NodeChildrenChanged:
+          remove(event.getPath());
+          break;
+        case PersistentWatchRemoved:
+          log.debug("Persistent watch on {} removed", event.getPath());
+          watchedRoots.remove(event.getPath());
           break;
         case None:
           switch (event.getState()) {
@@ -175,14 +214,21 @@ public class ZooCache {
               break;
             case Disconnected:
               log.trace("Zoo keeper connection disconnected, clearing cache");
+              watchedRoots.clear();
               clear();
+              prefetchStale = true;
               break;
             case SyncConnected:
-              log.trace("Zoo keeper connection established, ignoring");
+              log.trace("Zoo keeper connection established");
+              // load prefetched subtrees again without waiting for a back off
+              prefetchRefreshDelay = MIN_PREFETCH_REFRESH_DELAY_MS;
+              nextPrefetchRefresh = System.nanoTime();
               break;
             case Expired:
               log.trace("Zoo keeper connection expired, clearing cache");
+              watchedRoots.clear();
               clear();
+              prefetchStale = true;
               break;
             default:
               log.warn("Unhandled: {}", event);
@@ -196,10 +242,38 @@ public class ZooCache {
 
       if (externalWatcher != null) {
         externalWatcher.process(event);
+        if (parentEvent != null) {
+          externalWatcher.process(parentEvent);
+        }
       }
     }
   }
 
+  private static String getParent(String zPath) {
+    int pos = zPath.lastIndexOf('/');
+    if (pos < 0 || zPath.length() == 1) {
+      return null;
+    }
+    return pos == 0 ? "/" : zPath.substring(0, pos);
+  }
+
+  private boolean isWatchedRecursively(String zPath) {
+    for (String root : watchedRoots) {
+      if (zPath.equals(root) || zPath.startsWith(root.equals("/") ? root : root + "/")) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Returns the watcher to set when reading the given path, or null if the path is already covered
+   * by a persistent recursive watch.
+   */
+  private Watcher watcherFor(String zPath) {
+    return isWatchedRecursively(zPath) ? null : watcher;
+  }
+
   /**
    * Creates a new cache. The given watcher is called whenever a watched node changes.
    *
@@ -288,6 +362,7 @@ public class ZooCache {
    */
   public List<String> getChildren(final String zPath) {
     Preconditions.checkState(!closed);
+    refreshPrefetches();
 
     ZooRunnable<List<String>> zr = new ZooRunnable<>() {
 
@@ -308,7 +383,7 @@ public class ZooCache {
 
           final ZooKeeper zooKeeper = getZooKeeper();
 
-          List<String> children = zooKeeper.getChildren(zPath, watcher);
+          List<String> children = zooKeeper.getChildren(zPath, watcherFor(zPath));
           if (children != null) {
             children = List.copyOf(children);
           }
@@ -342,6 +417,19 @@ public class ZooCache {
     return get(zPath, null);
   }
 
+  /**
+   * Gets data at the given path only if it is already cached, without ever waiting on ZooKeeper.
+   * Use {@link #dataCached(String)} to tell a node that is not cached from one that does not exist.
+   *
+   * @param zPath
+   *          path to get
+   * @return cached path data, or null if non-existent or not cached
+   */
+  public byte[] getIfCached(final String zPath) {
+    Preconditions.checkState(!closed);
+    return immutableCache.cache.get(zPath);
+  }
+
   /**
    * Gets data at the given path, filling status information into the given <code>Stat</code>
    * object. A watch is established by this call.
@@ -354,6 +442,7 @@ public class ZooCache {
    */
   public byte[] get(final String zPath, final ZcStat status) {
     Preconditions.checkState(!closed);
+    refreshPrefetches();
     ZooRunnable<byte[]> zr = new ZooRunnable<>() {
 
       @Override
@@ -382,7 +471,8 @@ public class ZooCache {
         cacheWriteLock.lock();
         try {
           final ZooKeeper zooKeeper = getZooKeeper();
-          Stat stat = zooKeeper.exists(zPath, watcher);
+          final Watcher zWatcher = watcherFor(zPath);
+          Stat stat = zooKeeper.exists(zPath, zWatcher);
           byte[] data = null;
           if (stat == null) {
             if (log.isTraceEnabled()) {
@@ -390,7 +480,7 @@ public class ZooCache {
             }
           } else {
             try {
-              data = zooKeeper.getData(zPath, watcher, stat);
+              data = zooKeeper.getData(zPath, zWatcher, stat);
               zstat = new ZcStat(stat);
             } catch (KeeperException.BadVersionException | KeeperException.NoNodeException e1) {
               throw new ConcurrentModificationException();
@@ -412,6 +502,198 @@ public class ZooCache {
     return zr.retry();
   }
 
+  /**
+   * Loads the data and children of every node in the subtree rooted at the given path into the
+   * cache. Rather than loading one node per round trip as {@link #get(String)} and
+   * {@link #getChildren(String)} do on a miss, the requests for all nodes are sent asynchronously,
+   * so the subtree loads in about one round trip per level. The subtree is kept up to date with a
+   * single persistent recursive watch instead of a watch on every node. The subtree is loaded and
+   * watched again the next time the cache is used after it was cleared because the connection to
+   * ZooKeeper was lost.
+   *
+   * <p>
+   * Prefetching is only an optimization, so it is tried once and does not fail. Nodes that were not
+   * prefetched are loaded and watched one at a time when they are read. When prefetching fails for
+   * a reason that will not go away, like a ZooKeeper server older than 3.6 that does not support
+   * persistent recursive watches, the subtree is not prefetched again.
+   *
+   * @param zPath
+   *          path of the top node of the subtree
+   */
+  public void prefetch(final String zPath) {
+    Preconditions.checkState(!closed);
+    prefetchRoots.add(zPath);
+
+    try {
+      new Prefetch(getZooKeeper()).start(zPath).get();
+    } catch (ExecutionException e) {
+      prefetchFailed(zPath, e.getCause());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      prefetchStale = true;
+      log.debug("Interrupted prefetching {}, will try again", zPath);
+    }
+  }
+
+  private void prefetchFailed(String root, Throwable e) {
+    if (e instanceof KeeperException) {
+      Code code = ((KeeperException) e).code();
+      if (code == Code.CONNECTIONLOSS || code == Code.OPERATIONTIMEOUT
+          || code == Code.SESSIONEXPIRED || code == Code.SESSIONMOVED) {
+        log.debug("Failed to prefetch {}, will try again", root, e);
+        prefetchStale = true;
+        return;
+      }
+    }
+    if (prefetchRoots.remove(root)) {
+      log.warn("Unable to prefetch {}, its nodes will be loaded and watched one at a time", root,
+          e);
+    }
+  }
+
+  /**
+   * Loads the prefetched subtrees again if they were dropped from the cache. At most one thread
+   * does this at a time, and while it keeps failing, like while ZooKeeper is unreachable, it is
+   * tried again less and less often instead of on every read.
+   */
+  private void refreshPrefetches() {
+    if (!prefetchStale || System.nanoTime() - nextPrefetchRefresh < 0
+        || !refreshingPrefetches.compareAndSet(false, true)) {
+      return;
+    }
+
+    List<CompletableFuture<Void>> refreshes = new ArrayList<>();
+    try {
+      prefetchStale = false;
+      ZooKeeper zooKeeper = getZooKeeper();
+      for (String root : prefetchRoots) {
+        log.debug("Loading {} into cache again after losing connection to ZooKeeper", root);
+        refreshes.add(new Prefetch(zooKeeper).start(root).handle((v, e) -> {
+          if (e != null) {
+            prefetchFailed(root, e);
+          }
+          return null;
+        }));
+      }
+    } catch (RuntimeException e) {
+      prefetchStale = true;
+      refreshes.add(CompletableFuture.completedFuture(null));
+      log.debug("Failed to prefetch, will try again", e);
+    }
+
+    CompletableFuture.allOf(refreshes.toArray(new CompletableFuture[0])).whenComplete((v, e) -> {
+      if (prefetchStale) {
+        prefetchRefreshDelay = Math.min(prefetchRefreshDelay * 2, MAX_PREFETCH_REFRESH_DELAY_MS);
+      } else {
+        prefetchRefreshDelay = MIN_PREFETCH_REFRESH_DELAY_MS;
+      }
+      nextPrefetchRefresh = System.nanoTime() + MILLISECONDS.toNanos(prefetchRefreshDelay);
+      refreshingPrefetches.set(false);
+    });
+  }
+
+  /**
+   * Asynchronously adds a persistent recursive watch to a subtree and walks it, caching nodes as
+   * their results arrive. ZooKeeper handles requests in order and delivers callbacks and watch
+   * events on the same thread in the order they happened, so a cached result is always removed by a
+   * watch event for a later change.
+   */
+  private class Prefetch {
+    private final ZooKeeper zooKeeper;
+    private final AtomicInteger outstanding = new AtomicInteger();
+    private final CompletableFuture<Void> done = new CompletableFuture<>();
+    // without the watch, fetched nodes could go stale in the cache, so they are not cached
+    private volatile boolean watchFailed = false;
+
+    Prefetch(ZooKeeper zooKeeper) {
+      this.zooKeeper = zooKeeper;
+    }
+
+    CompletableFuture<Void> start(String zPath) {
+      outstanding.incrementAndGet();
+      zooKeeper.addWatch(zPath, watcher, AddWatchMode.PERSISTENT_RECURSIVE, this::watchAdded,
+          null);
+      fetch(zPath);
+      return done;
+    }
+
+    private void watchAdded(int rc, String zPath, Object ctx) {
+      Code code = Code.get(rc);
+      if (code == Code.OK) {
+        watchedRoots.add(zPath);
+      } else {
+        watchFailed = true;
+        done.completeExceptionally(KeeperException.create(code, zPath));
+      }
+      finished();
+    }
+
+    private void fetch(String zPath) {
+      outstanding.addAndGet(2);
+      // the persistent recursive watch, requested before this, covers these nodes
+      zooKeeper.getData(zPath, (Watcher) null, this::dataFetched, null);
+      zooKeeper.getChildren(zPath, (Watcher) null, this::childrenFetched, null);
+    }
+
+    private void dataFetched(int rc, String zPath, Object ctx, byte[] data, Stat stat) {
+      Code code = Code.get(rc);
+      // ZooKeeper calls back in request order, so this is known before any node is cached
+      if (watchFailed) {
+        finished();
+        return;
+      }
+      if (code == Code.OK) {
+        cacheWriteLock.lock();
+        try {
+          cache.put(zPath, data);
+          statCache.put(zPath, new ZcStat(stat));
+        } finally {
+          cacheWriteLock.unlock();
+        }
+      } else if (code != Code.NONODE) {
+        done.completeExceptionally(KeeperException.create(code, zPath));
+      }
+      finished();
+    }
+
+    private void childrenFetched(int rc, String zPath, Object ctx, List<String> children) {
+      Code code = Code.get(rc);
+      if (watchFailed) {
+        finished();
+        return;
+      }
+      if (code == Code.OK) {
+        cacheWriteLock.lock();
+        try {
+          childrenCache.put(zPath, List.copyOf(children));
+        } finally {
+          cacheWriteLock.unlock();
+        }
+        // fetch the children before finishing this node, so outstanding does not reach zero early
+        for (String child : children) {
+          fetch(zPath.equals("/") ? "/" + child : zPath + "/" + child);
+        }
+      } else if (code != Code.NONODE) {
+        done.completeExceptionally(KeeperException.create(code, zPath));
+      }
+      finished();
+    }
+
+    private void finished() {
+      if (outstanding.decrementAndGet() == 0) {
+        // publish everything fetched at once, instead of copying the cache for every node
+        cacheWriteLock.lock();
+        try {
+          immutableCache =
+              new ImmutableCacheCopies(++updateCount, cache, statCache, childrenCache);
+        } finally {
+          cacheWriteLock.unlock();
+        }
+        done.complete(null);
+      }
+    }
+  }
+
   /**
    * Helper method to copy stats from the cached stat into userStat
    *
@@ -439,6 +721,18 @@ public class ZooCache {
     }
   }
 
+  private void removeChildren(String zPath) {
+    cacheWriteLock.lock();
+    try {
+      if (childrenCache.remove(zPath) != null || immutableCache.childrenCache.containsKey(zPath)) {
+        immutableCache =
+            new ImmutableCacheCopies(++updateCount, cache, statCache, childrenCache);
+      }
+    } finally {
+      cacheWriteLock.unlock();
+    }
+  }
+
   private void remove(String zPath) {
     cacheWriteLock.lock();
     try {
@@ -489,8 +783,7 @@ public class ZooCache {
    *          path of node
    * @return true if data value is cached
    */
-  @VisibleForTesting
-  boolean dataCached(String zPath) {
+  public boolean dataCached(String zPath) {
     cacheReadLock.lock();
     try {
       return immutableCache.cache.containsKey(zPath) && cache.containsKey(zPath);
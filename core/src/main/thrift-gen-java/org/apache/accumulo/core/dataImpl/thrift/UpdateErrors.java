@@ -31,6 +31,7 @@ public class UpdateErrors implements org.apache.thrift.TBase<UpdateErrors, Updat
   private static final org.apache.thrift.protocol.TField FAILED_EXTENTS_FIELD_DESC = new org.apache.thrift.protocol.TField("failedExtents", org.apache.thrift.protocol.TType.MAP, (short)1);
   private static final org.apache.thrift.protocol.TField VIOLATION_SUMMARIES_FIELD_DESC = new org.apache.thrift.protocol.TField("violationSummaries", org.apache.thrift.protocol.TType.LIST, (short)2);
   private static final org.apache.thrift.protocol.TField AUTHORIZATION_FAILURES_FIELD_DESC = new org.apache.thrift.protocol.TField("authorizationFailures", org.apache.thrift.protocol.TType.MAP, (short)3);
+  private static final org.apache.thrift.protocol.TField BACKPRESSURE_FIELD_DESC = new org.apache.thrift.protocol.TField("backpressure", org.apache.thrift.protocol.TType.MAP, (short)4);
 
   private static final org.apache.thrift.scheme.SchemeFactory STANDARD_SCHEME_FACTORY = new UpdateErrorsStandardSchemeFactory();
   private static final org.apache.thrift.scheme.SchemeFactory TUPLE_SCHEME_FACTORY = new UpdateErrorsTupleSchemeFactory();
@@ -38,12 +39,14 @@ public class UpdateErrors implements org.apache.thrift.TBase<UpdateErrors, Updat
   public @org.apache.thrift.annotation.Nullable java.util.Map<TKeyExtent,java.lang.Long> failedExtents; // required
   public @org.apache.thrift.annotation.Nullable java.util.List<TConstraintViolationSummary> violationSummaries; // required
   public @org.apache.thrift.annotation.Nullable java.util.Map<TKeyExtent,org.apache.accumulo.core.clientImpl.thrift.SecurityErrorCode> authorizationFailures; // required
+  public @org.apache.thrift.annotation.Nullable java.util.Map<TKeyExtent,TBackpressure> backpressure; // optional
 
   /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
   public enum _Fields implements org.apache.thrift.TFieldIdEnum {
     FAILED_EXTENTS((short)1, "failedExtents"),
     VIOLATION_SUMMARIES((short)2, "violationSummaries"),
-    AUTHORIZATION_FAILURES((short)3, "authorizationFailures");
+    AUTHORIZATION_FAILURES((short)3, "authorizationFailures"),
+    BACKPRESSURE((short)4, "backpressure");
 
     private static final java.util.Map<java.lang.String, _Fields> byName = new java.util.HashMap<java.lang.String, _Fields>();
 
@@ -65,6 +68,8 @@ public class UpdateErrors implements org.apache.thrift.TBase<UpdateErrors, Updat
           return VIOLATION_SUMMARIES;
         case 3: // AUTHORIZATION_FAILURES
           return AUTHORIZATION_FAILURES;
+        case 4: // BACKPRESSURE
+          return BACKPRESSURE;
         default:
           return null;
       }
@@ -106,6 +111,7 @@ public class UpdateErrors implements org.apache.thrift.TBase<UpdateErrors, Updat
   }
 
   // isset id assignments
+  private static final _Fields optionals[] = {_Fields.BACKPRESSURE};
   public static final java.util.Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
   static {
     java.util.Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new java.util.EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
@@ -120,6 +126,10 @@ public class UpdateErrors implements org.apache.thrift.TBase<UpdateErrors, Updat
         new org.apache.thrift.meta_data.MapMetaData(org.apache.thrift.protocol.TType.MAP, 
             new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, TKeyExtent.class), 
             new org.apache.thrift.meta_data.EnumMetaData(org.apache.thrift.protocol.TType.ENUM, org.apache.accumulo.core.clientImpl.thrift.SecurityErrorCode.class))));
+    tmpMap.put(_Fields.BACKPRESSURE, new org.apache.thrift.meta_data.FieldMetaData("backpressure", org.apache.thrift.TFieldRequirementType.OPTIONAL, 
+        new org.apache.thrift.meta_data.MapMetaData(org.apache.thrift.protocol.TType.MAP, 
+            new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, TKeyExtent.class), 
+            new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, TBackpressure.class))));
     metaDataMap = java.util.Collections.unmodifiableMap(tmpMap);
     org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(UpdateErrors.class, metaDataMap);
   }
@@ -179,6 +189,21 @@ public class UpdateErrors implements org.apache.thrift.TBase<UpdateErrors, Updat
       }
       this.authorizationFailures = __this__authorizationFailures;
     }
+    if (other.isSetBackpressure()) {
+      java.util.Map<TKeyExtent,TBackpressure> __this__backpressure = new java.util.HashMap<TKeyExtent,TBackpressure>(other.backpressure.size());
+      for (java.util.Map.Entry<TKeyExtent, TBackpressure> other_element : other.backpressure.entrySet()) {
+
+        TKeyExtent other_element_key = other_element.getKey();
+        TBackpressure other_element_value = other_element.getValue();
+
+        TKeyExtent __this__backpressure_copy_key = new TKeyExtent(other_element_key);
+
+        TBackpressure __this__backpressure_copy_value = new TBackpressure(other_element_value);
+
+        __this__backpressure.put(__this__backpressure_copy_key, __this__backpressure_copy_value);
+      }
+      this.backpressure = __this__backpressure;
+    }
   }
 
   public UpdateErrors deepCopy() {
@@ -190,6 +215,7 @@ public class UpdateErrors implements org.apache.thrift.TBase<UpdateErrors, Updat
     this.failedExtents = null;
     this.violationSummaries = null;
     this.authorizationFailures = null;
+    this.backpressure = null;
   }
 
   public int getFailedExtentsSize() {
@@ -305,6 +331,42 @@ public class UpdateErrors implements org.apache.thrift.TBase<UpdateErrors, Updat
     }
   }
 
+  public int getBackpressureSize() {
+    return (this.backpressure == null) ? 0 : this.backpressure.size();
+  }
+
+  public void putToBackpressure(TKeyExtent key, TBackpressure val) {
+    if (this.backpressure == null) {
+      this.backpressure = new java.util.HashMap<TKeyExtent,TBackpressure>();
+    }
+    this.backpressure.put(key, val);
+  }
+
+  @org.apache.thrift.annotation.Nullable
+  public java.util.Map<TKeyExtent,TBackpressure> getBackpressure() {
+    return this.backpressure;
+  }
+
+  public UpdateErrors setBackpressure(@org.apache.thrift.annotation.Nullable java.util.Map<TKeyExtent,TBackpressure> backpressure) {
+    this.backpressure = backpressure;
+    return this;
+  }
+
+  public void unsetBackpressure() {
+    this.backpressure = null;
+  }
+
+  /** Returns true if field backpressure is set (has been assigned a value) and false otherwise */
+  public boolean isSetBackpressure() {
+    return this.backpressure != null;
+  }
+
+  public void setBackpressureIsSet(boolean value) {
+    if (!value) {
+      this.backpressure = null;
+    }
+  }
+
   public void setFieldValue(_Fields field, @org.apache.thrift.annotation.Nullable java.lang.Object value) {
     switch (field) {
     case FAILED_EXTENTS:
@@ -331,6 +393,14 @@ public class UpdateErrors implements org.apache.thrift.TBase<UpdateErrors, Updat
       }
       break;
 
+    case BACKPRESSURE:
+      if (value == null) {
+        unsetBackpressure();
+      } else {
+        setBackpressure((java.util.Map<TKeyExtent,TBackpressure>)value);
+      }
+      break;
+
     }
   }
 
@@ -346,6 +416,9 @@ public class UpdateErrors implements org.apache.thrift.TBase<UpdateErrors, Updat
     case AUTHORIZATION_FAILURES:
       return getAuthorizationFailures();
 
+    case BACKPRESSURE:
+      return getBackpressure();
+
     }
     throw new java.lang.IllegalStateException();
   }
@@ -363,6 +436,8 @@ public class UpdateErrors implements org.apache.thrift.TBase<UpdateErrors, Updat
       return isSetViolationSummaries();
     case AUTHORIZATION_FAILURES:
       return isSetAuthorizationFailures();
+    case BACKPRESSURE:
+      return isSetBackpressure();
     }
     throw new java.lang.IllegalStateException();
   }
@@ -407,6 +482,15 @@ public class UpdateErrors implements org.apache.thrift.TBase<UpdateErrors, Updat
         return false;
     }
 
+    boolean this_present_backpressure = true && this.isSetBackpressure();
+    boolean that_present_backpressure = true && that.isSetBackpressure();
+    if (this_present_backpressure || that_present_backpressure) {
+      if (!(this_present_backpressure && that_present_backpressure))
+        return false;
+      if (!this.backpressure.equals(that.backpressure))
+        return false;
+    }
+
     return true;
   }
 
@@ -426,6 +510,10 @@ public class UpdateErrors implements org.apache.thrift.TBase<UpdateErrors, Updat
     if (isSetAuthorizationFailures())
       hashCode = hashCode * 8191 + authorizationFailures.hashCode();
 
+    hashCode = hashCode * 8191 + ((isSetBackpressure()) ? 131071 : 524287);
+    if (isSetBackpressure())
+      hashCode = hashCode * 8191 + backpressure.hashCode();
+
     return hashCode;
   }
 
@@ -467,6 +555,16 @@ public class UpdateErrors implements org.apache.thrift.TBase<UpdateErrors, Updat
         return lastComparison;
       }
     }
+    lastComparison = java.lang.Boolean.compare(isSetBackpressure(), other.isSetBackpressure());
+    if (lastComparison != 0) {
+      return lastComparison;
+    }
+    if (isSetBackpressure()) {
+      lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.backpressure, other.backpressure);
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+    }
     return 0;
   }
 
@@ -511,6 +609,16 @@ public class UpdateErrors implements org.apache.thrift.TBase<UpdateErrors, Updat
       sb.append(this.authorizationFailures);
     }
     first = false;
+    if (isSetBackpressure()) {
+      if (!first) sb.append(", ");
+      sb.append("backpressure:");
+      if (this.backpressure == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.backpressure);
+      }
+      first = false;
+    }
     sb.append(")");
     return sb.toString();
   }
@@ -615,6 +723,28 @@ public class UpdateErrors implements org.apache.thrift.TBase<UpdateErrors, Updat
               org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
             break;
+          case 4: // BACKPRESSURE
+            if (schemeField.type == org.apache.thrift.protocol.TType.MAP) {
+              {
+                org.apache.thrift.protocol.TMap _map86 = iprot.readMapBegin();
+                struct.backpressure = new java.util.HashMap<TKeyExtent,TBackpressure>(2*_map86.size);
+                @org.apache.thrift.annotation.Nullable TKeyExtent _key87;
+                @org.apache.thrift.annotation.Nullable TBackpressure _val88;
+                for (int _i89 = 0; _i89 < _map86.size; ++_i89)
+                {
+                  _key87 = new TKeyExtent();
+                  _key87.read(iprot);
+                  _val88 = new TBackpressure();
+                  _val88.read(iprot);
+                  struct.backpressure.put(_key87, _val88);
+                }
+                iprot.readMapEnd();
+              }
+              struct.setBackpressureIsSet(true);
+            } else { 
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+            }
+            break;
           default:
             org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
         }
@@ -668,6 +798,21 @@ public class UpdateErrors implements org.apache.thrift.TBase<UpdateErrors, Updat
         }
         oprot.writeFieldEnd();
       }
+      if (struct.backpressure != null) {
+        if (struct.isSetBackpressure()) {
+          oprot.writeFieldBegin(BACKPRESSURE_FIELD_DESC);
+          {
+            oprot.writeMapBegin(new org.apache.thrift.protocol.TMap(org.apache.thrift.protocol.TType.STRUCT, org.apache.thrift.protocol.TType.STRUCT, struct.backpressure.size()));
+            for (java.util.Map.Entry<TKeyExtent, TBackpressure> _iter90 : struct.backpressure.entrySet())
+            {
+              _iter90.getKey().write(oprot);
+              _iter90.getValue().write(oprot);
+            }
+            oprot.writeMapEnd();
+          }
+          oprot.writeFieldEnd();
+        }
+      }
       oprot.writeFieldStop();
       oprot.writeStructEnd();
     }
@@ -695,7 +840,10 @@ public class UpdateErrors implements org.apache.thrift.TBase<UpdateErrors, Updat
       if (struct.isSetAuthorizationFailures()) {
         optionals.set(2);
       }
-      oprot.writeBitSet(optionals, 3);
+      if (struct.isSetBackpressure()) {
+        optionals.set(3);
+      }
+      oprot.writeBitSet(optionals, 4);
       if (struct.isSetFailedExtents()) {
         {
           oprot.writeI32(struct.failedExtents.size());
@@ -725,12 +873,22 @@ public class UpdateErrors implements org.apache.thrift.TBase<UpdateErrors, Updat
           }
         }
       }
+      if (struct.isSetBackpressure()) {
+        {
+          oprot.writeI32(struct.backpressure.size());
+          for (java.util.Map.Entry<TKeyExtent, TBackpressure> _iter91 : struct.backpressure.entrySet())
+          {
+            _iter91.getKey().write(oprot);
+            _iter91.getValue().write(oprot);
+          }
+        }
+      }
     }
 
     @Override
     public void read(org.apache.thrift.protocol.TProtocol prot, UpdateErrors struct) throws org.apache.thrift.TException {
       org.apache.thrift.protocol.TTupleProtocol iprot = (org.apache.thrift.protocol.TTupleProtocol) prot;
-      java.util.BitSet incoming = iprot.readBitSet(3);
+      java.util.BitSet incoming = iprot.readBitSet(4);
       if (incoming.get(0)) {
         {
           org.apache.thrift.protocol.TMap _map75 = iprot.readMapBegin(org.apache.thrift.protocol.TType.STRUCT, org.apache.thrift.protocol.TType.I64); 
@@ -777,6 +935,23 @@ public class UpdateErrors implements org.apache.thrift.TBase<UpdateErrors, Updat
         }
         struct.setAuthorizationFailuresIsSet(true);
       }
+      if (incoming.get(3)) {
+        {
+          org.apache.thrift.protocol.TMap _map92 = iprot.readMapBegin(org.apache.thrift.protocol.TType.STRUCT, org.apache.thrift.protocol.TType.STRUCT); 
+          struct.backpressure = new java.util.HashMap<TKeyExtent,TBackpressure>(2*_map92.size);
+          @org.apache.thrift.annotation.Nullable TKeyExtent _key93;
+          @org.apache.thrift.annotation.Nullable TBackpressure _val94;
+          for (int _i95 = 0; _i95 < _map92.size; ++_i95)
+          {
+            _key93 = new TKeyExtent();
+            _key93.read(iprot);
+            _val94 = new TBackpressure();
+            _val94.read(iprot);
+            struct.backpressure.put(_key93, _val94);
+          }
+        }
+        struct.setBackpressureIsSet(true);
+      }
     }
   }
 
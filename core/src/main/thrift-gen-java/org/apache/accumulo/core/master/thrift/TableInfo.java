@@ -40,6 +40,7 @@ public class TableInfo implements org.apache.thrift.TBase<TableInfo, TableInfo._
   private static final org.apache.thrift.protocol.TField MAJORS_FIELD_DESC = new org.apache.thrift.protocol.TField("majors", org.apache.thrift.protocol.TType.STRUCT, (short)10);
   private static final org.apache.thrift.protocol.TField SCANS_FIELD_DESC = new org.apache.thrift.protocol.TField("scans", org.apache.thrift.protocol.TType.STRUCT, (short)11);
   private static final org.apache.thrift.protocol.TField SCAN_RATE_FIELD_DESC = new org.apache.thrift.protocol.TField("scanRate", org.apache.thrift.protocol.TType.DOUBLE, (short)12);
+  private static final org.apache.thrift.protocol.TField MAJC_STATS_FIELD_DESC = new org.apache.thrift.protocol.TField("majcStats", org.apache.thrift.protocol.TType.STRUCT, (short)13);
 
   private static final org.apache.thrift.scheme.SchemeFactory STANDARD_SCHEME_FACTORY = new TableInfoStandardSchemeFactory();
   private static final org.apache.thrift.scheme.SchemeFactory TUPLE_SCHEME_FACTORY = new TableInfoTupleSchemeFactory();
@@ -56,6 +57,7 @@ public class TableInfo implements org.apache.thrift.TBase<TableInfo, TableInfo._
   public @org.apache.thrift.annotation.Nullable Compacting majors; // required
   public @org.apache.thrift.annotation.Nullable Compacting scans; // required
   public double scanRate; // required
+  public @org.apache.thrift.annotation.Nullable TableCompactionStats majcStats; // required
 
   /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
   public enum _Fields implements org.apache.thrift.TFieldIdEnum {
@@ -70,7 +72,8 @@ public class TableInfo implements org.apache.thrift.TBase<TableInfo, TableInfo._
     MINORS((short)9, "minors"),
     MAJORS((short)10, "majors"),
     SCANS((short)11, "scans"),
-    SCAN_RATE((short)12, "scanRate");
+    SCAN_RATE((short)12, "scanRate"),
+    MAJC_STATS((short)13, "majcStats");
 
     private static final java.util.Map<java.lang.String, _Fields> byName = new java.util.HashMap<java.lang.String, _Fields>();
 
@@ -110,6 +113,8 @@ public class TableInfo implements org.apache.thrift.TBase<TableInfo, TableInfo._
           return SCANS;
         case 12: // SCAN_RATE
           return SCAN_RATE;
+        case 13: // MAJC_STATS
+          return MAJC_STATS;
         default:
           return null;
       }
@@ -188,6 +193,8 @@ public class TableInfo implements org.apache.thrift.TBase<TableInfo, TableInfo._
         new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, Compacting.class)));
     tmpMap.put(_Fields.SCAN_RATE, new org.apache.thrift.meta_data.FieldMetaData("scanRate", org.apache.thrift.TFieldRequirementType.DEFAULT, 
         new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.DOUBLE)));
+    tmpMap.put(_Fields.MAJC_STATS, new org.apache.thrift.meta_data.FieldMetaData("majcStats", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+        new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, TableCompactionStats.class)));
     metaDataMap = java.util.Collections.unmodifiableMap(tmpMap);
     org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(TableInfo.class, metaDataMap);
   }
@@ -207,7 +214,8 @@ public class TableInfo implements org.apache.thrift.TBase<TableInfo, TableInfo._
     Compacting minors,
     Compacting majors,
     Compacting scans,
-    double scanRate)
+    double scanRate,
+    TableCompactionStats majcStats)
   {
     this();
     this.recs = recs;
@@ -231,6 +239,7 @@ public class TableInfo implements org.apache.thrift.TBase<TableInfo, TableInfo._
     this.scans = scans;
     this.scanRate = scanRate;
     setScanRateIsSet(true);
+    this.majcStats = majcStats;
   }
 
   /**
@@ -256,6 +265,9 @@ public class TableInfo implements org.apache.thrift.TBase<TableInfo, TableInfo._
       this.scans = new Compacting(other.scans);
     }
     this.scanRate = other.scanRate;
+    if (other.isSetMajcStats()) {
+      this.majcStats = new TableCompactionStats(other.majcStats);
+    }
   }
 
   public TableInfo deepCopy() {
@@ -285,6 +297,7 @@ public class TableInfo implements org.apache.thrift.TBase<TableInfo, TableInfo._
     this.scans = null;
     setScanRateIsSet(false);
     this.scanRate = 0.0;
+    this.majcStats = null;
   }
 
   public long getRecs() {
@@ -569,6 +582,31 @@ public class TableInfo implements org.apache.thrift.TBase<TableInfo, TableInfo._
     __isset_bitfield = org.apache.thrift.EncodingUtils.setBit(__isset_bitfield, __SCANRATE_ISSET_ID, value);
   }
 
+  @org.apache.thrift.annotation.Nullable
+  public TableCompactionStats getMajcStats() {
+    return this.majcStats;
+  }
+
+  public TableInfo setMajcStats(@org.apache.thrift.annotation.Nullable TableCompactionStats majcStats) {
+    this.majcStats = majcStats;
+    return this;
+  }
+
+  public void unsetMajcStats() {
+    this.majcStats = null;
+  }
+
+  /** Returns true if field majcStats is set (has been assigned a value) and false otherwise */
+  public boolean isSetMajcStats() {
+    return this.majcStats != null;
+  }
+
+  public void setMajcStatsIsSet(boolean value) {
+    if (!value) {
+      this.majcStats = null;
+    }
+  }
+
   public void setFieldValue(_Fields field, @org.apache.thrift.annotation.Nullable java.lang.Object value) {
     switch (field) {
     case RECS:
@@ -667,6 +705,14 @@ public class TableInfo implements org.apache.thrift.TBase<TableInfo, TableInfo._
       }
       break;
 
+    case MAJC_STATS:
+      if (value == null) {
+        unsetMajcStats();
+      } else {
+        setMajcStats((TableCompactionStats)value);
+      }
+      break;
+
     }
   }
 
@@ -709,6 +755,9 @@ public class TableInfo implements org.apache.thrift.TBase<TableInfo, TableInfo._
     case SCAN_RATE:
       return getScanRate();
 
+    case MAJC_STATS:
+      return getMajcStats();
+
     }
     throw new java.lang.IllegalStateException();
   }
@@ -744,6 +793,8 @@ public class TableInfo implements org.apache.thrift.TBase<TableInfo, TableInfo._
       return isSetScans();
     case SCAN_RATE:
       return isSetScanRate();
+    case MAJC_STATS:
+      return isSetMajcStats();
     }
     throw new java.lang.IllegalStateException();
   }
@@ -869,6 +920,15 @@ public class TableInfo implements org.apache.thrift.TBase<TableInfo, TableInfo._
         return false;
     }
 
+    boolean this_present_majcStats = true && this.isSetMajcStats();
+    boolean that_present_majcStats = true && that.isSetMajcStats();
+    if (this_present_majcStats || that_present_majcStats) {
+      if (!(this_present_majcStats && that_present_majcStats))
+        return false;
+      if (!this.majcStats.equals(that.majcStats))
+        return false;
+    }
+
     return true;
   }
 
@@ -906,6 +966,10 @@ public class TableInfo implements org.apache.thrift.TBase<TableInfo, TableInfo._
 
     hashCode = hashCode * 8191 + org.apache.thrift.TBaseHelper.hashCode(scanRate);
 
+    hashCode = hashCode * 8191 + ((isSetMajcStats()) ? 131071 : 524287);
+    if (isSetMajcStats())
+      hashCode = hashCode * 8191 + majcStats.hashCode();
+
     return hashCode;
   }
 
@@ -1037,6 +1101,16 @@ public class TableInfo implements org.apache.thrift.TBase<TableInfo, TableInfo._
         return lastComparison;
       }
     }
+    lastComparison = java.lang.Boolean.compare(isSetMajcStats(), other.isSetMajcStats());
+    if (lastComparison != 0) {
+      return lastComparison;
+    }
+    if (isSetMajcStats()) {
+      lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.majcStats, other.majcStats);
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+    }
     return 0;
   }
 
@@ -1117,6 +1191,14 @@ public class TableInfo implements org.apache.thrift.TBase<TableInfo, TableInfo._
     sb.append("scanRate:");
     sb.append(this.scanRate);
     first = false;
+    if (!first) sb.append(", ");
+    sb.append("majcStats:");
+    if (this.majcStats == null) {
+      sb.append("null");
+    } else {
+      sb.append(this.majcStats);
+    }
+    first = false;
     sb.append(")");
     return sb.toString();
   }
@@ -1133,6 +1215,9 @@ public class TableInfo implements org.apache.thrift.TBase<TableInfo, TableInfo._
     if (scans != null) {
       scans.validate();
     }
+    if (majcStats != null) {
+      majcStats.validate();
+    }
   }
 
   private void writeObject(java.io.ObjectOutputStream out) throws java.io.IOException {
@@ -1270,6 +1355,15 @@ public class TableInfo implements org.apache.thrift.TBase<TableInfo, TableInfo._
               org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
             break;
+          case 13: // MAJC_STATS
+            if (schemeField.type == org.apache.thrift.protocol.TType.STRUCT) {
+              struct.majcStats = new TableCompactionStats();
+              struct.majcStats.read(iprot);
+              struct.setMajcStatsIsSet(true);
+            } else { 
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+            }
+            break;
           default:
             org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
         }
@@ -1327,6 +1421,11 @@ public class TableInfo implements org.apache.thrift.TBase<TableInfo, TableInfo._
       oprot.writeFieldBegin(SCAN_RATE_FIELD_DESC);
       oprot.writeDouble(struct.scanRate);
       oprot.writeFieldEnd();
+      if (struct.majcStats != null) {
+        oprot.writeFieldBegin(MAJC_STATS_FIELD_DESC);
+        struct.majcStats.write(oprot);
+        oprot.writeFieldEnd();
+      }
       oprot.writeFieldStop();
       oprot.writeStructEnd();
     }
@@ -1381,7 +1480,10 @@ public class TableInfo implements org.apache.thrift.TBase<TableInfo, TableInfo._
       if (struct.isSetScanRate()) {
         optionals.set(11);
       }
-      oprot.writeBitSet(optionals, 12);
+      if (struct.isSetMajcStats()) {
+        optionals.set(12);
+      }
+      oprot.writeBitSet(optionals, 13);
       if (struct.isSetRecs()) {
         oprot.writeI64(struct.recs);
       }
@@ -1418,12 +1520,15 @@ public class TableInfo implements org.apache.thrift.TBase<TableInfo, TableInfo._
       if (struct.isSetScanRate()) {
         oprot.writeDouble(struct.scanRate);
       }
+      if (struct.isSetMajcStats()) {
+        struct.majcStats.write(oprot);
+      }
     }
 
     @Override
     public void read(org.apache.thrift.protocol.TProtocol prot, TableInfo struct) throws org.apache.thrift.TException {
       org.apache.thrift.protocol.TTupleProtocol iprot = (org.apache.thrift.protocol.TTupleProtocol) prot;
-      java.util.BitSet incoming = iprot.readBitSet(12);
+      java.util.BitSet incoming = iprot.readBitSet(13);
       if (incoming.get(0)) {
         struct.recs = iprot.readI64();
         struct.setRecsIsSet(true);
@@ -1475,6 +1580,11 @@ public class TableInfo implements org.apache.thrift.TBase<TableInfo, TableInfo._
         struct.scanRate = iprot.readDouble();
         struct.setScanRateIsSet(true);
       }
+      if (incoming.get(12)) {
+        struct.majcStats = new TableCompactionStats();
+        struct.majcStats.read(iprot);
+        struct.setMajcStatsIsSet(true);
+      }
     }
   }
 
@@ -37,6 +37,7 @@ public class TExternalCompactionJob implements org.apache.thrift.TBase<TExternal
   private static final org.apache.thrift.protocol.TField KIND_FIELD_DESC = new org.apache.thrift.protocol.TField("kind", org.apache.thrift.protocol.TType.I32, (short)7);
   private static final org.apache.thrift.protocol.TField USER_COMPACTION_ID_FIELD_DESC = new org.apache.thrift.protocol.TField("userCompactionId", org.apache.thrift.protocol.TType.I64, (short)8);
   private static final org.apache.thrift.protocol.TField OVERRIDES_FIELD_DESC = new org.apache.thrift.protocol.TField("overrides", org.apache.thrift.protocol.TType.MAP, (short)9);
+  private static final org.apache.thrift.protocol.TField WAIT_TIME_FIELD_DESC = new org.apache.thrift.protocol.TField("waitTime", org.apache.thrift.protocol.TType.I64, (short)10);
 
   private static final org.apache.thrift.scheme.SchemeFactory STANDARD_SCHEME_FACTORY = new TExternalCompactionJobStandardSchemeFactory();
   private static final org.apache.thrift.scheme.SchemeFactory TUPLE_SCHEME_FACTORY = new TExternalCompactionJobTupleSchemeFactory();
@@ -50,6 +51,7 @@ public class TExternalCompactionJob implements org.apache.thrift.TBase<TExternal
   public @org.apache.thrift.annotation.Nullable TCompactionKind kind; // required
   public long userCompactionId; // required
   public @org.apache.thrift.annotation.Nullable java.util.Map<java.lang.String,java.lang.String> overrides; // required
+  public long waitTime; // optional
 
   /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
   public enum _Fields implements org.apache.thrift.TFieldIdEnum {
@@ -61,7 +63,8 @@ public class TExternalCompactionJob implements org.apache.thrift.TBase<TExternal
     PROPAGATE_DELETES((short)6, "propagateDeletes"),
     KIND((short)7, "kind"),
     USER_COMPACTION_ID((short)8, "userCompactionId"),
-    OVERRIDES((short)9, "overrides");
+    OVERRIDES((short)9, "overrides"),
+    WAIT_TIME((short)10, "waitTime");
 
     private static final java.util.Map<java.lang.String, _Fields> byName = new java.util.HashMap<java.lang.String, _Fields>();
 
@@ -95,6 +98,8 @@ public class TExternalCompactionJob implements org.apache.thrift.TBase<TExternal
           return USER_COMPACTION_ID;
         case 9: // OVERRIDES
           return OVERRIDES;
+        case 10: // WAIT_TIME
+          return WAIT_TIME;
         default:
           return null;
       }
@@ -138,7 +143,9 @@ public class TExternalCompactionJob implements org.apache.thrift.TBase<TExternal
   // isset id assignments
   private static final int __PROPAGATEDELETES_ISSET_ID = 0;
   private static final int __USERCOMPACTIONID_ISSET_ID = 1;
+  private static final int __WAITTIME_ISSET_ID = 2;
   private byte __isset_bitfield = 0;
+  private static final _Fields optionals[] = {_Fields.WAIT_TIME};
   public static final java.util.Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
   static {
     java.util.Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new java.util.EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
@@ -163,6 +170,8 @@ public class TExternalCompactionJob implements org.apache.thrift.TBase<TExternal
         new org.apache.thrift.meta_data.MapMetaData(org.apache.thrift.protocol.TType.MAP, 
             new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRING), 
             new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRING))));
+    tmpMap.put(_Fields.WAIT_TIME, new org.apache.thrift.meta_data.FieldMetaData("waitTime", org.apache.thrift.TFieldRequirementType.OPTIONAL, 
+        new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.I64)));
     metaDataMap = java.util.Collections.unmodifiableMap(tmpMap);
     org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(TExternalCompactionJob.class, metaDataMap);
   }
@@ -228,6 +237,7 @@ public class TExternalCompactionJob implements org.apache.thrift.TBase<TExternal
       java.util.Map<java.lang.String,java.lang.String> __this__overrides = new java.util.HashMap<java.lang.String,java.lang.String>(other.overrides);
       this.overrides = __this__overrides;
     }
+    this.waitTime = other.waitTime;
   }
 
   public TExternalCompactionJob deepCopy() {
@@ -247,6 +257,8 @@ public class TExternalCompactionJob implements org.apache.thrift.TBase<TExternal
     setUserCompactionIdIsSet(false);
     this.userCompactionId = 0;
     this.overrides = null;
+    setWaitTimeIsSet(false);
+    this.waitTime = 0;
   }
 
   @org.apache.thrift.annotation.Nullable
@@ -497,6 +509,29 @@ public class TExternalCompactionJob implements org.apache.thrift.TBase<TExternal
     }
   }
 
+  public long getWaitTime() {
+    return this.waitTime;
+  }
+
+  public TExternalCompactionJob setWaitTime(long waitTime) {
+    this.waitTime = waitTime;
+    setWaitTimeIsSet(true);
+    return this;
+  }
+
+  public void unsetWaitTime() {
+    __isset_bitfield = org.apache.thrift.EncodingUtils.clearBit(__isset_bitfield, __WAITTIME_ISSET_ID);
+  }
+
+  /** Returns true if field waitTime is set (has been assigned a value) and false otherwise */
+  public boolean isSetWaitTime() {
+    return org.apache.thrift.EncodingUtils.testBit(__isset_bitfield, __WAITTIME_ISSET_ID);
+  }
+
+  public void setWaitTimeIsSet(boolean value) {
+    __isset_bitfield = org.apache.thrift.EncodingUtils.setBit(__isset_bitfield, __WAITTIME_ISSET_ID, value);
+  }
+
   public void setFieldValue(_Fields field, @org.apache.thrift.annotation.Nullable java.lang.Object value) {
     switch (field) {
     case EXTERNAL_COMPACTION_ID:
@@ -571,6 +606,14 @@ public class TExternalCompactionJob implements org.apache.thrift.TBase<TExternal
       }
       break;
 
+    case WAIT_TIME:
+      if (value == null) {
+        unsetWaitTime();
+      } else {
+        setWaitTime((java.lang.Long)value);
+      }
+      break;
+
     }
   }
 
@@ -604,6 +647,9 @@ public class TExternalCompactionJob implements org.apache.thrift.TBase<TExternal
     case OVERRIDES:
       return getOverrides();
 
+    case WAIT_TIME:
+      return getWaitTime();
+
     }
     throw new java.lang.IllegalStateException();
   }
@@ -633,6 +679,8 @@ public class TExternalCompactionJob implements org.apache.thrift.TBase<TExternal
       return isSetUserCompactionId();
     case OVERRIDES:
       return isSetOverrides();
+    case WAIT_TIME:
+      return isSetWaitTime();
     }
     throw new java.lang.IllegalStateException();
   }
@@ -731,6 +779,15 @@ public class TExternalCompactionJob implements org.apache.thrift.TBase<TExternal
         return false;
     }
 
+    boolean this_present_waitTime = true && this.isSetWaitTime();
+    boolean that_present_waitTime = true && that.isSetWaitTime();
+    if (this_present_waitTime || that_present_waitTime) {
+      if (!(this_present_waitTime && that_present_waitTime))
+        return false;
+      if (this.waitTime != that.waitTime)
+        return false;
+    }
+
     return true;
   }
 
@@ -770,6 +827,10 @@ public class TExternalCompactionJob implements org.apache.thrift.TBase<TExternal
     if (isSetOverrides())
       hashCode = hashCode * 8191 + overrides.hashCode();
 
+    hashCode = hashCode * 8191 + ((isSetWaitTime()) ? 131071 : 524287);
+    if (isSetWaitTime())
+      hashCode = hashCode * 8191 + org.apache.thrift.TBaseHelper.hashCode(waitTime);
+
     return hashCode;
   }
 
@@ -871,6 +932,16 @@ public class TExternalCompactionJob implements org.apache.thrift.TBase<TExternal
         return lastComparison;
       }
     }
+    lastComparison = java.lang.Boolean.compare(isSetWaitTime(), other.isSetWaitTime());
+    if (lastComparison != 0) {
+      return lastComparison;
+    }
+    if (isSetWaitTime()) {
+      lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.waitTime, other.waitTime);
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+    }
     return 0;
   }
 
@@ -955,6 +1026,12 @@ public class TExternalCompactionJob implements org.apache.thrift.TBase<TExternal
       sb.append(this.overrides);
     }
     first = false;
+    if (isSetWaitTime()) {
+      if (!first) sb.append(", ");
+      sb.append("waitTime:");
+      sb.append(this.waitTime);
+      first = false;
+    }
     sb.append(")");
     return sb.toString();
   }
@@ -1103,6 +1180,14 @@ public class TExternalCompactionJob implements org.apache.thrift.TBase<TExternal
               org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
             break;
+          case 10: // WAIT_TIME
+            if (schemeField.type == org.apache.thrift.protocol.TType.I64) {
+              struct.waitTime = iprot.readI64();
+              struct.setWaitTimeIsSet(true);
+            } else { 
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+            }
+            break;
           default:
             org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
         }
@@ -1174,6 +1259,11 @@ public class TExternalCompactionJob implements org.apache.thrift.TBase<TExternal
         }
         oprot.writeFieldEnd();
       }
+      if (struct.isSetWaitTime()) {
+        oprot.writeFieldBegin(WAIT_TIME_FIELD_DESC);
+        oprot.writeI64(struct.waitTime);
+        oprot.writeFieldEnd();
+      }
       oprot.writeFieldStop();
       oprot.writeStructEnd();
     }
@@ -1219,7 +1309,10 @@ public class TExternalCompactionJob implements org.apache.thrift.TBase<TExternal
       if (struct.isSetOverrides()) {
         optionals.set(8);
       }
-      oprot.writeBitSet(optionals, 9);
+      if (struct.isSetWaitTime()) {
+        optionals.set(9);
+      }
+      oprot.writeBitSet(optionals, 10);
       if (struct.isSetExternalCompactionId()) {
         oprot.writeString(struct.externalCompactionId);
       }
@@ -1260,12 +1353,15 @@ public class TExternalCompactionJob implements org.apache.thrift.TBase<TExternal
           }
         }
       }
+      if (struct.isSetWaitTime()) {
+        oprot.writeI64(struct.waitTime);
+      }
     }
 
     @Override
     public void read(org.apache.thrift.protocol.TProtocol prot, TExternalCompactionJob struct) throws org.apache.thrift.TException {
       org.apache.thrift.protocol.TTupleProtocol iprot = (org.apache.thrift.protocol.TTupleProtocol) prot;
-      java.util.BitSet incoming = iprot.readBitSet(9);
+      java.util.BitSet incoming = iprot.readBitSet(10);
       if (incoming.get(0)) {
         struct.externalCompactionId = iprot.readString();
         struct.setExternalCompactionIdIsSet(true);
@@ -1325,6 +1421,10 @@ public class TExternalCompactionJob implements org.apache.thrift.TBase<TExternal
         }
         struct.setOverridesIsSet(true);
       }
+      if (incoming.get(9)) {
+        struct.waitTime = iprot.readI64();
+        struct.setWaitTimeIsSet(true);
+      }
     }
   }
 
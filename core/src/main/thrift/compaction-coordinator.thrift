@@ -128,6 +128,17 @@ service CompactionCoordinatorService {
     3:string externalCompactionId
   )
 
+  /*
+   * Called by a TabletServer when it queues external compaction jobs at a priority it has not
+   * reported, so that Compactors waiting for jobs can be given them right away
+   */
+  void compactionJobsAvailable(
+    1:trace.TInfo tinfo
+    2:security.TCredentials credentials
+    3:string tserver
+    4:tabletserver.TCompactionQueueSummary summary
+  )
+
 }
 
 service CompactorService {
@@ -107,10 +107,23 @@ struct TConstraintViolationSummary {
   4:i64 numberOfViolatingMutations
 }
 
+// hints from a tablet server that writes to a tablet should slow down
+struct TBackpressure {
+  // fraction of the tablet servers in memory map budget that is used
+  1:double memoryUsage
+  // minor compactions waiting for a thread on the tablet server
+  2:i32 pendingMinorCompactions
+  // longest write ahead log sync seen by the update session, in milliseconds
+  3:i64 walSyncLatency
+  // how long the tablet server has been holding commits, in milliseconds
+  4:i64 holdTime
+}
+
 struct UpdateErrors {
   1:map<TKeyExtent, i64> failedExtents
   2:list<TConstraintViolationSummary> violationSummaries
   3:map<TKeyExtent, client.SecurityErrorCode> authorizationFailures
+  4:optional map<TKeyExtent, TBackpressure> backpressure
 }
 
 enum TCMStatus {
@@ -29,6 +29,17 @@ struct Compacting {
   2:i32 queued
 }
 
+struct TableCompactionStats {
+  1:i64 compactions
+  2:i64 filesRead
+  3:i64 filesWritten
+  4:i64 bytesRead
+  5:i64 bytesWritten
+  6:i64 entriesRead
+  7:i64 entriesWritten
+  8:i64 timeMillis
+}
+
 struct TableInfo {
   1:i64 recs
   2:i64 recsInMemory
@@ -42,6 +53,7 @@ struct TableInfo {
   10:Compacting majors
   11:Compacting scans
   12:double scanRate
+  13:TableCompactionStats majcStats
 }
 
 struct RecoveryStatus {
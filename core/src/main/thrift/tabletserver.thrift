@@ -176,6 +176,8 @@ struct TExternalCompactionJob {
   7:TCompactionKind kind
   8:i64 userCompactionId
   9:map<string, string> overrides
+  // set by the coordinator on an empty job to the time it held the request waiting for jobs
+  10:optional i64 waitTime
 }
 
 enum TCompactionKind {
@@ -290,6 +292,14 @@ service TabletClientService extends client.ClientService {
     4:list<data.TMutation> mutations
   )
 
+  // same as applyUpdates, except the mutations are encoded using CompressedMutations
+  oneway void applyCompressedUpdates(
+    1:trace.TInfo tinfo
+    2:data.UpdateID updateID
+    3:data.TKeyExtent keyExtent
+    4:binary mutations
+  )
+
   data.UpdateErrors closeUpdate(
     2:trace.TInfo tinfo
     1:data.UpdateID updateID
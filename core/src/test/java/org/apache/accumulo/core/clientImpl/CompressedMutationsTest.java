@@ -0,0 +1,93 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.core.clientImpl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.accumulo.core.data.Mutation;
+import org.apache.accumulo.core.security.ColumnVisibility;
+import org.junit.jupiter.api.Test;
+
+public class CompressedMutationsTest {
+
+  private List<Mutation> createMutations() {
+    List<Mutation> mutations = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      Mutation m = new Mutation(String.format("row%04d", i));
+      m.put("family1", "qual1", new ColumnVisibility("A&B"), "v" + i);
+      m.put("family1", "qual2", 42L, "v" + i);
+      m.putDelete("family2", "qual1", new ColumnVisibility("A&B"), 43L);
+      if (i % 10 == 0) {
+        m.addReplicationSource("peer1");
+      }
+      mutations.add(m);
+    }
+    // large values are stored outside of the mutations data buffer
+    Mutation big = new Mutation("bigrow");
+    big.put("family1", "qual1", new String(new char[1 << 16]).replace('\0', 'x'));
+    mutations.add(big);
+    return mutations;
+  }
+
+  private void runTest(String algorithm) throws IOException {
+    List<Mutation> expected = createMutations();
+
+    CompressedMutations cm = new CompressedMutations();
+    expected.forEach(cm::add);
+    assertEquals(expected.size(), cm.size());
+
+    ByteBuffer compressed = cm.compress(algorithm);
+
+    List<Mutation> actual = CompressedMutations.decompress(compressed, Mutation::new);
+    assertEquals(expected, actual);
+    for (int i = 0; i < expected.size(); i++) {
+      assertEquals(expected.get(i).getReplicationSources(),
+          actual.get(i).getReplicationSources());
+    }
+  }
+
+  @Test
+  public void testNone() throws IOException {
+    runTest("none");
+  }
+
+  @Test
+  public void testGz() throws IOException {
+    runTest("gz");
+  }
+
+  @Test
+  public void testSmallerThanMutations() throws IOException {
+    List<Mutation> mutations = createMutations();
+    CompressedMutations cm = new CompressedMutations();
+    long size = 0;
+    for (Mutation m : mutations) {
+      cm.add(m);
+      size += m.numBytes();
+    }
+    assertTrue(cm.getEncodedSize() < size);
+    assertTrue(cm.compress("gz").remaining() < cm.getEncodedSize());
+  }
+}
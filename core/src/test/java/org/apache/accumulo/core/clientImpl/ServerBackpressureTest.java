@@ -0,0 +1,66 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.core.clientImpl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.apache.accumulo.core.dataImpl.thrift.TBackpressure;
+import org.junit.jupiter.api.Test;
+
+public class ServerBackpressureTest {
+
+  @Test
+  public void testNoPressure() {
+    assertEquals(0, ServerBackpressure.computeDelay(List.of()));
+    assertEquals(0, ServerBackpressure.computeDelay(List.of(new TBackpressure(0.5, 0, 10, 0))));
+  }
+
+  @Test
+  public void testComputeDelay() {
+    assertEquals(ServerBackpressure.MAX_DELAY_MS / 2,
+        ServerBackpressure.computeDelay(List.of(new TBackpressure(0.9, 0, 0, 0))));
+    assertEquals(300, ServerBackpressure.computeDelay(List.of(new TBackpressure(0, 3, 0, 0))));
+    assertEquals(750, ServerBackpressure.computeDelay(List.of(new TBackpressure(0, 0, 750, 0))));
+    assertEquals(1200, ServerBackpressure.computeDelay(List.of(new TBackpressure(0, 0, 0, 1200))));
+
+    // the most overloaded tablet determines the delay, which is capped
+    assertEquals(300, ServerBackpressure.computeDelay(
+        List.of(new TBackpressure(0, 3, 0, 0), new TBackpressure(0, 1, 0, 0))));
+    assertEquals(ServerBackpressure.MAX_DELAY_MS,
+        ServerBackpressure.computeDelay(List.of(new TBackpressure(1.0, 0, 0, 60_000))));
+  }
+
+  @Test
+  public void testDelays() {
+    ServerBackpressure backpressure = new ServerBackpressure();
+    assertEquals(0, backpressure.getDelay("server1:9997"));
+
+    backpressure.update("server1:9997", List.of(new TBackpressure(0, 0, 0, 1000)));
+    long delay = backpressure.getDelay("server1:9997");
+    assertTrue(delay > 0 && delay <= 1000, "unexpected delay " + delay);
+    assertEquals(0, backpressure.getDelay("server2:9997"));
+
+    // a response without hints clears the delay
+    backpressure.update("server1:9997", null);
+    assertEquals(0, backpressure.getDelay("server1:9997"));
+  }
+}
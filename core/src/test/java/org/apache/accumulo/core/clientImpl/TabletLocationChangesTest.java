@@ -0,0 +1,207 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.core.clientImpl;
+
+import static org.easymock.EasyMock.createMock;
+import static org.easymock.EasyMock.expect;
+import static org.easymock.EasyMock.replay;
+import static org.easymock.EasyMock.reset;
+import static org.easymock.EasyMock.verify;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.accumulo.core.data.TableId;
+import org.apache.accumulo.core.dataImpl.KeyExtent;
+import org.apache.accumulo.fate.zookeeper.ZooCache;
+import org.apache.hadoop.io.Text;
+import org.junit.jupiter.api.Test;
+
+public class TabletLocationChangesTest {
+
+  private static final String PATH = "/accumulo/iid/tables/1/location-changes";
+
+  private static KeyExtent nke(String endRow, String prevEndRow) {
+    return new KeyExtent(TableId.of("1"), endRow == null ? null : new Text(endRow),
+        prevEndRow == null ? null : new Text(prevEndRow));
+  }
+
+  @Test
+  public void testSerialize() {
+    List<KeyExtent> extents = List.of(nke("m", null), nke("t", "m"), nke(null, "t"));
+    byte[] serialized = TabletLocationChanges.serialize(42, extents);
+
+    assertEquals(42, TabletLocationChanges.getSequence(serialized));
+    TabletLocationChanges changes = TabletLocationChanges.deserialize(serialized);
+    assertEquals(42, changes.getSequence());
+    assertEquals(extents, changes.getExtents());
+  }
+
+  @Test
+  public void testSerializeTooLarge() {
+    char[] row = new char[1024];
+    List<KeyExtent> extents = new ArrayList<>();
+    for (char c = 'a'; c <= 'z'; c++) {
+      Arrays.fill(row, c);
+      String endRow = new String(row);
+      extents.add(nke(endRow + "1", endRow));
+      extents.add(nke(endRow + "2", endRow + "1"));
+    }
+
+    // over 64KB the extents are dropped, so clients refresh everything
+    byte[] serialized = TabletLocationChanges.serialize(7, extents);
+    assertTrue(serialized.length < 64 * 1024);
+    TabletLocationChanges changes = TabletLocationChanges.deserialize(serialized);
+    assertEquals(7, changes.getSequence());
+    assertTrue(changes.getExtents().isEmpty());
+
+    // under 64KB they are kept
+    List<KeyExtent> fewer = extents.subList(0, 20);
+    assertEquals(fewer,
+        TabletLocationChanges.deserialize(TabletLocationChanges.serialize(8, fewer)).getExtents());
+  }
+
+  @Test
+  public void testAppend() {
+    KeyExtent ke1 = nke("m", null);
+    KeyExtent ke2 = nke(null, "m");
+    byte[] serialized = TabletLocationChanges.serialize(3, List.of(ke1));
+    serialized = TabletLocationChanges.append(serialized, List.of(ke2));
+    serialized = TabletLocationChanges.append(serialized, List.of(ke1, ke2));
+
+    assertEquals(5, TabletLocationChanges.getSequence(serialized));
+    TabletLocationChanges changes = TabletLocationChanges.deserialize(serialized);
+    assertEquals(5, changes.getSequence());
+    assertEquals(List.of(ke1, ke2), changes.getExtents());
+    assertEquals(List.of(), changes.getExtentsSince(5));
+    assertEquals(List.of(ke1, ke2), changes.getExtentsSince(4));
+    assertEquals(List.of(ke2, ke1, ke2), changes.getExtentsSince(3));
+    assertEquals(List.of(ke1, ke2, ke1, ke2), changes.getExtentsSince(2));
+    // publications before the first one kept are unknown, as are later ones that were not seen
+    assertNull(changes.getExtentsSince(1));
+    assertNull(changes.getExtentsSince(6));
+
+    // a publication without extents makes the changes since before it unknown
+    byte[] unknown = TabletLocationChanges.append(serialized, List.of());
+    unknown = TabletLocationChanges.append(unknown, List.of(ke1));
+    changes = TabletLocationChanges.deserialize(unknown);
+    assertEquals(List.of(ke1), changes.getExtentsSince(6));
+    assertNull(changes.getExtentsSince(5));
+
+    // only the most recent publications are kept
+    for (int i = 0; i < TabletLocationChanges.MAX_PUBLICATIONS; i++) {
+      serialized = TabletLocationChanges.append(serialized, List.of(ke1));
+    }
+    changes = TabletLocationChanges.deserialize(serialized);
+    long sequence = 5 + TabletLocationChanges.MAX_PUBLICATIONS;
+    assertEquals(sequence, changes.getSequence());
+    assertEquals(TabletLocationChanges.MAX_PUBLICATIONS,
+        changes.getExtentsSince(sequence - TabletLocationChanges.MAX_PUBLICATIONS).size());
+    assertNull(changes.getExtentsSince(sequence - TabletLocationChanges.MAX_PUBLICATIONS - 1));
+  }
+
+  @Test
+  public void testAppendTooLarge() {
+    char[] row = new char[1024];
+    List<KeyExtent> extents = new ArrayList<>();
+    for (char c = 'a'; c <= 'l'; c++) {
+      Arrays.fill(row, c);
+      String endRow = new String(row);
+      extents.add(nke(endRow + "1", endRow));
+      extents.add(nke(endRow + "2", endRow + "1"));
+    }
+
+    // each publication is under 64KB but together they are not, so the oldest ones are dropped
+    byte[] serialized = TabletLocationChanges.serialize(1, extents);
+    serialized = TabletLocationChanges.append(serialized, extents);
+    serialized = TabletLocationChanges.append(serialized, extents);
+    assertTrue(serialized.length < 64 * 1024);
+    TabletLocationChanges changes = TabletLocationChanges.deserialize(serialized);
+    assertEquals(3, changes.getSequence());
+    assertEquals(extents, changes.getExtentsSince(2));
+    assertNull(changes.getExtentsSince(1));
+  }
+
+  @Test
+  public void testCachedSupplierLoadsInBackground() {
+    ZooCache zc = createMock(ZooCache.class);
+    List<Runnable> loads = new ArrayList<>();
+    var supplier = new TabletLocationChanges.CachedSupplier(zc, PATH, loads::add);
+    byte[] serialized = TabletLocationChanges.serialize(3, List.of());
+
+    // nothing is supplied until the changes are loaded, and they are loaded once
+    expect(zc.getIfCached(PATH)).andReturn(null).times(2);
+    expect(zc.dataCached(PATH)).andReturn(false).times(2);
+    replay(zc);
+    assertNull(supplier.get());
+    assertNull(supplier.get());
+    assertEquals(1, loads.size());
+    verify(zc);
+
+    reset(zc);
+    expect(zc.get(PATH)).andReturn(serialized);
+    expect(zc.getIfCached(PATH)).andReturn(serialized);
+    replay(zc);
+    loads.remove(0).run();
+    assertArrayEquals(serialized, supplier.get());
+    assertTrue(loads.isEmpty());
+    verify(zc);
+  }
+
+  @Test
+  public void testCachedSupplierNoChanges() {
+    ZooCache zc = createMock(ZooCache.class);
+    List<Runnable> loads = new ArrayList<>();
+    var supplier = new TabletLocationChanges.CachedSupplier(zc, PATH, loads::add);
+
+    // a table that does not publish changes has no node, which is cached too
+    expect(zc.getIfCached(PATH)).andReturn(null).times(3);
+    expect(zc.dataCached(PATH)).andReturn(true).times(3);
+    replay(zc);
+    assertNull(supplier.get());
+    assertNull(supplier.get());
+    assertNull(supplier.get());
+    assertTrue(loads.isEmpty());
+    verify(zc);
+  }
+
+  @Test
+  public void testCachedSupplierLoadFails() {
+    ZooCache zc = createMock(ZooCache.class);
+    List<Runnable> loads = new ArrayList<>();
+    var supplier = new TabletLocationChanges.CachedSupplier(zc, PATH, loads::add);
+
+    expect(zc.getIfCached(PATH)).andReturn(null).times(2);
+    expect(zc.dataCached(PATH)).andReturn(false).times(2);
+    expect(zc.get(PATH)).andThrow(new IllegalStateException("closed"));
+    replay(zc);
+    assertNull(supplier.get());
+    loads.remove(0).run();
+
+    // a failed load is tried again the next time
+    assertNull(supplier.get());
+    assertEquals(1, loads.size());
+    verify(zc);
+  }
+}
@@ -36,6 +36,8 @@ import java.util.Map.Entry;
 import java.util.Set;
 import java.util.SortedMap;
 import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.apache.accumulo.core.clientImpl.TabletLocator.TabletLocation;
 import org.apache.accumulo.core.clientImpl.TabletLocator.TabletLocations;
@@ -1414,4 +1416,129 @@ public class TabletLocatorImplTest {
     runTest(ranges, metaCache, expected);
   }
 
+
+  @Test
+  public void testLookupCacheGap() throws Exception {
+    // tablets missing from the middle of the cache should be found with one batch lookup
+
+    TServers tservers = new TServers();
+    AtomicInteger singleLookups = new AtomicInteger();
+    AtomicInteger batchLookups = new AtomicInteger();
+    TestTabletLocationObtainer ttlo = new TestTabletLocationObtainer(tservers) {
+      @Override
+      public TabletLocations lookupTablet(ClientContext context, TabletLocation src, Text row,
+          Text stopRow, TabletLocator parent) {
+        singleLookups.incrementAndGet();
+        return super.lookupTablet(context, src, row, stopRow, parent);
+      }
+
+      @Override
+      public List<TabletLocation> lookupTablets(ClientContext context, String tserver,
+          Map<KeyExtent,List<Range>> map, TabletLocator parent) {
+        batchLookups.incrementAndGet();
+        return super.lookupTablets(context, tserver, map, parent);
+      }
+    };
+
+    TabletLocatorImpl rootTabletCache =
+        new TabletLocatorImpl(MetadataTable.ID, new TestRootTabletLocator(), ttlo,
+            new YesLockChecker());
+    TabletLocatorImpl metaCache =
+        new TabletLocatorImpl(TableId.of("foo"), rootTabletCache, ttlo, new YesLockChecker());
+
+    setLocation(tservers, "tserver1", RTE, MTE, "tserver2");
+
+    KeyExtent ke1 = nke("foo", "g", null);
+    KeyExtent ke2 = nke("foo", "m", "g");
+    KeyExtent ke3 = nke("foo", "t", "m");
+    KeyExtent ke4 = nke("foo", null, "t");
+
+    setLocation(tservers, "tserver2", MTE, ke1, "L1");
+    setLocation(tservers, "tserver2", MTE, ke2, "L2");
+    setLocation(tservers, "tserver2", MTE, ke3, "L3");
+    setLocation(tservers, "tserver2", MTE, ke4, "L4");
+
+    List<Mutation> ml = nml(nm("a", "cf1:cq1=v1"), nm("h", "cf1:cq1=v2"),
+        nm("n", "cf1:cq1=v3"), nm("z", "cf1:cq1=v4"));
+    Map<String,Map<KeyExtent,List<String>>> emb = cemb(nol("a", "L1", ke1), nol("h", "L2", ke2),
+        nol("n", "L3", ke3), nol("z", "L4", ke4));
+    runTest(metaCache, ml, emb);
+
+    // drop the middle tablets from the cache, leaving a gap bounded by cached tablets
+    metaCache.metaCache.remove(new Text("m"));
+    metaCache.metaCache.remove(new Text("t"));
+
+    singleLookups.set(0);
+    batchLookups.set(0);
+
+    runTest(metaCache, ml, emb);
+
+    assertEquals(0, singleLookups.get());
+    assertEquals(1, batchLookups.get());
+
+    metaCache.metaCache.remove(new Text("m"));
+    metaCache.metaCache.remove(new Text("t"));
+
+    singleLookups.set(0);
+    batchLookups.set(0);
+
+    List<Range> ranges = nrl(new Range("h"), nr("i", "o"));
+    Map<String,Map<KeyExtent,List<Range>>> expected = createExpectedBinnings("L2",
+        nol(ke2, nrl(new Range("h"), nr("i", "o"))), "L3", nol(ke3, nrl(nr("i", "o"))));
+    runTest(ranges, metaCache, expected);
+
+    assertEquals(0, singleLookups.get());
+    assertEquals(1, batchLookups.get());
+  }
+
+  @Test
+  public void testLocationChanges() throws Exception {
+    TServers tservers = new TServers();
+    AtomicReference<byte[]> published = new AtomicReference<>();
+    TestTabletLocationObtainer ttlo = new TestTabletLocationObtainer(tservers);
+    TabletLocatorImpl rootTabletCache = new TabletLocatorImpl(MetadataTable.ID,
+        new TestRootTabletLocator(), ttlo, new YesLockChecker());
+    TabletLocatorImpl metaCache = new TabletLocatorImpl(TableId.of("foo"), rootTabletCache, ttlo,
+        new YesLockChecker(), published::get);
+
+    setLocation(tservers, "tserver1", RTE, MTE, "tserver2");
+
+    KeyExtent ke1 = nke("foo", "m", null);
+    KeyExtent ke2 = nke("foo", null, "m");
+
+    setLocation(tservers, "tserver2", MTE, ke1, "L1");
+    setLocation(tservers, "tserver2", MTE, ke2, "L2");
+    published.set(TabletLocationChanges.serialize(5, List.of()));
+
+    List<Mutation> ml = nml(nm("a", "cf1:cq1=v1"), nm("z", "cf1:cq1=v2"));
+    runTest(metaCache, ml, cemb(nol("a", "L1", ke1), nol("z", "L2", ke2)));
+
+    // without a published change the cache is not refreshed
+    setLocation(tservers, "tserver2", MTE, ke1, "L3");
+    runTest(metaCache, ml, cemb(nol("a", "L1", ke1), nol("z", "L2", ke2)));
+
+    // only the published extent is refreshed
+    setLocation(tservers, "tserver2", MTE, ke2, "L4");
+    published.set(TabletLocationChanges.serialize(6, List.of(ke1)));
+    runTest(metaCache, ml, cemb(nol("a", "L3", ke1), nol("z", "L2", ke2)));
+
+    // published changes that were missed are still kept, so only those extents are refreshed
+    setLocation(tservers, "tserver2", MTE, ke1, "L5");
+    byte[] missed = TabletLocationChanges.append(published.get(), List.of(ke1));
+    published.set(TabletLocationChanges.append(missed, List.of(ke1)));
+    runTest(metaCache, ml, cemb(nol("a", "L5", ke1), nol("z", "L2", ke2)));
+
+    // after missing a change that is no longer kept everything is refreshed
+    setLocation(tservers, "tserver2", MTE, ke1, "L3");
+    published.set(TabletLocationChanges.serialize(10, List.of(ke1)));
+    runTest(metaCache, ml, cemb(nol("a", "L3", ke1), nol("z", "L4", ke2)));
+
+    // a split is published as the extent that split
+    KeyExtent ke21 = nke("foo", "t", "m");
+    KeyExtent ke22 = nke("foo", null, "t");
+    setLocation(tservers, "tserver2", MTE, ke21, "L4");
+    setLocation(tservers, "tserver2", MTE, ke22, "L4");
+    published.set(TabletLocationChanges.append(published.get(), List.of(ke2)));
+    runTest(metaCache, ml, cemb(nol("a", "L3", ke1), nol("z", "L4", ke22)));
+  }
 }
@@ -45,6 +45,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 import org.apache.accumulo.core.client.sample.RowSampler;
 import org.apache.accumulo.core.client.sample.Sampler;
@@ -1605,6 +1606,78 @@ public class RFileTest {
     trf.closeReader();
   }
 
+  private TestRFile writeBlocksTestFile(int start, int end) throws IOException {
+    TestRFile trf = new TestRFile(conf);
+    trf.openWriter(false, 100);
+    trf.writer.startNewLocalityGroup("lg1", newColFamByteSequence("cf1"));
+    for (int i = start; i < end; i++) {
+      trf.writer.append(newKey(formatString("r_", i), "cf1", "cq", "", 5), newValue("v" + i));
+    }
+    trf.writer.startDefaultLocalityGroup();
+    for (int i = start; i < end; i++) {
+      trf.writer.append(newKey(formatString("r_", i), "cf2", "cq", "", 5), newValue("w" + i));
+    }
+    trf.closeWriter();
+    trf.openReader();
+    return trf;
+  }
+
+  @Test
+  public void testAppendBlocks() throws IOException {
+    // test copying the data blocks of files that do not overlap into a new file
+    TestRFile source1 = writeBlocksTestFile(0, 500);
+    TestRFile source2 = writeBlocksTestFile(500, 1000);
+
+    TestRFile trf = new TestRFile(conf);
+    trf.openWriter(false, 100);
+    assertTrue(trf.writer.canAppendBlocks(source1.reader));
+
+    trf.writer.startNewLocalityGroup("lg1", newColFamByteSequence("cf1"));
+    trf.writer.appendBlocks(source1.reader);
+    trf.writer.appendBlocks(source2.reader);
+    // keys can still be appended after the copied blocks, but not before them
+    trf.writer.append(newKey(formatString("r_", 1000), "cf1", "cq", "", 5), newValue("v1000"));
+    assertThrows(IllegalArgumentException.class, () -> trf.writer.appendBlocks(source1.reader));
+
+    trf.writer.startDefaultLocalityGroup();
+    trf.writer.appendBlocks(source1.reader);
+    trf.writer.appendBlocks(source2.reader);
+    trf.closeWriter();
+
+    source1.closeReader();
+    source2.closeReader();
+
+    trf.openReader();
+
+    trf.iter.seek(new Range(), newColFamByteSequence("cf1"), true);
+    for (int i = 0; i <= 1000; i++) {
+      assertTrue(trf.iter.hasTop());
+      assertEquals(newKey(formatString("r_", i), "cf1", "cq", "", 5), trf.iter.getTopKey());
+      assertEquals(newValue("v" + i), trf.iter.getTopValue());
+      trf.iter.next();
+    }
+    assertFalse(trf.iter.hasTop());
+
+    trf.iter.seek(new Range(), newColFamByteSequence("cf1"), false);
+    for (int i = 0; i < 1000; i++) {
+      assertTrue(trf.iter.hasTop());
+      assertEquals(newKey(formatString("r_", i), "cf2", "cq", "", 5), trf.iter.getTopKey());
+      assertEquals(newValue("w" + i), trf.iter.getTopValue());
+      trf.iter.next();
+    }
+    assertFalse(trf.iter.hasTop());
+
+    // seeking uses the rebuilt index
+    trf.seek(newKey(formatString("r_", 777), "cf2", "cq", "", 5));
+    assertEquals(newKey(formatString("r_", 777), "cf2", "cq", "", 5), trf.iter.getTopKey());
+
+    assertEquals(newKey(formatString("r_", 999), "cf2", "cq", "", 5), trf.reader.getLastKey());
+    assertEquals(Set.of("cf1", "cf2"), trf.reader.getLocalityGroupCF().values().stream()
+        .flatMap(List::stream).map(ByteSequence::toString).collect(Collectors.toSet()));
+
+    trf.closeReader();
+  }
+
   @Test
   public void testReseekUnconsumed() throws Exception {
     TestRFile trf = new TestRFile(conf);
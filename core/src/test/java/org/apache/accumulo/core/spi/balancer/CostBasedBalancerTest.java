@@ -0,0 +1,211 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.core.spi.balancer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import org.apache.accumulo.core.data.TableId;
+import org.apache.accumulo.core.data.TabletId;
+import org.apache.accumulo.core.dataImpl.KeyExtent;
+import org.apache.accumulo.core.dataImpl.TabletIdImpl;
+import org.apache.accumulo.core.manager.balancer.AssignmentParamsImpl;
+import org.apache.accumulo.core.manager.balancer.BalanceParamsImpl;
+import org.apache.accumulo.core.manager.balancer.TServerStatusImpl;
+import org.apache.accumulo.core.manager.balancer.TabletServerIdImpl;
+import org.apache.accumulo.core.manager.balancer.TabletStatisticsImpl;
+import org.apache.accumulo.core.master.thrift.TableInfo;
+import org.apache.accumulo.core.spi.balancer.data.TServerStatus;
+import org.apache.accumulo.core.spi.balancer.data.TabletMigration;
+import org.apache.accumulo.core.spi.balancer.data.TabletServerId;
+import org.apache.accumulo.core.spi.balancer.data.TabletStatistics;
+import org.apache.accumulo.core.tabletserver.thrift.TabletStats;
+import org.apache.hadoop.io.Text;
+import org.junit.jupiter.api.Test;
+
+public class CostBasedBalancerTest {
+
+  private static final TableId TABLE = TableId.of("1");
+
+  private final Map<TabletServerId,List<TabletStats>> servers = new TreeMap<>();
+
+  private class TestCostBasedBalancer extends CostBasedBalancer {
+    @Override
+    protected List<TabletStatistics> getOnlineTabletsForTable(TabletServerId tserver,
+        TableId tableId) {
+      List<TabletStatistics> result = new ArrayList<>();
+      for (TabletStats stats : servers.get(tserver)) {
+        result.add(new TabletStatisticsImpl(stats));
+      }
+      return result;
+    }
+  }
+
+  private static TabletStats tablet(String endRow, double queryRate) {
+    KeyExtent extent = new KeyExtent(TABLE, new Text(endRow), null);
+    return new TabletStats(extent.toThrift(), null, null, null, 10L, 0., queryRate, 0);
+  }
+
+  private static TabletId tabletId(TabletStats stats) {
+    return new TabletIdImpl(KeyExtent.fromThrift(stats.getExtent()));
+  }
+
+  private SortedMap<TabletServerId,TServerStatus> getStatus() {
+    SortedMap<TabletServerId,TServerStatus> result = new TreeMap<>();
+    servers.forEach((server, tablets) -> {
+      TableInfo info = new TableInfo();
+      for (TabletStats stats : tablets) {
+        info.onlineTablets++;
+        info.tablets++;
+        info.recs += stats.getNumEntries();
+        info.queryRate += stats.getQueryRate();
+      }
+      org.apache.accumulo.core.master.thrift.TabletServerStatus status =
+          new org.apache.accumulo.core.master.thrift.TabletServerStatus();
+      status.tableMap = new HashMap<>();
+      status.tableMap.put(TABLE.canonical(), info);
+      result.put(server, new TServerStatusImpl(status));
+    });
+    return result;
+  }
+
+  @Test
+  public void testMovesHotTablets() {
+    TabletServerId a = new TabletServerIdImpl("127.0.0.1", 1234, "a");
+    TabletServerId b = new TabletServerIdImpl("127.0.0.2", 1234, "b");
+    TabletServerId c = new TabletServerIdImpl("127.0.0.3", 1234, "c");
+    TabletStats hot1 = tablet("a1", 1000);
+    TabletStats hot2 = tablet("a2", 1000);
+    servers.put(a, new ArrayList<>(List.of(hot1, hot2, tablet("a3", 0))));
+    servers.put(b, new ArrayList<>(List.of(tablet("b1", 0), tablet("b2", 0), tablet("b3", 0))));
+    servers.put(c, new ArrayList<>(List.of(tablet("c1", 0), tablet("c2", 0), tablet("c3", 0))));
+
+    List<TabletMigration> migrations = new ArrayList<>();
+    TestCostBasedBalancer balancer = new TestCostBasedBalancer();
+    balancer.balance(new BalanceParamsImpl(getStatus(), Set.of(), migrations));
+
+    // tablet counts alone are balanced, but one of the hot tablets should move off of a
+    assertEquals(3, migrations.size());
+    TabletMigration first = migrations.get(0);
+    assertTrue(Set.of(tabletId(hot1), tabletId(hot2)).contains(first.getTablet()));
+    assertEquals(a, first.getOldTabletServer());
+    assertEquals(b, first.getNewTabletServer());
+    // b evens out its tablet count by moving cold tablets to c
+    for (TabletMigration migration : migrations.subList(1, migrations.size())) {
+      assertEquals(b, migration.getOldTabletServer());
+      assertEquals(c, migration.getNewTabletServer());
+    }
+
+    // apply the migrations, after which nothing should move
+    applyMigrations(migrations);
+    migrations.clear();
+    balancer.balance(new BalanceParamsImpl(getStatus(), Set.of(), migrations));
+    assertEquals(List.of(), migrations);
+  }
+
+  private void applyMigrations(List<TabletMigration> migrations) {
+    for (TabletMigration migration : migrations) {
+      List<TabletStats> from = servers.get(migration.getOldTabletServer());
+      TabletStats moved =
+          from.stream().filter(s -> tabletId(s).equals(migration.getTablet())).findFirst().get();
+      from.remove(moved);
+      servers.get(migration.getNewTabletServer()).add(moved);
+    }
+  }
+
+  @Test
+  public void testNewServerWithManyTablets() {
+    // each tablet is a small part of a server's cost, moves must still be able to lower it
+    for (int i = 0; i < 4; i++) {
+      List<TabletStats> tablets = new ArrayList<>();
+      for (int j = 0; j < 300; j++) {
+        tablets.add(tablet(String.format("s%d_%03d", i, j), 0));
+      }
+      servers.put(new TabletServerIdImpl("127.0.0." + (i + 1), 1234, "s" + i), tablets);
+    }
+    TabletServerId empty = new TabletServerIdImpl("127.0.0.5", 1234, "new");
+    servers.put(empty, new ArrayList<>());
+
+    TestCostBasedBalancer balancer = new TestCostBasedBalancer();
+    List<TabletMigration> migrations = new ArrayList<>();
+    long wait = balancer.balance(new BalanceParamsImpl(getStatus(), Set.of(), migrations));
+
+    // the maximum number of migrations is reached, so the balancer asks to run again soon
+    assertEquals(100, migrations.size());
+    assertTrue(wait < 5_000);
+    for (TabletMigration migration : migrations) {
+      assertEquals(empty, migration.getNewTabletServer());
+    }
+
+    for (int round = 0; round < 10 && !migrations.isEmpty(); round++) {
+      applyMigrations(migrations);
+      migrations.clear();
+      balancer.balance(new BalanceParamsImpl(getStatus(), Set.of(), migrations));
+    }
+    assertEquals(List.of(), migrations);
+    for (List<TabletStats> tablets : servers.values()) {
+      assertEquals(240, tablets.size());
+    }
+  }
+
+  @Test
+  public void testNoMigrationsWhileMigrating() {
+    TabletServerId a = new TabletServerIdImpl("127.0.0.1", 1234, "a");
+    TabletServerId b = new TabletServerIdImpl("127.0.0.2", 1234, "b");
+    TabletStats hot = tablet("a1", 1000);
+    servers.put(a, new ArrayList<>(List.of(hot, tablet("a2", 1000))));
+    servers.put(b, new ArrayList<>());
+
+    List<TabletMigration> migrations = new ArrayList<>();
+    new TestCostBasedBalancer()
+        .balance(new BalanceParamsImpl(getStatus(), Set.of(tabletId(hot)), migrations));
+    assertEquals(List.of(), migrations);
+  }
+
+  @Test
+  public void testAssignments() {
+    TabletServerId a = new TabletServerIdImpl("127.0.0.1", 1234, "a");
+    TabletServerId b = new TabletServerIdImpl("127.0.0.2", 1234, "b");
+    servers.put(a, new ArrayList<>(List.of(tablet("a1", 1000), tablet("a2", 0))));
+    servers.put(b, new ArrayList<>(List.of(tablet("b1", 0), tablet("b2", 0))));
+
+    TabletId returning = tabletId(tablet("x", 0));
+    TabletId newTablet = tabletId(tablet("y", 0));
+    Map<TabletId,TabletServerId> unassigned = new HashMap<>();
+    // previous location on a different session of a's host
+    unassigned.put(returning, new TabletServerIdImpl("127.0.0.1", 1234, "old"));
+    unassigned.put(newTablet, null);
+
+    Map<TabletId,TabletServerId> assignments = new HashMap<>();
+    new TestCostBasedBalancer()
+        .getAssignments(new AssignmentParamsImpl(getStatus(), unassigned, assignments));
+
+    // locality is kept for the returning tablet, the new tablet goes to the less loaded server
+    assertEquals(a, assignments.get(returning));
+    assertEquals(b, assignments.get(newTablet));
+  }
+}
@@ -450,6 +450,16 @@ public class DefaultCompactionPlannerTest {
         return compacting;
       }
 
+      @Override
+      public double getScanRate() {
+        return 0;
+      }
+
+      @Override
+      public int getMaxFiles() {
+        return 15;
+      }
+
       @Override
       public double getRatio() {
         return ratio;
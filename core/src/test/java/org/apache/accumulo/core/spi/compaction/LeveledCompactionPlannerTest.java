@@ -0,0 +1,389 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.core.spi.compaction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.accumulo.core.client.admin.compaction.CompactableFile;
+import org.apache.accumulo.core.conf.ConfigurationTypeHelper;
+import org.apache.accumulo.core.conf.Property;
+import org.apache.accumulo.core.data.TableId;
+import org.apache.accumulo.core.spi.common.ServiceEnvironment;
+import org.apache.accumulo.core.spi.common.ServiceEnvironment.Configuration;
+import org.apache.accumulo.core.spi.compaction.CompactionPlan.Builder;
+import org.apache.accumulo.core.util.compaction.CompactionExecutorIdImpl;
+import org.apache.accumulo.core.util.compaction.CompactionPlanImpl;
+import org.apache.hadoop.shaded.com.google.common.collect.Iterables;
+import org.easymock.EasyMock;
+import org.junit.jupiter.api.Test;
+
+public class LeveledCompactionPlannerTest {
+
+  private static final long MB = 1 << 20;
+
+  @Test
+  public void testLevels() {
+    var planner = createLeveledPlanner();
+
+    assertEquals(0, planner.getLevel(1));
+    assertEquals(0, planner.getLevel(16 * MB / 10));
+    assertEquals(1, planner.getLevel(16 * MB / 10 + 1));
+    assertEquals(1, planner.getLevel(16 * MB));
+    assertEquals(2, planner.getLevel(16 * MB + 1));
+    assertEquals(2, planner.getLevel(160 * MB));
+    assertEquals(3, planner.getLevel(160 * MB + 1));
+  }
+
+  @Test
+  public void testLevel0() {
+    var planner = createLeveledPlanner();
+
+    // too few files in level 0
+    var all = createCFs("F1", "1M", "F2", "1M", "F3", "1M", "L1", "10M", "L2", "100M");
+    var plan = planner.makePlan(createPlanningParams(all, all, Set.of(), CompactionKind.SYSTEM));
+    assertTrue(plan.getJobs().isEmpty());
+
+    // level 0 files should be compacted with the level 1 file
+    all = createCFs("F1", "1M", "F2", "1M", "F3", "1M", "F4", "1M", "L1", "10M", "L2", "100M");
+    plan = planner.makePlan(createPlanningParams(all, all, Set.of(), CompactionKind.SYSTEM));
+    var job = Iterables.getOnlyElement(plan.getJobs());
+    assertEquals(createCFs("F1", "1M", "F2", "1M", "F3", "1M", "F4", "1M", "L1", "10M"),
+        job.getFiles());
+    assertEquals(CompactionExecutorIdImpl.externalId("small"), job.getExecutor());
+
+    // level 0 files should be compacted when there is no level 1 file
+    all = createCFs("F1", "1M", "F2", "1M", "F3", "1M", "F4", "1M", "L2", "100M");
+    plan = planner.makePlan(createPlanningParams(all, all, Set.of(), CompactionKind.SYSTEM));
+    job = Iterables.getOnlyElement(plan.getJobs());
+    assertEquals(createCFs("F1", "1M", "F2", "1M", "F3", "1M", "F4", "1M"), job.getFiles());
+  }
+
+  @Test
+  public void testLevelOverflow() {
+    var planner = createLeveledPlanner();
+
+    // the level 1 file grew into level 2, which already had a file
+    var all = createCFs("F1", "1M", "L2", "17M", "L2B", "100M", "L3", "1G");
+    var plan = planner.makePlan(createPlanningParams(all, all, Set.of(), CompactionKind.SYSTEM));
+    var job = Iterables.getOnlyElement(plan.getJobs());
+    assertEquals(createCFs("L2", "17M", "L2B", "100M"), job.getFiles());
+    assertEquals(CompactionExecutorIdImpl.externalId("large"), job.getExecutor());
+
+    // the lowest level should be compacted first
+    all = createCFs("L1", "2M", "L1B", "3M", "L3", "1G", "L3B", "1G");
+    plan = planner.makePlan(createPlanningParams(all, all, Set.of(), CompactionKind.SYSTEM));
+    job = Iterables.getOnlyElement(plan.getJobs());
+    assertEquals(createCFs("L1", "2M", "L1B", "3M"), job.getFiles());
+  }
+
+  @Test
+  public void testMaxSize() {
+    var planner = createLeveledPlanner();
+
+    // level 0 and level 1 together fit
+    var files = createCFs("F1", "1M", "F2", "1M", "F3", "1M", "F4", "1M", "L1", "10M");
+    assertEquals(files, Set.copyOf(planner.findFilesToCompact(files, 14 * MB)));
+
+    // the level 1 file is too large to include, so only level 0 is compacted
+    assertEquals(createCFs("F1", "1M", "F2", "1M", "F3", "1M", "F4", "1M"),
+        Set.copyOf(planner.findFilesToCompact(files, 8 * MB)));
+
+    // only some level 0 files fit
+    assertEquals(createCFs("F1", "1M", "F2", "1M"),
+        Set.copyOf(planner.findFilesToCompact(files, 2 * MB)));
+
+    // a single file can not be compacted with anything
+    assertTrue(planner.findFilesToCompact(files, MB).isEmpty());
+    files = createCFs("L2", "17M", "L2B", "100M");
+    assertTrue(planner.findFilesToCompact(files, 50 * MB).isEmpty());
+  }
+
+  @Test
+  public void testRunningCompaction() {
+    var planner = createLeveledPlanner();
+
+    // the running compaction will produce a level 1 file that the level 0 files would be compacted
+    // with, so the planner should wait
+    var all = createCFs("F1", "1M", "F2", "1M", "F3", "1M", "F4", "1M", "F5", "1M", "F6", "1M");
+    var candidates = createCFs("F3", "1M", "F4", "1M", "F5", "1M", "F6", "1M");
+    var compacting =
+        Set.of(createJob(CompactionKind.SYSTEM, all, createCFs("F1", "1M", "F2", "1M")));
+    var plan =
+        planner.makePlan(createPlanningParams(all, candidates, compacting, CompactionKind.SYSTEM));
+    assertTrue(plan.getJobs().isEmpty());
+
+    // the running compaction will produce a level 2 file, which does not affect level 0
+    all = createCFs("F1", "1M", "F2", "1M", "F3", "1M", "F4", "1M", "L2", "20M", "L2B", "20M");
+    candidates = createCFs("F1", "1M", "F2", "1M", "F3", "1M", "F4", "1M");
+    compacting =
+        Set.of(createJob(CompactionKind.SYSTEM, all, createCFs("L2", "20M", "L2B", "20M")));
+    plan =
+        planner.makePlan(createPlanningParams(all, candidates, compacting, CompactionKind.SYSTEM));
+    var job = Iterables.getOnlyElement(plan.getJobs());
+    assertEquals(candidates, job.getFiles());
+  }
+
+  @Test
+  public void testUserCompaction() {
+    var planner = createLeveledPlanner();
+
+    var all = createCFs("F1", "1M", "L1", "10M", "L2", "100M");
+    var plan = planner.makePlan(createPlanningParams(all, all, Set.of(), CompactionKind.USER));
+    var job = Iterables.getOnlyElement(plan.getJobs());
+    assertEquals(all, job.getFiles());
+    assertEquals(CompactionExecutorIdImpl.externalId("large"), job.getExecutor());
+
+    // should only run one user compaction at a time
+    var compacting = Set.of(createJob(CompactionKind.USER, all, createCFs("F1", "1M")));
+    var candidates = createCFs("L1", "10M", "L2", "100M");
+    plan = planner.makePlan(createPlanningParams(all, candidates, compacting, CompactionKind.USER));
+    assertTrue(plan.getJobs().isEmpty());
+  }
+
+  /**
+   * Simulates a tablet that receives a steady stream of minor compactions and compares the read
+   * amplification (files per tablet) and write amplification (bytes written by compactions per
+   * byte flushed) of the leveled and default planners.
+   */
+  @Test
+  public void testSimulation() {
+    SimulationResult leveled = simulate(createLeveledPlanner(), 1000, MB);
+    SimulationResult tiered = simulate(createPlanner(new DefaultCompactionPlanner(), Map.of()),
+        1000, MB);
+
+    // The tablet grows to ~1G, so with a level 1 size of 16M there are 3 levels. Level 0 never
+    // has more than 3 files after compactions run.
+    assertTrue(leveled.maxFiles <= 6, "leveled max files " + leveled.maxFiles);
+    assertTrue(leveled.maxFiles < tiered.maxFiles,
+        "max files leveled:" + leveled.maxFiles + " tiered:" + tiered.maxFiles);
+    assertTrue(leveled.getAverageFiles() < tiered.getAverageFiles(),
+        "avg files leveled:" + leveled.getAverageFiles() + " tiered:" + tiered.getAverageFiles());
+
+    // keeping fewer files is paid for by rewriting data more often
+    assertTrue(leveled.getWriteAmplification() > tiered.getWriteAmplification(),
+        "write amplification leveled:" + leveled.getWriteAmplification() + " tiered:"
+            + tiered.getWriteAmplification());
+  }
+
+  private static class SimulationResult {
+    long bytesFlushed = 0;
+    long bytesCompacted = 0;
+    long fileCountSum = 0;
+    int flushes = 0;
+    int maxFiles = 0;
+
+    double getWriteAmplification() {
+      return (double) bytesCompacted / bytesFlushed;
+    }
+
+    double getAverageFiles() {
+      return (double) fileCountSum / flushes;
+    }
+  }
+
+  private static SimulationResult simulate(CompactionPlanner planner, int flushes,
+      long flushSize) {
+    SimulationResult result = new SimulationResult();
+    Set<CompactableFile> files = new HashSet<>();
+    int compactions = 0;
+
+    for (int i = 0; i < flushes; i++) {
+      files.add(createCF("F" + i, flushSize));
+      result.bytesFlushed += flushSize;
+
+      // run compactions until the planner has nothing left to do
+      while (true) {
+        var plan = planner.makePlan(
+            createPlanningParams(files, Set.copyOf(files), Set.of(), CompactionKind.SYSTEM));
+        if (plan.getJobs().isEmpty()) {
+          break;
+        }
+
+        for (CompactionJob job : plan.getJobs()) {
+          long size = job.getFiles().stream().mapToLong(CompactableFile::getEstimatedSize).sum();
+          files.removeAll(job.getFiles());
+          files.add(createCF("C" + compactions++, size));
+          result.bytesCompacted += size;
+        }
+      }
+
+      result.flushes++;
+      result.fileCountSum += files.size();
+      result.maxFiles = Math.max(result.maxFiles, files.size());
+    }
+
+    return result;
+  }
+
+  private CompactionJob createJob(CompactionKind kind, Set<CompactableFile> all,
+      Set<CompactableFile> files) {
+    return new CompactionPlanImpl.BuilderImpl(kind, all, all)
+        .addJob((short) all.size(), CompactionExecutorIdImpl.externalId("small"), files).build()
+        .getJobs().iterator().next();
+  }
+
+  private static CompactableFile createCF(String name, long size) {
+    try {
+      return CompactableFile
+          .create(new URI("hdfs://fake/accumulo/tables/1/t-0000000z/" + name + ".rf"), size, 0);
+    } catch (URISyntaxException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  private static Set<CompactableFile> createCFs(String... namesSizePairs) {
+    Set<CompactableFile> files = new HashSet<>();
+
+    for (int i = 0; i < namesSizePairs.length; i += 2) {
+      files.add(createCF(namesSizePairs[i],
+          ConfigurationTypeHelper.getFixedMemoryAsBytes(namesSizePairs[i + 1])));
+    }
+
+    return files;
+  }
+
+  private static CompactionPlanner.PlanningParameters createPlanningParams(Set<CompactableFile> all,
+      Set<CompactableFile> candidates, Set<CompactionJob> compacting, CompactionKind kind) {
+    return new CompactionPlanner.PlanningParameters() {
+
+      @Override
+      public TableId getTableId() {
+        return TableId.of("42");
+      }
+
+      @Override
+      public ServiceEnvironment getServiceEnvironment() {
+        throw new UnsupportedOperationException();
+      }
+
+      @Override
+      public Collection<CompactionJob> getRunningCompactions() {
+        return compacting;
+      }
+
+      @Override
+      public double getScanRate() {
+        return 0;
+      }
+
+      @Override
+      public int getMaxFiles() {
+        return 15;
+      }
+
+      @Override
+      public double getRatio() {
+        return 3;
+      }
+
+      @Override
+      public CompactionKind getKind() {
+        return kind;
+      }
+
+      @Override
+      public Map<String,String> getExecutionHints() {
+        return Map.of();
+      }
+
+      @Override
+      public Collection<CompactableFile> getCandidates() {
+        return candidates;
+      }
+
+      @Override
+      public Collection<CompactableFile> getAll() {
+        return all;
+      }
+
+      @Override
+      public Builder createPlanBuilder() {
+        return new CompactionPlanImpl.BuilderImpl(kind, all, candidates);
+      }
+    };
+  }
+
+  private static LeveledCompactionPlanner createLeveledPlanner() {
+    return createPlanner(new LeveledCompactionPlanner(),
+        Map.of("level0.files", "4", "level1.size", "16M", "fanout", "10"));
+  }
+
+  private static <T extends CompactionPlanner> T createPlanner(T planner,
+      Map<String,String> extraOptions) {
+    Configuration conf = EasyMock.createMock(Configuration.class);
+    EasyMock.expect(conf.isSet(EasyMock.anyString())).andReturn(false).anyTimes();
+
+    ServiceEnvironment senv = EasyMock.createMock(ServiceEnvironment.class);
+    EasyMock.expect(senv.getConfiguration()).andReturn(conf).anyTimes();
+
+    EasyMock.replay(conf, senv);
+
+    String executors = ("[{'name':'small','type': 'internal','maxSize':'32M','numThreads':1},"
+        + "{'name':'large','type': 'internal','numThreads':2}]").replaceAll("'", "\"");
+
+    Map<String,String> options = new HashMap<>(extraOptions);
+    options.put("executors", executors);
+    options.put("maxOpen", "15");
+
+    planner.init(new CompactionPlanner.InitParameters() {
+
+      @Override
+      public ServiceEnvironment getServiceEnvironment() {
+        return senv;
+      }
+
+      @Override
+      public Map<String,String> getOptions() {
+        return options;
+      }
+
+      @Override
+      public String getFullyQualifiedOption(String key) {
+        assertEquals("maxOpen", key);
+        return Property.TSERV_COMPACTION_SERVICE_PREFIX.getKey() + "cs1.planner.opts." + key;
+      }
+
+      @Override
+      public ExecutorManager getExecutorManager() {
+        return new ExecutorManager() {
+          @Override
+          public CompactionExecutorId createExecutor(String name, int threads) {
+            return CompactionExecutorIdImpl.externalId(name);
+          }
+
+          @Override
+          public CompactionExecutorId getExternalExecutor(String name) {
+            throw new UnsupportedOperationException();
+          }
+        };
+      }
+    });
+
+    return planner;
+  }
+}
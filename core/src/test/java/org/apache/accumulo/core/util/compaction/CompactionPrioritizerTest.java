@@ -20,6 +20,8 @@
 package org.apache.accumulo.core.util.compaction;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.net.URI;
 import java.util.ArrayList;
@@ -68,6 +70,73 @@ public class CompactionPrioritizerTest {
         CompactionJobPrioritizer.createPriority(CompactionKind.SYSTEM, Integer.MAX_VALUE, 0));
   }
 
+  @Test
+  public void testScanCostPrioritizer() {
+    // user compactions are not affected by scan cost
+    assertEquals(CompactionJobPrioritizer.createPriority(CompactionKind.USER, 20, 5),
+        CompactionJobPrioritizer.createPriority(CompactionKind.USER, 20, 5, 15, 1000));
+    assertEquals(CompactionJobPrioritizer.createPriority(CompactionKind.CHOP, 20, 5),
+        CompactionJobPrioritizer.createPriority(CompactionKind.CHOP, 20, 5, 15, 1000));
+
+    // a frequently scanned tablet close to the file limit should be compacted before a tablet
+    // with lots of bulk imported files that is not scanned
+    short hot = CompactionJobPrioritizer.createPriority(CompactionKind.SYSTEM, 12, 4, 15, 1000);
+    short bulk = CompactionJobPrioritizer.createPriority(CompactionKind.SYSTEM, 100, 10, 15, 0);
+    assertTrue(hot > bulk);
+
+    // closer to the file limit is more urgent
+    short atLimit = CompactionJobPrioritizer.createPriority(CompactionKind.SYSTEM, 15, 4, 15, 10);
+    short nearLimit = CompactionJobPrioritizer.createPriority(CompactionKind.SYSTEM, 12, 4, 15, 10);
+    short belowLimit =
+        CompactionJobPrioritizer.createPriority(CompactionKind.SYSTEM, 11, 4, 15, 10);
+    assertTrue(atLimit > nearLimit);
+    assertTrue(nearLimit > belowLimit);
+
+    // more scans or removing more files saves more
+    assertTrue(CompactionJobPrioritizer.createPriority(CompactionKind.SYSTEM, 5, 3, 15, 2000)
+        > CompactionJobPrioritizer.createPriority(CompactionKind.SYSTEM, 5, 3, 15, 1000));
+    assertTrue(CompactionJobPrioritizer.createPriority(CompactionKind.SELECTOR, 5, 10, 15, 0)
+        > CompactionJobPrioritizer.createPriority(CompactionKind.SELECTOR, 5, 2, 15, 0));
+
+    // system compactions stay in the negative range
+    assertEquals((short) -32767,
+        CompactionJobPrioritizer.createPriority(CompactionKind.SYSTEM, 1, 1, 0, 0));
+    assertEquals((short) -1, CompactionJobPrioritizer.createPriority(CompactionKind.SYSTEM, 20,
+        10, 15, Double.MAX_VALUE));
+  }
+
+  private static CompactionJob withPriority(CompactionJob job, short priority) {
+    return new CompactionJobImpl(priority, job.getExecutor(), job.getFiles(), job.getKind(),
+        Optional.of(false));
+  }
+
+  @Test
+  public void testScanRateChanges() {
+    var job = createJob(CompactionKind.SYSTEM, "t-011", 4, 10);
+    for (double rate = 0; rate < 1_000_000; rate = rate * 1.05 + 1) {
+      for (int totalFiles : List.of(4, 12, 15)) {
+        var queued = withPriority(job, CompactionJobPrioritizer
+            .createPriority(CompactionKind.SYSTEM, totalFiles, 4, 15, rate));
+        for (double change : List.of(0.9, 1.1)) {
+          var planned = withPriority(job, CompactionJobPrioritizer
+              .createPriority(CompactionKind.SYSTEM, totalFiles, 4, 15, rate * change));
+          // a queued job is not canceled and resubmitted because the scan rate changed by 10%
+          assertTrue(CompactionJobPrioritizer.isEquivalent(queued, planned),
+              queued + " " + planned + " " + rate);
+        }
+      }
+    }
+
+    // large changes still reorder queued jobs
+    var queued = withPriority(job,
+        CompactionJobPrioritizer.createPriority(CompactionKind.SYSTEM, 10, 4, 15, 1000));
+    var planned = withPriority(job,
+        CompactionJobPrioritizer.createPriority(CompactionKind.SYSTEM, 10, 4, 15, 4000));
+    assertFalse(CompactionJobPrioritizer.isEquivalent(queued, planned));
+    assertFalse(CompactionJobPrioritizer.isEquivalent(queued,
+        withPriority(createJob(CompactionKind.SYSTEM, "t-012", 4, 10), queued.getPriority())));
+  }
+
   @Test
   public void testCompactionJobComparator() {
     var j1 = createJob(CompactionKind.USER, "t-009", 10, 20);
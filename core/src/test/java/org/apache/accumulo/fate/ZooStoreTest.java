@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.fate;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.easymock.EasyMock.anyObject;
+import static org.easymock.EasyMock.anyString;
+import static org.easymock.EasyMock.createMock;
+import static org.easymock.EasyMock.eq;
+import static org.easymock.EasyMock.expect;
+import static org.easymock.EasyMock.getCurrentArgument;
+import static org.easymock.EasyMock.replay;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.apache.accumulo.fate.ReadOnlyTStore.TStatus;
+import org.apache.accumulo.fate.zookeeper.ZooReaderWriter;
+import org.apache.accumulo.fate.zookeeper.ZooUtil.NodeExistsPolicy;
+import org.apache.zookeeper.Watcher;
+import org.junit.jupiter.api.Test;
+
+public class ZooStoreTest {
+
+  private static final String PATH = "/fate";
+
+  /**
+   * Creates a store over transactions that exist in ZooKeeper, listed in the order given.
+   *
+   * @param status
+   *          the status read for a transaction each time it is reserved
+   */
+  private static ZooStore<String> createStore(List<Long> tids, Function<Long,TStatus> status)
+      throws Exception {
+    Map<String,Long> children = new LinkedHashMap<>();
+    tids.forEach(tid -> children.put(String.format("tx_%016x", tid), tid));
+
+    ZooReaderWriter zk = createMock(ZooReaderWriter.class);
+    expect(zk.putPersistentData(PATH, new byte[0], NodeExistsPolicy.SKIP)).andReturn(true);
+    expect(zk.getChildren(eq(PATH), anyObject(Watcher.class)))
+        .andAnswer(() -> new ArrayList<>(children.keySet())).anyTimes();
+    expect(zk.getData(anyString())).andAnswer(() -> {
+      String txdir = ((String) getCurrentArgument(0)).substring(PATH.length() + 1);
+      return status.apply(children.get(txdir)).name().getBytes(UTF_8);
+    }).anyTimes();
+    replay(zk);
+
+    return new ZooStore<>(PATH, zk);
+  }
+
+  @Test
+  public void testReserveOrder() throws Exception {
+    ZooStore<String> store =
+        createStore(List.of(4L, 1L, 2L, 3L), tid -> tid == 4 ? TStatus.NEW : TStatus.SUBMITTED);
+
+    // transactions that are not ready to run are skipped
+    assertEquals(1, store.reserve());
+    assertEquals(2, store.reserve());
+    store.unreserve(1, 0);
+    store.unreserve(2, 0);
+
+    // unreserved transactions go to the back of the queue, so the others get a turn
+    assertEquals(3, store.reserve());
+    assertEquals(1, store.reserve());
+    assertEquals(2, store.reserve());
+  }
+
+  @Test
+  public void testDeferred() throws Exception {
+    ZooStore<String> store = createStore(List.of(1L, 2L), tid -> TStatus.IN_PROGRESS);
+
+    assertEquals(1, store.reserve());
+    long start = System.nanoTime();
+    store.unreserve(1, 200);
+
+    // the deferred transaction is not returned while another one can run
+    assertEquals(2, store.reserve());
+    store.unreserve(2, 0);
+    assertEquals(2, store.reserve());
+
+    // and is runnable again once its deferral expires
+    assertEquals(1, store.reserve());
+    assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 100);
+  }
+
+  @Test
+  public void testRescan() throws Exception {
+    // the transaction is still being created by another process when first listed
+    long[] reads = {0};
+    ZooStore<String> store =
+        createStore(List.of(1L), tid -> reads[0]++ == 0 ? TStatus.NEW : TStatus.SUBMITTED);
+
+    // no watch fires for the status change, it is found by rescanning all transactions once
+    // nothing was runnable for a while
+    long start = System.nanoTime();
+    assertEquals(1, store.reserve());
+    assertEquals(2, reads[0]);
+    assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 5000);
+  }
+}
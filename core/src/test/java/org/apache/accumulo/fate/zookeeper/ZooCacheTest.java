@@ -25,6 +25,7 @@ import static org.easymock.EasyMock.createStrictMock;
 import static org.easymock.EasyMock.eq;
 import static org.easymock.EasyMock.expect;
 import static org.easymock.EasyMock.expectLastCall;
+import static org.easymock.EasyMock.isNull;
 import static org.easymock.EasyMock.replay;
 import static org.easymock.EasyMock.verify;
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
@@ -34,10 +35,16 @@ import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import org.apache.accumulo.fate.zookeeper.ZooCache.ZcStat;
+import org.apache.zookeeper.AddWatchMode;
+import org.apache.zookeeper.AsyncCallback.ChildrenCallback;
+import org.apache.zookeeper.AsyncCallback.DataCallback;
+import org.apache.zookeeper.AsyncCallback.VoidCallback;
 import org.apache.zookeeper.KeeperException;
+import org.apache.zookeeper.KeeperException.Code;
 import org.apache.zookeeper.WatchedEvent;
 import org.apache.zookeeper.Watcher;
 import org.apache.zookeeper.ZooKeeper;
@@ -354,4 +361,170 @@ public class ZooCacheTest {
 
     return cw.getValue();
   }
+
+  private Capture<Watcher> expectAsyncAddWatch(String zPath) {
+    Capture<Watcher> cw = EasyMock.newCapture();
+    zk.addWatch(eq(zPath), capture(cw), eq(AddWatchMode.PERSISTENT_RECURSIVE),
+        anyObject(VoidCallback.class), isNull());
+    expectLastCall().andAnswer(() -> {
+      ((VoidCallback) EasyMock.getCurrentArguments()[3]).processResult(0, zPath, null);
+      return null;
+    });
+    return cw;
+  }
+
+  private Capture<Watcher> expectAsyncAddWatch(String zPath, Code code) {
+    Capture<Watcher> cw = EasyMock.newCapture();
+    zk.addWatch(eq(zPath), capture(cw), eq(AddWatchMode.PERSISTENT_RECURSIVE),
+        anyObject(VoidCallback.class), isNull());
+    expectLastCall().andAnswer(() -> {
+      ((VoidCallback) EasyMock.getCurrentArguments()[3]).processResult(code.intValue(), zPath,
+          null);
+      return null;
+    });
+    return cw;
+  }
+
+  private void expectAsyncFetchFailure(String zPath, Code code) {
+    zk.getData(eq(zPath), EasyMock.<Watcher>isNull(), anyObject(DataCallback.class), isNull());
+    expectLastCall().andAnswer(() -> {
+      ((DataCallback) EasyMock.getCurrentArguments()[2]).processResult(code.intValue(), zPath,
+          null, null, null);
+      return null;
+    });
+    zk.getChildren(eq(zPath), EasyMock.<Watcher>isNull(), anyObject(ChildrenCallback.class),
+        isNull());
+    expectLastCall().andAnswer(() -> {
+      ((ChildrenCallback) EasyMock.getCurrentArguments()[2]).processResult(code.intValue(), zPath,
+          null, null);
+      return null;
+    });
+  }
+
+  private void expectAsyncGetData(String zPath, byte[] data) {
+    // nodes under a persistent recursive watch are read without a watch
+    zk.getData(eq(zPath), EasyMock.<Watcher>isNull(), anyObject(DataCallback.class), isNull());
+    expectLastCall().andAnswer(() -> {
+      ((DataCallback) EasyMock.getCurrentArguments()[2]).processResult(0, zPath, null, data,
+          new Stat());
+      return null;
+    });
+  }
+
+  private void expectAsyncGetChildren(String zPath, List<String> children) {
+    zk.getChildren(eq(zPath), EasyMock.<Watcher>isNull(), anyObject(ChildrenCallback.class),
+        isNull());
+    expectLastCall().andAnswer(() -> {
+      ((ChildrenCallback) EasyMock.getCurrentArguments()[2]).processResult(0, zPath, null,
+          children);
+      return null;
+    });
+  }
+
+  @Test
+  public void testPrefetch() throws Exception {
+    expectAsyncAddWatch(ZPATH);
+    expectAsyncGetData(ZPATH, DATA);
+    expectAsyncGetChildren(ZPATH, List.of("a", "b"));
+    expectAsyncGetData(ZPATH + "/a", DATA);
+    expectAsyncGetChildren(ZPATH + "/a", List.of());
+    expectAsyncGetData(ZPATH + "/b", null);
+    expectAsyncGetChildren(ZPATH + "/b", List.of());
+    replay(zk);
+
+    zc.prefetch(ZPATH);
+    verify(zk);
+
+    // everything is served from the cache, the strict mock fails on any further call
+    assertArrayEquals(DATA, zc.get(ZPATH));
+    assertEquals(List.of("a", "b"), zc.getChildren(ZPATH));
+    assertArrayEquals(DATA, zc.get(ZPATH + "/a"));
+    assertTrue(zc.dataCached(ZPATH + "/b"));
+    assertNull(zc.get(ZPATH + "/b"));
+    assertEquals(List.of(), zc.getChildren(ZPATH + "/b"));
+  }
+
+  @Test
+  public void testRecursiveWatchEvents() throws Exception {
+    WatchedEvent created = new WatchedEvent(Watcher.Event.EventType.NodeCreated,
+        Watcher.Event.KeeperState.SyncConnected, ZPATH + "/c");
+    List<WatchedEvent> seen = new ArrayList<>();
+    zc = new ZooCache(zr, seen::add);
+
+    Capture<Watcher> cw = expectAsyncAddWatch(ZPATH);
+    expectAsyncGetData(ZPATH, DATA);
+    expectAsyncGetChildren(ZPATH, List.of("a"));
+    expectAsyncGetData(ZPATH + "/a", DATA);
+    expectAsyncGetChildren(ZPATH + "/a", List.of());
+    // a node read after the prefetch is not given its own watch
+    expect(zk.exists(eq(ZPATH + "/c"), EasyMock.<Watcher>isNull())).andReturn(null);
+    replay(zk);
+
+    zc.prefetch(ZPATH);
+    assertNull(zc.get(ZPATH + "/c"));
+    verify(zk);
+
+    cw.getValue().process(created);
+    assertFalse(zc.dataCached(ZPATH + "/c"));
+    assertFalse(zc.childrenCached(ZPATH));
+    assertTrue(zc.dataCached(ZPATH));
+    assertTrue(zc.childrenCached(ZPATH + "/a"));
+
+    // the external watcher also sees the change to the children of the parent
+    assertEquals(2, seen.size());
+    assertSame(created, seen.get(0));
+    assertEquals(Watcher.Event.EventType.NodeChildrenChanged, seen.get(1).getType());
+    assertEquals(ZPATH, seen.get(1).getPath());
+  }
+
+  @Test
+  public void testPrefetchRefreshBacksOff() throws Exception {
+    Capture<Watcher> cw = expectAsyncAddWatch(ZPATH);
+    expectAsyncGetData(ZPATH, DATA);
+    expectAsyncGetChildren(ZPATH, List.of());
+    // the first read after the connection is lost tries to load the subtree again, which fails
+    expectAsyncAddWatch(ZPATH, Code.CONNECTIONLOSS);
+    expectAsyncFetchFailure(ZPATH, Code.CONNECTIONLOSS);
+    expect(zk.exists(eq(ZPATH), EasyMock.<Watcher>notNull())).andReturn(null);
+    // the next read does not try again right away
+    expect(zk.exists(eq(ZPATH + "/a"), EasyMock.<Watcher>notNull())).andReturn(null);
+    replay(zk);
+
+    zc.prefetch(ZPATH);
+    cw.getValue().process(new WatchedEvent(Watcher.Event.EventType.None,
+        Watcher.Event.KeeperState.Disconnected, null));
+    assertFalse(zc.dataCached(ZPATH));
+
+    assertNull(zc.get(ZPATH));
+    assertNull(zc.get(ZPATH + "/a"));
+    verify(zk);
+  }
+
+  @Test
+  public void testPrefetchUnsupported() throws Exception {
+    // a ZooKeeper server older than 3.6 does not support persistent recursive watches
+    Capture<Watcher> cw = expectAsyncAddWatch(ZPATH, Code.UNIMPLEMENTED);
+    expectAsyncGetData(ZPATH, DATA);
+    expectAsyncGetChildren(ZPATH, List.of("a"));
+    // the nodes are read with their own watches instead, also after losing the connection
+    Stat stat = new Stat();
+    for (int i = 0; i < 2; i++) {
+      expect(zk.exists(eq(ZPATH), EasyMock.<Watcher>notNull())).andReturn(stat);
+      expect(zk.getData(eq(ZPATH), EasyMock.<Watcher>notNull(), eq(stat))).andReturn(DATA);
+    }
+    replay(zk);
+
+    // returns instead of retrying, and caches nothing that would not be watched
+    zc.prefetch(ZPATH);
+    assertFalse(zc.dataCached(ZPATH));
+    assertFalse(zc.childrenCached(ZPATH));
+
+    assertArrayEquals(DATA, zc.get(ZPATH));
+
+    // the subtree is not prefetched again after losing the connection
+    cw.getValue().process(new WatchedEvent(Watcher.Event.EventType.None,
+        Watcher.Event.KeeperState.Disconnected, null));
+    assertArrayEquals(DATA, zc.get(ZPATH));
+    verify(zk);
+  }
 }
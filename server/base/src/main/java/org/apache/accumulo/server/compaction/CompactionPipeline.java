@@ -0,0 +1,170 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.server.compaction;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Value;
+import org.apache.accumulo.core.file.FileSKVWriter;
+import org.apache.accumulo.core.util.threads.Threads;
+
+/**
+ * Appends entries to a file on a separate thread, so reading and merging the inputs of a
+ * compaction overlaps with encoding, compressing and writing its output. Entries are copied into
+ * batches that are handed to the writing thread through a queue, which is bounded by the size of
+ * the keys and values it holds.
+ */
+class CompactionPipeline implements AutoCloseable {
+
+  static final int BATCH_SIZE = 1000;
+  // the buffer is split into at least this many batches, so both threads can make progress
+  static final int MIN_QUEUED_BATCHES = 4;
+
+  private static class Batch {
+    final List<Entry<Key,Value>> entries = new ArrayList<>();
+    int size = 0;
+  }
+
+  // marks the end of the entries, compared by identity
+  private static final Batch END = new Batch();
+
+  private final FileSKVWriter writer;
+  private final BlockingQueue<Batch> queue = new LinkedBlockingQueue<>();
+  // permits are the bytes of key and value data that may be queued
+  private final Semaphore space;
+  private final int maxSpace;
+  private final int maxBatchSize;
+  private final Thread thread;
+  private volatile Throwable failure = null;
+  private Batch batch = new Batch();
+
+  /**
+   * @param bufferSize
+   *          the maximum amount of key and value data to queue for the writing thread
+   */
+  CompactionPipeline(FileSKVWriter writer, String name, long bufferSize) {
+    this.writer = writer;
+    this.maxSpace = (int) Math.min(Math.max(bufferSize, 1), Integer.MAX_VALUE);
+    this.space = new Semaphore(maxSpace);
+    this.maxBatchSize = Math.max(maxSpace / MIN_QUEUED_BATCHES, 1);
+    this.thread = Threads.createThread(name, this::writeBatches);
+    this.thread.start();
+  }
+
+  private void writeBatches() {
+    try {
+      while (true) {
+        Batch entries = queue.take();
+        if (entries == END) {
+          return;
+        }
+        for (Entry<Key,Value> entry : entries.entries) {
+          writer.append(entry.getKey(), entry.getValue());
+        }
+        space.release(entries.size);
+      }
+    } catch (Throwable e) {
+      // errors are recorded too, otherwise the reading thread would keep waiting to queue a batch.
+      // The reading thread checks for it while waiting for space.
+      failure = e;
+    }
+  }
+
+  private void checkFailure() throws IOException {
+    Throwable e = failure;
+    if (e != null) {
+      if (e instanceof IOException) {
+        throw (IOException) e;
+      }
+      throw new IOException("Failed to write compaction output", e);
+    }
+  }
+
+  private void put(Batch entries) throws IOException {
+    try {
+      while (!space.tryAcquire(entries.size, 100, MILLISECONDS)) {
+        checkFailure();
+      }
+      queue.put(entries);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while writing compaction output");
+    }
+    checkFailure();
+  }
+
+  /**
+   * Queues a copy of the entry to be appended to the file.
+   */
+  void append(Key key, Value value) throws IOException {
+    // iterators may reuse the key and value objects once advanced
+    batch.entries.add(
+        new AbstractMap.SimpleImmutableEntry<>(new Key(key), new Value(value.get(), true)));
+    // a single entry larger than the buffer is let through on its own
+    batch.size = (int) Math.min((long) batch.size + key.getSize() + value.getSize(), maxSpace);
+    if (batch.entries.size() >= BATCH_SIZE || batch.size >= maxBatchSize) {
+      put(batch);
+      batch = new Batch();
+    }
+  }
+
+  /**
+   * Waits for all appended entries to be written to the file.
+   */
+  void finish() throws IOException {
+    if (!batch.entries.isEmpty()) {
+      put(batch);
+      batch = new Batch();
+    }
+    put(END);
+    try {
+      thread.join();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while writing compaction output");
+    }
+    checkFailure();
+  }
+
+  /**
+   * Stops the writing thread, abandoning any entries that were not written.
+   */
+  @Override
+  public void close() {
+    if (thread.isAlive()) {
+      thread.interrupt();
+      try {
+        thread.join();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+}
@@ -36,6 +36,7 @@ import java.util.concurrent.atomic.AtomicLong;
 import org.apache.accumulo.core.client.IteratorSetting;
 import org.apache.accumulo.core.conf.AccumuloConfiguration;
 import org.apache.accumulo.core.conf.IterConfigUtil;
+import org.apache.accumulo.core.conf.Property;
 import org.apache.accumulo.core.data.ByteSequence;
 import org.apache.accumulo.core.data.Key;
 import org.apache.accumulo.core.data.TableId;
@@ -66,6 +67,7 @@ import org.apache.accumulo.server.problems.ProblemReportingIterator;
 import org.apache.accumulo.server.problems.ProblemReports;
 import org.apache.accumulo.server.problems.ProblemType;
 import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -172,6 +174,14 @@ public class FileCompactor implements Callable<CompactionStats> {
     return fs;
   }
 
+  /**
+   * Returns the file system used to read a compaction input file. Subclasses may override this to
+   * read input using differently configured file systems.
+   */
+  protected FileSystem getInputFileSystem(Path path) throws IOException {
+    return this.fs.getFileSystemByPath(path);
+  }
+
   public KeyExtent getExtent() {
     return extent;
   }
@@ -193,6 +203,7 @@ public class FileCompactor implements Callable<CompactionStats> {
   public CompactionStats call() throws IOException, CompactionCanceledException {
 
     FileSKVWriter mfw = null;
+    ArrayList<FileSKVIterator> readers = new ArrayList<>(filesToCompact.size());
 
     CompactionStats majCStats = new CompactionStats();
 
@@ -216,18 +227,23 @@ public class FileCompactor implements Callable<CompactionStats> {
 
       long t1 = System.currentTimeMillis();
 
+      // The input files are opened once and seeked for each locality group. Files only read the
+      // locality groups that contain the families being compacted, so when the input files have
+      // the same locality groups as the table each part of each input is read once.
+      List<SortedKeyValueIterator<Key,Value>> inputs = openMapDataFiles(readers);
+
       HashSet<ByteSequence> allColumnFamilies = new HashSet<>();
 
       if (mfw.supportsLocalityGroups()) {
         for (Entry<String,Set<ByteSequence>> entry : lGroups.entrySet()) {
           setLocalityGroup(entry.getKey());
-          compactLocalityGroup(entry.getKey(), entry.getValue(), true, mfw, majCStats);
+          compactLocalityGroup(entry.getKey(), entry.getValue(), true, inputs, mfw, majCStats);
           allColumnFamilies.addAll(entry.getValue());
         }
       }
 
       setLocalityGroup("");
-      compactLocalityGroup(null, allColumnFamilies, false, mfw, majCStats);
+      compactLocalityGroup(null, allColumnFamilies, false, inputs, mfw, majCStats);
 
       long t2 = System.currentTimeMillis();
 
@@ -264,6 +280,15 @@ public class FileCompactor implements Callable<CompactionStats> {
         runningCompactions.remove(this);
       }
 
+      // close sequence files opened
+      for (FileSKVIterator reader : readers) {
+        try {
+          reader.close();
+        } catch (Exception e) {
+          log.warn("Failed to close map file", e);
+        }
+      }
+
       try {
         if (mfw != null) {
           // compaction must not have finished successfully, so close its output file
@@ -290,7 +315,7 @@ public class FileCompactor implements Callable<CompactionStats> {
       try {
 
         FileOperations fileFactory = FileOperations.getInstance();
-        FileSystem fs = this.fs.getFileSystemByPath(mapFile.getPath());
+        FileSystem fs = getInputFileSystem(mapFile.getPath());
         FileSKVIterator reader;
 
         reader = fileFactory.newReaderBuilder()
@@ -335,13 +360,12 @@ public class FileCompactor implements Callable<CompactionStats> {
   }
 
   private void compactLocalityGroup(String lgName, Set<ByteSequence> columnFamilies,
-      boolean inclusive, FileSKVWriter mfw, CompactionStats majCStats)
-      throws IOException, CompactionCanceledException {
-    ArrayList<FileSKVIterator> readers = new ArrayList<>(filesToCompact.size());
+      boolean inclusive, List<SortedKeyValueIterator<Key,Value>> inputs, FileSKVWriter mfw,
+      CompactionStats majCStats) throws IOException, CompactionCanceledException {
     Span compactSpan = TraceUtil.startSpan(this.getClass(), "compact");
     try (Scope span = compactSpan.makeCurrent()) {
       long entriesCompacted = 0;
-      List<SortedKeyValueIterator<Key,Value>> iters = openMapDataFiles(readers);
+      List<SortedKeyValueIterator<Key,Value>> iters = new ArrayList<>(inputs);
 
       if (env.getIteratorScope() == IteratorScope.minc) {
         iters.add(env.getMinCIterator());
@@ -369,10 +393,20 @@ public class FileCompactor implements Callable<CompactionStats> {
         mfw.startDefaultLocalityGroup();
       }
 
+      CompactionPipeline pipeline = null;
+      if (acuTableConf.getBoolean(Property.TABLE_COMPACTION_PIPELINE_ENABLED)) {
+        pipeline = new CompactionPipeline(mfw, Thread.currentThread().getName() + " writer",
+            acuTableConf.getAsBytes(Property.TABLE_COMPACTION_PIPELINE_BUFFER_SIZE));
+      }
+
       Span writeSpan = TraceUtil.startSpan(this.getClass(), "write");
       try (Scope write = writeSpan.makeCurrent()) {
         while (itr.hasTop() && env.isCompactionEnabled()) {
-          mfw.append(itr.getTopKey(), itr.getTopValue());
+          if (pipeline == null) {
+            mfw.append(itr.getTopKey(), itr.getTopValue());
+          } else {
+            pipeline.append(itr.getTopKey(), itr.getTopValue());
+          }
           itr.next();
           entriesCompacted++;
 
@@ -384,6 +418,9 @@ public class FileCompactor implements Callable<CompactionStats> {
 
         if (itr.hasTop() && !env.isCompactionEnabled()) {
           // cancel major compaction operation
+          if (pipeline != null) {
+            pipeline.close();
+          }
           try {
             try {
               mfw.close();
@@ -397,7 +434,13 @@ public class FileCompactor implements Callable<CompactionStats> {
           throw new CompactionCanceledException();
         }
 
+        if (pipeline != null) {
+          pipeline.finish();
+        }
       } finally {
+        if (pipeline != null) {
+          pipeline.close();
+        }
         CompactionStats lgMajcStats = new CompactionStats(citr.getCount(), entriesCompacted);
         majCStats.add(lgMajcStats);
         writeSpan.end();
@@ -407,14 +450,6 @@ public class FileCompactor implements Callable<CompactionStats> {
       TraceUtil.setException(compactSpan, e, true);
       throw e;
     } finally {
-      // close sequence files opened
-      for (FileSKVIterator reader : readers) {
-        try {
-          reader.close();
-        } catch (Exception e) {
-          log.warn("Failed to close map file", e);
-        }
-      }
       compactSpan.end();
     }
   }
@@ -0,0 +1,400 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.server.compaction;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.apache.accumulo.core.client.IteratorSetting;
+import org.apache.accumulo.core.conf.AccumuloConfiguration;
+import org.apache.accumulo.core.data.ByteSequence;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Range;
+import org.apache.accumulo.core.data.TableId;
+import org.apache.accumulo.core.data.Value;
+import org.apache.accumulo.core.dataImpl.KeyExtent;
+import org.apache.accumulo.core.file.FileOperations;
+import org.apache.accumulo.core.file.FileSKVIterator;
+import org.apache.accumulo.core.file.FileSKVWriter;
+import org.apache.accumulo.core.file.rfile.RFile;
+import org.apache.accumulo.core.iterators.IteratorUtil.IteratorScope;
+import org.apache.accumulo.core.iterators.SortedKeyValueIterator;
+import org.apache.accumulo.core.iteratorsImpl.system.ColumnFamilySkippingIterator;
+import org.apache.accumulo.core.metadata.StoredTabletFile;
+import org.apache.accumulo.core.metadata.TabletFile;
+import org.apache.accumulo.core.metadata.schema.DataFileValue;
+import org.apache.accumulo.core.tabletserver.thrift.TCompactionReason;
+import org.apache.accumulo.core.util.LocalityGroupUtil;
+import org.apache.accumulo.core.util.LocalityGroupUtil.LocalityGroupConfigurationError;
+import org.apache.accumulo.core.util.ratelimit.RateLimiter;
+import org.apache.accumulo.server.ServerContext;
+import org.apache.accumulo.server.compaction.FileCompactor.CompactionCanceledException;
+import org.apache.accumulo.server.compaction.FileCompactor.CompactionEnv;
+import org.apache.accumulo.server.fs.VolumeManager;
+import org.apache.accumulo.server.iterators.SystemIteratorEnvironment;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.Text;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.util.concurrent.Uninterruptibles;
+
+/**
+ * Compacts the data of a tablet as several row ranges in parallel. Each range is compacted by its
+ * own {@link FileCompactor} into a temporary file and the temporary files, which do not overlap,
+ * are then appended in order to the output file without running any iterators. When the files
+ * allow it their compressed data blocks are copied as is, otherwise their entries are re-encoded.
+ * The result is the same single file a {@link FileCompactor} would produce for the whole tablet.
+ */
+public class PartitionedCompactor implements Callable<CompactionStats> {
+  private static final Logger log = LoggerFactory.getLogger(PartitionedCompactor.class);
+
+  private final ServerContext context;
+  private final KeyExtent extent;
+  private final Map<StoredTabletFile,DataFileValue> filesToCompact;
+  private final TabletFile outputFile;
+  private final boolean propagateDeletes;
+  private final CompactionEnv env;
+  private final List<IteratorSetting> iterators;
+  private final AccumuloConfiguration acuTableConf;
+  private final List<Text> partitionRows;
+  private final VolumeManager fs;
+  private final ExecutorService executor;
+
+  /**
+   * Passes the compaction environment through, except that partitions also stop once the
+   * compaction they belong to is done, for example because another partition failed.
+   */
+  private static class PartitionEnv implements CompactionEnv {
+    private final CompactionEnv env;
+    private final AtomicBoolean stopped;
+
+    PartitionEnv(CompactionEnv env, AtomicBoolean stopped) {
+      this.env = env;
+      this.stopped = stopped;
+    }
+
+    @Override
+    public boolean isCompactionEnabled() {
+      return !stopped.get() && env.isCompactionEnabled();
+    }
+
+    @Override
+    public IteratorScope getIteratorScope() {
+      return env.getIteratorScope();
+    }
+
+    @Override
+    public RateLimiter getReadLimiter() {
+      return env.getReadLimiter();
+    }
+
+    @Override
+    public RateLimiter getWriteLimiter() {
+      return env.getWriteLimiter();
+    }
+
+    @Override
+    public SystemIteratorEnvironment createIteratorEnv(ServerContext context,
+        AccumuloConfiguration acuTableConf, TableId tableId) {
+      return env.createIteratorEnv(context, acuTableConf, tableId);
+    }
+
+    @Override
+    public SortedKeyValueIterator<Key,Value> getMinCIterator() {
+      return env.getMinCIterator();
+    }
+
+    @Override
+    public TCompactionReason getReason() {
+      return env.getReason();
+    }
+  }
+
+  /**
+   * @param partitionRows
+   *          sorted rows within the extent, each one is the last row of a partition
+   * @param executor
+   *          compacts the partitions, it may be shared with other compactions
+   */
+  public PartitionedCompactor(ServerContext context, KeyExtent extent,
+      Map<StoredTabletFile,DataFileValue> files, TabletFile outputFile, boolean propagateDeletes,
+      CompactionEnv env, List<IteratorSetting> iterators, AccumuloConfiguration tableConfiguration,
+      List<Text> partitionRows, ExecutorService executor) {
+    this.context = context;
+    this.extent = extent;
+    this.filesToCompact = files;
+    this.outputFile = outputFile;
+    this.propagateDeletes = propagateDeletes;
+    this.env = env;
+    this.iterators = iterators;
+    this.acuTableConf = tableConfiguration;
+    this.partitionRows = partitionRows;
+    this.fs = context.getVolumeManager();
+    this.executor = executor;
+  }
+
+  static List<KeyExtent> partition(KeyExtent extent, List<Text> rows) {
+    List<KeyExtent> extents = new ArrayList<>(rows.size() + 1);
+    Text prevEndRow = extent.prevEndRow();
+    for (Text row : rows) {
+      extents.add(new KeyExtent(extent.tableId(), row, prevEndRow));
+      prevEndRow = row;
+    }
+    extents.add(new KeyExtent(extent.tableId(), extent.endRow(), prevEndRow));
+    return extents;
+  }
+
+  /**
+   * Names the temporary file for a partition after the output file, keeping its extension and
+   * "_tmp" suffix so it is cleaned up like other temporary files if the tablet server dies.
+   */
+  static TabletFile partitionFile(TabletFile outputFile, int partition) {
+    String path = outputFile.getMetaInsert();
+    int idx = path.lastIndexOf('.');
+    return new TabletFile(
+        new Path(path.substring(0, idx) + "_p" + partition + path.substring(idx)));
+  }
+
+  @Override
+  public CompactionStats call() throws IOException, CompactionCanceledException {
+    List<KeyExtent> extents = partition(extent, partitionRows);
+    List<TabletFile> partitionFiles = new ArrayList<>(extents.size());
+
+    // The executor is shared with other compactions, so instead of shutting it down the partitions
+    // of this compaction are stopped through their environment.
+    AtomicBoolean stopped = new AtomicBoolean(false);
+    CompactionEnv partitionEnv = new PartitionEnv(env, stopped);
+    // Each partition is started either by its task or, once this compaction is done, by this
+    // thread so that it never runs. Partitions count down when they are done with their file.
+    List<AtomicBoolean> started = new ArrayList<>(extents.size());
+    CountDownLatch finished = new CountDownLatch(extents.size());
+    List<Future<CompactionStats>> futures = new ArrayList<>(extents.size());
+    try {
+      for (int i = 0; i < extents.size(); i++) {
+        TabletFile partitionFile = partitionFile(outputFile, i);
+        partitionFiles.add(partitionFile);
+        FileCompactor compactor = new FileCompactor(context, extents.get(i), filesToCompact,
+            partitionFile, propagateDeletes, partitionEnv, iterators, acuTableConf);
+        AtomicBoolean partitionStarted = new AtomicBoolean(false);
+        started.add(partitionStarted);
+        futures.add(executor.submit(() -> {
+          if (!partitionStarted.compareAndSet(false, true)) {
+            throw new CompactionCanceledException();
+          }
+          try {
+            return compactor.call();
+          } finally {
+            finished.countDown();
+          }
+        }));
+      }
+
+      CompactionStats stats = new CompactionStats();
+      for (Future<CompactionStats> future : futures) {
+        stats.add(waitFor(future));
+      }
+
+      long t1 = System.currentTimeMillis();
+      stats.setFileSize(concatenate(partitionFiles));
+      long t2 = System.currentTimeMillis();
+
+      log.debug(String.format("Appended %d partitions of compaction of %s in %,6.3f secs",
+          partitionFiles.size(), extent, (t2 - t1) / 1000.0));
+
+      return stats;
+    } finally {
+      // running partitions stop at their next entry, the others are kept from starting
+      stopped.set(true);
+      for (int i = 0; i < extents.size(); i++) {
+        if (i >= started.size() || started.get(i).compareAndSet(false, true)) {
+          finished.countDown();
+          if (i < futures.size()) {
+            futures.get(i).cancel(false);
+          }
+        }
+      }
+      // Partitions may still be writing their files, so wait for all of them to stop before
+      // removing the files. This must wait even if interrupted.
+      Uninterruptibles.awaitUninterruptibly(finished);
+      for (TabletFile partitionFile : partitionFiles) {
+        try {
+          if (fs.exists(partitionFile.getPath())) {
+            fs.deleteRecursively(partitionFile.getPath());
+          }
+        } catch (IOException e) {
+          log.warn("Unable to delete {}", partitionFile, e);
+        }
+      }
+    }
+  }
+
+  private CompactionStats waitFor(Future<CompactionStats> future)
+      throws IOException, CompactionCanceledException {
+    try {
+      return future.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException(e);
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof CompactionCanceledException) {
+        throw (CompactionCanceledException) cause;
+      } else if (cause instanceof IOException) {
+        throw (IOException) cause;
+      } else if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      throw new IOException(cause);
+    }
+  }
+
+  /**
+   * Appends the partition files to the output file one locality group at a time and returns the
+   * size of the output file.
+   */
+  private long concatenate(List<TabletFile> partitionFiles)
+      throws IOException, CompactionCanceledException {
+    FileOperations fileFactory = FileOperations.getInstance();
+    List<FileSKVIterator> readers = new ArrayList<>(partitionFiles.size());
+    FileSKVWriter writer = null;
+    try {
+      for (TabletFile partitionFile : partitionFiles) {
+        FileSystem ns = fs.getFileSystemByPath(partitionFile.getPath());
+        readers.add(fileFactory.newReaderBuilder()
+            .forFile(partitionFile.getPathStr(), ns, ns.getConf(), context.getCryptoService())
+            .withTableConfiguration(acuTableConf).withRateLimiter(env.getReadLimiter()).build());
+      }
+
+      FileSystem ns = fs.getFileSystemByPath(outputFile.getPath());
+      writer = fileFactory.newWriterBuilder()
+          .forFile(outputFile.getMetaInsert(), ns, ns.getConf(), context.getCryptoService())
+          .withTableConfiguration(acuTableConf).withRateLimiter(env.getWriteLimiter()).build();
+
+      boolean copyBlocks = canAppendBlocks(readers, writer);
+
+      Set<ByteSequence> allColumnFamilies = new HashSet<>();
+      if (writer.supportsLocalityGroups()) {
+        for (Entry<String,Set<ByteSequence>> entry : getLocalityGroups().entrySet()) {
+          writer.startNewLocalityGroup(entry.getKey(), entry.getValue());
+          if (copyBlocks) {
+            appendBlocks(readers, (RFile.Writer) writer);
+          } else {
+            append(readers, entry.getValue(), true, writer);
+          }
+          allColumnFamilies.addAll(entry.getValue());
+        }
+      }
+      writer.startDefaultLocalityGroup();
+      if (copyBlocks) {
+        appendBlocks(readers, (RFile.Writer) writer);
+      } else {
+        append(readers, allColumnFamilies, false, writer);
+      }
+
+      FileSKVWriter closing = writer;
+      writer = null;
+      closing.close();
+      return closing.getLength();
+    } catch (IOException | CompactionCanceledException | RuntimeException e) {
+      if (writer != null) {
+        try {
+          writer.close();
+        } catch (IOException e2) {
+          log.warn("Failed to close {}", outputFile, e2);
+        }
+      }
+      if (fs.exists(outputFile.getPath()) && !fs.deleteRecursively(outputFile.getPath())) {
+        log.error("Unable to delete {}", outputFile);
+      }
+      throw e;
+    } finally {
+      for (FileSKVIterator reader : readers) {
+        try {
+          reader.close();
+        } catch (IOException e) {
+          log.warn("Failed to close map file", e);
+        }
+      }
+    }
+  }
+
+  /**
+   * Data blocks can only be copied between plain RFiles, so not when a bloom filter or summaries
+   * need to be computed from the keys of the output file.
+   */
+  private static boolean canAppendBlocks(List<FileSKVIterator> readers, FileSKVWriter writer)
+      throws IOException {
+    if (!(writer instanceof RFile.Writer)) {
+      return false;
+    }
+    for (FileSKVIterator reader : readers) {
+      if (!(reader instanceof RFile.Reader)
+          || !((RFile.Writer) writer).canAppendBlocks((RFile.Reader) reader)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private void appendBlocks(List<FileSKVIterator> readers, RFile.Writer writer)
+      throws IOException, CompactionCanceledException {
+    for (FileSKVIterator reader : readers) {
+      if (!env.isCompactionEnabled()) {
+        throw new CompactionCanceledException();
+      }
+      writer.appendBlocks((RFile.Reader) reader);
+    }
+  }
+
+  private void append(List<FileSKVIterator> readers, Set<ByteSequence> columnFamilies,
+      boolean inclusive, FileSKVWriter writer) throws IOException, CompactionCanceledException {
+    for (FileSKVIterator reader : readers) {
+      ColumnFamilySkippingIterator iter = new ColumnFamilySkippingIterator(reader);
+      iter.seek(new Range(), columnFamilies, inclusive);
+      while (iter.hasTop() && env.isCompactionEnabled()) {
+        writer.append(iter.getTopKey(), iter.getTopValue());
+        iter.next();
+      }
+      if (iter.hasTop()) {
+        throw new CompactionCanceledException();
+      }
+    }
+  }
+
+  private Map<String,Set<ByteSequence>> getLocalityGroups() throws IOException {
+    try {
+      return LocalityGroupUtil.getLocalityGroups(acuTableConf);
+    } catch (LocalityGroupConfigurationError e) {
+      throw new IOException(e);
+    }
+  }
+}
@@ -254,6 +254,8 @@ public class LiveTServerSet implements Watcher {
   }
 
   public synchronized void startListeningForTabletServerChanges() {
+    // load all tablet server locks at once, instead of one at a time in the first scan
+    getZooCache().prefetch(context.getZooKeeperRoot() + Constants.ZTSERVERS);
     scanServers();
 
     ThreadPools.watchCriticalScheduledTask(this.context.getScheduledExecutor()
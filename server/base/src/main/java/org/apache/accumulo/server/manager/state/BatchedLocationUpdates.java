@@ -0,0 +1,155 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.server.manager.state;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
+
+import org.apache.accumulo.core.dataImpl.KeyExtent;
+import org.apache.accumulo.core.metadata.TabletLocationState;
+import org.apache.accumulo.core.metadata.schema.Ample.DataLevel;
+import org.apache.accumulo.core.metadata.schema.Ample.TabletsMutator;
+import org.apache.accumulo.server.ServerContext;
+
+/**
+ * Writes tablet location changes made concurrently by many threads, like a tablet server loading
+ * or unloading many tablets at once, to the metadata in shared batches. Each caller queues its
+ * change and waits for it to be written. Whichever caller writes next writes every queued change
+ * with a single {@link org.apache.accumulo.core.metadata.schema.Ample#mutateTablets()}, and changes
+ * queued while that write is in progress are written together by the next caller. Changes to the
+ * root tablet are written individually, as they are stored in ZooKeeper.
+ *
+ * <p>
+ * Changes to metadata tablets and to user tablets are batched separately, since they are written
+ * to different tables. Otherwise a batch of user tablet changes waiting on an offline metadata
+ * tablet would also hold up loading that metadata tablet.
+ */
+public class BatchedLocationUpdates {
+
+  private final ServerContext context;
+  private final Map<DataLevel,Batcher> batchers = new EnumMap<>(DataLevel.class);
+
+  private static class Update {
+    final Consumer<TabletsMutator> change;
+    final CompletableFuture<Void> written = new CompletableFuture<>();
+
+    Update(Consumer<TabletsMutator> change) {
+      this.change = change;
+    }
+  }
+
+  private class Batcher {
+    private final Queue<Update> queued = new ConcurrentLinkedQueue<>();
+    private final Object writeLock = new Object();
+
+    void write(Update update) throws DistributedStoreException {
+      queued.add(update);
+
+      synchronized (writeLock) {
+        // the update may have been written by another thread while this one waited for the lock
+        if (!update.written.isDone()) {
+          List<Update> batch = new ArrayList<>();
+          for (Update u = queued.poll(); u != null; u = queued.poll()) {
+            batch.add(u);
+          }
+
+          if (batch.size() == 1 || !writeBatch(batch)) {
+            // a failed batch does not say which changes failed, so write each change on its own
+            // to give every caller the result of its own change
+            for (Update u : batch) {
+              writeBatch(List.of(u));
+            }
+          }
+        }
+      }
+
+      try {
+        update.written.join();
+      } catch (CompletionException e) {
+        throw new DistributedStoreException((Exception) e.getCause());
+      }
+    }
+
+    /**
+     * @return true if the changes were written and completed. When writing fails, only a single
+     *         change is completed, with the failure.
+     */
+    private boolean writeBatch(List<Update> batch) {
+      try (var tabletsMutator = context.getAmple().mutateTablets()) {
+        for (Update u : batch) {
+          u.change.accept(tabletsMutator);
+        }
+      } catch (RuntimeException e) {
+        if (batch.size() == 1) {
+          batch.get(0).written.completeExceptionally(e);
+        }
+        return false;
+      }
+
+      for (Update u : batch) {
+        u.written.complete(null);
+      }
+      return true;
+    }
+  }
+
+  public BatchedLocationUpdates(ServerContext context) {
+    this.context = context;
+    batchers.put(DataLevel.METADATA, new Batcher());
+    batchers.put(DataLevel.USER, new Batcher());
+  }
+
+  public void setLocation(Assignment assignment) throws DistributedStoreException {
+    if (assignment.tablet.isRootTablet()) {
+      TabletStateStore.setLocation(context, assignment);
+    } else {
+      write(assignment.tablet,
+          new Update(mutator -> MetaDataStateStore.setLocation(mutator, assignment)));
+    }
+  }
+
+  public void unassign(TabletLocationState tls) throws DistributedStoreException {
+    if (tls.extent.isRootTablet()) {
+      TabletStateStore.unassign(context, tls, null);
+    } else {
+      write(tls.extent, new Update(mutator -> MetaDataStateStore.unassign(mutator, tls, null, -1)));
+    }
+  }
+
+  public void suspend(TabletLocationState tls, long suspensionTimestamp)
+      throws DistributedStoreException {
+    if (tls.extent.isRootTablet()) {
+      TabletStateStore.suspend(context, tls, null, suspensionTimestamp);
+    } else {
+      write(tls.extent, new Update(
+          mutator -> MetaDataStateStore.unassign(mutator, tls, null, suspensionTimestamp)));
+    }
+  }
+
+  private void write(KeyExtent extent, Update update) throws DistributedStoreException {
+    batchers.get(DataLevel.of(extent.tableId())).write(update);
+  }
+}
@@ -18,28 +18,44 @@
  */
 package org.apache.accumulo.server.manager.state;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.TimeUnit;
 
+import org.apache.accumulo.core.client.AccumuloException;
+import org.apache.accumulo.core.client.AccumuloSecurityException;
+import org.apache.accumulo.core.client.TableNotFoundException;
 import org.apache.accumulo.core.clientImpl.ClientContext;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Range;
 import org.apache.accumulo.core.metadata.MetadataTable;
 import org.apache.accumulo.core.metadata.TServerInstance;
 import org.apache.accumulo.core.metadata.TabletLocationState;
 import org.apache.accumulo.core.metadata.schema.Ample;
 import org.apache.accumulo.core.metadata.schema.Ample.TabletMutator;
+import org.apache.accumulo.core.metadata.schema.Ample.TabletsMutator;
 import org.apache.accumulo.core.metadata.schema.MetadataSchema.TabletsSection;
 import org.apache.accumulo.core.metadata.schema.TabletMetadata.LocationType;
 import org.apache.accumulo.core.tabletserver.log.LogEntry;
 import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.Text;
 
 class MetaDataStateStore implements TabletStateStore {
 
+  static final long PARTITIONS_REFRESH_MS = 60_000;
+
   protected final ClientContext context;
   protected final CurrentState state;
   private final String targetTableName;
   private final Ample ample;
 
+  private List<Range> partitions = null;
+  private int partitionsMax = 0;
+  private long partitionsTime = 0;
+
   protected MetaDataStateStore(ClientContext context, CurrentState state, String targetTableName) {
     this.context = context;
     this.state = state;
@@ -56,19 +72,98 @@ class MetaDataStateStore implements TabletStateStore {
     return new MetaDataTableScanner(context, TabletsSection.getRange(), state, targetTableName);
   }
 
+  @Override
+  public ClosableIterator<TabletLocationState> iterator(List<Range> ranges) {
+    if (ranges.isEmpty()) {
+      return new ClosableIterator<>() {
+        @Override
+        public boolean hasNext() {
+          return false;
+        }
+
+        @Override
+        public TabletLocationState next() {
+          throw new NoSuchElementException();
+        }
+
+        @Override
+        public void close() {}
+      };
+    }
+    return new MetaDataTableScanner(context, Range.mergeOverlapping(ranges), state,
+        targetTableName);
+  }
+
+  /**
+   * Partitions the tablets section of the metadata using the tablet boundaries of the table storing
+   * it, so that concurrent scans of the partitions are served by different tablets. Listing the
+   * boundaries reads the metadata of the table storing it, so the partitions are only computed
+   * again once {@link #PARTITIONS_REFRESH_MS} passed, which picks up the splits made since.
+   * Partitions that are out of date still cover all tablets, they are just less even.
+   */
+  @Override
+  public synchronized List<Range> getPartitions(int maxPartitions)
+      throws DistributedStoreException {
+    long now = System.nanoTime();
+    if (partitions == null || partitionsMax != maxPartitions
+        || now - partitionsTime > TimeUnit.MILLISECONDS.toNanos(PARTITIONS_REFRESH_MS)) {
+      partitions = computePartitions(maxPartitions);
+      partitionsMax = maxPartitions;
+      partitionsTime = now;
+    }
+    return partitions;
+  }
+
+  private List<Range> computePartitions(int maxPartitions) throws DistributedStoreException {
+    Range tablets = TabletsSection.getRange();
+    List<Text> splits = new ArrayList<>();
+    try {
+      for (Text split : context.tableOperations().listSplits(targetTableName)) {
+        if (tablets.contains(new Key(split))) {
+          splits.add(split);
+        }
+      }
+    } catch (TableNotFoundException | AccumuloSecurityException | AccumuloException e) {
+      throw new DistributedStoreException(e);
+    }
+
+    int numTablets = splits.size() + 1;
+    int numPartitions = Math.min(maxPartitions, numTablets);
+    List<Text> ends = new ArrayList<>();
+    for (int i = 1; i < numPartitions; i++) {
+      ends.add(splits.get(i * numTablets / numPartitions - 1));
+    }
+    ends.add(null);
+
+    List<Range> ranges = new ArrayList<>(ends.size());
+    Text prevEnd = null;
+    for (Text end : ends) {
+      Range partition = tablets.clip(new Range(prevEnd, false, end, true), true);
+      if (partition != null) {
+        ranges.add(partition);
+      }
+      prevEnd = end;
+    }
+    return ranges.isEmpty() ? List.of(tablets) : List.copyOf(ranges);
+  }
+
   @Override
   public void setLocations(Collection<Assignment> assignments) throws DistributedStoreException {
     try (var tabletsMutator = ample.mutateTablets()) {
       for (Assignment assignment : assignments) {
-        tabletsMutator.mutateTablet(assignment.tablet)
-            .putLocation(assignment.server, LocationType.CURRENT)
-            .deleteLocation(assignment.server, LocationType.FUTURE).deleteSuspension().mutate();
+        setLocation(tabletsMutator, assignment);
       }
     } catch (RuntimeException ex) {
       throw new DistributedStoreException(ex);
     }
   }
 
+  static void setLocation(TabletsMutator tabletsMutator, Assignment assignment) {
+    tabletsMutator.mutateTablet(assignment.tablet)
+        .putLocation(assignment.server, LocationType.CURRENT)
+        .deleteLocation(assignment.server, LocationType.FUTURE).deleteSuspension().mutate();
+  }
+
   @Override
   public void setFutureLocations(Collection<Assignment> assignments)
       throws DistributedStoreException {
@@ -100,35 +195,43 @@ class MetaDataStateStore implements TabletStateStore {
       throws DistributedStoreException {
     try (var tabletsMutator = ample.mutateTablets()) {
       for (TabletLocationState tls : tablets) {
-        TabletMutator tabletMutator = tabletsMutator.mutateTablet(tls.extent);
-        if (tls.current != null) {
-          tabletMutator.deleteLocation(tls.current, LocationType.CURRENT);
-          if (logsForDeadServers != null) {
-            List<Path> logs = logsForDeadServers.get(tls.current);
-            if (logs != null) {
-              for (Path log : logs) {
-                LogEntry entry = new LogEntry(tls.extent, 0, log.toString());
-                tabletMutator.putWal(entry);
-              }
-            }
-          }
-          if (suspensionTimestamp >= 0) {
-            tabletMutator.putSuspension(tls.current, suspensionTimestamp);
-          }
-        }
-        if (tls.suspend != null && suspensionTimestamp < 0) {
-          tabletMutator.deleteSuspension();
-        }
-        if (tls.future != null) {
-          tabletMutator.deleteLocation(tls.future, LocationType.FUTURE);
-        }
-        tabletMutator.mutate();
+        unassign(tabletsMutator, tls, logsForDeadServers, suspensionTimestamp);
       }
     } catch (RuntimeException ex) {
       throw new DistributedStoreException(ex);
     }
   }
 
+  /**
+   * Removes the location of a tablet, suspending it at the given time if the time is not negative.
+   */
+  static void unassign(TabletsMutator tabletsMutator, TabletLocationState tls,
+      Map<TServerInstance,List<Path>> logsForDeadServers, long suspensionTimestamp) {
+    TabletMutator tabletMutator = tabletsMutator.mutateTablet(tls.extent);
+    if (tls.current != null) {
+      tabletMutator.deleteLocation(tls.current, LocationType.CURRENT);
+      if (logsForDeadServers != null) {
+        List<Path> logs = logsForDeadServers.get(tls.current);
+        if (logs != null) {
+          for (Path log : logs) {
+            LogEntry entry = new LogEntry(tls.extent, 0, log.toString());
+            tabletMutator.putWal(entry);
+          }
+        }
+      }
+      if (suspensionTimestamp >= 0) {
+        tabletMutator.putSuspension(tls.current, suspensionTimestamp);
+      }
+    }
+    if (tls.suspend != null && suspensionTimestamp < 0) {
+      tabletMutator.deleteSuspension();
+    }
+    if (tls.future != null) {
+      tabletMutator.deleteLocation(tls.future, LocationType.FUTURE);
+    }
+    tabletMutator.mutate();
+  }
+
   @Override
   public void unsuspend(Collection<TabletLocationState> tablets) throws DistributedStoreException {
     try (var tabletsMutator = ample.mutateTablets()) {
@@ -67,6 +67,11 @@ public class MetaDataTableScanner implements ClosableIterator<TabletLocationStat
   private final AtomicBoolean closed = new AtomicBoolean(false);
 
   MetaDataTableScanner(ClientContext context, Range range, CurrentState state, String tableName) {
+    this(context, Collections.singletonList(range), state, tableName);
+  }
+
+  MetaDataTableScanner(ClientContext context, Collection<Range> ranges, CurrentState state,
+      String tableName) {
     // scan over metadata table, looking for tablets in the wrong state based on the live servers
     // and online tables
     try {
@@ -76,7 +81,7 @@ public class MetaDataTableScanner implements ClosableIterator<TabletLocationStat
     }
     cleanable = CleanerUtil.unclosed(this, MetaDataTableScanner.class, closed, log, mdScanner);
     configureScanner(mdScanner, state);
-    mdScanner.setRanges(Collections.singletonList(range));
+    mdScanner.setRanges(ranges);
     iter = mdScanner.iterator();
   }
 
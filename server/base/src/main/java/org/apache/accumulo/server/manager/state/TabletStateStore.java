@@ -24,6 +24,7 @@ import java.util.List;
 import java.util.Map;
 
 import org.apache.accumulo.core.clientImpl.ClientContext;
+import org.apache.accumulo.core.data.Range;
 import org.apache.accumulo.core.dataImpl.KeyExtent;
 import org.apache.accumulo.core.metadata.TServerInstance;
 import org.apache.accumulo.core.metadata.TabletLocationState;
@@ -47,6 +48,23 @@ public interface TabletStateStore extends Iterable<TabletLocationState> {
   @Override
   ClosableIterator<TabletLocationState> iterator();
 
+  /**
+   * Scan the information about the tablets covered by this store whose metadata falls in the given
+   * ranges. Stores that can not limit what they scan return all of their tablets.
+   */
+  default ClosableIterator<TabletLocationState> iterator(List<Range> ranges) {
+    return iterator();
+  }
+
+  /**
+   * Splits the tablets covered by this store into at most the given number of contiguous ranges
+   * that can be scanned independently with {@link #iterator(List)}. Stores that can not limit what
+   * they scan return a single range.
+   */
+  default List<Range> getPartitions(int maxPartitions) throws DistributedStoreException {
+    return List.of(new Range());
+  }
+
   /**
    * Store the assigned locations in the data store.
    */
@@ -104,6 +104,7 @@ public class TableManager {
     instanceID = context.getInstanceID();
     zoo = context.getZooReaderWriter();
     zooStateCache = new ZooCache(zoo, new TableStateWatcher());
+    zooStateCache.prefetch(zkRoot + Constants.ZTABLES);
     updateTableStateCache();
   }
 
@@ -248,7 +249,8 @@ public class TableManager {
             tableId = TableId.of(sa[0]);
         }
         if (tableId == null) {
-          log.warn("Unknown path in {}", event);
+          // the cache watches all of the tables recursively, so only state changes are of interest
+          log.trace("Ignoring path in {}", event);
           return;
         }
       }
@@ -399,6 +399,69 @@ public class FileUtil {
     }
   }
 
+  /**
+   * Uses the indexes of the given files to choose rows that split the data between prevEndRow and
+   * endRow into the given number of partitions with roughly the same number of index entries.
+   * Returns fewer rows when the indexes do not have enough distinct rows, and no rows when there
+   * are too many files to open their indexes at once.
+   */
+  public static List<Text> findPartitionRows(ServerContext context, Text prevEndRow, Text endRow,
+      Collection<TabletFile> mapFiles, int partitions) throws IOException {
+    if (partitions < 2) {
+      return List.of();
+    }
+
+    int maxToOpen =
+        context.getConfiguration().getCount(Property.TSERV_TABLET_SPLIT_FINDMIDPOINT_MAXOPEN);
+    if (mapFiles.size() > maxToOpen) {
+      log.debug("Too many indexes ({}) to open at once to partition {} {}", mapFiles.size(),
+          endRow, prevEndRow);
+      return List.of();
+    }
+
+    ArrayList<FileSKVIterator> readers = new ArrayList<>(mapFiles.size());
+    try {
+      long numKeys = countIndexEntries(context, prevEndRow, endRow, mapFiles, true, readers);
+      List<SortedKeyValueIterator<Key,Value>> iters = new ArrayList<>(readers);
+      return selectPartitionRows(new MultiIterator(iters, true), numKeys, prevEndRow, endRow,
+          partitions);
+    } finally {
+      cleanupIndexOp(null, context.getVolumeManager(), readers);
+    }
+  }
+
+  static List<Text> selectPartitionRows(SortedKeyValueIterator<Key,Value> index, long numKeys,
+      Text prevEndRow, Text endRow, int partitions) throws IOException {
+    List<Text> rows = new ArrayList<>(partitions - 1);
+    if (numKeys < partitions) {
+      return rows;
+    }
+
+    // skip the prevEndRow
+    while (index.hasTop() && prevEndRow != null && index.getTopKey().compareRow(prevEndRow) <= 0)
+      index.next();
+
+    long keysRead = 0;
+    Text lastRow = prevEndRow;
+    while (index.hasTop() && rows.size() < partitions - 1) {
+      Key key = index.getTopKey();
+      if (endRow != null && key.compareRow(endRow) >= 0)
+        break;
+
+      keysRead++;
+      // a partition ends at the row of the index entry closest to its share of the keys
+      if (keysRead >= numKeys * (rows.size() + 1) / partitions
+          && (lastRow == null || key.compareRow(lastRow) > 0)) {
+        lastRow = key.getRow();
+        rows.add(lastRow);
+      }
+
+      index.next();
+    }
+
+    return rows;
+  }
+
   protected static void cleanupIndexOp(Path tmpDir, VolumeManager fs,
       ArrayList<FileSKVIterator> readers) throws IOException {
     // close all of the index sequence files
@@ -23,6 +23,7 @@ import java.util.Map;
 
 import org.apache.accumulo.core.manager.thrift.ManagerMonitorInfo;
 import org.apache.accumulo.core.master.thrift.Compacting;
+import org.apache.accumulo.core.master.thrift.TableCompactionStats;
 import org.apache.accumulo.core.master.thrift.TableInfo;
 import org.apache.accumulo.core.master.thrift.TabletServerStatus;
 
@@ -56,6 +57,18 @@ public class TableInfoUtil {
     total.queryRate += more.queryRate;
     total.queryByteRate += more.queryByteRate;
     total.scanRate += more.scanRate;
+    if (more.majcStats != null) {
+      if (total.majcStats == null)
+        total.majcStats = new TableCompactionStats();
+      total.majcStats.compactions += more.majcStats.compactions;
+      total.majcStats.filesRead += more.majcStats.filesRead;
+      total.majcStats.filesWritten += more.majcStats.filesWritten;
+      total.majcStats.bytesRead += more.majcStats.bytesRead;
+      total.majcStats.bytesWritten += more.majcStats.bytesWritten;
+      total.majcStats.entriesRead += more.majcStats.entriesRead;
+      total.majcStats.entriesWritten += more.majcStats.entriesWritten;
+      total.majcStats.timeMillis += more.majcStats.timeMillis;
+    }
   }
 
   public static TableInfo summarizeTableStats(TabletServerStatus status) {
@@ -0,0 +1,170 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.server.compaction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.accumulo.core.data.ByteSequence;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Value;
+import org.apache.accumulo.core.file.FileSKVWriter;
+import org.junit.jupiter.api.Test;
+
+public class CompactionPipelineTest {
+
+  private static final long BUFFER_SIZE = 1 << 20;
+
+  private static class ListWriter implements FileSKVWriter {
+    final List<Key> keys = new ArrayList<>();
+    final List<Value> values = new ArrayList<>();
+    final int failAfter;
+    final boolean error;
+
+    ListWriter(int failAfter) {
+      this(failAfter, false);
+    }
+
+    ListWriter(int failAfter, boolean error) {
+      this.failAfter = failAfter;
+      this.error = error;
+    }
+
+    @Override
+    public boolean supportsLocalityGroups() {
+      return false;
+    }
+
+    @Override
+    public void startNewLocalityGroup(String name, Set<ByteSequence> columnFamilies) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void startDefaultLocalityGroup() {}
+
+    @Override
+    public void append(Key key, Value value) throws IOException {
+      if (keys.size() == failAfter) {
+        if (error) {
+          throw new Error("writer failed");
+        }
+        throw new IOException("disk full");
+      }
+      keys.add(key);
+      values.add(value);
+    }
+
+    @Override
+    public DataOutputStream createMetaStore(String name) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void close() {}
+
+    @Override
+    public long getLength() {
+      return 0;
+    }
+  }
+
+  @Test
+  public void testAppend() throws IOException {
+    ListWriter writer = new ListWriter(-1);
+    int numEntries = CompactionPipeline.BATCH_SIZE * 3 + 7;
+
+    try (CompactionPipeline pipeline = new CompactionPipeline(writer, "test writer", BUFFER_SIZE)) {
+      // the same key and value objects are reused, like iterators do
+      Key key = new Key();
+      Value value = new Value();
+      for (int i = 0; i < numEntries; i++) {
+        key.set(new Key(String.format("r%06d", i)));
+        value.set(("v" + i).getBytes());
+        pipeline.append(key, value);
+      }
+      pipeline.finish();
+    }
+
+    assertEquals(numEntries, writer.keys.size());
+    for (int i = 0; i < numEntries; i++) {
+      assertEquals(String.format("r%06d", i), writer.keys.get(i).getRow().toString());
+      assertEquals("v" + i, writer.values.get(i).toString());
+    }
+  }
+
+  @Test
+  public void testSmallBuffer() throws IOException {
+    ListWriter writer = new ListWriter(-1);
+    byte[] data = new byte[1000];
+
+    // entries larger than the whole buffer are still written, one batch at a time
+    try (CompactionPipeline pipeline = new CompactionPipeline(writer, "test writer", 100)) {
+      for (int i = 0; i < 100; i++) {
+        pipeline.append(new Key(String.format("r%06d", i)), new Value(data));
+      }
+      pipeline.finish();
+    }
+
+    assertEquals(100, writer.keys.size());
+    for (int i = 0; i < 100; i++) {
+      assertEquals(String.format("r%06d", i), writer.keys.get(i).getRow().toString());
+      assertEquals(1000, writer.values.get(i).getSize());
+    }
+  }
+
+  @Test
+  public void testWriteFailure() {
+    ListWriter writer = new ListWriter(10);
+
+    try (CompactionPipeline pipeline = new CompactionPipeline(writer, "test writer", BUFFER_SIZE)) {
+      var e = assertThrows(IOException.class, () -> {
+        Value value = new Value("v");
+        for (int i = 0; i < CompactionPipeline.BATCH_SIZE * 100; i++) {
+          pipeline.append(new Key("r" + i), value);
+        }
+        pipeline.finish();
+      });
+      assertEquals("disk full", e.getMessage());
+    }
+  }
+
+  @Test
+  public void testWriteError() {
+    ListWriter writer = new ListWriter(10, true);
+
+    try (CompactionPipeline pipeline = new CompactionPipeline(writer, "test writer", BUFFER_SIZE)) {
+      // the error is reported instead of the reading thread waiting for space in the queue
+      var e = assertThrows(IOException.class, () -> {
+        Value value = new Value("v");
+        for (int i = 0; i < CompactionPipeline.BATCH_SIZE * 100; i++) {
+          pipeline.append(new Key("r" + i), value);
+        }
+        pipeline.finish();
+      });
+      assertEquals("writer failed", e.getCause().getMessage());
+    }
+  }
+}
@@ -0,0 +1,60 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.server.compaction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+
+import org.apache.accumulo.core.data.TableId;
+import org.apache.accumulo.core.dataImpl.KeyExtent;
+import org.apache.accumulo.core.metadata.TabletFile;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.Text;
+import org.junit.jupiter.api.Test;
+
+public class PartitionedCompactorTest {
+
+  @Test
+  public void testPartition() {
+    TableId tableId = TableId.of("5");
+    KeyExtent extent = new KeyExtent(tableId, new Text("m"), new Text("c"));
+
+    assertEquals(List.of(extent), PartitionedCompactor.partition(extent, List.of()));
+    assertEquals(
+        List.of(new KeyExtent(tableId, new Text("e"), new Text("c")),
+            new KeyExtent(tableId, new Text("h"), new Text("e")),
+            new KeyExtent(tableId, new Text("m"), new Text("h"))),
+        PartitionedCompactor.partition(extent, List.of(new Text("e"), new Text("h"))));
+
+    KeyExtent whole = new KeyExtent(tableId, null, null);
+    assertEquals(
+        List.of(new KeyExtent(tableId, new Text("e"), null),
+            new KeyExtent(tableId, null, new Text("e"))),
+        PartitionedCompactor.partition(whole, List.of(new Text("e"))));
+  }
+
+  @Test
+  public void testPartitionFile() {
+    TabletFile tmpFile =
+        new TabletFile(new Path("hdfs://nn:8020/accumulo/tables/5/t-0001/C0002.rf_tmp"));
+    assertEquals("hdfs://nn:8020/accumulo/tables/5/t-0001/C0002_p3.rf_tmp",
+        PartitionedCompactor.partitionFile(tmpFile, 3).getMetaInsert());
+  }
+}
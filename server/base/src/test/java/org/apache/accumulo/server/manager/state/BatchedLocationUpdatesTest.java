@@ -0,0 +1,207 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.server.manager.state;
+
+import static org.easymock.EasyMock.createMock;
+import static org.easymock.EasyMock.expect;
+import static org.easymock.EasyMock.replay;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+
+import org.apache.accumulo.core.data.TableId;
+import org.apache.accumulo.core.dataImpl.KeyExtent;
+import org.apache.accumulo.core.metadata.MetadataTable;
+import org.apache.accumulo.core.metadata.TServerInstance;
+import org.apache.accumulo.core.metadata.schema.Ample;
+import org.apache.accumulo.core.metadata.schema.Ample.TabletMutator;
+import org.apache.accumulo.server.ServerContext;
+import org.apache.hadoop.io.Text;
+import org.junit.jupiter.api.Test;
+
+public class BatchedLocationUpdatesTest {
+
+  private static final TServerInstance SERVER = new TServerInstance("127.0.0.1:9997", 1L);
+
+  /**
+   * Records the tablets written by each call to mutateTablets. The first batch waits for a latch
+   * before it finishes, so that other updates can queue up behind it.
+   */
+  private static class TestAmple implements Ample {
+    final List<List<KeyExtent>> batches = new ArrayList<>();
+    final CountDownLatch firstBatchStarted = new CountDownLatch(1);
+    final CountDownLatch finishFirstBatch = new CountDownLatch(1);
+    volatile boolean fail = false;
+    volatile KeyExtent failing = null;
+
+    @Override
+    public TabletsMutator mutateTablets() {
+      List<KeyExtent> batch = new ArrayList<>();
+      return new TabletsMutator() {
+        @Override
+        public TabletMutator mutateTablet(KeyExtent extent) {
+          if (fail || extent.equals(failing)) {
+            throw new IllegalStateException("failed to write " + extent);
+          }
+          batch.add(extent);
+          return (TabletMutator) Proxy.newProxyInstance(getClass().getClassLoader(),
+              new Class<?>[] {TabletMutator.class}, (proxy, method, args) -> method
+                  .getReturnType().isInstance(proxy) ? proxy : null);
+        }
+
+        @Override
+        public void close() {
+          synchronized (batches) {
+            batches.add(batch);
+          }
+          if (batches.size() == 1) {
+            firstBatchStarted.countDown();
+            try {
+              finishFirstBatch.await();
+            } catch (InterruptedException e) {
+              throw new IllegalStateException(e);
+            }
+          }
+        }
+      };
+    }
+  }
+
+  private static KeyExtent extent(String endRow) {
+    return new KeyExtent(TableId.of("1"), new Text(endRow), null);
+  }
+
+  private static KeyExtent metadataExtent(String endRow) {
+    return new KeyExtent(MetadataTable.ID, new Text(endRow), null);
+  }
+
+  private static BatchedLocationUpdates createUpdates(TestAmple ample) {
+    ServerContext context = createMock(ServerContext.class);
+    expect(context.getAmple()).andReturn(ample).anyTimes();
+    replay(context);
+    return new BatchedLocationUpdates(context);
+  }
+
+  private static Thread setLocation(BatchedLocationUpdates updates, KeyExtent extent) {
+    return setLocation(updates, extent, new ArrayList<>());
+  }
+
+  private static Thread setLocation(BatchedLocationUpdates updates, KeyExtent extent,
+      List<KeyExtent> failed) {
+    Thread thread = new Thread(() -> {
+      try {
+        updates.setLocation(new Assignment(extent, SERVER));
+      } catch (DistributedStoreException e) {
+        synchronized (failed) {
+          failed.add(extent);
+        }
+      }
+    });
+    thread.start();
+    return thread;
+  }
+
+  @Test
+  public void testUpdatesQueuedDuringWriteShareBatch() throws Exception {
+    TestAmple ample = new TestAmple();
+    BatchedLocationUpdates updates = createUpdates(ample);
+
+    Thread first = setLocation(updates, extent("a"));
+    ample.firstBatchStarted.await();
+
+    Thread second = setLocation(updates, extent("b"));
+    Thread third = setLocation(updates, extent("c"));
+    // wait for both threads to queue their update and block behind the first write
+    while (second.getState() != Thread.State.BLOCKED || third.getState() != Thread.State.BLOCKED) {
+      Thread.sleep(10);
+    }
+    ample.finishFirstBatch.countDown();
+
+    first.join();
+    second.join();
+    third.join();
+
+    assertEquals(2, ample.batches.size());
+    assertEquals(List.of(extent("a")), ample.batches.get(0));
+    assertEquals(Set.of(extent("b"), extent("c")), Set.copyOf(ample.batches.get(1)));
+  }
+
+  @Test
+  public void testFailureReachesCaller() {
+    TestAmple ample = new TestAmple();
+    ample.finishFirstBatch.countDown();
+    ample.fail = true;
+    BatchedLocationUpdates updates = createUpdates(ample);
+
+    assertThrows(DistributedStoreException.class,
+        () -> updates.setLocation(new Assignment(extent("a"), SERVER)));
+  }
+
+  @Test
+  public void testFailureOnlyReachesItsCaller() throws Exception {
+    TestAmple ample = new TestAmple();
+    BatchedLocationUpdates updates = createUpdates(ample);
+    List<KeyExtent> failed = new ArrayList<>();
+
+    Thread first = setLocation(updates, extent("a"), failed);
+    ample.firstBatchStarted.await();
+
+    ample.failing = extent("c");
+    Thread second = setLocation(updates, extent("b"), failed);
+    Thread third = setLocation(updates, extent("c"), failed);
+    Thread fourth = setLocation(updates, extent("d"), failed);
+    while (second.getState() != Thread.State.BLOCKED || third.getState() != Thread.State.BLOCKED
+        || fourth.getState() != Thread.State.BLOCKED) {
+      Thread.sleep(10);
+    }
+    ample.finishFirstBatch.countDown();
+
+    first.join();
+    second.join();
+    third.join();
+    fourth.join();
+
+    assertEquals(List.of(extent("c")), failed);
+    // the failed batch is followed by writing each of its changes on their own
+    int batches = ample.batches.size();
+    assertEquals(Set.of(List.of(extent("b")), List.of(), List.of(extent("d"))),
+        Set.copyOf(ample.batches.subList(batches - 3, batches)));
+  }
+
+  @Test
+  public void testMetadataTabletsNotBlockedByUserTablets() throws Exception {
+    TestAmple ample = new TestAmple();
+    BatchedLocationUpdates updates = createUpdates(ample);
+
+    Thread first = setLocation(updates, extent("a"));
+    ample.firstBatchStarted.await();
+
+    // the user tablet batch is still being written, the metadata tablet is written anyway
+    updates.setLocation(new Assignment(metadataExtent("m"), SERVER));
+    assertEquals(List.of(metadataExtent("m")), ample.batches.get(1));
+
+    ample.finishFirstBatch.countDown();
+    first.join();
+  }
+}
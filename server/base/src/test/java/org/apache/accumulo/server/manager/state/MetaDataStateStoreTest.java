@@ -0,0 +1,136 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.server.manager.state;
+
+import static org.easymock.EasyMock.capture;
+import static org.easymock.EasyMock.createMock;
+import static org.easymock.EasyMock.createNiceMock;
+import static org.easymock.EasyMock.expect;
+import static org.easymock.EasyMock.newCapture;
+import static org.easymock.EasyMock.replay;
+import static org.easymock.EasyMock.verify;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.apache.accumulo.core.client.BatchScanner;
+import org.apache.accumulo.core.client.admin.TableOperations;
+import org.apache.accumulo.core.clientImpl.ClientContext;
+import org.apache.accumulo.core.data.Range;
+import org.apache.accumulo.core.data.TableId;
+import org.apache.accumulo.core.dataImpl.KeyExtent;
+import org.apache.accumulo.core.metadata.MetadataTable;
+import org.apache.accumulo.core.metadata.TabletLocationState;
+import org.apache.accumulo.core.metadata.schema.MetadataSchema.TabletsSection;
+import org.apache.accumulo.core.security.Authorizations;
+import org.apache.hadoop.io.Text;
+import org.easymock.Capture;
+import org.junit.jupiter.api.Test;
+
+public class MetaDataStateStoreTest {
+
+  private static Range metaRow(String tableId, String endRow) {
+    return new Range(
+        new KeyExtent(TableId.of(tableId), endRow == null ? null : new Text(endRow), null)
+            .toMetaRow());
+  }
+
+  @Test
+  public void testIteratorOverNoRanges() throws Exception {
+    ClientContext context = createMock(ClientContext.class);
+    expect(context.getAmple()).andReturn(null);
+    replay(context);
+
+    var store = new MetaDataStateStore(context, null);
+    try (ClosableIterator<TabletLocationState> iter = store.iterator(List.of())) {
+      assertFalse(iter.hasNext());
+    }
+    // nothing is scanned
+    verify(context);
+  }
+
+  @Test
+  public void testIteratorOverRanges() throws Exception {
+    ClientContext context = createMock(ClientContext.class);
+    BatchScanner scanner = createNiceMock(BatchScanner.class);
+    expect(context.getAmple()).andReturn(null);
+    expect(context.createBatchScanner(MetadataTable.NAME, Authorizations.EMPTY, 8))
+        .andReturn(scanner);
+    Capture<Collection<Range>> ranges = newCapture();
+    scanner.setRanges(capture(ranges));
+    replay(context, scanner);
+
+    var store = new MetaDataStateStore(context, null);
+    Range table2 = TabletsSection.getRange(TableId.of("2"));
+    try (var iter =
+        store.iterator(List.of(metaRow("1", "m"), table2, metaRow("2", "c"), metaRow("1", "m")))) {
+      // overlapping ranges are merged, so no tablet is returned twice
+      assertEquals(List.of(metaRow("1", "m"), table2), new ArrayList<>(ranges.getValue()));
+    }
+    verify(context, scanner);
+  }
+
+  /**
+   * Checks that the partitions are in order and together cover the tablets section exactly once.
+   */
+  private static void assertCoversTablets(List<Range> partitions) {
+    Range tablets = TabletsSection.getRange();
+    assertEquals(tablets.getStartKey(), partitions.get(0).getStartKey());
+    assertEquals(tablets.isStartKeyInclusive(), partitions.get(0).isStartKeyInclusive());
+    for (int i = 1; i < partitions.size(); i++) {
+      Range previous = partitions.get(i - 1);
+      Range partition = partitions.get(i);
+      // no gap and no overlap between neighbors
+      assertEquals(previous.getEndKey(), partition.getStartKey());
+      assertTrue(previous.isEndKeyInclusive() != partition.isStartKeyInclusive());
+    }
+    Range last = partitions.get(partitions.size() - 1);
+    assertEquals(tablets.getEndKey(), last.getEndKey());
+    assertEquals(tablets.isEndKeyInclusive(), last.isEndKeyInclusive());
+  }
+
+  @Test
+  public void testGetPartitions() throws Exception {
+    ClientContext context = createMock(ClientContext.class);
+    TableOperations tableOps = createMock(TableOperations.class);
+    expect(context.getAmple()).andReturn(null);
+    expect(context.tableOperations()).andReturn(tableOps).anyTimes();
+    List<Text> splits = new ArrayList<>();
+    for (String split : List.of("1;d", "1;k", "2;c", "2<", "3;x", "~del1")) {
+      splits.add(new Text(split));
+    }
+    // computed once for each number of partitions
+    expect(tableOps.listSplits(MetadataTable.NAME)).andReturn(splits).times(4);
+    replay(context, tableOps);
+
+    var store = new MetaDataStateStore(context, null);
+    for (int maxPartitions : List.of(1, 3, 5, 10)) {
+      List<Range> partitions = store.getPartitions(maxPartitions);
+      assertEquals(Math.min(maxPartitions, 6), partitions.size());
+      assertCoversTablets(partitions);
+      assertSame(partitions, store.getPartitions(maxPartitions));
+    }
+    verify(context, tableOps);
+  }
+}
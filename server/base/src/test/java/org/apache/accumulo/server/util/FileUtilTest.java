@@ -18,6 +18,7 @@
  */
 package org.apache.accumulo.server.util;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -25,11 +26,19 @@ import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeMap;
 
 import org.apache.accumulo.core.conf.Property;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Range;
+import org.apache.accumulo.core.data.Value;
+import org.apache.accumulo.core.iteratorsImpl.system.SortedMapIterator;
 import org.apache.accumulo.server.WithTestNames;
 import org.apache.accumulo.server.fs.VolumeManagerImpl;
 import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.Text;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
@@ -173,4 +182,35 @@ public class FileUtilTest extends WithTestNames {
       assertFalse(tmp2.exists(), "Expected " + tmp2 + " to be cleaned up but it wasn't");
     }
   }
+
+  private static SortedMapIterator index(int numRows, int keysPerRow) throws IOException {
+    TreeMap<Key,Value> index = new TreeMap<>();
+    for (int r = 0; r < numRows; r++) {
+      for (int q = 0; q < keysPerRow; q++) {
+        index.put(new Key(String.format("r%03d", r), "f", String.format("q%03d", q)), new Value());
+      }
+    }
+    SortedMapIterator iter = new SortedMapIterator(index);
+    iter.seek(new Range(), Set.of(), false);
+    return iter;
+  }
+
+  @Test
+  public void testSelectPartitionRows() throws IOException {
+    assertEquals(List.of(new Text("r024"), new Text("r049"), new Text("r074")),
+        FileUtil.selectPartitionRows(index(100, 1), 100, null, null, 4));
+
+    // only the rows after prevEndRow and before endRow are partitioned
+    assertEquals(List.of(new Text("r031"), new Text("r054"), new Text("r076")),
+        FileUtil.selectPartitionRows(index(100, 1), 90, new Text("r009"), null, 4));
+    assertEquals(List.of(new Text("r020")),
+        FileUtil.selectPartitionRows(index(100, 1), 40, new Text("r000"), new Text("r040"), 2));
+
+    // partitions end on distinct rows
+    assertEquals(List.of(new Text("r000"), new Text("r001"), new Text("r002")),
+        FileUtil.selectPartitionRows(index(3, 10), 30, null, null, 6));
+
+    // not enough index entries to partition
+    assertEquals(List.of(), FileUtil.selectPartitionRows(index(3, 1), 3, null, null, 4));
+  }
 }
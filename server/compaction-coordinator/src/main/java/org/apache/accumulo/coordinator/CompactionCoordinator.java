@@ -30,6 +30,7 @@ import java.util.concurrent.ConcurrentSkipListSet;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 
 import org.apache.accumulo.coordinator.QueueSummaries.PrioTserver;
@@ -124,9 +125,13 @@ public class CompactionCoordinator extends AbstractServer
 
   private ScheduledThreadPoolExecutor schedExecutor;
 
+  // Limits the number of getCompactionJob requests holding a client service thread while waiting
+  private final Semaphore jobWaiters;
+
   protected CompactionCoordinator(ServerOpts opts, String[] args) {
     super("compaction-coordinator", opts, args);
     aconf = getConfiguration();
+    jobWaiters = new Semaphore(aconf.getCount(Property.COMPACTION_COORDINATOR_JOB_WAIT_MAX));
     schedExecutor = ThreadPools.getServerThreadPools().createGeneralScheduledExecutorService(aconf);
     compactionFinalizer = createCompactionFinalizer(schedExecutor);
     tserverSet = createLiveTServerSet();
@@ -139,6 +144,7 @@ public class CompactionCoordinator extends AbstractServer
   protected CompactionCoordinator(ServerOpts opts, String[] args, AccumuloConfiguration conf) {
     super("compaction-coordinator", opts, args);
     aconf = conf;
+    jobWaiters = new Semaphore(aconf.getCount(Property.COMPACTION_COORDINATOR_JOB_WAIT_MAX));
     schedExecutor = ThreadPools.getServerThreadPools().createGeneralScheduledExecutorService(aconf);
     compactionFinalizer = createCompactionFinalizer(schedExecutor);
     tserverSet = createLiveTServerSet();
@@ -381,6 +387,14 @@ public class CompactionCoordinator extends AbstractServer
     return FIFTEEN_MINUTES;
   }
 
+  protected long getJobWaitTime() {
+    return this.aconf.getTimeInMillis(Property.COMPACTION_COORDINATOR_JOB_WAIT_TIME);
+  }
+
+  protected int getLocalityPriorityRange() {
+    return this.aconf.getCount(Property.COMPACTION_COORDINATOR_LOCALITY_PRIORITY_RANGE);
+  }
+
   protected long getTServerCheckInterval() {
     return this.aconf
         .getTimeInMillis(Property.COMPACTION_COORDINATOR_TSERVER_COMPACTION_CHECK_INTERVAL);
@@ -434,46 +448,72 @@ public class CompactionCoordinator extends AbstractServer
 
     TExternalCompactionJob result = null;
 
-    PrioTserver prioTserver = QUEUE_SUMMARIES.getNextTserver(queue);
-
-    while (prioTserver != null) {
-      TServerInstance tserver = prioTserver.tserver;
+    // When no tserver has reported jobs for the queue, hold the request until one does so that
+    // compactors do not have to poll for work. Only a limited number of requests may wait, the
+    // rest are answered right away so that tservers can still be served.
+    long jobWaitTime = getJobWaitTime();
+    final boolean waiting = jobWaitTime > 0 && jobWaiters.tryAcquire();
+    if (!waiting) {
+      jobWaitTime = 0;
+    }
+    final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(jobWaitTime);
 
-      LOG.trace("Getting compaction for queue {} from tserver {}", queue, tserver.getHostAndPort());
-      // Get a compaction from the tserver
-      TabletClientService.Client client = null;
-      try {
-        client = getTabletServerConnection(tserver);
-        TExternalCompactionJob job =
-            client.reserveCompactionJob(TraceUtil.traceInfo(), getContext().rpcCreds(), queue,
-                prioTserver.prio, compactorAddress, externalCompactionId);
-        if (null == job.getExternalCompactionId()) {
-          LOG.trace("No compactions found for queue {} on tserver {}, trying next tserver", queue,
-              tserver.getHostAndPort(), compactorAddress);
+    // Prefer jobs from a tserver on the same host as the compactor, whose files are likely to have
+    // a replica on the local DataNode
+    final String compactorHost = HostAndPort.fromString(compactorAddress).getHost();
+    final int localityRange = getLocalityPriorityRange();
 
+    try {
+      PrioTserver prioTserver =
+          QUEUE_SUMMARIES.getNextTserver(queue, compactorHost, localityRange, deadline);
+
+      while (prioTserver != null) {
+        TServerInstance tserver = prioTserver.tserver;
+
+        LOG.trace("Getting compaction for queue {} from tserver {}", queue,
+            tserver.getHostAndPort());
+        // Get a compaction from the tserver
+        TabletClientService.Client client = null;
+        try {
+          client = getTabletServerConnection(tserver);
+          TExternalCompactionJob job =
+              client.reserveCompactionJob(TraceUtil.traceInfo(), getContext().rpcCreds(), queue,
+                  prioTserver.prio, compactorAddress, externalCompactionId);
+          if (null == job.getExternalCompactionId()) {
+            LOG.trace("No compactions found for queue {} on tserver {}, trying next tserver", queue,
+                tserver.getHostAndPort(), compactorAddress);
+
+            QUEUE_SUMMARIES.removeSummary(tserver, queue, prioTserver.prio);
+            prioTserver =
+                QUEUE_SUMMARIES.getNextTserver(queue, compactorHost, localityRange, deadline);
+            continue;
+          }
+          RUNNING.put(ExternalCompactionId.of(job.getExternalCompactionId()),
+              new RunningCompaction(job, compactorAddress, queue));
+          LOG.debug("Returning external job {} to {}", job.externalCompactionId, compactorAddress);
+          result = job;
+          break;
+        } catch (TException e) {
+          LOG.warn("Error from tserver {} while trying to reserve compaction, trying next tserver",
+              ExternalCompactionUtil.getHostPortString(tserver.getHostAndPort()), e);
           QUEUE_SUMMARIES.removeSummary(tserver, queue, prioTserver.prio);
-          prioTserver = QUEUE_SUMMARIES.getNextTserver(queue);
-          continue;
+          prioTserver =
+              QUEUE_SUMMARIES.getNextTserver(queue, compactorHost, localityRange, deadline);
+        } finally {
+          ThriftUtil.returnClient(client, getContext());
         }
-        RUNNING.put(ExternalCompactionId.of(job.getExternalCompactionId()),
-            new RunningCompaction(job, compactorAddress, queue));
-        LOG.debug("Returning external job {} to {}", job.externalCompactionId, compactorAddress);
-        result = job;
-        break;
-      } catch (TException e) {
-        LOG.warn("Error from tserver {} while trying to reserve compaction, trying next tserver",
-            ExternalCompactionUtil.getHostPortString(tserver.getHostAndPort()), e);
-        QUEUE_SUMMARIES.removeSummary(tserver, queue, prioTserver.prio);
-        prioTserver = QUEUE_SUMMARIES.getNextTserver(queue);
-      } finally {
-        ThriftUtil.returnClient(client, getContext());
+      }
+    } finally {
+      if (waiting) {
+        jobWaiters.release();
       }
     }
 
     if (result == null) {
       LOG.trace("No tservers found for queue {}, returning empty job to compactor {}", queue,
           compactorAddress);
-      result = new TExternalCompactionJob();
+      // let the compactor know how long it was held, so it can decide whether to back off
+      result = new TExternalCompactionJob().setWaitTime(jobWaitTime);
     }
 
     return result;
@@ -666,6 +706,42 @@ public class CompactionCoordinator extends AbstractServer
     return result;
   }
 
+  /**
+   * Called by a TabletServer when it has queued external compactions at a priority it has not
+   * reported yet. This wakes up any compactors waiting in {@link #getCompactionJob} for the queue.
+   *
+   * @param tinfo
+   *          trace info
+   * @param credentials
+   *          tcredentials object
+   * @param tserver
+   *          tserver host, port, and session
+   * @param summary
+   *          queue and priority of the jobs
+   * @throws ThriftSecurityException
+   *           when permission error
+   */
+  @Override
+  public void compactionJobsAvailable(TInfo tinfo, TCredentials credentials, String tserver,
+      TCompactionQueueSummary summary) throws ThriftSecurityException {
+    // do not expect users to call this directly, expect tservers to call this method
+    if (!security.canPerformSystemActions(credentials)) {
+      throw new AccumuloSecurityException(credentials.getPrincipal(),
+          SecurityErrorCode.PERMISSION_DENIED).asThriftException();
+    }
+
+    TServerInstance tsi = tserverSet.find(tserver);
+    if (tsi == null) {
+      // the tserver is not live, its summaries will be gathered if it ever is
+      LOG.debug("Ignoring compaction jobs reported by unknown tserver {}", tserver);
+      return;
+    }
+
+    QUEUE_SUMMARIES.add(tsi, summary);
+    TIME_COMPACTOR_LAST_CHECKED.computeIfAbsent(summary.getQueue(),
+        k -> System.currentTimeMillis());
+  }
+
   @Override
   public void cancel(TInfo tinfo, TCredentials credentials, String externalCompactionId)
       throws TException {
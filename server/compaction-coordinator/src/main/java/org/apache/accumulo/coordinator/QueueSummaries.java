@@ -30,6 +30,7 @@ import java.util.Objects;
 import java.util.Set;
 import java.util.TreeMap;
 import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.accumulo.core.metadata.TServerInstance;
 import org.apache.accumulo.core.tabletserver.thrift.TCompactionQueueSummary;
@@ -135,6 +136,78 @@ public class QueueSummaries {
     return result;
   }
 
+  /**
+   * Same as {@link #getNextTserver(String)}, except that a tserver running on the compactor's host
+   * is preferred as long as its priority is within the given range of the highest priority queued
+   * for the queue. Files written by a tserver have their first replica on the local DataNode, so a
+   * compactor colocated with the tserver can read that compaction input locally. This only holds
+   * for files the tserver wrote itself, like its minor compaction output. Files written by
+   * compactors, bulk imported files and files written before the tablet migrated to the tserver
+   * usually have no replica on its host.
+   *
+   * @param compactorHost
+   *          host the compactor runs on, may be null
+   * @param localityRange
+   *          how much lower than the highest priority a local tserver's priority may be
+   */
+  synchronized PrioTserver getNextTserver(String queue, String compactorHost,
+      int localityRange) {
+    if (compactorHost != null && localityRange >= 0) {
+      TreeMap<Short,TreeSet<TServerInstance>> m = QUEUES.get(queue);
+      if (m != null && !m.isEmpty()) {
+        final short highest = m.firstKey();
+        for (Entry<Short,TreeSet<TServerInstance>> entry : m.entrySet()) {
+          if (highest - entry.getKey() > localityRange) {
+            break;
+          }
+          for (TServerInstance tsi : entry.getValue()) {
+            if (compactorHost.equals(tsi.getHost())) {
+              return new PrioTserver(tsi, entry.getKey());
+            }
+          }
+        }
+      }
+    }
+
+    return getNextTserver(queue);
+  }
+
+  /**
+   * Same as {@link #getNextTserver(String)}, except that when no tserver has jobs for the queue
+   * this will wait until one reports jobs or the deadline passes.
+   *
+   * @param deadline
+   *          value of {@link System#nanoTime()} after which this should stop waiting
+   */
+  synchronized PrioTserver getNextTserver(String queue, long deadline) {
+    return getNextTserver(queue, null, -1, deadline);
+  }
+
+  /**
+   * Same as {@link #getNextTserver(String, String, int)}, except that when no tserver has jobs for
+   * the queue this will wait until one reports jobs or the deadline passes.
+   *
+   * @param deadline
+   *          value of {@link System#nanoTime()} after which this should stop waiting
+   */
+  synchronized PrioTserver getNextTserver(String queue, String compactorHost, int localityRange,
+      long deadline) {
+    PrioTserver result = getNextTserver(queue, compactorHost, localityRange);
+
+    long remaining;
+    while (result == null && (remaining = deadline - System.nanoTime()) > 0) {
+      try {
+        TimeUnit.NANOSECONDS.timedWait(this, remaining);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        break;
+      }
+      result = getNextTserver(queue, compactorHost, localityRange);
+    }
+
+    return result;
+  }
+
   synchronized void update(TServerInstance tsi, List<TCompactionQueueSummary> summaries) {
 
     if (log.isTraceEnabled()) {
@@ -164,6 +237,26 @@ public class QueueSummaries {
       QUEUES.computeIfAbsent(qp.getQueue(), k -> new TreeMap<>(Comparator.reverseOrder()))
           .computeIfAbsent(qp.getPriority(), k -> new TreeSet<>()).add(tsi);
     });
+
+    if (!newQP.isEmpty()) {
+      notifyAll();
+    }
+  }
+
+  /**
+   * Adds a single summary pushed by a tserver without affecting any other summaries it previously
+   * reported, waking any compactors waiting for jobs.
+   */
+  synchronized void add(TServerInstance tsi, TCompactionQueueSummary summary) {
+
+    log.trace("Adding summary {} {} {}", tsi, summary.getQueue(), summary.getPriority());
+
+    QueueAndPriority qp = QueueAndPriority.get(summary.getQueue().intern(), summary.getPriority());
+    INDEX.computeIfAbsent(tsi, k -> new HashSet<>()).add(qp);
+    QUEUES.computeIfAbsent(qp.getQueue(), k -> new TreeMap<>(Comparator.reverseOrder()))
+        .computeIfAbsent(qp.getPriority(), k -> new TreeSet<>()).add(tsi);
+
+    notifyAll();
   }
 
   synchronized void removeSummary(TServerInstance tsi, String queue, short priority) {
@@ -37,6 +37,7 @@ import java.util.concurrent.ScheduledThreadPoolExecutor;
 
 import org.apache.accumulo.core.clientImpl.thrift.ThriftSecurityException;
 import org.apache.accumulo.core.conf.AccumuloConfiguration;
+import org.apache.accumulo.core.conf.Property;
 import org.apache.accumulo.core.dataImpl.thrift.TKeyExtent;
 import org.apache.accumulo.core.metadata.TServerInstance;
 import org.apache.accumulo.core.metadata.schema.ExternalCompactionId;
@@ -589,4 +590,46 @@ public class CompactionCoordinatorTest {
     coordinator.close();
   }
 
+  @Test
+  public void testGetCompactionJobTooManyWaiters() throws Exception {
+    PowerMock.resetAll();
+    PowerMock.suppress(PowerMock.constructor(AbstractServer.class));
+
+    AccumuloConfiguration conf = PowerMock.createNiceMock(AccumuloConfiguration.class);
+    EasyMock.expect(conf.getTimeInMillis(Property.COMPACTION_COORDINATOR_JOB_WAIT_TIME))
+        .andReturn(60_000L).anyTimes();
+    // no requests may wait, so the request should be answered without waiting for the minute
+    EasyMock.expect(conf.getCount(Property.COMPACTION_COORDINATOR_JOB_WAIT_MAX)).andReturn(0)
+        .anyTimes();
+    ServerContext context = PowerMock.createNiceMock(ServerContext.class);
+    TCredentials creds = PowerMock.createNiceMock(TCredentials.class);
+
+    CompactionFinalizer finalizer = PowerMock.createNiceMock(CompactionFinalizer.class);
+    LiveTServerSet tservers = PowerMock.createNiceMock(LiveTServerSet.class);
+
+    ServerAddress client = PowerMock.createNiceMock(ServerAddress.class);
+    HostAndPort address = HostAndPort.fromString("localhost:10240");
+    EasyMock.expect(client.getAddress()).andReturn(address).anyTimes();
+
+    TabletClientService.Client tsc = PowerMock.createNiceMock(TabletClientService.Client.class);
+
+    AuditedSecurityOperation security = PowerMock.createNiceMock(AuditedSecurityOperation.class);
+    EasyMock.expect(security.canPerformSystemActions(creds)).andReturn(true);
+
+    PowerMock.replayAll();
+
+    TestCoordinator coordinator =
+        new TestCoordinator(conf, finalizer, tservers, client, tsc, context, security);
+    coordinator.resetInternals();
+    TExternalCompactionJob job = coordinator.getCompactionJob(TraceUtil.traceInfo(), creds, "R2DQ",
+        "localhost:10240", UUID.randomUUID().toString());
+    assertNull(job.getExternalCompactionId());
+    // the compactor is told it was not held, so it backs off before asking again
+    assertEquals(0, job.getWaitTime());
+
+    PowerMock.verifyAll();
+    coordinator.resetInternals();
+    coordinator.close();
+  }
+
 }
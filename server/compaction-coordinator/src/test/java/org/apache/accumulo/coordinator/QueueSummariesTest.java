@@ -20,14 +20,17 @@ package org.apache.accumulo.coordinator;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.accumulo.coordinator.QueueSummaries.PrioTserver;
 import org.apache.accumulo.core.metadata.TServerInstance;
 import org.apache.accumulo.core.tabletserver.thrift.TCompactionQueueSummary;
+import org.apache.accumulo.fate.util.UtilWaitThread;
 import org.junit.Test;
 
 public class QueueSummariesTest {
@@ -191,4 +194,68 @@ public class QueueSummariesTest {
       assertNull(queueSum.getNextTserver("q3"));
     }
   }
+
+  @Test
+  public void testAdd() {
+    QueueSummaries queueSum = new QueueSummaries();
+
+    update(queueSum, "ts1", "q1", "5");
+    queueSum.add(ntsi("ts1"), new TCompactionQueueSummary("q1", (short) 7));
+    queueSum.add(ntsi("ts2"), new TCompactionQueueSummary("q2", (short) 3));
+
+    assertEquals(npt("ts1", (short) 7), queueSum.getNextTserver("q1"));
+    assertEquals(npt("ts2", (short) 3), queueSum.getNextTserver("q2"));
+
+    // adding a summary should not remove any previously reported summaries
+    queueSum.removeSummary(ntsi("ts1"), "q1", (short) 7);
+    assertEquals(npt("ts1", (short) 5), queueSum.getNextTserver("q1"));
+
+    // a full update replaces anything that was added
+    update(queueSum, "ts2", "q1", "4");
+    assertNull(queueSum.getNextTserver("q2"));
+  }
+
+  @Test
+  public void testLocality() {
+    QueueSummaries queueSum = new QueueSummaries();
+
+    update(queueSum, "ts1", "q1", "9");
+    update(queueSum, "ts2", "q1", "7", "q2", "3");
+    update(queueSum, "ts3", "q1", "2");
+
+    // a local tserver within range of the highest priority is preferred
+    assertEquals(npt("ts2", (short) 7), queueSum.getNextTserver("q1", "ts2", 2));
+    assertEquals(npt("ts2", (short) 7), queueSum.getNextTserver("q1", "ts2", 2));
+    // a local tserver outside of the range is not
+    assertEquals(npt("ts1", (short) 9), queueSum.getNextTserver("q1", "ts2", 1));
+    assertEquals(npt("ts1", (short) 9), queueSum.getNextTserver("q1", "ts3", 2));
+    assertEquals(npt("ts3", (short) 2), queueSum.getNextTserver("q1", "ts3", 7));
+    // no local tserver or no host falls back to the highest priority
+    assertEquals(npt("ts1", (short) 9), queueSum.getNextTserver("q1", "ts4", 100));
+    assertEquals(npt("ts1", (short) 9), queueSum.getNextTserver("q1", null, 100));
+    assertEquals(npt("ts2", (short) 3), queueSum.getNextTserver("q2", "ts1", 100));
+    assertNull(queueSum.getNextTserver("q3", "ts1", 100));
+
+    queueSum.removeSummary(ntsi("ts2"), "q1", (short) 7);
+    assertEquals(npt("ts1", (short) 9), queueSum.getNextTserver("q1", "ts2", 100));
+  }
+
+  @Test
+  public void testWaitForTserver() throws Exception {
+    QueueSummaries queueSum = new QueueSummaries();
+
+    long start = System.nanoTime();
+    assertNull(queueSum.getNextTserver("q1", start + TimeUnit.MILLISECONDS.toNanos(50)));
+    assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(50));
+
+    Thread adder = new Thread(() -> {
+      UtilWaitThread.sleep(100);
+      queueSum.add(ntsi("ts1"), new TCompactionQueueSummary("q1", (short) 5));
+    });
+    adder.start();
+
+    assertEquals(npt("ts1", (short) 5),
+        queueSum.getNextTserver("q1", System.nanoTime() + TimeUnit.MINUTES.toNanos(1)));
+    adder.join();
+  }
 }
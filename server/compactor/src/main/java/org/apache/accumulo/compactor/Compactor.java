@@ -23,9 +23,11 @@ import static java.util.concurrent.TimeUnit.MINUTES;
 import static org.apache.accumulo.fate.util.UtilWaitThread.sleepUninterruptibly;
 
 import java.io.IOException;
+import java.net.URI;
 import java.net.UnknownHostException;
 import java.security.SecureRandom;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
@@ -107,6 +109,8 @@ import org.apache.accumulo.server.rpc.TServerUtils;
 import org.apache.accumulo.server.rpc.ThriftServerType;
 import org.apache.accumulo.server.security.AuditedSecurityOperation;
 import org.apache.accumulo.server.security.SecurityOperation;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
 import org.apache.thrift.TException;
 import org.apache.thrift.transport.TTransportException;
@@ -160,6 +164,9 @@ public class Compactor extends AbstractServer implements MetricsProducer, Compac
 
   private final AtomicBoolean compactionRunning = new AtomicBoolean(false);
 
+  // file systems with short-circuit reads enabled, keyed by volume
+  private final Map<URI,FileSystem> shortCircuitFileSystems = new HashMap<>();
+
   protected Compactor(CompactorServerOpts opts, String[] args) {
     super("compactor", opts, args);
     queueName = opts.getQueueName();
@@ -193,6 +200,47 @@ public class Compactor extends AbstractServer implements MetricsProducer, Compac
     CompactionWatcher.setTimer(timer);
   }
 
+  /**
+   * Returns the file system used to read compaction input. When
+   * {@link Property#COMPACTOR_READ_SHORTCIRCUIT} is set, a separate file system instance with
+   * short-circuit reads enabled is created for each volume. The file systems shared by the rest of
+   * the server are created at startup, so their configuration can not be changed here.
+   */
+  protected synchronized FileSystem getInputFileSystem(Path path) throws IOException {
+    FileSystem volumeFs = getContext().getVolumeManager().getFileSystemByPath(path);
+    if (!aconf.getBoolean(Property.COMPACTOR_READ_SHORTCIRCUIT)) {
+      return volumeFs;
+    }
+
+    FileSystem fs = shortCircuitFileSystems.get(volumeFs.getUri());
+    if (fs == null) {
+      Configuration conf = new Configuration(volumeFs.getConf());
+      conf.setBoolean("dfs.client.read.shortcircuit", true);
+      if (conf.getTrimmed("dfs.domain.socket.path", "").isEmpty()) {
+        LOG.warn("Short-circuit reads are enabled for {}, but dfs.domain.socket.path is not set",
+            volumeFs.getUri());
+      }
+      fs = FileSystem.newInstance(volumeFs.getUri(), conf);
+      shortCircuitFileSystems.put(volumeFs.getUri(), fs);
+      LOG.info("Reading compaction input from {} with short-circuit reads", volumeFs.getUri());
+    }
+    return fs;
+  }
+
+  /**
+   * Closes the file systems created by {@link #getInputFileSystem(Path)}.
+   */
+  private synchronized void closeInputFileSystems() {
+    for (FileSystem fs : shortCircuitFileSystems.values()) {
+      try {
+        fs.close();
+      } catch (IOException e) {
+        LOG.warn("Failed to close filesystem {} : {}", fs.getUri(), e.getMessage(), e);
+      }
+    }
+    shortCircuitFileSystems.clear();
+  }
+
   protected void setupSecurity() {
     getContext().setupCrypto();
     security = AuditedSecurityOperation.getInstance(getContext());
@@ -591,7 +639,12 @@ public class Compactor extends AbstractServer implements MetricsProducer, Compac
 
           ExtCEnv cenv = new ExtCEnv(JOB_HOLDER, queueName);
           FileCompactor compactor = new FileCompactor(getContext(), extent, files, outputFile,
-              job.isPropagateDeletes(), cenv, iters, tConfig);
+              job.isPropagateDeletes(), cenv, iters, tConfig) {
+            @Override
+            protected FileSystem getInputFileSystem(Path path) throws IOException {
+              return Compactor.this.getInputFileSystem(path);
+            }
+          };
 
           LOG.trace("Starting compactor");
           started.countDown();
@@ -689,6 +742,11 @@ public class Compactor extends AbstractServer implements MetricsProducer, Compac
           job = getNextJob(getNextId());
           if (!job.isSetExternalCompactionId()) {
             LOG.trace("No external compactions in queue {}", this.queueName);
+            if (job.getWaitTime() > 0) {
+              // the coordinator held the request waiting for jobs, so there is no need to back off
+              // before asking again
+              continue;
+            }
             UtilWaitThread.sleep(getWaitTimeBetweenCompactionChecks());
             continue;
           }
@@ -846,6 +904,7 @@ public class Compactor extends AbstractServer implements MetricsProducer, Compac
       } catch (IOException e) {
         LOG.warn("Failed to close filesystem : {}", e.getMessage(), e);
       }
+      closeInputFileSystems();
 
       gcLogger.logGCInfo(getConfiguration());
       LOG.info("stop requested. exiting ... ");
@@ -0,0 +1,124 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.manager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.accumulo.core.data.Range;
+import org.apache.accumulo.core.data.TableId;
+import org.apache.accumulo.core.dataImpl.KeyExtent;
+import org.apache.accumulo.core.manager.thrift.ManagerState;
+import org.apache.accumulo.core.metadata.TServerInstance;
+import org.apache.accumulo.core.metadata.schema.MetadataSchema.TabletsSection;
+
+import com.google.common.collect.Sets;
+
+/**
+ * Remembers what the last pass of a {@link TabletGroupWatcher} saw, to decide if the next pass can
+ * scan only the tablets that may need attention instead of all tablets. Only accessed by the
+ * watcher's thread.
+ */
+class IncrementalScans {
+
+  private Set<KeyExtent> lastUnsettledTablets = Set.of();
+  private Set<TableId> lastOnlineTables = Set.of();
+  private Set<String> lastMerges = Set.of();
+  private Set<TServerInstance> lastShutdownServers = Set.of();
+  private ManagerState lastManagerState = null;
+  private long lastFullScanTime = 0;
+  private boolean fullScanRequired = true;
+
+  /**
+   * Makes the next pass scan all tablets, for example after a pass failed part way through.
+   */
+  void requireFullScan() {
+    fullScanRequired = true;
+  }
+
+  /**
+   * Determines if a pass needs to scan all tablets in the store. Between full scans, only the
+   * tablets that needed attention in the last pass, migrating tablets, and tablets of tables whose
+   * state changed are scanned. Any change that can affect the goal or state of other tablets
+   * requires a full scan.
+   *
+   * @param fullScanInterval
+   *          the most milliseconds between full scans, every pass is a full scan when not positive
+   * @param now
+   *          the current time, from {@link System#nanoTime()}
+   * @param tserversRemoved
+   *          if any tablet server seen by the last pass went away
+   * @param activeMerges
+   *          the merges that are not in the {@code NONE} state
+   */
+  boolean isFullScanRequired(long fullScanInterval, long now, boolean tserversRemoved,
+      Set<String> activeMerges, Set<TServerInstance> shutdownServers, ManagerState managerState) {
+    if (fullScanInterval <= 0 || fullScanRequired) {
+      return true;
+    }
+    if (now - lastFullScanTime > TimeUnit.MILLISECONDS.toNanos(fullScanInterval)) {
+      return true;
+    }
+    // The merge state is computed from every tablet of the merged range, and a merge creates
+    // tablets no earlier pass saw, like the split at its boundary. So every pass of a merge has to
+    // see all tablets.
+    if (!activeMerges.isEmpty()) {
+      return true;
+    }
+    // Newly added tablet servers can not change the state of tablets that were settled, but the
+    // tablets of servers that went away can only be found with a full scan.
+    return tserversRemoved || !activeMerges.equals(lastMerges)
+        || !shutdownServers.equals(lastShutdownServers) || managerState != lastManagerState;
+  }
+
+  /**
+   * @return the metadata ranges an incremental pass has to scan
+   */
+  List<Range> getScanRanges(Set<TableId> onlineTables, Collection<KeyExtent> migrations) {
+    List<Range> ranges = new ArrayList<>();
+    lastUnsettledTablets.forEach(extent -> ranges.add(new Range(extent.toMetaRow())));
+    migrations.forEach(extent -> ranges.add(new Range(extent.toMetaRow())));
+    Sets.symmetricDifference(onlineTables, lastOnlineTables)
+        .forEach(tableId -> ranges.add(TabletsSection.getRange(tableId)));
+    return ranges;
+  }
+
+  /**
+   * Remembers what a pass that finished without errors saw.
+   *
+   * @param unsettledTablets
+   *          the tablets the store returned to the pass, because they needed attention
+   */
+  void passFinished(boolean fullScan, long now, Set<KeyExtent> unsettledTablets,
+      Set<TableId> onlineTables, Set<String> activeMerges, Set<TServerInstance> shutdownServers,
+      ManagerState managerState) {
+    lastUnsettledTablets = unsettledTablets;
+    lastOnlineTables = onlineTables;
+    lastMerges = activeMerges;
+    lastShutdownServers = shutdownServers;
+    lastManagerState = managerState;
+    if (fullScan) {
+      lastFullScanTime = now;
+      fullScanRequired = false;
+    }
+  }
+}
@@ -97,7 +97,9 @@ import org.apache.accumulo.core.util.Halt;
 import org.apache.accumulo.core.util.threads.ThreadPools;
 import org.apache.accumulo.core.util.threads.Threads;
 import org.apache.accumulo.fate.AgeOffStore;
+import org.apache.accumulo.fate.FateStores;
 import org.apache.accumulo.fate.Fate;
+import org.apache.accumulo.fate.TStore;
 import org.apache.accumulo.fate.util.Retry;
 import org.apache.accumulo.fate.zookeeper.ServiceLock;
 import org.apache.accumulo.fate.zookeeper.ServiceLock.LockLossReason;
@@ -1143,11 +1145,8 @@ public class Manager extends AbstractServer
     }
 
     try {
-      final AgeOffStore<Manager> store =
-          new AgeOffStore<>(
-              new org.apache.accumulo.fate.ZooStore<>(getZooKeeperRoot() + Constants.ZFATE,
-                  context.getZooReaderWriter()),
-              TimeUnit.HOURS.toMillis(8), System::currentTimeMillis);
+      final AgeOffStore<Manager> store = new AgeOffStore<>(createFateStore(),
+          TimeUnit.HOURS.toMillis(8), System::currentTimeMillis);
 
       fate = new Fate<>(this, store, TraceRepo::toLogString);
       fate.startTransactionRunners(getConfiguration());
@@ -1277,6 +1276,19 @@ public class Manager extends AbstractServer
     }
   }
 
+  /**
+   * Creates the store for FATE transactions, which is a table when
+   * {@link Property#MANAGER_FATE_TABLE} is set and ZooKeeper otherwise.
+   */
+  private TStore<Manager> createFateStore() throws KeeperException, InterruptedException {
+    String fateTable = getConfiguration().get(Property.MANAGER_FATE_TABLE);
+    if (!fateTable.isEmpty()) {
+      log.info("Storing FATE transactions in table {}", fateTable);
+    }
+    return FateStores.create(fateTable, getZooKeeperRoot(), context.getZooReaderWriter(),
+        context);
+  }
+
   /**
    * Allows property configuration to block manager start-up waiting for a minimum number of
    * tservers to register in zookeeper. It also accepts a maximum time to wait - if the time
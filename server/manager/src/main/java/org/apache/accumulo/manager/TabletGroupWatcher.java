@@ -35,7 +35,12 @@ import java.util.SortedMap;
 import java.util.SortedSet;
 import java.util.TreeMap;
 import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 import org.apache.accumulo.core.client.AccumuloClient;
 import org.apache.accumulo.core.client.AccumuloException;
@@ -75,6 +80,7 @@ import org.apache.accumulo.core.metadata.schema.MetadataSchema.TabletsSection.Ta
 import org.apache.accumulo.core.metadata.schema.MetadataTime;
 import org.apache.accumulo.core.security.Authorizations;
 import org.apache.accumulo.core.tabletserver.thrift.NotServingTabletException;
+import org.apache.accumulo.core.util.threads.ThreadPools;
 import org.apache.accumulo.core.util.threads.Threads.AccumuloDaemonThread;
 import org.apache.accumulo.manager.Manager.TabletGoalState;
 import org.apache.accumulo.manager.state.MergeStats;
@@ -98,6 +104,7 @@ import org.apache.hadoop.fs.Path;
 import org.apache.hadoop.io.Text;
 import org.apache.thrift.TException;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableSortedSet;
 import com.google.common.collect.Iterators;
 
@@ -107,9 +114,13 @@ abstract class TabletGroupWatcher extends AccumuloDaemonThread {
   private final Manager manager;
   private final TabletStateStore store;
   private final TabletGroupWatcher dependentWatcher;
+  // serializes balancing and metadata updates when partitions of a pass are processed concurrently
+  private final Object flushLock = new Object();
   final TableStats stats = new TableStats();
   private SortedSet<TServerInstance> lastScanServers = Collections.emptySortedSet();
 
+  private final IncrementalScans incrementalScans = new IncrementalScans();
+
   TabletGroupWatcher(Manager manager, TabletStateStore store, TabletGroupWatcher dependentWatcher) {
     super("Watching " + store.name());
     this.manager = manager;
@@ -167,6 +178,38 @@ abstract class TabletGroupWatcher extends AccumuloDaemonThread {
     }
   }
 
+  /**
+   * State shared by everything processing tablets during one pass over the store. When the pass is
+   * split into partitions that are processed concurrently, each partition has its own
+   * {@link TabletLists}.
+   */
+  private static class Pass {
+    private final SortedMap<TServerInstance,TabletServerStatus> currentTServers;
+    private final Map<TableId,MergeStats> currentMerges;
+    private final Map<TableId,MergeStats> mergeStatsCache = new ConcurrentHashMap<>();
+    private final Set<KeyExtent> unsettledTablets = ConcurrentHashMap.newKeySet();
+    private final WalStateManager wals;
+    private final int workChunk;
+    private final int[] counts = new int[TabletState.values().length];
+    private int totalUnloaded = 0;
+
+    Pass(SortedMap<TServerInstance,TabletServerStatus> currentTServers,
+        Map<TableId,MergeStats> currentMerges, WalStateManager wals, int partitions) {
+      this.currentTServers = currentTServers;
+      this.currentMerges = currentMerges;
+      this.wals = wals;
+      this.workChunk =
+          Math.max(1, Manager.MAX_TSERVER_WORK_CHUNK * currentTServers.size() / partitions);
+    }
+
+    synchronized void addCounts(int[] partitionCounts, int unloaded) {
+      for (int i = 0; i < counts.length; i++) {
+        counts[i] += partitionCounts[i];
+      }
+      totalUnloaded += unloaded;
+    }
+  }
+
   @Override
   public void run() {
     int[] oldCounts = new int[TabletState.values().length];
@@ -174,20 +217,27 @@ abstract class TabletGroupWatcher extends AccumuloDaemonThread {
 
     WalStateManager wals = new WalStateManager(manager.getContext());
 
+    int threads = manager.getConfiguration().getCount(Property.MANAGER_TABLET_WATCHER_THREADS);
+    ExecutorService partitionExecutor = null;
+    if (threads > 1) {
+      partitionExecutor = ThreadPools.getServerThreadPools().createFixedThreadPool(threads,
+          "Watching " + store.name() + " partitions", false);
+    }
+
     while (manager.stillManager()) {
       // slow things down a little, otherwise we spam the logs when there are many wake-up events
       sleepUninterruptibly(100, TimeUnit.MILLISECONDS);
 
-      int totalUnloaded = 0;
-      int unloaded = 0;
-      ClosableIterator<TabletLocationState> iter = null;
       try {
-        Map<TableId,MergeStats> mergeStatsCache = new HashMap<>();
         Map<TableId,MergeStats> currentMerges = new HashMap<>();
+        Set<String> activeMerges = new HashSet<>();
         for (MergeInfo merge : manager.merges()) {
           if (merge.getExtent() != null) {
             currentMerges.put(merge.getExtent().tableId(), new MergeStats(merge));
           }
+          if (merge.getState() != MergeState.NONE) {
+            activeMerges.add(merge.toString());
+          }
         }
 
         // Get the current status for the current list of tservers
@@ -201,122 +251,52 @@ abstract class TabletGroupWatcher extends AccumuloDaemonThread {
           synchronized (this) {
             lastScanServers = Collections.emptySortedSet();
           }
+          incrementalScans.requireFullScan();
           continue;
         }
 
-        TabletLists tLists = new TabletLists(manager, currentTServers);
-
         ManagerState managerState = manager.getManagerState();
-        int[] counts = new int[TabletState.values().length];
+        Set<TableId> onlineTables = manager.onlineTables();
+        Set<TServerInstance> shutdownServers = manager.shutdownServers();
+        boolean tserversRemoved;
+        synchronized (this) {
+          tserversRemoved = !currentTServers.keySet().containsAll(lastScanServers);
+        }
+        boolean fullScan = incrementalScans.isFullScanRequired(
+            manager.getConfiguration()
+                .getTimeInMillis(Property.MANAGER_TABLET_WATCHER_FULL_SCAN_INTERVAL),
+            System.nanoTime(), tserversRemoved, activeMerges, shutdownServers, managerState);
+
+        List<Range> partitions =
+            partitionExecutor == null ? List.of() : store.getPartitions(threads);
+
         stats.begin();
         // Walk through the tablets in our store, and work tablets
         // towards their goal
-        iter = store.iterator();
-        while (iter.hasNext()) {
-          TabletLocationState tls = iter.next();
-          if (tls == null) {
-            continue;
-          }
-
-          // ignore entries for tables that do not exist in zookeeper
-          if (manager.getTableManager().getTableState(tls.extent.tableId()) == null)
-            continue;
-
-          // Don't overwhelm the tablet servers with work
-          if (tLists.unassigned.size() + unloaded
-              > Manager.MAX_TSERVER_WORK_CHUNK * currentTServers.size()) {
-            flushChanges(tLists, wals);
-            tLists.reset();
-            unloaded = 0;
-            eventListener.waitForEvents(Manager.TIME_TO_WAIT_BETWEEN_SCANS);
-          }
-          TableId tableId = tls.extent.tableId();
-          TableConfiguration tableConf = manager.getContext().getTableConfiguration(tableId);
-
-          MergeStats mergeStats = mergeStatsCache.computeIfAbsent(tableId, k -> {
-            var mStats = currentMerges.get(k);
-            return mStats != null ? mStats : new MergeStats(new MergeInfo());
-          });
-          TabletGoalState goal = manager.getGoalState(tls, mergeStats.getMergeInfo());
-          TServerInstance location = tls.getLocation();
-          TabletState state = tls.getState(currentTServers.keySet());
-
-          TabletLogger.missassigned(tls.extent, goal.toString(), state.toString(), tls.future,
-              tls.current, tls.walogs.size());
-
-          stats.update(tableId, state);
-          mergeStats.update(tls.extent, state, tls.chopped, !tls.walogs.isEmpty());
-          sendChopRequest(mergeStats.getMergeInfo(), state, tls);
-          sendSplitRequest(mergeStats.getMergeInfo(), state, tls);
-
-          // Always follow through with assignments
-          if (state == TabletState.ASSIGNED) {
-            goal = TabletGoalState.HOSTED;
-          }
-
-          // if we are shutting down all the tabletservers, we have to do it in order
-          if ((goal == TabletGoalState.SUSPENDED && state == TabletState.HOSTED)
-              && manager.serversToShutdown.equals(currentTServers.keySet())) {
-            if (dependentWatcher != null && dependentWatcher.assignedOrHosted() > 0) {
-              goal = TabletGoalState.HOSTED;
-            }
+        Pass pass;
+        if (partitions.size() <= 1) {
+          pass = new Pass(currentTServers, currentMerges, wals, 1);
+          ClosableIterator<TabletLocationState> iter;
+          if (fullScan) {
+            iter = store.iterator();
+          } else {
+            iter = store.iterator(
+                incrementalScans.getScanRanges(onlineTables, manager.migrationsSnapshot()));
           }
-
-          if (goal == TabletGoalState.HOSTED) {
-            if ((state != TabletState.HOSTED && !tls.walogs.isEmpty())
-                && manager.recoveryManager.recoverLogs(tls.extent, tls.walogs))
-              continue;
-            switch (state) {
-              case HOSTED:
-                if (location.equals(manager.migrations.get(tls.extent)))
-                  manager.migrations.remove(tls.extent);
-                break;
-              case ASSIGNED_TO_DEAD_SERVER:
-                hostDeadTablet(tLists, tls, location, wals);
-                break;
-              case SUSPENDED:
-                hostSuspendedTablet(tLists, tls, location, tableConf);
-                break;
-              case UNASSIGNED:
-                hostUnassignedTablet(tLists, tls.extent, location);
-                break;
-              case ASSIGNED:
-                // Send another reminder
-                tLists.assigned.add(new Assignment(tls.extent, tls.future));
-                break;
-            }
+          processTablets(pass, iter, eventListener);
+        } else {
+          pass = new Pass(currentTServers, currentMerges, wals, partitions.size());
+          List<List<Range>> partitionRanges;
+          if (fullScan) {
+            partitionRanges = partitions.stream().map(List::of).collect(Collectors.toList());
           } else {
-            switch (state) {
-              case SUSPENDED:
-                // Request a move to UNASSIGNED, so as to allow balancing to continue.
-                tLists.suspendedToGoneServers.add(tls);
-                cancelOfflineTableMigrations(tls.extent);
-                break;
-              case UNASSIGNED:
-                cancelOfflineTableMigrations(tls.extent);
-                break;
-              case ASSIGNED_TO_DEAD_SERVER:
-                unassignDeadTablet(tLists, tls, wals);
-                break;
-              case HOSTED:
-                TServerConnection client = manager.tserverSet.getConnection(location);
-                if (client != null) {
-                  client.unloadTablet(manager.managerLock, tls.extent, goal.howUnload(),
-                      manager.getSteadyTime());
-                  unloaded++;
-                  totalUnloaded++;
-                } else {
-                  Manager.log.warn("Could not connect to server {}", location);
-                }
-                break;
-              case ASSIGNED:
-                break;
-            }
+            partitionRanges = partition(
+                incrementalScans.getScanRanges(onlineTables, manager.migrationsSnapshot()),
+                partitions.size());
           }
-          counts[state.ordinal()]++;
+          processPartitions(pass, partitionRanges, partitionExecutor);
         }
-
-        flushChanges(tLists, wals);
+        int[] counts = pass.counts;
 
         // provide stats after flushing changes to avoid race conditions w/ delete table
         stats.end(managerState);
@@ -329,14 +309,17 @@ abstract class TabletGroupWatcher extends AccumuloDaemonThread {
                 state.name());
           }
         }
-        Manager.log.debug(String.format("[%s]: scan time %.2f seconds", store.name(),
-            stats.getScanTime() / 1000.));
+        Manager.log.debug(String.format("[%s]: %s scan time %.2f seconds", store.name(),
+            fullScan ? "full" : "incremental", stats.getScanTime() / 1000.));
         oldCounts = counts;
-        if (totalUnloaded > 0) {
-          manager.nextEvent.event("[%s]: %d tablets unloaded", store.name(), totalUnloaded);
+        if (pass.totalUnloaded > 0) {
+          manager.nextEvent.event("[%s]: %d tablets unloaded", store.name(), pass.totalUnloaded);
         }
 
-        updateMergeState(mergeStatsCache);
+        updateMergeState(pass.mergeStatsCache);
+
+        incrementalScans.passFinished(fullScan, System.nanoTime(), pass.unsettledTablets,
+            onlineTables, activeMerges, shutdownServers, managerState);
 
         synchronized (this) {
           lastScanServers = ImmutableSortedSet.copyOf(currentTServers.keySet());
@@ -349,22 +332,191 @@ abstract class TabletGroupWatcher extends AccumuloDaemonThread {
           Manager.log.info("Detected change in current tserver set, re-running state machine.");
         }
       } catch (Exception ex) {
+        incrementalScans.requireFullScan();
         Manager.log.error("Error processing table state for store " + store.name(), ex);
         if (ex.getCause() != null && ex.getCause() instanceof BadLocationStateException) {
           repairMetadata(((BadLocationStateException) ex.getCause()).getEncodedEndRow());
         } else {
           sleepUninterruptibly(Manager.WAIT_BETWEEN_ERRORS, TimeUnit.MILLISECONDS);
         }
-      } finally {
-        if (iter != null) {
-          try {
-            iter.close();
-          } catch (IOException ex) {
-            Manager.log.warn("Error closing TabletLocationState iterator: " + ex, ex);
+      }
+    }
+
+    if (partitionExecutor != null) {
+      partitionExecutor.shutdownNow();
+    }
+  }
+
+  /**
+   * Processes each group of ranges on the executor and waits for all of them to finish. If any
+   * partition fails, the first failure is thrown once all partitions are done.
+   */
+  private void processPartitions(Pass pass, List<List<Range>> partitionRanges,
+      ExecutorService executor) throws Exception {
+    List<Future<Void>> futures = new ArrayList<>();
+    for (List<Range> ranges : partitionRanges) {
+      futures.add(executor.submit(() -> {
+        processTablets(pass, store.iterator(ranges), manager.nextEvent.getListener());
+        return null;
+      }));
+    }
+
+    Exception failure = null;
+    for (Future<Void> future : futures) {
+      try {
+        future.get();
+      } catch (ExecutionException e) {
+        if (failure == null) {
+          failure = e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+        }
+      }
+    }
+    if (failure != null) {
+      throw failure;
+    }
+  }
+
+  /**
+   * Merges the ranges and splits them into at most the given number of contiguous groups.
+   */
+  @VisibleForTesting
+  static List<List<Range>> partition(List<Range> ranges, int partitions) {
+    List<Range> merged = ranges.isEmpty() ? ranges : Range.mergeOverlapping(ranges);
+    List<List<Range>> groups = new ArrayList<>();
+    int size = Math.max(1, (merged.size() + partitions - 1) / partitions);
+    for (int i = 0; i < merged.size(); i += size) {
+      groups.add(merged.subList(i, Math.min(merged.size(), i + size)));
+    }
+    return groups;
+  }
+
+  /**
+   * Works the tablets returned by the iterator towards their goal, closing the iterator when done.
+   */
+  private void processTablets(Pass pass, ClosableIterator<TabletLocationState> iter,
+      EventCoordinator.Listener eventListener) throws Exception {
+    final SortedMap<TServerInstance,TabletServerStatus> currentTServers = pass.currentTServers;
+    final WalStateManager wals = pass.wals;
+    TabletLists tLists = new TabletLists(manager, currentTServers);
+    int[] counts = new int[TabletState.values().length];
+    int totalUnloaded = 0;
+    int unloaded = 0;
+    try {
+      while (iter.hasNext()) {
+        TabletLocationState tls = iter.next();
+        if (tls == null) {
+          continue;
+        }
+
+        // ignore entries for tables that do not exist in zookeeper
+        if (manager.getTableManager().getTableState(tls.extent.tableId()) == null)
+          continue;
+
+        pass.unsettledTablets.add(tls.extent);
+
+        // Don't overwhelm the tablet servers with work
+        if (tLists.unassigned.size() + unloaded > pass.workChunk) {
+          flushChanges(tLists, wals);
+          tLists.reset();
+          unloaded = 0;
+          eventListener.waitForEvents(Manager.TIME_TO_WAIT_BETWEEN_SCANS);
+        }
+        TableId tableId = tls.extent.tableId();
+        TableConfiguration tableConf = manager.getContext().getTableConfiguration(tableId);
+
+        MergeStats mergeStats = pass.mergeStatsCache.computeIfAbsent(tableId, k -> {
+          var mStats = pass.currentMerges.get(k);
+          return mStats != null ? mStats : new MergeStats(new MergeInfo());
+        });
+        TabletGoalState goal = manager.getGoalState(tls, mergeStats.getMergeInfo());
+        TServerInstance location = tls.getLocation();
+        TabletState state = tls.getState(currentTServers.keySet());
+
+        TabletLogger.missassigned(tls.extent, goal.toString(), state.toString(), tls.future,
+            tls.current, tls.walogs.size());
+
+        stats.update(tableId, state);
+        mergeStats.update(tls.extent, state, tls.chopped, !tls.walogs.isEmpty());
+        sendChopRequest(mergeStats.getMergeInfo(), state, tls);
+        sendSplitRequest(mergeStats.getMergeInfo(), state, tls);
+
+        // Always follow through with assignments
+        if (state == TabletState.ASSIGNED) {
+          goal = TabletGoalState.HOSTED;
+        }
+
+        // if we are shutting down all the tabletservers, we have to do it in order
+        if ((goal == TabletGoalState.SUSPENDED && state == TabletState.HOSTED)
+            && manager.serversToShutdown.equals(currentTServers.keySet())) {
+          if (dependentWatcher != null && dependentWatcher.assignedOrHosted() > 0) {
+            goal = TabletGoalState.HOSTED;
           }
         }
+
+        if (goal == TabletGoalState.HOSTED) {
+          if ((state != TabletState.HOSTED && !tls.walogs.isEmpty())
+              && manager.recoveryManager.recoverLogs(tls.extent, tls.walogs))
+            continue;
+          switch (state) {
+            case HOSTED:
+              if (location.equals(manager.migrations.get(tls.extent)))
+                manager.migrations.remove(tls.extent);
+              break;
+            case ASSIGNED_TO_DEAD_SERVER:
+              hostDeadTablet(tLists, tls, location, wals);
+              break;
+            case SUSPENDED:
+              hostSuspendedTablet(tLists, tls, location, tableConf);
+              break;
+            case UNASSIGNED:
+              hostUnassignedTablet(tLists, tls.extent, location);
+              break;
+            case ASSIGNED:
+              // Send another reminder
+              tLists.assigned.add(new Assignment(tls.extent, tls.future));
+              break;
+          }
+        } else {
+          switch (state) {
+            case SUSPENDED:
+              // Request a move to UNASSIGNED, so as to allow balancing to continue.
+              tLists.suspendedToGoneServers.add(tls);
+              cancelOfflineTableMigrations(tls.extent);
+              break;
+            case UNASSIGNED:
+              cancelOfflineTableMigrations(tls.extent);
+              break;
+            case ASSIGNED_TO_DEAD_SERVER:
+              unassignDeadTablet(tLists, tls, wals);
+              break;
+            case HOSTED:
+              TServerConnection client = manager.tserverSet.getConnection(location);
+              if (client != null) {
+                client.unloadTablet(manager.managerLock, tls.extent, goal.howUnload(),
+                    manager.getSteadyTime());
+                unloaded++;
+                totalUnloaded++;
+              } else {
+                Manager.log.warn("Could not connect to server {}", location);
+              }
+              break;
+            case ASSIGNED:
+              break;
+          }
+        }
+        counts[state.ordinal()]++;
+      }
+
+      flushChanges(tLists, wals);
+    } finally {
+      try {
+        iter.close();
+      } catch (IOException ex) {
+        Manager.log.warn("Error closing TabletLocationState iterator: " + ex, ex);
       }
     }
+
+    pass.addCounts(counts, totalUnloaded);
   }
 
   private void unassignDeadTablet(TabletLists tLists, TabletLocationState tls, WalStateManager wals)
@@ -915,13 +1067,15 @@ abstract class TabletGroupWatcher extends AccumuloDaemonThread {
       throws DistributedStoreException, TException, WalMarkerException {
     var unassigned = Collections.unmodifiableMap(tLists.unassigned);
 
-    handleDeadTablets(tLists, wals);
+    synchronized (flushLock) {
+      handleDeadTablets(tLists, wals);
 
-    getAssignmentsFromBalancer(tLists, unassigned);
+      getAssignmentsFromBalancer(tLists, unassigned);
 
-    if (!tLists.assignments.isEmpty()) {
-      Manager.log.info(String.format("Assigning %d tablets", tLists.assignments.size()));
-      store.setFutureLocations(tLists.assignments);
+      if (!tLists.assignments.isEmpty()) {
+        Manager.log.info(String.format("Assigning %d tablets", tLists.assignments.size()));
+        store.setFutureLocations(tLists.assignments);
+      }
     }
     tLists.assignments.addAll(tLists.assigned);
     for (Assignment a : tLists.assignments) {
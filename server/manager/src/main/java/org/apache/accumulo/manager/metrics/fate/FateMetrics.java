@@ -25,11 +25,12 @@ import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.accumulo.core.Constants;
+import org.apache.accumulo.core.conf.Property;
 import org.apache.accumulo.core.metrics.MetricsProducer;
 import org.apache.accumulo.core.metrics.MetricsUtil;
 import org.apache.accumulo.core.util.threads.ThreadPools;
+import org.apache.accumulo.fate.FateStores;
 import org.apache.accumulo.fate.ReadOnlyTStore;
-import org.apache.accumulo.fate.ZooStore;
 import org.apache.accumulo.server.ServerContext;
 import org.apache.zookeeper.KeeperException;
 import org.slf4j.Logger;
@@ -49,7 +50,8 @@ public class FateMetrics implements MetricsProducer {
   private static final String OP_TYPE_TAG = "op.type";
 
   private final ServerContext context;
-  private final ReadOnlyTStore<FateMetrics> zooStore;
+  // created on first use, since a table storing transactions may not be readable yet
+  private ReadOnlyTStore<FateMetrics> store = null;
   private final String fateRootPath;
   private final long refreshDelay;
 
@@ -69,24 +71,17 @@ public class FateMetrics implements MetricsProducer {
     this.context = context;
     this.fateRootPath = context.getZooKeeperRoot() + Constants.ZFATE;
     this.refreshDelay = Math.max(DEFAULT_MIN_REFRESH_DELAY, minimumRefreshDelay);
-
-    try {
-      this.zooStore = new ZooStore<>(fateRootPath, context.getZooReaderWriter());
-    } catch (KeeperException ex) {
-      throw new IllegalStateException(
-          "FATE Metrics - Failed to create zoo store - metrics unavailable", ex);
-    } catch (InterruptedException ex) {
-      Thread.currentThread().interrupt();
-      throw new IllegalStateException(
-          "FATE Metrics - Interrupt received while initializing zoo store");
-    }
-
   }
 
-  private void update() {
+  private void update() throws KeeperException, InterruptedException {
+
+    if (store == null) {
+      store = FateStores.createReadOnly(context.getConfiguration().get(Property.MANAGER_FATE_TABLE),
+          context.getZooKeeperRoot(), context.getZooReaderWriter(), context);
+    }
 
     FateMetricValues metricValues =
-        FateMetricValues.getFromZooKeeper(context, fateRootPath, zooStore);
+        FateMetricValues.getFromZooKeeper(context, fateRootPath, store);
 
     totalCurrentOpsGauge.set(metricValues.getCurrentFateOps());
     totalOpsGauge.set(metricValues.getZkFateChildOpsTotal());
@@ -149,20 +144,20 @@ public class FateMetrics implements MetricsProducer {
     unknownTxGauge = registry.gauge(METRICS_FATE_TX, Tags.concat(MetricsUtil.getCommonTags(),
         "state", ReadOnlyTStore.TStatus.UNKNOWN.name().toLowerCase()), new AtomicLong(0));
 
-    update();
-
     // get fate status is read only operation - no reason to be nice on shutdown.
     ScheduledExecutorService scheduler = ThreadPools.getServerThreadPools()
         .createScheduledExecutorService(1, "fateMetricsPoller", false);
     Runtime.getRuntime().addShutdownHook(new Thread(scheduler::shutdownNow));
 
+    // the first update also runs on the poller, since reading a table storing transactions may
+    // block until the manager has upgraded and assigned its tablets
     ScheduledFuture<?> future = scheduler.scheduleAtFixedRate(() -> {
       try {
         update();
       } catch (Exception ex) {
         log.info("Failed to update fate metrics due to exception", ex);
       }
-    }, refreshDelay, refreshDelay, TimeUnit.MILLISECONDS);
+    }, 0, refreshDelay, TimeUnit.MILLISECONDS);
     ThreadPools.watchNonCriticalScheduledTask(future);
   }
 
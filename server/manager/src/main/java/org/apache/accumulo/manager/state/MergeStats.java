@@ -80,7 +80,8 @@ public class MergeStats {
     return info;
   }
 
-  public void update(KeyExtent ke, TabletState state, boolean chopped, boolean hasWALs) {
+  public synchronized void update(KeyExtent ke, TabletState state, boolean chopped,
+      boolean hasWALs) {
     if (info.getState().equals(MergeState.NONE))
       return;
     if (!upperSplit && info.getExtent().endRow().equals(ke.prevEndRow())) {
@@ -27,9 +27,11 @@ import java.util.concurrent.TimeUnit;
 
 import org.apache.accumulo.core.Constants;
 import org.apache.accumulo.core.client.AccumuloException;
+import org.apache.accumulo.core.conf.Property;
 import org.apache.accumulo.core.dataImpl.KeyExtent;
 import org.apache.accumulo.core.util.threads.ThreadPools;
 import org.apache.accumulo.core.volume.Volume;
+import org.apache.accumulo.fate.FateStores;
 import org.apache.accumulo.fate.ReadOnlyStore;
 import org.apache.accumulo.fate.ReadOnlyTStore;
 import org.apache.accumulo.fate.ZooStore;
@@ -150,7 +152,11 @@ public class UpgradeCoordinator {
       }
 
       if (currentVersion < AccumuloDataVersion.get()) {
-        abortIfFateTransactions(context);
+        // a table storing transactions can not be read until the metadata is upgraded, it is
+        // checked then
+        abortIfFateTransactions(new ReadOnlyStore<>(
+            new ZooStore<>(context.getZooKeeperRoot() + Constants.ZFATE,
+                context.getZooReaderWriter())));
 
         for (int v = currentVersion; v < AccumuloDataVersion.get(); v++) {
           log.info("Upgrading Zookeeper from data version {}", v);
@@ -190,11 +196,23 @@ public class UpgradeCoordinator {
                 upgraders.get(v).upgradeMetadata(context);
               }
 
+              String fateTable = context.getConfiguration().get(Property.MANAGER_FATE_TABLE);
+              if (!fateTable.isEmpty()) {
+                // Allow the tablets of the table to be assigned, so its transactions can be read.
+                // FATE is not started until this completes, and the data version is only updated
+                // after the check, so the check runs again if the manager is restarted.
+                setStatus(UpgradeStatus.COMPLETE, eventCoordinator);
+                abortIfFateTransactions(FateStores.createReadOnly(fateTable,
+                    context.getZooKeeperRoot(), context.getZooReaderWriter(), context));
+              }
+
               log.info("Updating persistent data version.");
               updateAccumuloVersion(context.getServerDirs(), context.getVolumeManager(),
                   currentVersion);
               log.info("Upgrade complete");
-              setStatus(UpgradeStatus.COMPLETE, eventCoordinator);
+              if (status != UpgradeStatus.COMPLETE) {
+                setStatus(UpgradeStatus.COMPLETE, eventCoordinator);
+              }
             } catch (Exception e) {
               handleFailure(e);
             }
@@ -248,11 +266,8 @@ public class UpgradeCoordinator {
    */
   @SuppressFBWarnings(value = "DM_EXIT",
       justification = "Want to immediately stop all manager threads on upgrade error")
-  private void abortIfFateTransactions(ServerContext context) {
+  private void abortIfFateTransactions(ReadOnlyTStore<UpgradeCoordinator> fate) {
     try {
-      final ReadOnlyTStore<UpgradeCoordinator> fate =
-          new ReadOnlyStore<>(new ZooStore<>(context.getZooKeeperRoot() + Constants.ZFATE,
-              context.getZooReaderWriter()));
       if (!fate.list().isEmpty()) {
         throw new AccumuloException("Aborting upgrade because there are"
             + " outstanding FATE transactions from a previous Accumulo version."
@@ -25,10 +25,11 @@ import java.util.Map.Entry;
 
 import org.apache.accumulo.core.Constants;
 import org.apache.accumulo.core.cli.Help;
+import org.apache.accumulo.core.conf.Property;
 import org.apache.accumulo.core.conf.SiteConfiguration;
 import org.apache.accumulo.fate.AdminUtil;
-import org.apache.accumulo.fate.ReadOnlyStore;
-import org.apache.accumulo.fate.ZooStore;
+import org.apache.accumulo.fate.FateStores;
+import org.apache.accumulo.fate.TStore;
 import org.apache.accumulo.fate.zookeeper.ServiceLock;
 import org.apache.accumulo.fate.zookeeper.ZooReaderWriter;
 import org.apache.accumulo.manager.Manager;
@@ -84,9 +85,18 @@ public class FateAdmin {
       final String zkRoot = context.getZooKeeperRoot();
       var zLockManagerPath = ServiceLock.path(zkRoot + Constants.ZMANAGER_LOCK);
       var zTableLocksPath = ServiceLock.path(zkRoot + Constants.ZTABLE_LOCKS);
-      String path = zkRoot + Constants.ZFATE;
       ZooReaderWriter zk = context.getZooReaderWriter();
-      ZooStore<Manager> zs = new ZooStore<>(path, zk);
+      String fateTable = context.getConfiguration().get(Property.MANAGER_FATE_TABLE);
+
+      if (jc.getParsedCommand().equals("print")) {
+        admin.print(FateStores.createReadOnly(fateTable, zkRoot, zk, context), zk,
+            zTableLocksPath);
+        return;
+      }
+
+      // the manager must be down before creating a store that can change its transactions
+      admin.checkGlobalLock(zk, zLockManagerPath);
+      TStore<Manager> zs = FateStores.create(fateTable, zkRoot, zk, context);
 
       if (jc.getParsedCommand().equals("fail")) {
         for (String txid : txOpts.get(jc.getParsedCommand()).txids) {
@@ -101,8 +111,6 @@ public class FateAdmin {
           }
           admin.deleteLocks(zk, zTableLocksPath, txid);
         }
-      } else if (jc.getParsedCommand().equals("print")) {
-        admin.print(new ReadOnlyStore<>(zs), zk, zTableLocksPath);
       }
     }
   }
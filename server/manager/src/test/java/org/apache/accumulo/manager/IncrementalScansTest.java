@@ -0,0 +1,128 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.manager;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.accumulo.core.data.Range;
+import org.apache.accumulo.core.data.TableId;
+import org.apache.accumulo.core.dataImpl.KeyExtent;
+import org.apache.accumulo.core.manager.thrift.ManagerState;
+import org.apache.accumulo.core.metadata.TServerInstance;
+import org.apache.accumulo.core.metadata.schema.MetadataSchema.TabletsSection;
+import org.apache.hadoop.io.Text;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class IncrementalScansTest {
+
+  private static final long INTERVAL = 60_000;
+  private static final long START = TimeUnit.MILLISECONDS.toNanos(1_000_000);
+  private static final TableId T1 = TableId.of("1");
+  private static final TableId T2 = TableId.of("2");
+  private static final KeyExtent UNSETTLED = new KeyExtent(T1, new Text("m"), null);
+  private static final Set<TServerInstance> NO_SHUTDOWNS = Set.of();
+
+  private IncrementalScans scans;
+
+  @BeforeEach
+  public void setup() {
+    scans = new IncrementalScans();
+    // the first pass is always a full scan
+    assertTrue(scans.isFullScanRequired(INTERVAL, START, false, Set.of(), NO_SHUTDOWNS,
+        ManagerState.NORMAL));
+    scans.passFinished(true, START, Set.of(UNSETTLED), Set.of(T1), Set.of(), NO_SHUTDOWNS,
+        ManagerState.NORMAL);
+  }
+
+  private boolean isFullScanRequired(long now, Set<String> activeMerges) {
+    return scans.isFullScanRequired(INTERVAL, now, false, activeMerges, NO_SHUTDOWNS,
+        ManagerState.NORMAL);
+  }
+
+  @Test
+  public void testIncrementalBetweenFullScans() {
+    assertFalse(isFullScanRequired(START + 1, Set.of()));
+    assertTrue(isFullScanRequired(START + TimeUnit.MILLISECONDS.toNanos(INTERVAL + 1), Set.of()));
+
+    // a failed pass makes the next one a full scan
+    scans.requireFullScan();
+    assertTrue(isFullScanRequired(START + 1, Set.of()));
+
+    // an incremental pass does not restart the interval or clear a required full scan
+    scans.passFinished(false, START + 2, Set.of(), Set.of(T1), Set.of(), NO_SHUTDOWNS,
+        ManagerState.NORMAL);
+    assertTrue(isFullScanRequired(START + 3, Set.of()));
+  }
+
+  @Test
+  public void testIntervalDisabled() {
+    assertTrue(scans.isFullScanRequired(0, START + 1, false, Set.of(), NO_SHUTDOWNS,
+        ManagerState.NORMAL));
+  }
+
+  @Test
+  public void testChangesRequiringFullScan() {
+    assertTrue(scans.isFullScanRequired(INTERVAL, START + 1, true, Set.of(), NO_SHUTDOWNS,
+        ManagerState.NORMAL));
+    assertTrue(scans.isFullScanRequired(INTERVAL, START + 1, false, Set.of(),
+        Set.of(new TServerInstance("localhost:9997[1]")), ManagerState.NORMAL));
+    assertTrue(scans.isFullScanRequired(INTERVAL, START + 1, false, Set.of(), NO_SHUTDOWNS,
+        ManagerState.SAFE_MODE));
+  }
+
+  @Test
+  public void testFullScansDuringMerge() {
+    Set<String> merges = Set.of("Merge 1;z;a State: STARTED");
+
+    // every pass scans all tablets while a merge is active, since the merge creates tablets
+    assertTrue(isFullScanRequired(START + 1, merges));
+    scans.passFinished(true, START + 1, Set.of(), Set.of(T1), merges, NO_SHUTDOWNS,
+        ManagerState.NORMAL);
+    assertTrue(isFullScanRequired(START + 2, merges));
+    scans.passFinished(true, START + 2, Set.of(), Set.of(T1), merges, NO_SHUTDOWNS,
+        ManagerState.NORMAL);
+
+    // and once more when it finishes
+    assertTrue(isFullScanRequired(START + 3, Set.of()));
+    scans.passFinished(true, START + 3, Set.of(), Set.of(T1), Set.of(), NO_SHUTDOWNS,
+        ManagerState.NORMAL);
+    assertFalse(isFullScanRequired(START + 4, Set.of()));
+  }
+
+  @Test
+  public void testScanRanges() {
+    KeyExtent migrating = new KeyExtent(T1, null, new Text("m"));
+    List<Range> ranges = scans.getScanRanges(Set.of(T1, T2), List.of(migrating));
+    assertEquals(List.of(new Range(UNSETTLED.toMetaRow()), new Range(migrating.toMetaRow()),
+        TabletsSection.getRange(T2)), ranges);
+
+    // tables going offline are scanned too
+    scans.passFinished(false, START + 1, Set.of(), Set.of(T1, T2), Set.of(), NO_SHUTDOWNS,
+        ManagerState.NORMAL);
+    assertEquals(List.of(TabletsSection.getRange(T1)), scans.getScanRanges(Set.of(T2), List.of()));
+    assertEquals(List.of(), scans.getScanRanges(Set.of(T1, T2), List.of()));
+  }
+}
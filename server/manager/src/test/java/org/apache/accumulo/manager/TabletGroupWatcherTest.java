@@ -0,0 +1,67 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.manager;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.accumulo.core.data.Range;
+import org.apache.accumulo.core.data.TableId;
+import org.apache.accumulo.core.dataImpl.KeyExtent;
+import org.apache.accumulo.core.metadata.schema.MetadataSchema.TabletsSection;
+import org.apache.hadoop.io.Text;
+import org.junit.jupiter.api.Test;
+
+public class TabletGroupWatcherTest {
+
+  @Test
+  public void testPartition() {
+    List<Range> ranges = new ArrayList<>();
+    for (int i = 0; i < 20; i++) {
+      ranges.add(new Range(
+          new KeyExtent(TableId.of("1"), new Text(String.format("%03d", i * 7 % 20)), null)
+              .toMetaRow()));
+    }
+    // overlaps some of the rows above and is returned once
+    ranges.add(TabletsSection.getRange(TableId.of("1")));
+    ranges.add(new Range(new KeyExtent(TableId.of("2"), null, null).toMetaRow()));
+    ranges.add(new Range(new KeyExtent(TableId.of("3"), new Text("a"), null).toMetaRow()));
+    List<Range> merged = Range.mergeOverlapping(ranges);
+    assertEquals(3, merged.size());
+
+    for (int partitions = 1; partitions <= 5; partitions++) {
+      List<List<Range>> groups = TabletGroupWatcher.partition(ranges, partitions);
+      assertTrue(groups.size() <= partitions);
+
+      // together the groups scan every range once, in order
+      List<Range> flattened = new ArrayList<>();
+      groups.forEach(group -> {
+        assertFalse(group.isEmpty());
+        flattened.addAll(group);
+      });
+      assertEquals(merged, flattened);
+    }
+
+    assertEquals(List.of(), TabletGroupWatcher.partition(List.of(), 4));
+  }
+}
@@ -72,6 +72,16 @@ public class TableInformation {
 
   public Double holdTime;
 
+  // cumulative cost of major compactions completed on the servers hosting the table
+  public long majcCompactions;
+  public long majcFilesRead;
+  public long majcFilesWritten;
+  public long majcBytesRead;
+  public long majcBytesWritten;
+  public long majcTime;
+  // bytes written divided by bytes read
+  public double majcSizeRatio;
+
   public int offlineTablets;
 
   public TableInformation() {}
@@ -177,6 +187,18 @@ public class TableInformation {
       this.majorCombo = ZERO_COMBO;
     }
 
+    if (info.majcStats != null) {
+      this.majcCompactions = info.majcStats.compactions;
+      this.majcFilesRead = info.majcStats.filesRead;
+      this.majcFilesWritten = info.majcStats.filesWritten;
+      this.majcBytesRead = info.majcStats.bytesRead;
+      this.majcBytesWritten = info.majcStats.bytesWritten;
+      this.majcTime = info.majcStats.timeMillis;
+      if (info.majcStats.bytesRead > 0) {
+        this.majcSizeRatio = (double) info.majcStats.bytesWritten / info.majcStats.bytesRead;
+      }
+    }
+
     this.majorCompactions = new CompactionsList(runningMajorCompactions, queuedMajorCompactions);
     this.minorCompactions = new CompactionsList(runningMinorCompactions, queuedMinorCompactions);
     this.scans = new CompactionsList(runningScans, queuedScans);
@@ -42,6 +42,14 @@
                         return data;
                       }
                     },
+                    { "type": "num",
+                      "targets": "big-size",
+                      "render": function ( data, type, row ) {
+                        if(type === 'display')
+                          data = bigNumberForSize(data);
+                        return data;
+                      }
+                    },
                     {
                       "targets": "duration",
                       "render": function (data, type, row) {
@@ -71,7 +79,17 @@
                     { "data": "holdTime", "orderSequence": [ "desc", "asc" ] },
                     { "data": "scansCombo", "orderSequence": [ "desc", "asc" ] },
                     { "data": "minorCombo", "orderSequence": [ "desc", "asc" ] },
-                    { "data": "majorCombo", "orderSequence": [ "desc", "asc" ] }
+                    { "data": "majorCombo", "orderSequence": [ "desc", "asc" ] },
+                    { "data": "majcBytesRead", "orderSequence": [ "desc", "asc" ] },
+                    { "data": "majcBytesWritten", "orderSequence": [ "desc", "asc" ] },
+                    { "data": "majcSizeRatio", "orderSequence": [ "desc", "asc" ],
+                      "render": function ( data, type, row ) {
+                        if(type === 'display')
+                          data = data.toFixed(2);
+                        return data;
+                      }
+                    },
+                    { "data": "majcTime", "orderSequence": [ "desc", "asc" ] }
                   ]
             } );
         });
@@ -105,6 +123,10 @@
               <th title="Running scans. The number queued waiting are in parentheses.">Scans</th>
               <th title="Minor Compactions. The number of tablets waiting for compaction are in parentheses.">MinC</th>
               <th title="Major Compactions. The number of tablets waiting for compaction are in parentheses.">MajC</th>
+              <th title="Bytes read by completed major compactions since the hosting tablet servers started." class="big-size">MajC&nbsp;Read</th>
+              <th title="Bytes written by completed major compactions since the hosting tablet servers started." class="big-size">MajC&nbsp;Written</th>
+              <th title="Bytes written divided by bytes read for completed major compactions. Values below one mean compactions shrink the data, for example by dropping deleted or aged off entries or by using better compression.">MajC&nbsp;Ratio</th>
+              <th title="Total time spent in completed major compactions." class="duration">MajC&nbsp;Time</th>
             </tr>
           </thead>
           <tbody></tbody>
@@ -36,7 +36,6 @@ import org.apache.accumulo.core.metadata.schema.TabletMetadata;
 import org.apache.accumulo.core.util.threads.ThreadPools;
 import org.apache.accumulo.core.util.threads.Threads;
 import org.apache.accumulo.server.manager.state.Assignment;
-import org.apache.accumulo.server.manager.state.TabletStateStore;
 import org.apache.accumulo.server.problems.ProblemReport;
 import org.apache.accumulo.server.problems.ProblemReports;
 import org.apache.accumulo.server.util.ManagerMetadataUtil;
@@ -181,7 +180,7 @@ class AssignmentHandler implements Runnable {
         throw new RuntimeException("Minor compaction after recovery fails for " + extent);
       }
       Assignment assignment = new Assignment(extent, server.getTabletSession());
-      TabletStateStore.setLocation(server.getContext(), assignment);
+      server.locationUpdates.setLocation(assignment);
 
       synchronized (server.openingTablets) {
         synchronized (server.onlineTablets) {
@@ -191,6 +190,7 @@ class AssignmentHandler implements Runnable {
           server.recentlyUnloadedCache.remove(tablet.getExtent());
         }
       }
+      server.locationPublisher.changed(extent);
       tablet = null; // release this reference
       successful = true;
     } catch (Exception e) {
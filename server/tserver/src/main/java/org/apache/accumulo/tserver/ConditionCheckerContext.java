@@ -24,6 +24,7 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -71,6 +72,17 @@ public class ConditionCheckerContext {
 
   private Map<ByteSequence,MergedIterConfig> mergedIterCache = new HashMap<>();
 
+  /**
+   * Orders conditions the same way the keys they read are sorted, so that checking the conditions
+   * of a row only ever seeks forward.
+   */
+  private static final Comparator<TCondition> CONDITION_COMPARATOR =
+      Comparator.comparing(TCondition::getCf, Arrays::compareUnsigned)
+          .thenComparing(TCondition::getCq, Arrays::compareUnsigned)
+          .thenComparing(TCondition::getCv, Arrays::compareUnsigned)
+          .thenComparing(TCondition::isHasTimestamp)
+          .thenComparing(TCondition::getTs, Comparator.reverseOrder());
+
   ConditionCheckerContext(ServerContext context, CompressedIterators compressedIters,
       TableConfiguration tableConf) {
     this.compressedIters = compressedIters;
@@ -112,11 +124,24 @@ public class ConditionCheckerContext {
     return IterConfigUtil.loadIterators(systemIter, iterLoad);
   }
 
-  boolean checkConditions(SortedKeyValueIterator<Key,Value> systemIter,
-      ServerConditionalMutation scm) throws IOException {
+  /**
+   * @param iterCache
+   *          iterator stacks already built on top of systemIter, keyed by the compressed iterator
+   *          config of the condition. Stacks are reused for all conditions sharing a config since
+   *          every condition seeks the stack before reading from it.
+   */
+  private boolean checkConditions(SortedKeyValueIterator<Key,Value> systemIter,
+      ServerConditionalMutation scm, Map<ByteSequence,SortedKeyValueIterator<Key,Value>> iterCache)
+      throws IOException {
     boolean add = true;
 
-    for (TCondition tc : scm.getConditions()) {
+    List<TCondition> conditions = scm.getConditions();
+    if (conditions.size() > 1) {
+      conditions = new ArrayList<>(conditions);
+      conditions.sort(CONDITION_COMPARATOR);
+    }
+
+    for (TCondition tc : conditions) {
 
       Range range;
       if (tc.hasTimestamp)
@@ -126,7 +151,12 @@ public class ConditionCheckerContext {
         range = Range.exact(new Text(scm.getRow()), new Text(tc.getCf()), new Text(tc.getCq()),
             new Text(tc.getCv()));
 
-      SortedKeyValueIterator<Key,Value> iter = buildIterator(systemIter, tc);
+      ArrayByteSequence iterKey = new ArrayByteSequence(tc.iterators);
+      SortedKeyValueIterator<Key,Value> iter = iterCache.get(iterKey);
+      if (iter == null) {
+        iter = buildIterator(systemIter, tc);
+        iterCache.put(iterKey, iter);
+      }
 
       ByteSequence cf = new ArrayByteSequence(tc.getCf());
       iter.seek(range, Collections.singleton(cf), true);
@@ -162,8 +192,12 @@ public class ConditionCheckerContext {
       checkArgument(!checked, "check() method should only be called once");
       checked = true;
 
+      // The mutations are sorted by row, so with the iterator stacks shared across all mutations
+      // the tablet is read in a single forward pass.
+      Map<ByteSequence,SortedKeyValueIterator<Key,Value>> iterCache = new HashMap<>();
+
       for (ServerConditionalMutation scm : conditionsToCheck) {
-        if (checkConditions(systemIter, scm)) {
+        if (checkConditions(systemIter, scm, iterCache)) {
           okMutations.add(scm);
         } else {
           results.add(new TCMResult(scm.getID(), TCMStatus.REJECTED));
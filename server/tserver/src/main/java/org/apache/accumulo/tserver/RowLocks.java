@@ -22,9 +22,7 @@ import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.Lock;
 
 import org.apache.accumulo.core.data.ArrayByteSequence;
 import org.apache.accumulo.core.data.ByteSequence;
@@ -32,57 +30,51 @@ import org.apache.accumulo.core.dataImpl.KeyExtent;
 import org.apache.accumulo.tserver.ConditionalMutationSet.DeferFilter;
 import org.apache.accumulo.tserver.data.ServerConditionalMutation;
 
-import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.Striped;
 
+/**
+ * Row locks for conditional mutations. Rows are hashed onto a fixed set of reentrant locks, so
+ * acquiring a row lock does not allocate or update any shared state. Two rows that hash to the same
+ * stripe can not be updated concurrently, which only causes one of them to be deferred.
+ */
 class RowLocks {
 
-  // The compute function in Concurrent Hash Map supports atomic execution of the remapping function
-  // and will only execute it once. Properly computing the reference counts relies on this specific
-  // behavior. Not all concurrent map implementations have the desired behavior. For example
-  // ConcurrentSkipListMap.compute is not atomic and may execute the function multiple times.
-  private final Map<ByteSequence,RowLock> rowLocks = new ConcurrentHashMap<>();
+  static final int DEFAULT_STRIPES = 1 << 10;
+
+  private final Striped<Lock> stripes;
+
+  RowLocks() {
+    this(DEFAULT_STRIPES);
+  }
+
+  RowLocks(int numStripes) {
+    this.stripes = Striped.lock(numStripes);
+  }
 
   static class RowLock {
-    ReentrantLock rlock;
-    int count;
-    ByteSequence rowSeq;
+    final Lock lock;
+    final ByteSequence rowSeq;
 
-    RowLock(ReentrantLock rlock, ByteSequence rowSeq) {
-      this.rlock = rlock;
-      this.count = 1;
+    RowLock(Lock lock, ByteSequence rowSeq) {
+      this.lock = lock;
       this.rowSeq = rowSeq;
     }
 
     public boolean tryLock() {
-      return rlock.tryLock();
+      return lock.tryLock();
     }
 
     public void lock() {
-      rlock.lock();
+      lock.lock();
     }
 
     public void unlock() {
-      rlock.unlock();
+      lock.unlock();
     }
   }
 
   private RowLock getRowLock(ArrayByteSequence rowSeq) {
-    return rowLocks.compute(rowSeq, (key, value) -> {
-      if (value == null) {
-        return new RowLock(new ReentrantLock(), rowSeq);
-      }
-      value.count++;
-      return value;
-    });
-  }
-
-  private void returnRowLock(RowLock lock) {
-    Objects.requireNonNull(lock);
-    rowLocks.compute(lock.rowSeq, (key, value) -> {
-      Preconditions.checkState(value == lock);
-      Preconditions.checkState(value.count > 0);
-      return (--value.count > 0) ? value : null;
-    });
+    return new RowLock(stripes.get(rowSeq), rowSeq);
   }
 
   List<RowLock> acquireRowlocks(Map<KeyExtent,List<ServerConditionalMutation>> updates,
@@ -98,8 +90,8 @@ class RowLocks {
     HashSet<ByteSequence> rowsNotLocked = null;
 
     if (locks.size() > 1) {
-      // Assuming mutations are in sorted order which avoids deadlock. Acquire as many locks as
-      // possible, not blocking on rows that are already locked.
+      // Acquire as many locks as possible, not blocking on rows that are already locked. The
+      // stripes are reentrant, so rows in this batch that share a stripe do not block each other.
       for (RowLock rowLock : locks) {
         if (!rowLock.tryLock()) {
           if (rowsNotLocked == null)
@@ -131,19 +123,12 @@ class RowLocks {
       });
 
       ArrayList<RowLock> filteredLocks = new ArrayList<>();
-      ArrayList<RowLock> locksToReturn = new ArrayList<>();
       for (RowLock rowLock : locks) {
-        if (rowsNotLocked.contains(rowLock.rowSeq)) {
-          locksToReturn.add(rowLock);
-        } else {
+        if (!rowsNotLocked.contains(rowLock.rowSeq)) {
           filteredLocks.add(rowLock);
         }
       }
 
-      for (RowLock rowLock : locksToReturn) {
-        returnRowLock(rowLock);
-      }
-
       locks = filteredLocks;
     }
     return locks;
@@ -153,10 +138,6 @@ class RowLocks {
     for (RowLock rowLock : locks) {
       rowLock.unlock();
     }
-
-    for (RowLock rowLock : locks) {
-      returnRowLock(rowLock);
-    }
   }
 
 }
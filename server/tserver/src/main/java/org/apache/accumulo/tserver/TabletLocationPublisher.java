@@ -0,0 +1,105 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.tserver;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.accumulo.core.clientImpl.AcceptableThriftTableOperationException;
+import org.apache.accumulo.core.clientImpl.TabletLocationChanges;
+import org.apache.accumulo.core.conf.Property;
+import org.apache.accumulo.core.data.TableId;
+import org.apache.accumulo.core.dataImpl.KeyExtent;
+import org.apache.accumulo.core.util.threads.ThreadPools;
+import org.apache.accumulo.server.ServerContext;
+import org.apache.accumulo.server.conf.TableConfiguration;
+import org.apache.zookeeper.KeeperException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Publishes the tablets this tablet server loads, unloads or splits to clients, for tables that
+ * enable {@link Property#TABLE_LOCATION_CHANGES_PUBLISH}. Changes are queued and published
+ * periodically, so when many tablets move at once each table's {@link TabletLocationChanges} are
+ * updated in ZooKeeper once.
+ */
+class TabletLocationPublisher {
+
+  private static final Logger log = LoggerFactory.getLogger(TabletLocationPublisher.class);
+
+  private static final long PUBLISH_DELAY_MS = 100;
+
+  private final ServerContext context;
+  private final Queue<KeyExtent> changed = new ConcurrentLinkedQueue<>();
+
+  TabletLocationPublisher(ServerContext context) {
+    this.context = context;
+  }
+
+  void start() {
+    ThreadPools.watchNonCriticalScheduledTask(context.getScheduledExecutor().scheduleWithFixedDelay(
+        this::publishQueued, PUBLISH_DELAY_MS, PUBLISH_DELAY_MS, TimeUnit.MILLISECONDS));
+  }
+
+  /**
+   * Queues the tablet to be published, if its table publishes location changes. Call this after
+   * the tablet is online or offline on this tablet server, so clients that refresh their cached
+   * location find it where it is now.
+   */
+  void changed(KeyExtent extent) {
+    if (extent.isMeta()) {
+      return;
+    }
+    TableConfiguration tableConf = context.getTableConfiguration(extent.tableId());
+    if (tableConf != null && tableConf.getBoolean(Property.TABLE_LOCATION_CHANGES_PUBLISH)) {
+      changed.add(extent);
+    }
+  }
+
+  void publishQueued() {
+    Map<TableId,List<KeyExtent>> byTable = new HashMap<>();
+    for (KeyExtent extent = changed.poll(); extent != null; extent = changed.poll()) {
+      byTable.computeIfAbsent(extent.tableId(), tableId -> new ArrayList<>()).add(extent);
+    }
+    byTable.forEach(this::publish);
+  }
+
+  private void publish(TableId tableId, List<KeyExtent> extents) {
+    String path = TabletLocationChanges.getPath(context, tableId);
+    try {
+      context.getZooReaderWriter().mutateOrCreate(path,
+          TabletLocationChanges.serialize(0, extents),
+          current -> TabletLocationChanges.append(current, extents));
+      log.trace("Published location changes for {} tablets of table {}", extents.size(), tableId);
+    } catch (KeeperException.NoNodeException e) {
+      log.debug("Not publishing location changes for deleted table {}", tableId);
+    } catch (KeeperException | AcceptableThriftTableOperationException e) {
+      // clients still find out about the changes when they use the old locations
+      log.warn("Failed to publish location changes for table {}", tableId, e);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      log.warn("Interrupted publishing location changes for table {}", tableId, e);
+    }
+  }
+}
@@ -120,6 +120,7 @@ import org.apache.accumulo.server.log.SortedLogState;
 import org.apache.accumulo.server.log.WalStateManager;
 import org.apache.accumulo.server.log.WalStateManager.WalMarkerException;
 import org.apache.accumulo.server.manager.recovery.RecoveryPath;
+import org.apache.accumulo.server.manager.state.BatchedLocationUpdates;
 import org.apache.accumulo.server.rpc.ServerAddress;
 import org.apache.accumulo.server.rpc.TCredentialsUpdatingWrapper;
 import org.apache.accumulo.server.rpc.TServerUtils;
@@ -135,6 +136,7 @@ import org.apache.accumulo.server.util.time.RelativeTime;
 import org.apache.accumulo.server.zookeeper.DistributedWorkQueue;
 import org.apache.accumulo.tserver.TabletServerResourceManager.TabletResourceManager;
 import org.apache.accumulo.tserver.TabletStatsKeeper.Operation;
+import org.apache.accumulo.tserver.compactions.AdaptiveCompactionRate;
 import org.apache.accumulo.tserver.compactions.Compactable;
 import org.apache.accumulo.tserver.compactions.CompactionManager;
 import org.apache.accumulo.tserver.log.DfsLogger;
@@ -144,6 +146,7 @@ import org.apache.accumulo.tserver.log.TabletServerLogger;
 import org.apache.accumulo.tserver.managermessage.ManagerMessage;
 import org.apache.accumulo.tserver.managermessage.SplitReportMessage;
 import org.apache.accumulo.tserver.metrics.CompactionExecutorsMetrics;
+import org.apache.accumulo.tserver.metrics.TableCompactionMetrics;
 import org.apache.accumulo.tserver.metrics.TabletServerMetrics;
 import org.apache.accumulo.tserver.metrics.TabletServerMinCMetrics;
 import org.apache.accumulo.tserver.metrics.TabletServerScanMetrics;
@@ -190,6 +193,9 @@ public class TabletServer extends AbstractServer {
   TabletServerScanMetrics scanMetrics;
   TabletServerMinCMetrics mincMetrics;
   CompactionExecutorsMetrics ceMetrics;
+  TableCompactionMetrics tableCompactionMetrics;
+
+  private final AdaptiveCompactionRate adaptiveCompactionRate;
 
   public TabletServerScanMetrics getScanMetrics() {
     return scanMetrics;
@@ -199,6 +205,14 @@ public class TabletServer extends AbstractServer {
     return mincMetrics;
   }
 
+  public TableCompactionMetrics getTableCompactionMetrics() {
+    return tableCompactionMetrics;
+  }
+
+  public AdaptiveCompactionRate getAdaptiveCompactionRate() {
+    return adaptiveCompactionRate;
+  }
+
   private final LogSorter logSorter;
   @SuppressWarnings("deprecation")
   private org.apache.accumulo.tserver.replication.ReplicationWorker replWorker = null;
@@ -214,6 +228,8 @@ public class TabletServer extends AbstractServer {
   final Map<KeyExtent,Long> recentlyUnloadedCache = Collections.synchronizedMap(new LRUMap<>(1000));
 
   final TabletServerResourceManager resourceManager;
+  final BatchedLocationUpdates locationUpdates;
+  final TabletLocationPublisher locationPublisher;
   private final SecurityOperation security;
 
   private final BlockingDeque<ManagerMessage> managerMessages = new LinkedBlockingDeque<>();
@@ -260,6 +276,7 @@ public class TabletServer extends AbstractServer {
     var replWorker = new org.apache.accumulo.tserver.replication.ReplicationWorker(context);
     this.replWorker = replWorker;
     this.statsKeeper = new TabletStatsKeeper();
+    this.adaptiveCompactionRate = new AdaptiveCompactionRate(aconf);
     final int numBusyTabletsToLog = aconf.getCount(Property.TSERV_LOG_BUSY_TABLETS_COUNT);
     final long logBusyTabletsDelay =
         aconf.getTimeInMillis(Property.TSERV_LOG_BUSY_TABLETS_INTERVAL);
@@ -359,6 +376,9 @@ public class TabletServer extends AbstractServer {
     logger = new TabletServerLogger(this, walMaxSize, syncCounter, flushCounter,
         walCreationRetryFactory, walWritingRetryFactory, walMaxAge);
     this.resourceManager = new TabletServerResourceManager(context);
+    this.locationUpdates = new BatchedLocationUpdates(context);
+    this.locationPublisher = new TabletLocationPublisher(context);
+    locationPublisher.start();
     this.security = AuditedSecurityOperation.getInstance(context);
 
     watchCriticalScheduledTask(context.getScheduledExecutor().scheduleWithFixedDelay(
@@ -518,6 +538,7 @@ public class TabletServer extends AbstractServer {
 
     // lose the reference to the old tablet and open two new ones
     onlineTablets.split(tablet.getExtent(), newTablets[0], newTablets[1]);
+    locationPublisher.changed(tablet.getExtent());
 
     // tell the manager
     enqueueManagerMessage(new SplitReportMessage(tablet.getExtent(), newTablets[0].getExtent(),
@@ -763,7 +784,14 @@ public class TabletServer extends AbstractServer {
     scanMetrics = new TabletServerScanMetrics();
     mincMetrics = new TabletServerMinCMetrics();
     ceMetrics = new CompactionExecutorsMetrics();
-    MetricsUtil.initializeProducers(metrics, updateMetrics, scanMetrics, mincMetrics, ceMetrics);
+    tableCompactionMetrics = new TableCompactionMetrics();
+    MetricsUtil.initializeProducers(metrics, updateMetrics, scanMetrics, mincMetrics, ceMetrics,
+        tableCompactionMetrics);
+    // stop reporting the compactions of tables once they are deleted
+    watchNonCriticalScheduledTask(context.getScheduledExecutor().scheduleWithFixedDelay(
+        () -> tableCompactionMetrics
+            .removeDeletedTables(tableId -> !context.tableNodeExists(tableId)),
+        1, 1, TimeUnit.MINUTES));
 
     this.compactionManager = new CompactionManager(new Iterable<Compactable>() {
       @Override
@@ -771,8 +799,9 @@ public class TabletServer extends AbstractServer {
         return Iterators.transform(onlineTablets.snapshot().values().iterator(),
             Tablet::asCompactable);
       }
-    }, getContext(), ceMetrics);
+    }, getContext(), ceMetrics, adaptiveCompactionRate, this::getTabletSession);
     compactionManager.start();
+    adaptiveCompactionRate.start(context.getScheduledExecutor());
 
     try {
       walMarker.initWalMarker(getTabletSession());
@@ -1063,6 +1092,7 @@ public class TabletServer extends AbstractServer {
         table = new TableInfo();
         table.minors = new Compacting();
         table.majors = new Compacting();
+        table.majcStats = tableCompactionMetrics.getStats(ke.tableId());
         tables.put(tableId, table);
       }
       long recs = tablet.getNumEntries();
@@ -104,6 +104,7 @@ public class TabletServerResourceManager {
   private final ThreadPoolExecutor summaryRetrievalPool;
   private final ThreadPoolExecutor summaryPartitionPool;
   private final ThreadPoolExecutor summaryRemotePool;
+  private final ThreadPoolExecutor compactionPartitionPool;
 
   private final Map<String,ThreadPoolExecutor> scanExecutors;
   private final Map<String,ScanExecutor> scanExecutorChoices;
@@ -358,6 +359,12 @@ public class TabletServerResourceManager {
         () -> context.getConfiguration().getCount(Property.TSERV_SUMMARY_PARTITION_THREADS),
         "summary partition", summaryPartitionPool);
 
+    compactionPartitionPool = ThreadPools.getServerThreadPools().createExecutorService(acuConf,
+        Property.TSERV_COMPACTION_PARTITION_THREADS, true);
+    modifyThreadPoolSizesAtRuntime(
+        () -> context.getConfiguration().getCount(Property.TSERV_COMPACTION_PARTITION_THREADS),
+        "compaction partition", compactionPartitionPool);
+
     Collection<ScanExecutorConfig> scanExecCfg = acuConf.getScanExecutors();
     Map<String,Queue<Runnable>> scanExecQueues = new HashMap<>();
     scanExecutors = scanExecCfg.stream().collect(
@@ -451,7 +458,7 @@ public class TabletServerResourceManager {
     private final LinkedBlockingQueue<TabletMemoryReport> memUsageReports;
     private long lastMemCheckTime = System.currentTimeMillis();
     private long maxMem;
-    private long lastMemTotal = 0;
+    private volatile long lastMemTotal = 0;
     private final Thread memoryGuardThread;
     private final Thread minorCompactionInitiatorThread;
 
@@ -577,6 +584,10 @@ public class TabletServerResourceManager {
     public void tabletClosed(KeyExtent extent) {
       tabletReports.remove(extent);
     }
+
+    double memoryUsage() {
+      return maxMem <= 0 ? 0 : lastMemTotal / (double) maxMem;
+    }
   }
 
   private final Object commitHold = new Object();
@@ -619,6 +630,21 @@ public class TabletServerResourceManager {
     }
   }
 
+  /**
+   * @return the fraction of the memory available to tablets in memory maps that was in use when
+   *         memory was last checked
+   */
+  public double memoryUsage() {
+    return memMgmt.memoryUsage();
+  }
+
+  /**
+   * @return the number of minor compactions waiting for a thread to run on
+   */
+  public int queuedMinorCompactions() {
+    return minorCompactionThreadPool.getQueue().size();
+  }
+
   public long holdTime() {
     if (!holdCommits) {
       return 0;
@@ -870,4 +896,8 @@ public class TabletServerResourceManager {
   public ExecutorService getSummaryRemoteExecutor() {
     return summaryRemotePool;
   }
+
+  public ExecutorService getCompactionPartitionExecutor() {
+    return compactionPartitionPool;
+  }
 }
@@ -50,6 +50,7 @@ import org.apache.accumulo.core.client.SampleNotPresentException;
 import org.apache.accumulo.core.client.TableNotFoundException;
 import org.apache.accumulo.core.client.admin.CompactionConfig;
 import org.apache.accumulo.core.clientImpl.CompressedIterators;
+import org.apache.accumulo.core.clientImpl.CompressedMutations;
 import org.apache.accumulo.core.clientImpl.DurabilityImpl;
 import org.apache.accumulo.core.clientImpl.TabletType;
 import org.apache.accumulo.core.clientImpl.thrift.SecurityErrorCode;
@@ -71,6 +72,7 @@ import org.apache.accumulo.core.dataImpl.thrift.IterInfo;
 import org.apache.accumulo.core.dataImpl.thrift.MapFileInfo;
 import org.apache.accumulo.core.dataImpl.thrift.MultiScanResult;
 import org.apache.accumulo.core.dataImpl.thrift.ScanResult;
+import org.apache.accumulo.core.dataImpl.thrift.TBackpressure;
 import org.apache.accumulo.core.dataImpl.thrift.TCMResult;
 import org.apache.accumulo.core.dataImpl.thrift.TCMStatus;
 import org.apache.accumulo.core.dataImpl.thrift.TColumn;
@@ -167,6 +169,9 @@ public class ThriftClientHandler extends ClientServiceHandler implements TabletC
   private static final Logger log = LoggerFactory.getLogger(ThriftClientHandler.class);
   private final long MAX_TIME_TO_WAIT_FOR_SCAN_RESULT_MILLIS;
   private static final long RECENTLY_SPLIT_MILLIES = MINUTES.toMillis(1);
+  // below these thresholds clients are not sent backpressure hints
+  private static final double BACKPRESSURE_MEMORY_USAGE = 0.5;
+  private static final long BACKPRESSURE_WAL_SYNC_MS = 100;
   private final TabletServer server;
   private final WriteTracker writeTracker = new WriteTracker();
   private final RowLocks rowLocks = new RowLocks();
@@ -687,6 +692,22 @@ public class ThriftClientHandler extends ClientServiceHandler implements TabletC
   @Override
   public void applyUpdates(TInfo tinfo, long updateID, TKeyExtent tkeyExtent,
       List<TMutation> tmutations) {
+    applyUpdates(updateID, tkeyExtent,
+        () -> tmutations.stream().map(ServerMutation::new).collect(Collectors.toList()));
+  }
+
+  @Override
+  public void applyCompressedUpdates(TInfo tinfo, long updateID, TKeyExtent tkeyExtent,
+      ByteBuffer mutations) {
+    applyUpdates(updateID, tkeyExtent, () -> CompressedMutations.decompress(mutations,
+        row -> new ServerMutation(new Text(row))));
+  }
+
+  private interface UpdatesSupplier {
+    List<? extends Mutation> get() throws IOException;
+  }
+
+  private void applyUpdates(long updateID, TKeyExtent tkeyExtent, UpdatesSupplier updates) {
     UpdateSession us = (UpdateSession) server.sessionManager.reserveSession(updateID);
     if (us == null) {
       return;
@@ -700,8 +721,7 @@ public class ThriftClientHandler extends ClientServiceHandler implements TabletC
       if (us.currentTablet != null) {
         long additionalMutationSize = 0;
         List<Mutation> mutations = us.queuedMutations.get(us.currentTablet);
-        for (TMutation tmutation : tmutations) {
-          Mutation mutation = new ServerMutation(tmutation);
+        for (Mutation mutation : updates.get()) {
           mutations.add(mutation);
           additionalMutationSize += mutation.numBytes();
         }
@@ -721,6 +741,11 @@ public class ThriftClientHandler extends ClientServiceHandler implements TabletC
           }
         }
       }
+    } catch (IOException e) {
+      // removing the session causes the client to resend the mutations
+      log.error("Failed to decode updates for {}, removing session", tkeyExtent, e);
+      server.sessionManager.removeSession(updateID, true);
+      reserved = false;
     } finally {
       if (reserved) {
         server.sessionManager.unreserveSession(us);
@@ -934,12 +959,41 @@ public class ThriftClientHandler extends ClientServiceHandler implements TabletC
       log.debug(String.format("Authentication Failures: %d, first %s", us.authFailures.size(),
           first.toString()));
     }
-    return new UpdateErrors(
+    UpdateErrors updateErrors = new UpdateErrors(
         us.failures.entrySet().stream()
             .collect(Collectors.toMap(e -> e.getKey().toThrift(), Entry::getValue)),
         violations.stream().map(ConstraintViolationSummary::toThrift).collect(Collectors.toList()),
         us.authFailures.entrySet().stream()
             .collect(Collectors.toMap(e -> e.getKey().toThrift(), Entry::getValue)));
+    Map<TKeyExtent,TBackpressure> backpressure = getBackpressure(us);
+    if (!backpressure.isEmpty()) {
+      updateErrors.setBackpressure(backpressure);
+    }
+    return updateErrors;
+  }
+
+  /**
+   * Creates hints for clients to slow down writes to the tablets in an update session. Nothing is
+   * returned unless memory is filling up, minor compactions are backing up, or the write ahead log
+   * is slow, so that clients of a healthy tablet server do not pay for the hints.
+   */
+  private Map<TKeyExtent,TBackpressure> getBackpressure(UpdateSession us) {
+    double memoryUsage = server.resourceManager.memoryUsage();
+    int queuedMinC = server.resourceManager.queuedMinorCompactions();
+    long holdTime = server.resourceManager.holdTime();
+    long walSyncLatency = us.walogTimes.num() == 0 ? 0 : us.walogTimes.max();
+
+    if (memoryUsage < BACKPRESSURE_MEMORY_USAGE && queuedMinC == 0 && holdTime == 0
+        && walSyncLatency < BACKPRESSURE_WAL_SYNC_MS) {
+      return Collections.emptyMap();
+    }
+
+    Map<TKeyExtent,TBackpressure> backpressure = new HashMap<>();
+    for (Tablet tablet : us.successfulCommits.keySet()) {
+      backpressure.put(tablet.getExtent().toThrift(),
+          new TBackpressure(memoryUsage, queuedMinC, walSyncLatency, holdTime));
+    }
+    return backpressure;
   }
 
   @Override
@@ -28,7 +28,6 @@ import org.apache.accumulo.core.metadata.TabletLocationState;
 import org.apache.accumulo.core.metadata.TabletLocationState.BadLocationStateException;
 import org.apache.accumulo.core.tabletserver.thrift.TUnloadTabletGoal;
 import org.apache.accumulo.server.manager.state.DistributedStoreException;
-import org.apache.accumulo.server.manager.state.TabletStateStore;
 import org.apache.accumulo.tserver.managermessage.TabletStatusMessage;
 import org.apache.accumulo.tserver.tablet.Tablet;
 import org.apache.zookeeper.KeeperException;
@@ -118,11 +117,12 @@ class UnloadTabletHandler implements Runnable {
       if (!goalState.equals(TUnloadTabletGoal.SUSPENDED) || extent.isRootTablet()
           || (extent.isMeta()
               && !server.getConfiguration().getBoolean(Property.MANAGER_METADATA_SUSPENDABLE))) {
-        TabletStateStore.unassign(server.getContext(), tls, null);
+        server.locationUpdates.unassign(tls);
       } else {
-        TabletStateStore.suspend(server.getContext(), tls, null,
+        server.locationUpdates.suspend(tls,
             requestTimeSkew + NANOSECONDS.toMillis(System.nanoTime()));
       }
+      server.locationPublisher.changed(extent);
     } catch (DistributedStoreException ex) {
       log.warn("Unable to update storage", ex);
     } catch (KeeperException e) {
@@ -0,0 +1,118 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.tserver.compactions;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.accumulo.core.conf.AccumuloConfiguration;
+import org.apache.accumulo.core.conf.Property;
+import org.apache.accumulo.core.util.threads.ThreadPools;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Scales the rate limits of the compaction services on a tablet server based on how long scans
+ * wait in the scan executor queues. Every second the average queue time of the scans that started
+ * running is compared to {@link Property#TSERV_MAJC_RATE_SCAN_LATENCY_TARGET}. When it is over the
+ * target the compaction rate is halved, down to {@link Property#TSERV_MAJC_RATE_MIN_RATIO} of the
+ * configured rate limit. Otherwise the rate is increased in small steps until compactions are back
+ * to their configured rate limit. Compaction services without a rate limit are never throttled.
+ */
+public class AdaptiveCompactionRate {
+
+  private static final Logger log = LoggerFactory.getLogger(AdaptiveCompactionRate.class);
+
+  private static final long UPDATE_INTERVAL_MS = 1000;
+  private static final double INCREASE_STEP = 0.1;
+
+  private final AccumuloConfiguration conf;
+
+  private final LongAdder scansStarted = new LongAdder();
+  private final LongAdder scanQueueNanos = new LongAdder();
+
+  private volatile double ratio = 1.0;
+
+  public AdaptiveCompactionRate(AccumuloConfiguration conf) {
+    this.conf = conf;
+  }
+
+  public void start(ScheduledExecutorService executor) {
+    ScheduledFuture<?> future = executor.scheduleWithFixedDelay(this::update, UPDATE_INTERVAL_MS,
+        UPDATE_INTERVAL_MS, MILLISECONDS);
+    ThreadPools.watchNonCriticalScheduledTask(future);
+  }
+
+  /**
+   * Called when a scan task starts running.
+   *
+   * @param queuedNanos
+   *          the time the scan task waited in a scan executor queue
+   */
+  public void scanStarted(long queuedNanos) {
+    scansStarted.increment();
+    scanQueueNanos.add(queuedNanos);
+  }
+
+  /**
+   * @return the rate a compaction service configured with the given rate limit should currently
+   *         use, a non-positive rate means unlimited
+   */
+  public long getRate(long maxRate) {
+    if (maxRate <= 0) {
+      return maxRate;
+    }
+    return Math.max(1, (long) (maxRate * ratio));
+  }
+
+  double getRatio() {
+    return ratio;
+  }
+
+  private void update() {
+    update(conf.getTimeInMillis(Property.TSERV_MAJC_RATE_SCAN_LATENCY_TARGET),
+        conf.getFraction(Property.TSERV_MAJC_RATE_MIN_RATIO));
+  }
+
+  synchronized void update(long targetMillis, double minRatio) {
+    long scans = scansStarted.sumThenReset();
+    long queueNanos = scanQueueNanos.sumThenReset();
+
+    if (targetMillis <= 0) {
+      ratio = 1.0;
+      return;
+    }
+
+    double newRatio;
+    if (scans > 0 && queueNanos / scans > MILLISECONDS.toNanos(targetMillis)) {
+      newRatio = Math.max(minRatio, ratio / 2);
+    } else {
+      newRatio = Math.min(1.0, ratio + INCREASE_STEP);
+    }
+
+    if (newRatio != ratio) {
+      log.trace("Adjusting compaction rate ratio from {} to {}, {} scans waited {}ms on average",
+          ratio, newRatio, scans, scans == 0 ? 0 : queueNanos / scans / 1_000_000);
+      ratio = newRatio;
+    }
+  }
+}
@@ -104,6 +104,10 @@ public interface Compactable {
 
   double getCompactionRatio();
 
+  double getScanRate();
+
+  int getMaxFiles();
+
   ExternalCompactionJob reserveExternalCompaction(CompactionServiceId service, CompactionJob job,
       String compactorId, ExternalCompactionId externalCompactionId);
 
@@ -32,10 +32,12 @@ import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import org.apache.accumulo.core.conf.Property;
 import org.apache.accumulo.core.dataImpl.KeyExtent;
+import org.apache.accumulo.core.metadata.TServerInstance;
 import org.apache.accumulo.core.metadata.schema.ExternalCompactionId;
 import org.apache.accumulo.core.spi.compaction.CompactionExecutorId;
 import org.apache.accumulo.core.spi.compaction.CompactionKind;
@@ -75,12 +77,16 @@ public class CompactionManager {
 
   private CompactionExecutorsMetrics ceMetrics;
 
+  private final AdaptiveCompactionRate adaptiveRate;
+
   private String lastDeprecationWarning = "";
 
   private Map<CompactionExecutorId,ExternalCompactionExecutor> externalExecutors;
 
   private Map<ExternalCompactionId,ExtCompInfo> runningExternalCompactions;
 
+  private ExternalCompactionNotifier externalCompactionNotifier;
+
   static class ExtCompInfo {
     final KeyExtent extent;
     final CompactionExecutorId executor;
@@ -180,7 +186,8 @@ public class CompactionManager {
   }
 
   public CompactionManager(Iterable<Compactable> compactables, ServerContext context,
-      CompactionExecutorsMetrics ceMetrics) {
+      CompactionExecutorsMetrics ceMetrics, AdaptiveCompactionRate adaptiveRate,
+      Supplier<TServerInstance> tserverSession) {
     this.compactables = compactables;
 
     this.currentCfg =
@@ -190,10 +197,14 @@ public class CompactionManager {
 
     this.ceMetrics = ceMetrics;
 
+    this.adaptiveRate = adaptiveRate;
+
     this.externalExecutors = new ConcurrentHashMap<>();
 
     this.runningExternalCompactions = new ConcurrentHashMap<>();
 
+    this.externalCompactionNotifier = new ExternalCompactionNotifier(context, tserverSession);
+
     Map<CompactionServiceId,CompactionService> tmpServices = new HashMap<>();
 
     currentCfg.getPlanners().forEach((serviceName, plannerClassName) -> {
@@ -202,7 +213,7 @@ public class CompactionManager {
             new CompactionService(serviceName, plannerClassName,
                 currentCfg.getRateLimit(serviceName),
                 currentCfg.getOptions().getOrDefault(serviceName, Map.of()), context, ceMetrics,
-                this::getExternalExecutor));
+                adaptiveRate, this::getExternalExecutor));
       } catch (RuntimeException e) {
         log.error("Failed to create compaction service {} with planner:{} options:{}", serviceName,
             plannerClassName, currentCfg.getOptions().getOrDefault(serviceName, Map.of()), e);
@@ -247,7 +258,7 @@ public class CompactionManager {
                   new CompactionService(serviceName, plannerClassName,
                       tmpCfg.getRateLimit(serviceName),
                       tmpCfg.getOptions().getOrDefault(serviceName, Map.of()), context, ceMetrics,
-                      this::getExternalExecutor));
+                      adaptiveRate, this::getExternalExecutor));
             } else {
               service.configurationChanged(plannerClassName, tmpCfg.getRateLimit(serviceName),
                   tmpCfg.getOptions().getOrDefault(serviceName, Map.of()));
@@ -328,7 +339,8 @@ public class CompactionManager {
   }
 
   ExternalCompactionExecutor getExternalExecutor(CompactionExecutorId ceid) {
-    return externalExecutors.computeIfAbsent(ceid, id -> new ExternalCompactionExecutor(id));
+    return externalExecutors.computeIfAbsent(ceid,
+        id -> new ExternalCompactionExecutor(id, externalCompactionNotifier::jobsAvailable));
   }
 
   ExternalCompactionExecutor getExternalExecutor(String queueName) {
@@ -52,6 +52,7 @@ import org.apache.accumulo.core.spi.compaction.CompactionPlanner;
 import org.apache.accumulo.core.spi.compaction.CompactionPlanner.PlanningParameters;
 import org.apache.accumulo.core.spi.compaction.CompactionServiceId;
 import org.apache.accumulo.core.util.compaction.CompactionExecutorIdImpl;
+import org.apache.accumulo.core.util.compaction.CompactionJobPrioritizer;
 import org.apache.accumulo.core.util.compaction.CompactionPlanImpl;
 import org.apache.accumulo.core.util.compaction.CompactionPlannerInitParams;
 import org.apache.accumulo.core.util.ratelimit.RateLimiter;
@@ -89,7 +90,7 @@ public class CompactionService {
 
   public CompactionService(String serviceName, String plannerClass, Long maxRate,
       Map<String,String> plannerOptions, ServerContext context,
-      CompactionExecutorsMetrics ceMetrics,
+      CompactionExecutorsMetrics ceMetrics, AdaptiveCompactionRate adaptiveRate,
       Function<CompactionExecutorId,ExternalCompactionExecutor> externExecutorSupplier) {
 
     Preconditions.checkArgument(maxRate >= 0);
@@ -111,9 +112,9 @@ public class CompactionService {
     this.rateLimit.set(maxRate);
 
     this.readLimiter = SharedRateLimiterFactory.getInstance(this.context.getConfiguration())
-        .create("CS_" + serviceName + "_read", () -> rateLimit.get());
+        .create("CS_" + serviceName + "_read", () -> adaptiveRate.getRate(rateLimit.get()));
     this.writeLimiter = SharedRateLimiterFactory.getInstance(this.context.getConfiguration())
-        .create("CS_" + serviceName + "_write", () -> rateLimit.get());
+        .create("CS_" + serviceName + "_write", () -> adaptiveRate.getRate(rateLimit.get()));
 
     initParams.getRequestedExecutors().forEach((ceid, numThreads) -> {
       tmpExecutors.put(ceid,
@@ -151,7 +152,7 @@ public class CompactionService {
       // only read status once to avoid race conditions since multiple compares are done
       var status = submittedJob.getStatus();
       if (status == Status.QUEUED) {
-        if (!jobs.remove(submittedJob.getJob())) {
+        if (!removeEquivalent(jobs, submittedJob.getJob())) {
           if (!submittedJob.cancel(Status.QUEUED)) {
             return false;
           }
@@ -172,6 +173,11 @@ public class CompactionService {
     return true;
   }
 
+  private static boolean removeEquivalent(Set<CompactionJob> jobs, CompactionJob queued) {
+    return jobs.remove(queued)
+        || jobs.removeIf(job -> CompactionJobPrioritizer.isEquivalent(queued, job));
+  }
+
   /**
    * Get compaction plan for the provided compactable tablet and possibly submit for compaction.
    * Plans get added to the planning queue before calling the planningExecutor to get the plan. If
@@ -242,6 +248,16 @@ public class CompactionService {
       return files.compacting;
     }
 
+    @Override
+    public double getScanRate() {
+      return comp.getScanRate();
+    }
+
+    @Override
+    public int getMaxFiles() {
+      return comp.getMaxFiles();
+    }
+
     @Override
     public Collection<CompactableFile> getCandidates() {
       return files.candidates;
@@ -23,6 +23,7 @@ import java.util.Comparator;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.PriorityBlockingQueue;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
@@ -112,8 +113,15 @@ public class ExternalCompactionExecutor implements CompactionExecutor {
   private final PriorityBlockingQueue<ExternalJob> queue;
   private final CompactionExecutorId ceid;
 
-  public ExternalCompactionExecutor(CompactionExecutorId ceid) {
+  // Priorities the coordinator is believed to know this tserver has jobs for. When a job is queued
+  // at any other priority the coordinator is notified so waiting compactors can pick it up.
+  private final Set<Short> reportedPriorities = ConcurrentHashMap.newKeySet();
+  private final Consumer<TCompactionQueueSummary> jobsAvailableNotifier;
+
+  public ExternalCompactionExecutor(CompactionExecutorId ceid,
+      Consumer<TCompactionQueueSummary> jobsAvailableNotifier) {
     this.ceid = ceid;
+    this.jobsAvailableNotifier = jobsAvailableNotifier;
     Comparator<ExternalJob> priorityComparator =
         Comparator.comparingLong(ej -> ej.getJob().getPriority());
     priorityComparator =
@@ -129,6 +137,9 @@ public class ExternalCompactionExecutor implements CompactionExecutor {
     Preconditions.checkArgument(!compactable.getExtent().isMeta());
     ExternalJob extJob = new ExternalJob(job, compactable, csid);
     queue.add(extJob);
+    if (reportedPriorities.add(job.getPriority())) {
+      jobsAvailableNotifier.accept(new TCompactionQueueSummary(getQueueName(), job.getPriority()));
+    }
     return extJob;
   }
 
@@ -186,6 +197,13 @@ public class ExternalCompactionExecutor implements CompactionExecutor {
         break;
       }
     }
+
+    if (found == null) {
+      // The coordinator forgets about this priority when nothing is found, so report it again the
+      // next time a job is queued at it.
+      reportedPriorities.remove((short) priority);
+    }
+
     return found;
   }
 
@@ -201,9 +219,19 @@ public class ExternalCompactionExecutor implements CompactionExecutor {
       prioStream = prioStream.sorted(Comparator.reverseOrder()).limit(100);
     }
 
-    String queueName = ((CompactionExecutorIdImpl) ceid).getExternalName();
+    List<Short> prios = prioStream.collect(Collectors.toList());
+
+    // the coordinator replaces everything it knew about this tserver with this summary
+    reportedPriorities.retainAll(prios);
+    reportedPriorities.addAll(prios);
+
+    String queueName = getQueueName();
+
+    return prios.stream().map(prio -> new TCompactionQueueSummary(queueName, prio));
+  }
 
-    return prioStream.map(prio -> new TCompactionQueueSummary(queueName, prio));
+  private String getQueueName() {
+    return ((CompactionExecutorIdImpl) ceid).getExternalName();
   }
 
   public CompactionExecutorId getId() {
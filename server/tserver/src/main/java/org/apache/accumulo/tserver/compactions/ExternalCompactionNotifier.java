@@ -0,0 +1,86 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.tserver.compactions;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.apache.accumulo.core.compaction.thrift.CompactionCoordinatorService;
+import org.apache.accumulo.core.metadata.TServerInstance;
+import org.apache.accumulo.core.rpc.ThriftUtil;
+import org.apache.accumulo.core.tabletserver.thrift.TCompactionQueueSummary;
+import org.apache.accumulo.core.trace.TraceUtil;
+import org.apache.accumulo.core.util.compaction.ExternalCompactionUtil;
+import org.apache.accumulo.core.util.threads.ThreadPools;
+import org.apache.accumulo.server.ServerContext;
+import org.apache.thrift.TException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Tells the compaction coordinator when external compaction jobs are queued at a priority that was
+ * not previously reported, so that compactors waiting for work get it without the coordinator
+ * having to poll for it. Notifications are best effort, the coordinator still periodically gathers
+ * summaries from all tablet servers.
+ */
+class ExternalCompactionNotifier {
+
+  private static final Logger log = LoggerFactory.getLogger(ExternalCompactionNotifier.class);
+
+  private final ServerContext context;
+  private final Supplier<TServerInstance> tserverSession;
+  private final ExecutorService executor;
+
+  ExternalCompactionNotifier(ServerContext context, Supplier<TServerInstance> tserverSession) {
+    this.context = context;
+    this.tserverSession = tserverSession;
+    // a single thread keeps notifications ordered and bounds the load on the coordinator
+    this.executor = ThreadPools.getServerThreadPools().createThreadPool(1, 1, 0L,
+        TimeUnit.MILLISECONDS, "ExternalCompactionNotifier", false);
+  }
+
+  void jobsAvailable(TCompactionQueueSummary summary) {
+    // Always notify, the coordinator alone knows whether compactors are waiting and even polling
+    // compactors find the jobs sooner once the coordinator knows about them
+    executor.execute(() -> notifyCoordinator(summary));
+  }
+
+  private void notifyCoordinator(TCompactionQueueSummary summary) {
+    var coordinatorHost = ExternalCompactionUtil.findCompactionCoordinator(context);
+    var tserver = tserverSession.get();
+    if (coordinatorHost.isEmpty() || tserver == null) {
+      log.trace("Unable to notify coordinator of queued compactions {}", summary);
+      return;
+    }
+
+    CompactionCoordinatorService.Client client = null;
+    try {
+      client = ThriftUtil.getClient(new CompactionCoordinatorService.Client.Factory(),
+          coordinatorHost.get(), context);
+      client.compactionJobsAvailable(TraceUtil.traceInfo(), context.rpcCreds(),
+          tserver.getHostPortSession(), summary);
+    } catch (TException e) {
+      log.debug("Failed to notify coordinator {} of queued compactions {}", coordinatorHost.get(),
+          summary, e);
+    } finally {
+      ThriftUtil.returnClient(client, context);
+    }
+  }
+}
@@ -21,6 +21,8 @@ package org.apache.accumulo.tserver.log;
 import java.io.DataInputStream;
 import java.io.EOFException;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -28,6 +30,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 import java.util.concurrent.ThreadPoolExecutor;
 
 import org.apache.accumulo.core.Constants;
@@ -154,31 +158,71 @@ public class LogSorter {
       @SuppressWarnings("deprecation")
       Property prop = sortedLogConf.resolve(Property.TSERV_WAL_SORT_BUFFER_SIZE,
           Property.TSERV_SORT_BUFFER_SIZE);
-      final long bufferSize = sortedLogConf.getAsBytes(prop);
+      // Parts are sorted and written by other threads while the next part is read. The buffer is
+      // split between the parts in memory at once, which are the parts being sorted and the part
+      // being read. Without write threads each part is written before the next one is read.
+      final long partSize = Math.max(1, sortedLogConf.getAsBytes(prop) / (writeThreads + 1));
+      final ArrayDeque<Future<?>> partsWriting = new ArrayDeque<>();
       Thread.currentThread().setName("Sorting " + name + " for recovery");
-      while (true) {
-        final ArrayList<Pair<LogFileKey,LogFileValue>> buffer = new ArrayList<>();
-        try {
-          long start = input.getPos();
-          while (input.getPos() - start < bufferSize) {
-            LogFileKey key = new LogFileKey();
-            LogFileValue value = new LogFileValue();
-            key.readFields(decryptingInput);
-            value.readFields(decryptingInput);
-            buffer.add(new Pair<>(key, value));
+      try {
+        boolean eof = false;
+        while (!eof) {
+          final ArrayList<Pair<LogFileKey,LogFileValue>> buffer = new ArrayList<>();
+          try {
+            long start = input.getPos();
+            while (input.getPos() - start < partSize) {
+              LogFileKey key = new LogFileKey();
+              LogFileValue value = new LogFileValue();
+              key.readFields(decryptingInput);
+              value.readFields(decryptingInput);
+              buffer.add(new Pair<>(key, value));
+            }
+          } catch (EOFException ex) {
+            eof = true;
+          }
+
+          final int partNum = part++;
+          if (writeThreadPool == null) {
+            writeBuffer(destPath, buffer, partNum);
+            continue;
           }
-          writeBuffer(destPath, buffer, part++);
-          buffer.clear();
-        } catch (EOFException ex) {
-          writeBuffer(destPath, buffer, part++);
-          break;
+          while (partsWriting.size() >= writeThreads) {
+            waitForPart(partsWriting.remove());
+          }
+          partsWriting.add(writeThreadPool.submit(() -> {
+            try {
+              writeBuffer(destPath, buffer, partNum);
+            } catch (IOException e) {
+              throw new UncheckedIOException(e);
+            }
+          }));
+        }
+
+        while (!partsWriting.isEmpty()) {
+          waitForPart(partsWriting.remove());
         }
+      } finally {
+        partsWriting.forEach(f -> f.cancel(true));
       }
       fs.create(new Path(destPath, "finished")).close();
       log.info("Finished log sort {} {} bytes {} parts in {}ms", name, getBytesCopied(), part,
           getSortTime());
     }
 
+    private void waitForPart(Future<?> partWrite) throws IOException {
+      try {
+        partWrite.get();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IOException("Interrupted while sorting log", e);
+      } catch (ExecutionException e) {
+        if (e.getCause() instanceof UncheckedIOException) {
+          throw ((UncheckedIOException) e.getCause()).getCause();
+        }
+        throw new IOException(e.getCause());
+      }
+    }
+
     synchronized void close() throws IOException {
       // If we receive an empty or malformed-header WAL, we won't
       // have input streams that need closing. Avoid the NPE.
@@ -205,6 +249,8 @@ public class LogSorter {
   }
 
   ThreadPoolExecutor threadPool;
+  private final int writeThreads;
+  private final ThreadPoolExecutor writeThreadPool;
   private final ServerContext context;
   private double walBlockSize;
 
@@ -216,6 +262,9 @@ public class LogSorter {
         Property.TSERV_RECOVERY_MAX_CONCURRENT));
     this.threadPool = ThreadPools.getServerThreadPools().createFixedThreadPool(threadPoolSize,
         this.getClass().getName(), true);
+    this.writeThreads = conf.getCount(Property.TSERV_WAL_SORT_WRITE_THREADS);
+    this.writeThreadPool = writeThreads == 0 ? null : ThreadPools.getServerThreadPools()
+        .createFixedThreadPool(threadPoolSize * writeThreads, "WAL sort writer", false);
     this.walBlockSize = DfsLogger.getWalBlockSize(conf);
   }
 
@@ -0,0 +1,157 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.tserver.metrics;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import org.apache.accumulo.core.data.TableId;
+import org.apache.accumulo.core.master.thrift.TableCompactionStats;
+import org.apache.accumulo.core.metrics.MetricsProducer;
+import org.apache.accumulo.core.spi.compaction.CompactionKind;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Tracks the I/O cost of major compactions per table. Meters are tagged with the table id and the
+ * compaction kind. Cumulative totals per table are also kept in memory so they can be reported to
+ * the manager and monitor.
+ */
+public class TableCompactionMetrics implements MetricsProducer {
+
+  private final Map<TableId,TableCompactionStats> totals = new HashMap<>();
+  // the meters registered for each table, guarded by the lock on totals
+  private final Map<TableId,Set<Meter>> meters = new HashMap<>();
+  private volatile MeterRegistry registry = null;
+
+  /**
+   * Records a completed compaction. A negative time indicates the start time of the compaction is
+   * unknown, which happens for external compactions started before the tablet was loaded.
+   */
+  public void compactionCompleted(TableId tableId, CompactionKind kind, int filesRead,
+      long bytesRead, long entriesRead, int filesWritten, long bytesWritten, long entriesWritten,
+      long timeMillis) {
+
+    synchronized (totals) {
+      TableCompactionStats stats = totals.computeIfAbsent(tableId, k -> new TableCompactionStats());
+      stats.compactions++;
+      stats.filesRead += filesRead;
+      stats.filesWritten += filesWritten;
+      stats.bytesRead += bytesRead;
+      stats.bytesWritten += bytesWritten;
+      stats.entriesRead += entriesRead;
+      stats.entriesWritten += entriesWritten;
+      stats.timeMillis += Math.max(0, timeMillis);
+
+      MeterRegistry reg = registry;
+      if (reg != null) {
+        Tags tags =
+            Tags.of("table", tableId.canonical(), "kind", kind.name().toLowerCase(Locale.ENGLISH));
+        Set<Meter> tableMeters = meters.computeIfAbsent(tableId, k -> new HashSet<>());
+        track(tableMeters, Counter.builder(METRICS_MAJC_FILES_READ)
+            .description("Files read by major compactions").tags(tags).register(reg))
+            .increment(filesRead);
+        track(tableMeters, Counter.builder(METRICS_MAJC_FILES_WRITTEN)
+            .description("Files written by major compactions").tags(tags).register(reg))
+            .increment(filesWritten);
+        track(tableMeters, Counter.builder(METRICS_MAJC_BYTES_READ)
+            .description("Bytes read by major compactions").tags(tags).register(reg))
+            .increment(bytesRead);
+        track(tableMeters, Counter.builder(METRICS_MAJC_BYTES_WRITTEN)
+            .description("Bytes written by major compactions").tags(tags).register(reg))
+            .increment(bytesWritten);
+        track(tableMeters, Counter.builder(METRICS_MAJC_ENTRIES_READ)
+            .description("Entries read by major compactions").tags(tags).register(reg))
+            .increment(entriesRead);
+        track(tableMeters, Counter.builder(METRICS_MAJC_ENTRIES_WRITTEN)
+            .description("Entries written by major compactions").tags(tags).register(reg))
+            .increment(entriesWritten);
+        if (timeMillis >= 0) {
+          track(tableMeters, Timer.builder(METRICS_MAJC_TIME).description("Major compaction time")
+              .tags(tags).register(reg)).record(Duration.ofMillis(timeMillis));
+        }
+        if (bytesRead > 0) {
+          track(tableMeters, DistributionSummary.builder(METRICS_MAJC_SIZE_RATIO)
+              .description("Ratio of bytes written to bytes read by major compactions")
+              .tags(tags).register(reg)).record((double) bytesWritten / bytesRead);
+        }
+      }
+    }
+  }
+
+  private static <T extends Meter> T track(Set<Meter> tableMeters, T meter) {
+    tableMeters.add(meter);
+    return meter;
+  }
+
+  /**
+   * Removes the totals and meters of tables that were deleted, so they are not reported forever.
+   *
+   * @param deleted
+   *          determines if a table that had compactions on this server was deleted
+   */
+  public void removeDeletedTables(Predicate<TableId> deleted) {
+    Set<TableId> tableIds;
+    synchronized (totals) {
+      tableIds = Set.copyOf(totals.keySet());
+    }
+    // checking the tables may read from ZooKeeper, so do not hold the lock while doing it
+    for (TableId tableId : tableIds) {
+      if (deleted.test(tableId)) {
+        synchronized (totals) {
+          totals.remove(tableId);
+          Set<Meter> tableMeters = meters.remove(tableId);
+          MeterRegistry reg = registry;
+          if (tableMeters != null && reg != null) {
+            tableMeters.forEach(reg::remove);
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * @return a copy of the cumulative compaction stats for a table or null if no compaction of the
+   *         table has completed on this server
+   */
+  public TableCompactionStats getStats(TableId tableId) {
+    synchronized (totals) {
+      TableCompactionStats stats = totals.get(tableId);
+      return stats == null ? null : stats.deepCopy();
+    }
+  }
+
+  @Override
+  public void registerMetrics(MeterRegistry registry) {
+    // Meters are registered dynamically as tables are compacted. Save off the reference to the
+    // registry to use at that time.
+    this.registry = registry;
+  }
+
+}
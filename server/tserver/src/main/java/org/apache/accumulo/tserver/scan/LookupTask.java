@@ -71,7 +71,7 @@ public class LookupTask extends ScanTask<MultiScanResult> {
       TableConfiguration acuTableConf = server.getTableConfiguration(session.threadPoolExtent);
       long maxResultsSize = acuTableConf.getAsBytes(Property.TABLE_SCAN_MAXMEM);
 
-      runState.set(ScanRunState.RUNNING);
+      setRunning();
       Thread.currentThread().setName("Client: " + session.client + " User: " + session.getUser()
           + " Start: " + session.startTime + " Table: ");
 
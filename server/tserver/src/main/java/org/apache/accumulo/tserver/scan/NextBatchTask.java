@@ -57,7 +57,7 @@ public class NextBatchTask extends ScanTask<ScanBatch> {
       if (isCancelled() || scanSession == null)
         return;
 
-      runState.set(ScanRunState.RUNNING);
+      setRunning();
 
       Thread.currentThread()
           .setName("User: " + scanSession.getUser() + " Start: " + scanSession.startTime
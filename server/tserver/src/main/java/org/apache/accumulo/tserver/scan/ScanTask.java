@@ -37,6 +37,7 @@ public abstract class ScanTask<T> implements RunnableFuture<T> {
   protected ArrayBlockingQueue<Object> resultQueue;
   protected AtomicInteger state;
   protected AtomicReference<ScanRunState> runState;
+  private final long createTime = System.nanoTime();
 
   private static final int INITIAL = 1;
   private static final int ADDED = 2;
@@ -50,6 +51,15 @@ public abstract class ScanTask<T> implements RunnableFuture<T> {
     resultQueue = new ArrayBlockingQueue<>(1);
   }
 
+  /**
+   * Marks the task as running and reports how long it waited to run, which is used to lower the
+   * rate of compactions while scans are waiting.
+   */
+  protected void setRunning() {
+    runState.set(ScanRunState.RUNNING);
+    server.getAdaptiveCompactionRate().scanStarted(System.nanoTime() - createTime);
+  }
+
   protected void addResult(Object o) {
     if (state.compareAndSet(INITIAL, ADDED))
       resultQueue.add(o);
@@ -31,6 +31,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.SortedMap;
@@ -96,6 +97,8 @@ public class CompactableImpl implements Compactable {
   private static class ExternalCompactionInfo {
     ExternalCompactionMetadata meta;
     CompactionJob job;
+    // zero when the compaction was found in the metadata table instead of reserved by this server
+    long startTime;
   }
 
   private static final Logger log = LoggerFactory.getLogger(CompactableImpl.class);
@@ -1246,6 +1249,7 @@ public class CompactableImpl implements Compactable {
     CompactionKind kind = job.getKind();
 
     CompactionStats stats = new CompactionStats();
+    List<DataFileValue> inputSizes = null;
     try {
       TabletLogger.compacting(getExtent(), job, cInfo.localCompactionCfg);
       tablet.incrementStatusMajor();
@@ -1259,6 +1263,8 @@ public class CompactableImpl implements Compactable {
 
       stats = CompactableUtils.compact(tablet, job, cInfo, compactEnv, compactFiles, tmpFileName);
 
+      inputSizes = List.copyOf(compactFiles.values());
+
       newFile = CompactableUtils.bringOnline(tablet.getDatafileManager(), cInfo, stats,
           compactFiles, allFiles, kind, tmpFileName);
 
@@ -1272,6 +1278,13 @@ public class CompactableImpl implements Compactable {
       completeCompaction(job, cInfo.jobFiles, newFile);
       tablet.updateTimer(MAJOR, queuedTime, startTime, stats.getEntriesRead(), newFile == null);
     }
+
+    // like external compactions, also record compactions that wrote no entries and added no file
+    if (inputSizes != null) {
+      compactionCompleted(kind, inputSizes, stats.getEntriesRead(),
+          new DataFileValue(stats.getFileSize(), stats.getEntriesWritten()),
+          System.currentTimeMillis() - startTime);
+    }
   }
 
   @Override
@@ -1294,6 +1307,7 @@ public class CompactableImpl implements Compactable {
 
       ExternalCompactionInfo ecInfo = new ExternalCompactionInfo();
 
+      ecInfo.startTime = System.currentTimeMillis();
       ecInfo.meta = new ExternalCompactionMetadata(cInfo.jobFiles,
           Sets.difference(cInfo.selectedFiles, cInfo.jobFiles), compactTmpName, compactorId,
           job.getKind(), job.getPriority(), job.getExecutor(), cInfo.propagateDeletes,
@@ -1344,6 +1358,9 @@ public class CompactableImpl implements Compactable {
       if (ecInfo != null) {
         log.debug("Attempting to commit external compaction {}", extCompactionId);
         StoredTabletFile metaFile = null;
+        SortedMap<StoredTabletFile,DataFileValue> allFiles = tablet.getDatafiles();
+        List<DataFileValue> inputSizes = ecInfo.meta.getJobFiles().stream().map(allFiles::get)
+            .filter(Objects::nonNull).collect(Collectors.toList());
         try {
           metaFile =
               tablet.getDatafileManager().bringMajorCompactionOnline(ecInfo.meta.getJobFiles(),
@@ -1360,6 +1377,11 @@ public class CompactableImpl implements Compactable {
           externalCompactions.remove(extCompactionId);
           log.debug("Completed commit of external compaction {}", extCompactionId);
         }
+        // the compactor does not report entries read, so estimate them from the input files
+        compactionCompleted(ecInfo.job.getKind(), inputSizes,
+            inputSizes.stream().mapToLong(DataFileValue::getNumEntries).sum(),
+            new DataFileValue(fileSize, entries),
+            ecInfo.startTime == 0 ? -1 : System.currentTimeMillis() - ecInfo.startTime);
       } else {
         log.debug("Ignoring request to commit external compaction that is unknown {}",
             extCompactionId);
@@ -1374,6 +1396,19 @@ public class CompactableImpl implements Compactable {
     }
   }
 
+  private void compactionCompleted(CompactionKind kind, Collection<DataFileValue> inputSizes,
+      long entriesRead, DataFileValue output, long timeMillis) {
+    // no file is added to the tablet when a compaction writes no entries
+    boolean wroteFile = output.getNumEntries() > 0;
+    var metrics = tablet.getTabletServer().getTableCompactionMetrics();
+    if (metrics != null) {
+      metrics.compactionCompleted(getTableId(), kind, inputSizes.size(),
+          inputSizes.stream().mapToLong(DataFileValue::getSize).sum(), entriesRead,
+          wroteFile ? 1 : 0, wroteFile ? output.getSize() : 0,
+          wroteFile ? output.getNumEntries() : 0, timeMillis);
+    }
+  }
+
   @Override
   public void externalCompactionFailed(ExternalCompactionId ecid) {
 
@@ -1479,6 +1514,16 @@ public class CompactableImpl implements Compactable {
     return tablet.getTableConfiguration().getFraction(Property.TABLE_MAJC_RATIO);
   }
 
+  @Override
+  public double getScanRate() {
+    return tablet.scanRate();
+  }
+
+  @Override
+  public int getMaxFiles() {
+    return tablet.getTableConfiguration().getMaxFilesPerTablet();
+  }
+
   public boolean isMajorCompactionRunning() {
     // this method intentionally not synchronized because its called by stats code.
     return compactionRunning;
@@ -20,10 +20,12 @@ package org.apache.accumulo.tserver.tablet;
 
 import java.io.IOException;
 import java.io.UncheckedIOException;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
@@ -76,8 +78,10 @@ import org.apache.accumulo.server.compaction.CompactionStats;
 import org.apache.accumulo.server.compaction.FileCompactor;
 import org.apache.accumulo.server.compaction.FileCompactor.CompactionCanceledException;
 import org.apache.accumulo.server.compaction.FileCompactor.CompactionEnv;
+import org.apache.accumulo.server.compaction.PartitionedCompactor;
 import org.apache.accumulo.server.conf.TableConfiguration;
 import org.apache.accumulo.server.fs.VolumeManager;
+import org.apache.accumulo.server.util.FileUtil;
 import org.apache.accumulo.server.util.MetadataTableUtil;
 import org.apache.accumulo.tserver.compaction.CompactionPlan;
 import org.apache.accumulo.tserver.compaction.CompactionStrategy;
@@ -88,6 +92,7 @@ import org.apache.accumulo.tserver.tablet.CompactableImpl.CompactionHelper;
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.Text;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -554,12 +559,42 @@ public class CompactableUtils {
     AccumuloConfiguration compactionConfig = getCompactionConfig(tablet.getTableConfiguration(),
         getOverrides(job.getKind(), tablet, cInfo.localHelper, job.getFiles()));
 
+    int partitions = getPartitionCount(compactionConfig, compactFiles.values());
+    if (partitions > 1) {
+      KeyExtent extent = tablet.getExtent();
+      List<Text> partitionRows = FileUtil.findPartitionRows(tablet.getContext(),
+          extent.prevEndRow(), extent.endRow(), new ArrayList<>(compactFiles.keySet()), partitions);
+      if (!partitionRows.isEmpty()) {
+        log.debug("Compacting {} as {} partitions", extent, partitionRows.size() + 1);
+        var tsrm = tablet.getTabletResources().getTabletServerResourceManager();
+        return new PartitionedCompactor(tablet.getContext(), extent, compactFiles, tmpFileName,
+            cInfo.propagateDeletes, cenv, cInfo.iters, compactionConfig, partitionRows,
+            tsrm.getCompactionPartitionExecutor()).call();
+      }
+    }
+
     FileCompactor compactor = new FileCompactor(tablet.getContext(), tablet.getExtent(),
         compactFiles, tmpFileName, cInfo.propagateDeletes, cenv, cInfo.iters, compactionConfig);
 
     return compactor.call();
   }
 
+  /**
+   * Determines how many row ranges to compact in parallel, so that each range has at least the
+   * configured minimum amount of input data.
+   */
+  static int getPartitionCount(AccumuloConfiguration compactionConfig,
+      Collection<DataFileValue> inputSizes) {
+    int maxPartitions = compactionConfig.getCount(Property.TABLE_COMPACTION_PARTITIONS);
+    if (maxPartitions <= 1) {
+      return 1;
+    }
+    long minSize = Math.max(1,
+        compactionConfig.getAsBytes(Property.TABLE_COMPACTION_PARTITION_MIN_SIZE));
+    long totalSize = inputSizes.stream().mapToLong(DataFileValue::getSize).sum();
+    return (int) Math.max(1, Math.min(maxPartitions, totalSize / minSize));
+  }
+
   /**
    * Finish major compaction by bringing the new file online and returning the completed file.
    */
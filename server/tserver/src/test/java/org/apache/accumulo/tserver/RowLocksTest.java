@@ -0,0 +1,113 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.tserver;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+
+import org.apache.accumulo.core.data.Mutation;
+import org.apache.accumulo.core.data.TableId;
+import org.apache.accumulo.core.dataImpl.KeyExtent;
+import org.apache.accumulo.core.dataImpl.thrift.TConditionalMutation;
+import org.apache.accumulo.tserver.RowLocks.RowLock;
+import org.apache.accumulo.tserver.data.ServerConditionalMutation;
+import org.junit.jupiter.api.Test;
+
+public class RowLocksTest {
+
+  private static final KeyExtent EXTENT = new KeyExtent(TableId.of("1"), null, null);
+
+  private static Map<KeyExtent,List<ServerConditionalMutation>> createUpdates(String... rows) {
+    List<ServerConditionalMutation> scml = new ArrayList<>();
+    long id = 0;
+    for (String row : rows) {
+      Mutation m = new Mutation(row);
+      m.put("cf", "cq", "v");
+      scml.add(new ServerConditionalMutation(
+          new TConditionalMutation(new ArrayList<>(), m.toThrift(), id++)));
+    }
+    Map<KeyExtent,List<ServerConditionalMutation>> updates = new HashMap<>();
+    updates.put(EXTENT, scml);
+    return updates;
+  }
+
+  @Test
+  public void testSharedStripe() {
+    // with a single stripe every row shares a lock, which must not block rows in the same batch
+    RowLocks rowLocks = new RowLocks(1);
+    Map<KeyExtent,List<ServerConditionalMutation>> updates = createUpdates("r1", "r2", "r3");
+    Map<KeyExtent,List<ServerConditionalMutation>> deferred = new HashMap<>();
+
+    List<RowLock> locks = rowLocks.acquireRowlocks(updates, deferred);
+    assertEquals(3, locks.size());
+    assertEquals(3, updates.get(EXTENT).size());
+    assertTrue(deferred.isEmpty());
+    rowLocks.releaseRowLocks(locks);
+
+    // all locks were released, so another thread can lock the stripe
+    assertTrue(locks.get(0).lock.tryLock());
+    locks.get(0).lock.unlock();
+  }
+
+  @Test
+  public void testDeferLockedRows() throws Exception {
+    RowLocks rowLocks = new RowLocks(1);
+
+    CountDownLatch locked = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    Thread holder = new Thread(() -> {
+      List<RowLock> locks = rowLocks.acquireRowlocks(createUpdates("r1"), new HashMap<>());
+      locked.countDown();
+      try {
+        release.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      } finally {
+        rowLocks.releaseRowLocks(locks);
+      }
+    });
+    holder.start();
+    locked.await();
+
+    Map<KeyExtent,List<ServerConditionalMutation>> updates = createUpdates("r1", "r2");
+    Map<KeyExtent,List<ServerConditionalMutation>> deferred = new HashMap<>();
+    List<RowLock> locks = rowLocks.acquireRowlocks(updates, deferred);
+
+    // the only stripe is held by the other thread, so both rows are deferred
+    assertTrue(locks.isEmpty());
+    assertTrue(updates.get(EXTENT).isEmpty());
+    assertEquals(2, deferred.get(EXTENT).size());
+
+    release.countDown();
+    holder.join();
+
+    updates = createUpdates("r1", "r2");
+    deferred = new HashMap<>();
+    locks = rowLocks.acquireRowlocks(updates, deferred);
+    assertEquals(2, locks.size());
+    assertTrue(deferred.isEmpty());
+    rowLocks.releaseRowLocks(locks);
+  }
+}
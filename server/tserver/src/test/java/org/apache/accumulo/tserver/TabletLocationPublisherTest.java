@@ -0,0 +1,131 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.tserver;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+
+import org.apache.accumulo.core.clientImpl.TabletLocationChanges;
+import org.apache.accumulo.core.conf.Property;
+import org.apache.accumulo.core.data.TableId;
+import org.apache.accumulo.core.dataImpl.KeyExtent;
+import org.apache.accumulo.core.metadata.MetadataTable;
+import org.apache.accumulo.fate.zookeeper.ZooReaderWriter;
+import org.apache.accumulo.fate.zookeeper.ZooReaderWriter.Mutator;
+import org.apache.accumulo.server.ServerContext;
+import org.apache.accumulo.server.conf.TableConfiguration;
+import org.apache.hadoop.io.Text;
+import org.apache.zookeeper.KeeperException;
+import org.easymock.Capture;
+import org.easymock.EasyMock;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class TabletLocationPublisherTest {
+
+  private static final TableId PUBLISHING = TableId.of("1");
+  private static final TableId NOT_PUBLISHING = TableId.of("2");
+
+  private ServerContext context;
+  private ZooReaderWriter zrw;
+  private TabletLocationPublisher publisher;
+
+  private static KeyExtent nke(TableId tableId, String endRow, String prevEndRow) {
+    return new KeyExtent(tableId, endRow == null ? null : new Text(endRow),
+        prevEndRow == null ? null : new Text(prevEndRow));
+  }
+
+  private static String path(TableId tableId) {
+    return "/accumulo/iid/tables/" + tableId + "/location-changes";
+  }
+
+  @BeforeEach
+  public void setup() {
+    context = EasyMock.createMock(ServerContext.class);
+    zrw = EasyMock.createMock(ZooReaderWriter.class);
+    TableConfiguration publishingConf = EasyMock.createMock(TableConfiguration.class);
+    TableConfiguration notPublishingConf = EasyMock.createMock(TableConfiguration.class);
+
+    EasyMock.expect(context.getZooKeeperRoot()).andReturn("/accumulo/iid").anyTimes();
+    EasyMock.expect(context.getZooReaderWriter()).andReturn(zrw).anyTimes();
+    EasyMock.expect(context.getTableConfiguration(PUBLISHING)).andReturn(publishingConf)
+        .anyTimes();
+    EasyMock.expect(context.getTableConfiguration(NOT_PUBLISHING)).andReturn(notPublishingConf)
+        .anyTimes();
+    EasyMock.expect(publishingConf.getBoolean(Property.TABLE_LOCATION_CHANGES_PUBLISH))
+        .andReturn(true).anyTimes();
+    EasyMock.expect(notPublishingConf.getBoolean(Property.TABLE_LOCATION_CHANGES_PUBLISH))
+        .andReturn(false).anyTimes();
+    EasyMock.replay(context, publishingConf, notPublishingConf);
+
+    publisher = new TabletLocationPublisher(context);
+  }
+
+  @Test
+  public void testPublishOncePerTable() throws Exception {
+    KeyExtent ke1 = nke(PUBLISHING, "m", null);
+    KeyExtent ke2 = nke(PUBLISHING, null, "m");
+
+    Capture<byte[]> created = EasyMock.newCapture();
+    Capture<Mutator> mutator = EasyMock.newCapture();
+    EasyMock.expect(zrw.mutateOrCreate(EasyMock.eq(path(PUBLISHING)), EasyMock.capture(created),
+        EasyMock.capture(mutator))).andReturn(null);
+    EasyMock.replay(zrw);
+
+    publisher.changed(ke1);
+    publisher.changed(nke(NOT_PUBLISHING, null, null));
+    publisher.changed(new KeyExtent(MetadataTable.ID, null, null));
+    publisher.changed(ke2);
+    publisher.publishQueued();
+    EasyMock.verify(zrw);
+
+    TabletLocationChanges changes = TabletLocationChanges.deserialize(created.getValue());
+    assertEquals(0, changes.getSequence());
+    assertEquals(List.of(ke1, ke2), changes.getExtents());
+
+    // publishing again increments the sequence of what is already there, and keeps it
+    byte[] current = TabletLocationChanges.serialize(5, List.of(ke1));
+    changes = TabletLocationChanges.deserialize(mutator.getValue().mutate(current));
+    assertEquals(6, changes.getSequence());
+    assertEquals(List.of(ke1, ke2), changes.getExtents());
+    assertEquals(List.of(ke1, ke1, ke2), changes.getExtentsSince(4));
+  }
+
+  @Test
+  public void testNothingQueued() {
+    EasyMock.replay(zrw);
+    publisher.changed(nke(NOT_PUBLISHING, "m", null));
+    publisher.publishQueued();
+    EasyMock.verify(zrw);
+  }
+
+  @Test
+  public void testFailedPublishIsDropped() throws Exception {
+    EasyMock.expect(zrw.mutateOrCreate(EasyMock.eq(path(PUBLISHING)), EasyMock.anyObject(),
+        EasyMock.anyObject())).andThrow(new KeeperException.NoNodeException());
+    EasyMock.replay(zrw);
+
+    publisher.changed(nke(PUBLISHING, "m", null));
+    publisher.publishQueued();
+    // clients find out about the change when they use the old location
+    publisher.publishQueued();
+    EasyMock.verify(zrw);
+  }
+}
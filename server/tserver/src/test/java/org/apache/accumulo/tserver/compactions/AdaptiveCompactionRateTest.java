@@ -0,0 +1,71 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.tserver.compactions;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.apache.accumulo.core.conf.DefaultConfiguration;
+import org.junit.jupiter.api.Test;
+
+public class AdaptiveCompactionRateTest {
+
+  @Test
+  public void testAdjust() {
+    var rate = new AdaptiveCompactionRate(DefaultConfiguration.getInstance());
+
+    assertEquals(1000, rate.getRate(1000));
+    assertEquals(0, rate.getRate(0));
+
+    // slow scans halve the rate until the minimum is reached
+    for (double expected : new double[] {.5, .25, .2, .2}) {
+      rate.scanStarted(MILLISECONDS.toNanos(150));
+      rate.scanStarted(MILLISECONDS.toNanos(100));
+      rate.update(100, .2);
+      assertEquals(expected, rate.getRatio(), .0001);
+    }
+    assertEquals(200, rate.getRate(1000));
+    // unlimited compaction services are not throttled
+    assertEquals(0, rate.getRate(0));
+
+    // fast scans, or no scans, let the rate recover
+    rate.scanStarted(MILLISECONDS.toNanos(50));
+    rate.update(100, .2);
+    assertEquals(.3, rate.getRatio(), .0001);
+    for (int i = 0; i < 10; i++) {
+      rate.update(100, .2);
+    }
+    assertEquals(1.0, rate.getRatio(), .0001);
+    assertEquals(1000, rate.getRate(1000));
+  }
+
+  @Test
+  public void testDisabled() {
+    var rate = new AdaptiveCompactionRate(DefaultConfiguration.getInstance());
+
+    rate.scanStarted(MILLISECONDS.toNanos(150));
+    rate.update(100, .2);
+    assertEquals(.5, rate.getRatio(), .0001);
+
+    // setting the target to zero immediately removes any throttling
+    rate.scanStarted(MILLISECONDS.toNanos(150));
+    rate.update(0, .2);
+    assertEquals(1.0, rate.getRatio(), .0001);
+  }
+}
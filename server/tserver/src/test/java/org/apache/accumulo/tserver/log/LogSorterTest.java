@@ -0,0 +1,130 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.tserver.log;
+
+import static org.easymock.EasyMock.createMock;
+import static org.easymock.EasyMock.expect;
+import static org.easymock.EasyMock.replay;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map.Entry;
+
+import org.apache.accumulo.core.conf.ConfigurationCopy;
+import org.apache.accumulo.core.conf.DefaultConfiguration;
+import org.apache.accumulo.core.conf.Property;
+import org.apache.accumulo.core.crypto.CryptoServiceFactory;
+import org.apache.accumulo.server.ServerContext;
+import org.apache.accumulo.server.fs.VolumeManager;
+import org.apache.accumulo.server.fs.VolumeManagerImpl;
+import org.apache.accumulo.tserver.WithTestNames;
+import org.apache.accumulo.tserver.logger.LogFileKey;
+import org.apache.accumulo.tserver.logger.LogFileValue;
+import org.apache.commons.io.IOUtils;
+import org.apache.hadoop.fs.Path;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+
+@SuppressFBWarnings(value = {"PATH_TRAVERSAL_IN", "PATH_TRAVERSAL_OUT"},
+    justification = "paths not set by user input")
+public class LogSorterTest extends WithTestNames {
+
+  private static final String WALOG = "/walog-from-20.walog";
+
+  private ServerContext context;
+  private VolumeManager fs;
+  private String testPath;
+
+  @TempDir
+  private static File tempDir;
+
+  @BeforeEach
+  public void setUp() throws Exception {
+    File workDir = new File(tempDir, testName());
+    assertTrue(workDir.isDirectory() || workDir.mkdir(), "Failed to create folder: " + workDir);
+    testPath = workDir.getAbsolutePath();
+    fs = VolumeManagerImpl.getLocalForTesting(testPath);
+
+    context = createMock(ServerContext.class);
+    expect(context.getVolumeManager()).andReturn(fs).anyTimes();
+    expect(context.getCryptoService()).andReturn(CryptoServiceFactory.newDefaultInstance())
+        .anyTimes();
+    expect(context.getConfiguration()).andReturn(DefaultConfiguration.getInstance()).anyTimes();
+    replay(context);
+
+    try (InputStream walogStream = getClass().getResourceAsStream(WALOG);
+        OutputStream walogOut = new FileOutputStream(testPath + WALOG)) {
+      IOUtils.copyLarge(walogStream, walogOut);
+    }
+  }
+
+  @AfterEach
+  public void tearDown() throws Exception {
+    fs.close();
+  }
+
+  private List<String> sort(int writeThreads) throws IOException {
+    ConfigurationCopy conf = new ConfigurationCopy(DefaultConfiguration.getInstance());
+    // small enough that the log is sorted in many parts
+    conf.set(Property.TSERV_WAL_SORT_BUFFER_SIZE, "200");
+    conf.set(Property.TSERV_WAL_SORT_WRITE_THREADS, Integer.toString(writeThreads));
+    String destPath = "file://" + testPath + "/sorted-" + writeThreads;
+
+    LogSorter.LogProcessor logProcessor = new LogSorter(context, conf).new LogProcessor();
+    logProcessor.sort(fs, WALOG, new Path("file://" + testPath + WALOG), destPath);
+
+    long parts = Arrays.stream(fs.listStatus(new Path(destPath)))
+        .filter(status -> status.getPath().getName().startsWith("part-r-")).count();
+    assertTrue(parts > 1, "Expected the log to be sorted in parts, but got " + parts);
+
+    List<String> sorted = new ArrayList<>();
+    LogFileKey previous = null;
+    try (RecoveryLogsIterator rli =
+        new RecoveryLogsIterator(context, List.of(new Path(destPath)), null, null, true)) {
+      while (rli.hasNext()) {
+        Entry<LogFileKey,LogFileValue> entry = rli.next();
+        assertTrue(previous == null || previous.compareTo(entry.getKey()) <= 0,
+            entry.getKey() + " sorted after " + previous);
+        previous = entry.getKey();
+        sorted.add(entry.getKey() + " " + entry.getValue());
+      }
+    }
+    return sorted;
+  }
+
+  @Test
+  public void testWriteThreads() throws IOException {
+    List<String> inline = sort(0);
+    assertTrue(inline.size() > 1);
+    assertEquals(inline, sort(1));
+    assertEquals(inline, sort(4));
+  }
+}
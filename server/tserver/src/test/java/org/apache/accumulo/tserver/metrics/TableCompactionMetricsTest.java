@@ -0,0 +1,106 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.tserver.metrics;
+
+import static org.apache.accumulo.core.metrics.MetricsProducer.METRICS_MAJC_BYTES_READ;
+import static org.apache.accumulo.core.metrics.MetricsProducer.METRICS_MAJC_BYTES_WRITTEN;
+import static org.apache.accumulo.core.metrics.MetricsProducer.METRICS_MAJC_SIZE_RATIO;
+import static org.apache.accumulo.core.metrics.MetricsProducer.METRICS_MAJC_TIME;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.accumulo.core.data.TableId;
+import org.apache.accumulo.core.master.thrift.TableCompactionStats;
+import org.apache.accumulo.core.spi.compaction.CompactionKind;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class TableCompactionMetricsTest {
+
+  @Test
+  public void testTotals() {
+    TableCompactionMetrics metrics = new TableCompactionMetrics();
+    TableId t1 = TableId.of("1");
+    TableId t2 = TableId.of("2");
+
+    assertNull(metrics.getStats(t1));
+
+    metrics.compactionCompleted(t1, CompactionKind.SYSTEM, 3, 3000, 30, 1, 1500, 25, 100);
+    metrics.compactionCompleted(t1, CompactionKind.USER, 2, 1000, 10, 0, 0, 0, -1);
+    metrics.compactionCompleted(t2, CompactionKind.SYSTEM, 4, 400, 4, 1, 400, 4, 7);
+
+    assertEquals(new TableCompactionStats(2, 5, 1, 4000, 1500, 40, 25, 100),
+        metrics.getStats(t1));
+    assertEquals(new TableCompactionStats(1, 4, 1, 400, 400, 4, 4, 7), metrics.getStats(t2));
+
+    // returned stats are copies
+    metrics.getStats(t2).compactions = 99;
+    assertEquals(1, metrics.getStats(t2).compactions);
+  }
+
+  @Test
+  public void testMeters() {
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    TableCompactionMetrics metrics = new TableCompactionMetrics();
+    metrics.registerMetrics(registry);
+
+    TableId t1 = TableId.of("1");
+    metrics.compactionCompleted(t1, CompactionKind.SYSTEM, 3, 3000, 30, 1, 1500, 25, 100);
+    metrics.compactionCompleted(t1, CompactionKind.SYSTEM, 2, 1000, 10, 1, 1000, 10, 50);
+    metrics.compactionCompleted(t1, CompactionKind.USER, 2, 1000, 10, 1, 250, 5, -1);
+
+    assertEquals(4000, registry.get(METRICS_MAJC_BYTES_READ).tags("table", "1", "kind", "system")
+        .counter().count());
+    assertEquals(250, registry.get(METRICS_MAJC_BYTES_WRITTEN).tags("table", "1", "kind", "user")
+        .counter().count());
+
+    var timer = registry.get(METRICS_MAJC_TIME).tags("kind", "system").timer();
+    assertEquals(2, timer.count());
+    assertEquals(150, timer.totalTime(TimeUnit.MILLISECONDS));
+    // time of the user compaction is unknown, so it is not recorded
+    assertEquals(0, registry.find(METRICS_MAJC_TIME).tags("kind", "user").timers().size());
+
+    var ratio = registry.get(METRICS_MAJC_SIZE_RATIO).tags("kind", "system").summary();
+    assertEquals(1.5, ratio.totalAmount(), 0.0001);
+  }
+
+  @Test
+  public void testRemoveDeletedTables() {
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    TableCompactionMetrics metrics = new TableCompactionMetrics();
+    metrics.registerMetrics(registry);
+
+    TableId t1 = TableId.of("1");
+    TableId t2 = TableId.of("2");
+    metrics.compactionCompleted(t1, CompactionKind.SYSTEM, 3, 3000, 30, 1, 1500, 25, 100);
+    metrics.compactionCompleted(t1, CompactionKind.USER, 2, 1000, 10, 1, 250, 5, 50);
+    metrics.compactionCompleted(t2, CompactionKind.SYSTEM, 4, 400, 4, 1, 400, 4, 7);
+
+    metrics.removeDeletedTables(t1::equals);
+
+    assertNull(metrics.getStats(t1));
+    assertEquals(0, registry.find(METRICS_MAJC_BYTES_READ).tags("table", "1").meters().size());
+    assertEquals(0, registry.find(METRICS_MAJC_TIME).tags("table", "1").meters().size());
+    assertEquals(400, registry.get(METRICS_MAJC_BYTES_READ).tags("table", "2").counter().count());
+    assertEquals(1, metrics.getStats(t2).compactions);
+  }
+}
@@ -39,11 +39,13 @@ import org.apache.accumulo.core.clientImpl.ManagerClient;
 import org.apache.accumulo.core.conf.Property;
 import org.apache.accumulo.core.conf.SiteConfiguration;
 import org.apache.accumulo.fate.AdminUtil;
+import org.apache.accumulo.fate.FateStores;
 import org.apache.accumulo.fate.FateTxId;
 import org.apache.accumulo.fate.ReadOnlyRepo;
+import org.apache.accumulo.fate.ReadOnlyTStore;
 import org.apache.accumulo.fate.ReadOnlyTStore.TStatus;
 import org.apache.accumulo.fate.Repo;
-import org.apache.accumulo.fate.ZooStore;
+import org.apache.accumulo.fate.TStore;
 import org.apache.accumulo.fate.zookeeper.ServiceLock;
 import org.apache.accumulo.fate.zookeeper.ServiceLock.ServiceLockPath;
 import org.apache.accumulo.fate.zookeeper.ZooReaderWriter;
@@ -138,9 +140,35 @@ public class FateCommand extends Command {
     return context.getZooReader().asWriter(secret);
   }
 
-  protected ZooStore<FateCommand> getZooStore(String fateZkPath, ZooReaderWriter zrw)
-      throws KeeperException, InterruptedException {
-    return new ZooStore<FateCommand>(fateZkPath, zrw);
+  private String getFateTable(ClientContext context)
+      throws AccumuloException, AccumuloSecurityException {
+    return context.instanceOperations().getSystemConfiguration()
+        .getOrDefault(Property.MANAGER_FATE_TABLE.getKey(), "");
+  }
+
+  /**
+   * Creates a store for inspecting transactions while the manager may be running them.
+   */
+  protected ReadOnlyTStore<FateCommand> getReadOnlyStore(ClientContext context, String zkRoot,
+      ZooReaderWriter zrw)
+      throws KeeperException, InterruptedException, AccumuloException, AccumuloSecurityException {
+    return FateStores.createReadOnly(getFateTable(context), zkRoot, zrw, context);
+  }
+
+  /**
+   * Creates a store that can change transactions, which requires the manager to be down.
+   *
+   * @return the store, or null when transactions are stored in a table and the manager is running,
+   *         since creating the store would release the reservations of the manager
+   */
+  protected TStore<FateCommand> getStore(AdminUtil<FateCommand> admin, ClientContext context,
+      String zkRoot, ZooReaderWriter zrw, ServiceLockPath managerLockPath)
+      throws KeeperException, InterruptedException, AccumuloException, AccumuloSecurityException {
+    String fateTable = getFateTable(context);
+    if (!fateTable.isEmpty() && !admin.checkGlobalLock(zrw, managerLockPath)) {
+      return null;
+    }
+    return FateStores.create(fateTable, zkRoot, zrw, context);
   }
 
   @Override
@@ -153,11 +181,9 @@ public class FateCommand extends Command {
     AdminUtil<FateCommand> admin = new AdminUtil<>(false);
 
     String zkRoot = getZKRoot(context);
-    String fatePath = zkRoot + Constants.ZFATE;
     var managerLockPath = ServiceLock.path(zkRoot + Constants.ZMANAGER_LOCK);
     var tableLocksPath = ServiceLock.path(zkRoot + Constants.ZTABLE_LOCKS);
     ZooReaderWriter zk = getZooReaderWriter(context, cl.getOptionValue(secretOption.getOpt()));
-    ZooStore<FateCommand> zs = getZooStore(fatePath, zk);
 
     if (cl.hasOption(cancel.getOpt())) {
       String[] txids = cl.getOptionValues(cancel.getOpt());
@@ -166,19 +192,23 @@ public class FateCommand extends Command {
     } else if (cl.hasOption(fail.getOpt())) {
       String[] txids = cl.getOptionValues(fail.getOpt());
       validateArgs(txids);
-      failedCommand = failTx(admin, zs, zk, managerLockPath, txids);
+      // a null store is not used, failing a transaction checks again that the manager is down
+      failedCommand = failTx(admin, getStore(admin, context, zkRoot, zk, managerLockPath), zk,
+          managerLockPath, txids);
     } else if (cl.hasOption(delete.getOpt())) {
       String[] txids = cl.getOptionValues(delete.getOpt());
       validateArgs(txids);
-      failedCommand = deleteTx(admin, zs, zk, managerLockPath, txids);
+      failedCommand = deleteTx(admin, getStore(admin, context, zkRoot, zk, managerLockPath), zk,
+          managerLockPath, txids);
     } else if (cl.hasOption(list.getOpt())) {
-      printTx(shellState, admin, zs, zk, tableLocksPath, cl.getOptionValues(list.getOpt()), cl,
-          cl.hasOption(statusOption.getOpt()));
+      printTx(shellState, admin, getReadOnlyStore(context, zkRoot, zk), zk, tableLocksPath,
+          cl.getOptionValues(list.getOpt()), cl, cl.hasOption(statusOption.getOpt()));
     } else if (cl.hasOption(print.getOpt())) {
-      printTx(shellState, admin, zs, zk, tableLocksPath, cl.getOptionValues(print.getOpt()), cl,
-          cl.hasOption(statusOption.getOpt()));
+      printTx(shellState, admin, getReadOnlyStore(context, zkRoot, zk), zk, tableLocksPath,
+          cl.getOptionValues(print.getOpt()), cl, cl.hasOption(statusOption.getOpt()));
     } else if (cl.hasOption(dump.getOpt())) {
-      String output = dumpTx(zs, cl.getOptionValues(dump.getOpt()));
+      String output =
+          dumpTx(getReadOnlyStore(context, zkRoot, zk), cl.getOptionValues(dump.getOpt()));
       System.out.println(output);
     } else {
       throw new ParseException("Invalid command option");
@@ -187,7 +217,7 @@ public class FateCommand extends Command {
     return failedCommand ? 1 : 0;
   }
 
-  String dumpTx(ZooStore<FateCommand> zs, String[] args) {
+  String dumpTx(ReadOnlyTStore<FateCommand> zs, String[] args) {
     List<Long> txids;
     if (args.length == 1) {
       txids = zs.list();
@@ -212,8 +242,9 @@ public class FateCommand extends Command {
     return gson.toJson(txStacks);
   }
 
-  protected void printTx(Shell shellState, AdminUtil<FateCommand> admin, ZooStore<FateCommand> zs,
-      ZooReaderWriter zk, ServiceLock.ServiceLockPath tableLocksPath, String[] args, CommandLine cl,
+  protected void printTx(Shell shellState, AdminUtil<FateCommand> admin,
+      ReadOnlyTStore<FateCommand> zs, ZooReaderWriter zk,
+      ServiceLock.ServiceLockPath tableLocksPath, String[] args, CommandLine cl,
       boolean printStatus) throws InterruptedException, KeeperException, IOException {
     // Parse transaction ID filters for print display
     Set<Long> filterTxid = null;
@@ -242,7 +273,7 @@ public class FateCommand extends Command {
         !cl.hasOption(disablePaginationOpt.getOpt()));
   }
 
-  protected boolean deleteTx(AdminUtil<FateCommand> admin, ZooStore<FateCommand> zs,
+  protected boolean deleteTx(AdminUtil<FateCommand> admin, TStore<FateCommand> zs,
       ZooReaderWriter zk, ServiceLockPath zLockManagerPath, String[] args)
       throws InterruptedException, KeeperException {
     for (int i = 1; i < args.length; i++) {
@@ -287,7 +318,7 @@ public class FateCommand extends Command {
     return true;
   }
 
-  public boolean failTx(AdminUtil<FateCommand> admin, ZooStore<FateCommand> zs, ZooReaderWriter zk,
+  public boolean failTx(AdminUtil<FateCommand> admin, TStore<FateCommand> zs, ZooReaderWriter zk,
       ServiceLockPath managerLockPath, String[] args) {
     boolean success = true;
     for (int i = 1; i < args.length; i++) {
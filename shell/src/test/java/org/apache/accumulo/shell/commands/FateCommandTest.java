@@ -40,6 +40,7 @@ import org.apache.accumulo.core.clientImpl.ClientContext;
 import org.apache.accumulo.fate.AdminUtil;
 import org.apache.accumulo.fate.ReadOnlyRepo;
 import org.apache.accumulo.fate.ReadOnlyTStore;
+import org.apache.accumulo.fate.TStore;
 import org.apache.accumulo.fate.ZooStore;
 import org.apache.accumulo.fate.zookeeper.ServiceLock.ServiceLockPath;
 import org.apache.accumulo.fate.zookeeper.ZooReaderWriter;
@@ -81,19 +82,25 @@ public class FateCommandTest {
     }
 
     @Override
-    protected ZooStore<FateCommand> getZooStore(String fateZkPath, ZooReaderWriter zrw)
-        throws KeeperException, InterruptedException {
+    protected ReadOnlyTStore<FateCommand> getReadOnlyStore(ClientContext context, String zkRoot,
+        ZooReaderWriter zrw) {
       return null;
     }
 
     @Override
-    String dumpTx(ZooStore<FateCommand> zs, String[] args) {
+    protected TStore<FateCommand> getStore(AdminUtil<FateCommand> admin, ClientContext context,
+        String zkRoot, ZooReaderWriter zrw, ServiceLockPath managerLockPath) {
+      return null;
+    }
+
+    @Override
+    String dumpTx(ReadOnlyTStore<FateCommand> zs, String[] args) {
       dumpCalled = true;
       return "";
     }
 
     @Override
-    protected boolean deleteTx(AdminUtil<FateCommand> admin, ZooStore<FateCommand> zs,
+    protected boolean deleteTx(AdminUtil<FateCommand> admin, TStore<FateCommand> zs,
         ZooReaderWriter zk, ServiceLockPath zLockManagerPath, String[] args)
         throws InterruptedException, KeeperException {
       deleteCalled = true;
@@ -108,16 +115,17 @@ public class FateCommandTest {
     }
 
     @Override
-    public boolean failTx(AdminUtil<FateCommand> admin, ZooStore<FateCommand> zs,
+    public boolean failTx(AdminUtil<FateCommand> admin, TStore<FateCommand> zs,
         ZooReaderWriter zk, ServiceLockPath managerLockPath, String[] args) {
       failCalled = true;
       return true;
     }
 
     @Override
-    protected void printTx(Shell shellState, AdminUtil<FateCommand> admin, ZooStore<FateCommand> zs,
-        ZooReaderWriter zk, ServiceLockPath tableLocksPath, String[] args, CommandLine cl,
-        boolean printStatus) throws InterruptedException, KeeperException, IOException {
+    protected void printTx(Shell shellState, AdminUtil<FateCommand> admin,
+        ReadOnlyTStore<FateCommand> zs, ZooReaderWriter zk, ServiceLockPath tableLocksPath,
+        String[] args, CommandLine cl, boolean printStatus)
+        throws InterruptedException, KeeperException, IOException {
       printCalled = true;
     }
 
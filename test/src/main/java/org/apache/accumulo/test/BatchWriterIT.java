@@ -18,14 +18,25 @@
  */
 package org.apache.accumulo.test;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.accumulo.core.client.Accumulo;
 import org.apache.accumulo.core.client.AccumuloClient;
 import org.apache.accumulo.core.client.BatchWriter;
 import org.apache.accumulo.core.client.BatchWriterConfig;
+import org.apache.accumulo.core.client.MutationsRejectedException;
+import org.apache.accumulo.core.client.Scanner;
 import org.apache.accumulo.core.data.Mutation;
 import org.apache.accumulo.core.data.Value;
+import org.apache.accumulo.core.security.Authorizations;
 import org.apache.accumulo.harness.AccumuloClusterHarness;
 import org.junit.jupiter.api.Test;
 
@@ -52,4 +63,59 @@ public class BatchWriterIT extends AccumuloClusterHarness {
     }
   }
 
+  @Test
+  public void testAsync() throws Exception {
+    String table = getUniqueNames(1)[0];
+    try (AccumuloClient c = Accumulo.newClient().from(getClientProps()).build()) {
+      c.tableOperations().create(table);
+      BatchWriterConfig config = new BatchWriterConfig();
+      // small enough that most mutations are added while memory is full
+      config.setMaxMemory(1024);
+      List<CompletableFuture<Void>> futures = new ArrayList<>();
+      try (BatchWriter writer = c.createBatchWriter(table, config)) {
+        for (int i = 0; i < 1000; i++) {
+          Mutation m = new Mutation(String.format("row%04d", i));
+          m.put("cf", "cq", new Value("value" + i));
+          futures.add(writer.addMutationAsync(m));
+        }
+        // flushing sends any mutations still waiting for the max latency, and waits for their
+        // futures to complete
+        writer.flush();
+        futures.forEach(future -> assertTrue(future.isDone()));
+      }
+      CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get();
+
+      try (Scanner scanner = c.createScanner(table, Authorizations.EMPTY)) {
+        assertEquals(1000, scanner.stream().count());
+      }
+    }
+  }
+
+  @Test
+  public void testAsyncCallbackFlushes() throws Exception {
+    String table = getUniqueNames(1)[0];
+    try (AccumuloClient c = Accumulo.newClient().from(getClientProps()).build()) {
+      c.tableOperations().create(table);
+      try (BatchWriter writer = c.createBatchWriter(table)) {
+        Mutation m = new Mutation("row");
+        m.put("cf", "cq", new Value("value"));
+        // the callback runs on the thread that sent the mutation, flushing there must not wait
+        // on memory that thread has not released
+        CompletableFuture<Void> flushed = writer.addMutationAsync(m).thenRun(() -> {
+          try {
+            writer.flush();
+          } catch (MutationsRejectedException e) {
+            throw new CompletionException(e);
+          }
+        });
+        writer.flush();
+        flushed.get(1, TimeUnit.MINUTES);
+      }
+
+      try (Scanner scanner = c.createScanner(table, Authorizations.EMPTY)) {
+        assertEquals(1, scanner.stream().count());
+      }
+    }
+  }
+
 }
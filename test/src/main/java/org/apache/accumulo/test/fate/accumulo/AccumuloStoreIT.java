@@ -0,0 +1,190 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.test.fate.accumulo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.apache.accumulo.core.client.Accumulo;
+import org.apache.accumulo.core.client.AccumuloClient;
+import org.apache.accumulo.core.client.admin.NewTableConfiguration;
+import org.apache.accumulo.core.client.admin.TimeType;
+import org.apache.accumulo.fate.AccumuloStore;
+import org.apache.accumulo.fate.ReadOnlyRepo;
+import org.apache.accumulo.fate.ReadOnlyTStore.TStatus;
+import org.apache.accumulo.fate.Repo;
+import org.apache.accumulo.harness.SharedMiniClusterBase;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+public class AccumuloStoreIT extends SharedMiniClusterBase {
+
+  private static class TestRepo implements Repo<String> {
+    private static final long serialVersionUID = 1L;
+
+    private final String data;
+
+    TestRepo(String data) {
+      this.data = data;
+    }
+
+    @Override
+    public long isReady(long tid, String environment) {
+      return 0;
+    }
+
+    @Override
+    public String getDescription() {
+      return data;
+    }
+
+    @Override
+    public Repo<String> call(long tid, String environment) {
+      return null;
+    }
+
+    @Override
+    public void undo(long tid, String environment) {}
+
+    @Override
+    public String getReturn() {
+      return null;
+    }
+  }
+
+  @Override
+  protected Duration defaultTimeout() {
+    return Duration.ofMinutes(2);
+  }
+
+  @BeforeAll
+  public static void setup() throws Exception {
+    SharedMiniClusterBase.startMiniCluster();
+  }
+
+  @AfterAll
+  public static void teardown() {
+    SharedMiniClusterBase.stopMiniCluster();
+  }
+
+  private static void createTable(AccumuloClient client, String table) throws Exception {
+    client.tableOperations().create(table,
+        new NewTableConfiguration().setTimeType(TimeType.LOGICAL));
+  }
+
+  @Test
+  public void testRequiresLogicalTime() throws Exception {
+    try (AccumuloClient client = Accumulo.newClient().from(getClientProps()).build()) {
+      String table = getUniqueNames(1)[0];
+      client.tableOperations().create(table);
+      assertThrows(IllegalArgumentException.class, () -> new AccumuloStore<>(table, client));
+    }
+  }
+
+  @Test
+  public void testReserveAfterRelease() throws Exception {
+    try (AccumuloClient client = Accumulo.newClient().from(getClientProps()).build()) {
+      String table = getUniqueNames(1)[0];
+      createTable(client, table);
+
+      AccumuloStore<String> store = new AccumuloStore<>(table, client);
+      long tid = store.create();
+      // releasing and reserving again quickly must leave the transaction reserved
+      for (int i = 0; i < 100; i++) {
+        assertTrue(store.tryReserve(tid));
+        store.setProperty(tid, "count", (long) i);
+        store.unreserve(tid, 0);
+      }
+    }
+  }
+
+  @Test
+  public void testTransactionLifecycle() throws Exception {
+    try (AccumuloClient client = Accumulo.newClient().from(getClientProps()).build()) {
+      String table = getUniqueNames(1)[0];
+      createTable(client, table);
+
+      AccumuloStore<String> store = new AccumuloStore<>(table, client);
+      long tid = store.create();
+      assertEquals(List.of(tid), store.list());
+
+      assertTrue(store.tryReserve(tid));
+      assertFalse(store.tryReserve(tid));
+      assertEquals(TStatus.NEW, store.getStatus(tid));
+      assertTrue(store.timeCreated(tid) > 0);
+
+      store.push(tid, new TestRepo("first"));
+      store.push(tid, new TestRepo("second"));
+      assertEquals("second", store.top(tid).getDescription());
+      List<ReadOnlyRepo<String>> stack = store.getStack(tid);
+      assertEquals(2, stack.size());
+      assertEquals("second", stack.get(0).getDescription());
+      assertEquals("first", stack.get(1).getDescription());
+      store.pop(tid);
+      assertEquals("first", store.top(tid).getDescription());
+
+      store.setProperty(tid, "str", "value");
+      store.setProperty(tid, "num", 42L);
+      assertEquals("value", store.getProperty(tid, "str"));
+      assertEquals(42L, store.getProperty(tid, "num"));
+      assertNull(store.getProperty(tid, "missing"));
+
+      store.setStatus(tid, TStatus.SUBMITTED);
+      store.unreserve(tid, 0);
+      assertThrows(IllegalStateException.class, () -> store.getStatus(tid));
+
+      // the submitted transaction is found through the queue
+      assertEquals(tid, store.reserve());
+      assertEquals(TStatus.SUBMITTED, store.getStatus(tid));
+      store.setStatus(tid, TStatus.SUCCESSFUL);
+      store.delete(tid);
+      store.unreserve(tid, 0);
+
+      assertTrue(store.list().isEmpty());
+    }
+  }
+
+  @Test
+  public void testReservationsAreExclusive() throws Exception {
+    try (AccumuloClient client = Accumulo.newClient().from(getClientProps()).build()) {
+      String table = getUniqueNames(1)[0];
+      createTable(client, table);
+
+      AccumuloStore<String> store1 = new AccumuloStore<>(table, client);
+      long tid = store1.create();
+      assertTrue(store1.tryReserve(tid));
+
+      AccumuloStore<String> store2 = new AccumuloStore<>(table, client);
+      // creating the second store released the reservation left by the first
+      assertTrue(store2.tryReserve(tid));
+      assertThrows(IllegalStateException.class, () -> store1.setStatus(tid, TStatus.SUBMITTED));
+      store2.setStatus(tid, TStatus.SUBMITTED);
+      store2.unreserve(tid, 0);
+      assertEquals(tid, store2.reserve());
+      store2.unreserve(tid, 0);
+    }
+  }
+}
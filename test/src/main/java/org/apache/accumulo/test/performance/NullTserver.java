@@ -110,6 +110,10 @@ public class NullTserver {
     public void applyUpdates(TInfo tinfo, long updateID, TKeyExtent keyExtent,
         List<TMutation> mutation) {}
 
+    @Override
+    public void applyCompressedUpdates(TInfo tinfo, long updateID, TKeyExtent keyExtent,
+        ByteBuffer mutations) {}
+
     @Override
     public UpdateErrors closeUpdate(TInfo tinfo, long updateID) {
       return new UpdateErrors(new HashMap<>(), new ArrayList<>(), new HashMap<>());